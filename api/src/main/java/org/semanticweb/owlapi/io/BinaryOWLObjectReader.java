@@ -0,0 +1,461 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import static org.semanticweb.owlapi.io.BinaryOWLTags.*;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * Reads OWL objects written by a {@link BinaryOWLObjectWriter}. Objects are created through the
+ * data factory passed at construction. Subclasses overriding
+ * {@link BinaryOWLObjectWriter#writeIRI(IRI)} must override {@link #readIRI()} accordingly. Literal
+ * sharing must match the setting used by the writer.
+ * 
+ * @since 4.5.23
+ */
+public class BinaryOWLObjectReader {
+
+    @Nonnull
+    private final DataInput in;
+    @Nonnull
+    protected final OWLDataFactory df;
+    @Nonnull
+    private final List<IRI> iris = new ArrayList<>();
+    @Nullable
+    private final List<OWLLiteral> literals;
+
+    /**
+     * @param in input to read from
+     * @param df data factory to use
+     */
+    public BinaryOWLObjectReader(@Nonnull DataInput in, @Nonnull OWLDataFactory df) {
+        this(in, df, false);
+    }
+
+    /**
+     * @param in input to read from
+     * @param df data factory to use
+     * @param shareLiterals true if the input was written with literal sharing
+     */
+    public BinaryOWLObjectReader(@Nonnull DataInput in, @Nonnull OWLDataFactory df,
+        boolean shareLiterals) {
+        this.in = checkNotNull(in, "in cannot be null");
+        this.df = checkNotNull(df, "df cannot be null");
+        literals = shareLiterals ? new ArrayList<>() : null;
+    }
+
+    /**
+     * @return the next axiom
+     * @throws IOException if the input cannot be read or does not contain an axiom
+     */
+    @Nonnull
+    public OWLAxiom readAxiom() throws IOException {
+        return read(OWLAxiom.class);
+    }
+
+    /**
+     * @param type expected type of the object
+     * @return the next object
+     * @throws IOException if the input cannot be read or the object is not of the expected type
+     */
+    @Nonnull
+    public <T extends OWLObject> T read(@Nonnull Class<T> type) throws IOException {
+        OWLObject o = readObject();
+        if (!type.isInstance(o)) {
+            throw new IOException("Expected " + type.getSimpleName() + " but found " + o);
+        }
+        return type.cast(o);
+    }
+
+    /**
+     * @param type expected type of the objects
+     * @return the next set of objects, in the order they were written
+     * @throws IOException if the input cannot be read or an object is not of the expected type
+     */
+    @Nonnull
+    public <T extends OWLObject> Set<T> readSet(@Nonnull Class<T> type) throws IOException {
+        int size = readVarInt();
+        Set<T> set = new LinkedHashSet<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            set.add(read(type));
+        }
+        return set;
+    }
+
+    /**
+     * @param type expected type of the objects
+     * @return the next list of objects
+     * @throws IOException if the input cannot be read or an object is not of the expected type
+     */
+    @Nonnull
+    public <T extends OWLObject> List<T> readList(@Nonnull Class<T> type) throws IOException {
+        int size = readVarInt();
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(read(type));
+        }
+        return list;
+    }
+
+    /**
+     * Read an IRI written by {@link BinaryOWLObjectWriter#writeIRI(IRI)}.
+     * 
+     * @return the next IRI
+     * @throws IOException if the input cannot be read
+     */
+    @Nonnull
+    protected IRI readIRI() throws IOException {
+        int id = readVarInt();
+        if (id > 0) {
+            if (id > iris.size()) {
+                throw new IOException("Unknown IRI reference: " + id);
+            }
+            return iris.get(id - 1);
+        }
+        IRI iri = IRI.create(readString());
+        iris.add(iri);
+        return iri;
+    }
+
+    /**
+     * @return the next variable length int
+     * @throws IOException if the input cannot be read
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length int");
+    }
+
+    /**
+     * @return the next string
+     * @throws IOException if the input cannot be read
+     */
+    @Nonnull
+    public String readString() throws IOException {
+        byte[] bytes = new byte[readVarInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Set<OWLAnnotation> annotations() throws IOException {
+        return readSet(OWLAnnotation.class);
+    }
+
+    private OWLClassExpression ce() throws IOException {
+        return read(OWLClassExpression.class);
+    }
+
+    private OWLObjectPropertyExpression ope() throws IOException {
+        return read(OWLObjectPropertyExpression.class);
+    }
+
+    private OWLDataPropertyExpression dpe() throws IOException {
+        return read(OWLDataPropertyExpression.class);
+    }
+
+    private OWLAnnotationProperty ap() throws IOException {
+        return read(OWLAnnotationProperty.class);
+    }
+
+    private OWLDataRange dr() throws IOException {
+        return read(OWLDataRange.class);
+    }
+
+    private OWLIndividual ind() throws IOException {
+        return read(OWLIndividual.class);
+    }
+
+    private OWLLiteral lit() throws IOException {
+        return read(OWLLiteral.class);
+    }
+
+    private OWLLiteral shared(OWLLiteral literal) {
+        if (literals != null) {
+            literals.add(literal);
+        }
+        return literal;
+    }
+
+    private OWLLiteral literalRef() throws IOException {
+        int id = readVarInt();
+        if (literals == null || id >= literals.size()) {
+            throw new IOException("Unknown literal reference: " + id);
+        }
+        return literals.get(id);
+    }
+
+    private SWRLIArgument iarg() throws IOException {
+        return read(SWRLIArgument.class);
+    }
+
+    private SWRLDArgument darg() throws IOException {
+        return read(SWRLDArgument.class);
+    }
+
+    /**
+     * @return the next object
+     * @throws IOException if the input cannot be read or contains an unknown tag
+     */
+    @Nonnull
+    public OWLObject readObject() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            // entities, literals and annotations
+            case IRI_TAG:
+                return readIRI();
+            case CLASS:
+                return df.getOWLClass(readIRI());
+            case OBJECT_PROPERTY:
+                return df.getOWLObjectProperty(readIRI());
+            case DATA_PROPERTY:
+                return df.getOWLDataProperty(readIRI());
+            case ANNOTATION_PROPERTY:
+                return df.getOWLAnnotationProperty(readIRI());
+            case NAMED_INDIVIDUAL:
+                return df.getOWLNamedIndividual(readIRI());
+            case DATATYPE:
+                return df.getOWLDatatype(readIRI());
+            case ANONYMOUS_INDIVIDUAL:
+                return df.getOWLAnonymousIndividual(readString());
+            case LITERAL_STRING:
+                return shared(df.getOWLLiteral(readString()));
+            case LITERAL_LANG:
+                return shared(df.getOWLLiteral(readString(), readString()));
+            case LITERAL_TYPED:
+                return shared(df.getOWLLiteral(readString(), df.getOWLDatatype(readIRI())));
+            case LITERAL_REF:
+                return literalRef();
+            case OBJECT_INVERSE_OF:
+                return df.getOWLObjectInverseOf(ope());
+            case ANNOTATION:
+                return df.getOWLAnnotation(ap(), read(OWLAnnotationValue.class), annotations());
+            // class expressions
+            case OBJECT_INTERSECTION_OF:
+                return df.getOWLObjectIntersectionOf(readSet(OWLClassExpression.class));
+            case OBJECT_UNION_OF:
+                return df.getOWLObjectUnionOf(readSet(OWLClassExpression.class));
+            case OBJECT_COMPLEMENT_OF:
+                return df.getOWLObjectComplementOf(ce());
+            case OBJECT_ONE_OF:
+                return df.getOWLObjectOneOf(readSet(OWLIndividual.class));
+            case OBJECT_SOME_VALUES_FROM:
+                return df.getOWLObjectSomeValuesFrom(ope(), ce());
+            case OBJECT_ALL_VALUES_FROM:
+                return df.getOWLObjectAllValuesFrom(ope(), ce());
+            case OBJECT_HAS_VALUE:
+                return df.getOWLObjectHasValue(ope(), ind());
+            case OBJECT_HAS_SELF:
+                return df.getOWLObjectHasSelf(ope());
+            case OBJECT_MIN_CARDINALITY:
+                return df.getOWLObjectMinCardinality(readVarInt(), ope(), ce());
+            case OBJECT_EXACT_CARDINALITY:
+                return df.getOWLObjectExactCardinality(readVarInt(), ope(), ce());
+            case OBJECT_MAX_CARDINALITY:
+                return df.getOWLObjectMaxCardinality(readVarInt(), ope(), ce());
+            case DATA_SOME_VALUES_FROM:
+                return df.getOWLDataSomeValuesFrom(dpe(), dr());
+            case DATA_ALL_VALUES_FROM:
+                return df.getOWLDataAllValuesFrom(dpe(), dr());
+            case DATA_HAS_VALUE:
+                return df.getOWLDataHasValue(dpe(), lit());
+            case DATA_MIN_CARDINALITY:
+                return df.getOWLDataMinCardinality(readVarInt(), dpe(), dr());
+            case DATA_EXACT_CARDINALITY:
+                return df.getOWLDataExactCardinality(readVarInt(), dpe(), dr());
+            case DATA_MAX_CARDINALITY:
+                return df.getOWLDataMaxCardinality(readVarInt(), dpe(), dr());
+            // data ranges
+            case DATA_COMPLEMENT_OF:
+                return df.getOWLDataComplementOf(dr());
+            case DATA_ONE_OF:
+                return df.getOWLDataOneOf(readSet(OWLLiteral.class));
+            case DATA_INTERSECTION_OF:
+                return df.getOWLDataIntersectionOf(readSet(OWLDataRange.class));
+            case DATA_UNION_OF:
+                return df.getOWLDataUnionOf(readSet(OWLDataRange.class));
+            case DATATYPE_RESTRICTION:
+                return df.getOWLDatatypeRestriction(read(OWLDatatype.class),
+                    readSet(OWLFacetRestriction.class));
+            case FACET_RESTRICTION:
+                return df.getOWLFacetRestriction(facet(), lit());
+            default:
+                return readAxiomOrRule(tag);
+        }
+    }
+
+    @Nonnull
+    private OWLFacet facet() throws IOException {
+        IRI iri = readIRI();
+        OWLFacet facet = OWLFacet.getFacet(iri);
+        if (facet == null) {
+            throw new IOException("Unknown facet: " + iri);
+        }
+        return facet;
+    }
+
+    @Nonnull
+    private OWLObject readAxiomOrRule(int tag) throws IOException {
+        switch (tag) {
+            case DECLARATION:
+                return df.getOWLDeclarationAxiom(read(OWLEntity.class), annotations());
+            case DATATYPE_DEFINITION:
+                return df.getOWLDatatypeDefinitionAxiom(read(OWLDatatype.class), dr(),
+                    annotations());
+            case SUBCLASS_OF:
+                return df.getOWLSubClassOfAxiom(ce(), ce(), annotations());
+            case EQUIVALENT_CLASSES:
+                return df.getOWLEquivalentClassesAxiom(readSet(OWLClassExpression.class),
+                    annotations());
+            case DISJOINT_CLASSES:
+                return df.getOWLDisjointClassesAxiom(readSet(OWLClassExpression.class),
+                    annotations());
+            case DISJOINT_UNION:
+                return df.getOWLDisjointUnionAxiom(read(OWLClass.class),
+                    readSet(OWLClassExpression.class), annotations());
+            case HAS_KEY:
+                return df.getOWLHasKeyAxiom(ce(), readSet(OWLPropertyExpression.class),
+                    annotations());
+            case SUB_OBJECT_PROPERTY:
+                return df.getOWLSubObjectPropertyOfAxiom(ope(), ope(), annotations());
+            case SUB_PROPERTY_CHAIN_OF:
+                return df.getOWLSubPropertyChainOfAxiom(
+                    readList(OWLObjectPropertyExpression.class), ope(), annotations());
+            case EQUIVALENT_OBJECT_PROPERTIES:
+                return df.getOWLEquivalentObjectPropertiesAxiom(
+                    readSet(OWLObjectPropertyExpression.class), annotations());
+            case DISJOINT_OBJECT_PROPERTIES:
+                return df.getOWLDisjointObjectPropertiesAxiom(
+                    readSet(OWLObjectPropertyExpression.class), annotations());
+            case INVERSE_OBJECT_PROPERTIES:
+                return df.getOWLInverseObjectPropertiesAxiom(ope(), ope(), annotations());
+            case OBJECT_PROPERTY_DOMAIN:
+                return df.getOWLObjectPropertyDomainAxiom(ope(), ce(), annotations());
+            case OBJECT_PROPERTY_RANGE:
+                return df.getOWLObjectPropertyRangeAxiom(ope(), ce(), annotations());
+            case FUNCTIONAL_OBJECT_PROPERTY:
+                return df.getOWLFunctionalObjectPropertyAxiom(ope(), annotations());
+            case INVERSE_FUNCTIONAL_OBJECT_PROPERTY:
+                return df.getOWLInverseFunctionalObjectPropertyAxiom(ope(), annotations());
+            case REFLEXIVE_OBJECT_PROPERTY:
+                return df.getOWLReflexiveObjectPropertyAxiom(ope(), annotations());
+            case IRREFLEXIVE_OBJECT_PROPERTY:
+                return df.getOWLIrreflexiveObjectPropertyAxiom(ope(), annotations());
+            case SYMMETRIC_OBJECT_PROPERTY:
+                return df.getOWLSymmetricObjectPropertyAxiom(ope(), annotations());
+            case ASYMMETRIC_OBJECT_PROPERTY:
+                return df.getOWLAsymmetricObjectPropertyAxiom(ope(), annotations());
+            case TRANSITIVE_OBJECT_PROPERTY:
+                return df.getOWLTransitiveObjectPropertyAxiom(ope(), annotations());
+            case SUB_DATA_PROPERTY:
+                return df.getOWLSubDataPropertyOfAxiom(dpe(), dpe(), annotations());
+            case EQUIVALENT_DATA_PROPERTIES:
+                return df.getOWLEquivalentDataPropertiesAxiom(
+                    readSet(OWLDataPropertyExpression.class), annotations());
+            case DISJOINT_DATA_PROPERTIES:
+                return df.getOWLDisjointDataPropertiesAxiom(
+                    readSet(OWLDataPropertyExpression.class), annotations());
+            case DATA_PROPERTY_DOMAIN:
+                return df.getOWLDataPropertyDomainAxiom(dpe(), ce(), annotations());
+            case DATA_PROPERTY_RANGE:
+                return df.getOWLDataPropertyRangeAxiom(dpe(), dr(), annotations());
+            case FUNCTIONAL_DATA_PROPERTY:
+                return df.getOWLFunctionalDataPropertyAxiom(dpe(), annotations());
+            case CLASS_ASSERTION:
+                return df.getOWLClassAssertionAxiom(ce(), ind(), annotations());
+            case OBJECT_PROPERTY_ASSERTION: {
+                OWLIndividual subject = ind();
+                return df.getOWLObjectPropertyAssertionAxiom(ope(), subject, ind(),
+                    annotations());
+            }
+            case NEGATIVE_OBJECT_PROPERTY_ASSERTION: {
+                OWLIndividual subject = ind();
+                return df.getOWLNegativeObjectPropertyAssertionAxiom(ope(), subject, ind(),
+                    annotations());
+            }
+            case DATA_PROPERTY_ASSERTION: {
+                OWLIndividual subject = ind();
+                return df.getOWLDataPropertyAssertionAxiom(dpe(), subject, lit(), annotations());
+            }
+            case NEGATIVE_DATA_PROPERTY_ASSERTION: {
+                OWLIndividual subject = ind();
+                return df.getOWLNegativeDataPropertyAssertionAxiom(dpe(), subject, lit(),
+                    annotations());
+            }
+            case SAME_INDIVIDUAL:
+                return df.getOWLSameIndividualAxiom(readSet(OWLIndividual.class), annotations());
+            case DIFFERENT_INDIVIDUALS:
+                return df.getOWLDifferentIndividualsAxiom(readSet(OWLIndividual.class),
+                    annotations());
+            case ANNOTATION_ASSERTION: {
+                OWLAnnotationSubject subject = read(OWLAnnotationSubject.class);
+                return df.getOWLAnnotationAssertionAxiom(ap(), subject,
+                    read(OWLAnnotationValue.class), annotations());
+            }
+            case SUB_ANNOTATION_PROPERTY_OF:
+                return df.getOWLSubAnnotationPropertyOfAxiom(ap(), ap(), annotations());
+            case ANNOTATION_PROPERTY_DOMAIN:
+                return df.getOWLAnnotationPropertyDomainAxiom(ap(), read(IRI.class),
+                    annotations());
+            case ANNOTATION_PROPERTY_RANGE:
+                return df.getOWLAnnotationPropertyRangeAxiom(ap(), read(IRI.class),
+                    annotations());
+            // SWRL
+            case SWRL_RULE:
+                return df.getSWRLRule(readSet(SWRLAtom.class), readSet(SWRLAtom.class),
+                    annotations());
+            case SWRL_CLASS_ATOM:
+                return df.getSWRLClassAtom(ce(), iarg());
+            case SWRL_DATA_RANGE_ATOM:
+                return df.getSWRLDataRangeAtom(dr(), darg());
+            case SWRL_OBJECT_PROPERTY_ATOM:
+                return df.getSWRLObjectPropertyAtom(ope(), iarg(), iarg());
+            case SWRL_DATA_PROPERTY_ATOM:
+                return df.getSWRLDataPropertyAtom(dpe(), iarg(), darg());
+            case SWRL_BUILT_IN_ATOM:
+                return df.getSWRLBuiltInAtom(readIRI(), readList(SWRLDArgument.class));
+            case SWRL_VARIABLE:
+                return df.getSWRLVariable(readIRI());
+            case SWRL_INDIVIDUAL_ARGUMENT:
+                return df.getSWRLIndividualArgument(ind());
+            case SWRL_LITERAL_ARGUMENT:
+                return df.getSWRLLiteralArgument(lit());
+            case SWRL_SAME_INDIVIDUAL_ATOM:
+                return df.getSWRLSameIndividualAtom(iarg(), iarg());
+            case SWRL_DIFFERENT_INDIVIDUALS_ATOM:
+                return df.getSWRLDifferentIndividualsAtom(iarg(), iarg());
+            default:
+                throw new IOException("Unknown object tag: " + tag);
+        }
+    }
+}
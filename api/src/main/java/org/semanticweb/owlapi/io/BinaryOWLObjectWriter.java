@@ -0,0 +1,739 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+import static org.semanticweb.owlapi.io.BinaryOWLTags.*;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * Writes OWL objects in a compact binary encoding: a tag for the kind of object followed by its
+ * components, with counts and numbers as variable length integers. IRIs are written through
+ * {@link #writeIRI(IRI)}; by default, the first occurrence of an IRI is written in full and later
+ * occurrences as a reference to it, so the output must be read in the same order by a
+ * {@link BinaryOWLObjectReader}. Subclasses can replace the IRI encoding, e.g., to refer to an
+ * external IRI table. Literals can be shared in the same way, which pays off for streams where the
+ * same literals recur; a reader for such a stream must be created with literal sharing as well.
+ * 
+ * @since 4.5.23
+ */
+public class BinaryOWLObjectWriter {
+
+    @Nonnull
+    private final DataOutput out;
+    @Nonnull
+    private final Map<IRI, Integer> iris = new HashMap<>();
+    @Nullable
+    private final Map<OWLLiteral, Integer> literals;
+    @Nonnull
+    private final Writer writer = new Writer();
+
+    /**
+     * @param out output to write to
+     */
+    public BinaryOWLObjectWriter(@Nonnull DataOutput out) {
+        this(out, false);
+    }
+
+    /**
+     * @param out output to write to
+     * @param shareLiterals true if repeated literals should be written as references to their first
+     *        occurrence
+     */
+    public BinaryOWLObjectWriter(@Nonnull DataOutput out, boolean shareLiterals) {
+        this.out = checkNotNull(out, "out cannot be null");
+        literals = shareLiterals ? new HashMap<>() : null;
+    }
+
+    /**
+     * @param object object to write
+     * @throws IOException if the output cannot be written
+     */
+    public void writeObject(@Nonnull OWLObject object) throws IOException {
+        try {
+            object.accept(writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @param objects objects to write, preceded by their number
+     * @throws IOException if the output cannot be written
+     */
+    public void writeObjects(@Nonnull Collection<? extends OWLObject> objects) throws IOException {
+        writeVarInt(objects.size());
+        for (OWLObject o : objects) {
+            writeObject(o);
+        }
+    }
+
+    /**
+     * Write an IRI. This implementation writes 0 and the IRI string for the first occurrence of an
+     * IRI, and the position of the first occurrence plus one afterwards.
+     * 
+     * @param iri iri to write
+     * @throws IOException if the output cannot be written
+     */
+    protected void writeIRI(@Nonnull IRI iri) throws IOException {
+        Integer id = iris.get(iri);
+        if (id != null) {
+            writeVarInt(id.intValue() + 1);
+            return;
+        }
+        writeVarInt(0);
+        writeString(iri.toString());
+        iris.put(iri, Integer.valueOf(iris.size()));
+    }
+
+    /**
+     * Write a non negative int in one to five bytes, seven bits at a time.
+     * 
+     * @param value value to write
+     * @throws IOException if the output cannot be written
+     */
+    public void writeVarInt(int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte(v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    /**
+     * Write a string as its UTF-8 length and bytes; unlike {@link DataOutput#writeUTF(String)},
+     * there is no length limit.
+     * 
+     * @param value value to write
+     * @throws IOException if the output cannot be written
+     */
+    public void writeString(@Nonnull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Visitor doing the actual writing; checked exceptions are tunneled as unchecked ones.
+     */
+    private class Writer implements OWLObjectVisitor {
+
+        Writer() {}
+
+        private void tag(int tag) {
+            try {
+                out.writeByte(tag);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void number(int value) {
+            try {
+                writeVarInt(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void string(String value) {
+            try {
+                writeString(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void iri(IRI iri) {
+            try {
+                writeIRI(iri);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void write(OWLObject o) {
+            o.accept(this);
+        }
+
+        private void write(Collection<? extends OWLObject> objects) {
+            number(objects.size());
+            for (OWLObject o : objects) {
+                o.accept(this);
+            }
+        }
+
+        private void annotations(OWLAxiom axiom) {
+            write(axiom.getAnnotations());
+        }
+
+        private void entity(int tag, OWLEntity e) {
+            tag(tag);
+            iri(e.getIRI());
+        }
+
+        private void cardinality(int tag, OWLCardinalityRestriction<?> ce) {
+            tag(tag);
+            number(ce.getCardinality());
+            write(ce.getProperty());
+            write(ce.getFiller());
+        }
+
+        private void binary(int tag, OWLObject first, OWLObject second) {
+            tag(tag);
+            write(first);
+            write(second);
+        }
+
+        private void unaryAxiom(int tag, OWLObject o, OWLAxiom axiom) {
+            tag(tag);
+            write(o);
+            annotations(axiom);
+        }
+
+        private void binaryAxiom(int tag, OWLObject first, OWLObject second, OWLAxiom axiom) {
+            binary(tag, first, second);
+            annotations(axiom);
+        }
+
+        private void naryAxiom(int tag, Collection<? extends OWLObject> objects, OWLAxiom axiom) {
+            tag(tag);
+            write(objects);
+            annotations(axiom);
+        }
+
+        private void assertion(int tag, OWLPropertyAssertionAxiom<?, ?> axiom) {
+            tag(tag);
+            write(axiom.getSubject());
+            write(axiom.getProperty());
+            write(axiom.getObject());
+            annotations(axiom);
+        }
+
+        // entities and data
+
+        @Override
+        public void visit(IRI iri) {
+            tag(IRI_TAG);
+            iri(iri);
+        }
+
+        @Override
+        public void visit(OWLClass ce) {
+            entity(CLASS, ce);
+        }
+
+        @Override
+        public void visit(OWLObjectProperty property) {
+            entity(OBJECT_PROPERTY, property);
+        }
+
+        @Override
+        public void visit(OWLDataProperty property) {
+            entity(DATA_PROPERTY, property);
+        }
+
+        @Override
+        public void visit(OWLAnnotationProperty property) {
+            entity(ANNOTATION_PROPERTY, property);
+        }
+
+        @Override
+        public void visit(OWLNamedIndividual individual) {
+            entity(NAMED_INDIVIDUAL, individual);
+        }
+
+        @Override
+        public void visit(OWLDatatype node) {
+            entity(DATATYPE, node);
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {
+            tag(ANONYMOUS_INDIVIDUAL);
+            string(individual.getID().getID());
+        }
+
+        @Override
+        public void visit(OWLLiteral node) {
+            if (literals != null) {
+                Integer id = literals.get(node);
+                if (id != null) {
+                    tag(LITERAL_REF);
+                    number(id.intValue());
+                    return;
+                }
+                literals.put(node, Integer.valueOf(literals.size()));
+            }
+            if (node.hasLang()) {
+                tag(LITERAL_LANG);
+                string(node.getLiteral());
+                string(node.getLang());
+            } else if (node.getDatatype().isString()) {
+                tag(LITERAL_STRING);
+                string(node.getLiteral());
+            } else {
+                tag(LITERAL_TYPED);
+                string(node.getLiteral());
+                iri(node.getDatatype().getIRI());
+            }
+        }
+
+        @Override
+        public void visit(OWLObjectInverseOf property) {
+            tag(OBJECT_INVERSE_OF);
+            write(property.getInverse());
+        }
+
+        @Override
+        public void visit(OWLAnnotation node) {
+            tag(ANNOTATION);
+            write(node.getProperty());
+            write(node.getValue());
+            write(node.getAnnotations());
+        }
+
+        @Override
+        public void visit(OWLOntology ontology) {
+            throw new IllegalArgumentException("Ontologies cannot be written as objects: "
+                + ontology.getOntologyID());
+        }
+
+        // class expressions
+
+        @Override
+        public void visit(OWLObjectIntersectionOf ce) {
+            tag(OBJECT_INTERSECTION_OF);
+            write(ce.getOperands());
+        }
+
+        @Override
+        public void visit(OWLObjectUnionOf ce) {
+            tag(OBJECT_UNION_OF);
+            write(ce.getOperands());
+        }
+
+        @Override
+        public void visit(OWLObjectComplementOf ce) {
+            tag(OBJECT_COMPLEMENT_OF);
+            write(ce.getOperand());
+        }
+
+        @Override
+        public void visit(OWLObjectOneOf ce) {
+            tag(OBJECT_ONE_OF);
+            write(ce.getIndividuals());
+        }
+
+        @Override
+        public void visit(OWLObjectSomeValuesFrom ce) {
+            binary(OBJECT_SOME_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectAllValuesFrom ce) {
+            binary(OBJECT_ALL_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectHasValue ce) {
+            binary(OBJECT_HAS_VALUE, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectHasSelf ce) {
+            tag(OBJECT_HAS_SELF);
+            write(ce.getProperty());
+        }
+
+        @Override
+        public void visit(OWLObjectMinCardinality ce) {
+            cardinality(OBJECT_MIN_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLObjectExactCardinality ce) {
+            cardinality(OBJECT_EXACT_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLObjectMaxCardinality ce) {
+            cardinality(OBJECT_MAX_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLDataSomeValuesFrom ce) {
+            binary(DATA_SOME_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataAllValuesFrom ce) {
+            binary(DATA_ALL_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataHasValue ce) {
+            binary(DATA_HAS_VALUE, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataMinCardinality ce) {
+            cardinality(DATA_MIN_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLDataExactCardinality ce) {
+            cardinality(DATA_EXACT_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLDataMaxCardinality ce) {
+            cardinality(DATA_MAX_CARDINALITY, ce);
+        }
+
+        // data ranges
+
+        @Override
+        public void visit(OWLDataComplementOf node) {
+            tag(DATA_COMPLEMENT_OF);
+            write(node.getDataRange());
+        }
+
+        @Override
+        public void visit(OWLDataOneOf node) {
+            tag(DATA_ONE_OF);
+            write(node.getValues());
+        }
+
+        @Override
+        public void visit(OWLDataIntersectionOf node) {
+            tag(DATA_INTERSECTION_OF);
+            write(node.getOperands());
+        }
+
+        @Override
+        public void visit(OWLDataUnionOf node) {
+            tag(DATA_UNION_OF);
+            write(node.getOperands());
+        }
+
+        @Override
+        public void visit(OWLDatatypeRestriction node) {
+            tag(DATATYPE_RESTRICTION);
+            write(node.getDatatype());
+            write(node.getFacetRestrictions());
+        }
+
+        @Override
+        public void visit(OWLFacetRestriction node) {
+            tag(FACET_RESTRICTION);
+            iri(node.getFacet().getIRI());
+            write(node.getFacetValue());
+        }
+
+        // axioms
+
+        @Override
+        public void visit(OWLDeclarationAxiom axiom) {
+            unaryAxiom(DECLARATION, axiom.getEntity(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDatatypeDefinitionAxiom axiom) {
+            binaryAxiom(DATATYPE_DEFINITION, axiom.getDatatype(), axiom.getDataRange(), axiom);
+        }
+
+        @Override
+        public void visit(OWLSubClassOfAxiom axiom) {
+            binaryAxiom(SUBCLASS_OF, axiom.getSubClass(), axiom.getSuperClass(), axiom);
+        }
+
+        @Override
+        public void visit(OWLEquivalentClassesAxiom axiom) {
+            naryAxiom(EQUIVALENT_CLASSES, axiom.getClassExpressions(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointClassesAxiom axiom) {
+            naryAxiom(DISJOINT_CLASSES, axiom.getClassExpressions(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointUnionAxiom axiom) {
+            tag(DISJOINT_UNION);
+            write(axiom.getOWLClass());
+            write(axiom.getClassExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLHasKeyAxiom axiom) {
+            tag(HAS_KEY);
+            write(axiom.getClassExpression());
+            write(axiom.getPropertyExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubObjectPropertyOfAxiom axiom) {
+            binaryAxiom(SUB_OBJECT_PROPERTY, axiom.getSubProperty(), axiom.getSuperProperty(),
+                axiom);
+        }
+
+        @Override
+        public void visit(OWLSubPropertyChainOfAxiom axiom) {
+            tag(SUB_PROPERTY_CHAIN_OF);
+            write(axiom.getPropertyChain());
+            write(axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLEquivalentObjectPropertiesAxiom axiom) {
+            naryAxiom(EQUIVALENT_OBJECT_PROPERTIES, axiom.getProperties(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointObjectPropertiesAxiom axiom) {
+            naryAxiom(DISJOINT_OBJECT_PROPERTIES, axiom.getProperties(), axiom);
+        }
+
+        @Override
+        public void visit(OWLInverseObjectPropertiesAxiom axiom) {
+            binaryAxiom(INVERSE_OBJECT_PROPERTIES, axiom.getFirstProperty(),
+                axiom.getSecondProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyDomainAxiom axiom) {
+            binaryAxiom(OBJECT_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain(), axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyRangeAxiom axiom) {
+            binaryAxiom(OBJECT_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange(), axiom);
+        }
+
+        @Override
+        public void visit(OWLFunctionalObjectPropertyAxiom axiom) {
+            unaryAxiom(FUNCTIONAL_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLInverseFunctionalObjectPropertyAxiom axiom) {
+            unaryAxiom(INVERSE_FUNCTIONAL_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLReflexiveObjectPropertyAxiom axiom) {
+            unaryAxiom(REFLEXIVE_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLIrreflexiveObjectPropertyAxiom axiom) {
+            unaryAxiom(IRREFLEXIVE_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLSymmetricObjectPropertyAxiom axiom) {
+            unaryAxiom(SYMMETRIC_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLAsymmetricObjectPropertyAxiom axiom) {
+            unaryAxiom(ASYMMETRIC_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLTransitiveObjectPropertyAxiom axiom) {
+            unaryAxiom(TRANSITIVE_OBJECT_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLSubDataPropertyOfAxiom axiom) {
+            binaryAxiom(SUB_DATA_PROPERTY, axiom.getSubProperty(), axiom.getSuperProperty(),
+                axiom);
+        }
+
+        @Override
+        public void visit(OWLEquivalentDataPropertiesAxiom axiom) {
+            naryAxiom(EQUIVALENT_DATA_PROPERTIES, axiom.getProperties(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointDataPropertiesAxiom axiom) {
+            naryAxiom(DISJOINT_DATA_PROPERTIES, axiom.getProperties(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDataPropertyDomainAxiom axiom) {
+            binaryAxiom(DATA_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDataPropertyRangeAxiom axiom) {
+            binaryAxiom(DATA_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange(), axiom);
+        }
+
+        @Override
+        public void visit(OWLFunctionalDataPropertyAxiom axiom) {
+            unaryAxiom(FUNCTIONAL_DATA_PROPERTY, axiom.getProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLClassAssertionAxiom axiom) {
+            binaryAxiom(CLASS_ASSERTION, axiom.getClassExpression(), axiom.getIndividual(), axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyAssertionAxiom axiom) {
+            assertion(OBJECT_PROPERTY_ASSERTION, axiom);
+        }
+
+        @Override
+        public void visit(OWLNegativeObjectPropertyAssertionAxiom axiom) {
+            assertion(NEGATIVE_OBJECT_PROPERTY_ASSERTION, axiom);
+        }
+
+        @Override
+        public void visit(OWLDataPropertyAssertionAxiom axiom) {
+            assertion(DATA_PROPERTY_ASSERTION, axiom);
+        }
+
+        @Override
+        public void visit(OWLNegativeDataPropertyAssertionAxiom axiom) {
+            assertion(NEGATIVE_DATA_PROPERTY_ASSERTION, axiom);
+        }
+
+        @Override
+        public void visit(OWLSameIndividualAxiom axiom) {
+            naryAxiom(SAME_INDIVIDUAL, axiom.getIndividuals(), axiom);
+        }
+
+        @Override
+        public void visit(OWLDifferentIndividualsAxiom axiom) {
+            naryAxiom(DIFFERENT_INDIVIDUALS, axiom.getIndividuals(), axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationAssertionAxiom axiom) {
+            tag(ANNOTATION_ASSERTION);
+            write(axiom.getSubject());
+            write(axiom.getProperty());
+            write(axiom.getValue());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubAnnotationPropertyOfAxiom axiom) {
+            binaryAxiom(SUB_ANNOTATION_PROPERTY_OF, axiom.getSubProperty(),
+                axiom.getSuperProperty(), axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationPropertyDomainAxiom axiom) {
+            binaryAxiom(ANNOTATION_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain(),
+                axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationPropertyRangeAxiom axiom) {
+            binaryAxiom(ANNOTATION_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange(), axiom);
+        }
+
+        // SWRL
+
+        @Override
+        public void visit(SWRLRule rule) {
+            tag(SWRL_RULE);
+            write(rule.getBody());
+            write(rule.getHead());
+            annotations(rule);
+        }
+
+        @Override
+        public void visit(SWRLClassAtom node) {
+            binary(SWRL_CLASS_ATOM, node.getPredicate(), node.getArgument());
+        }
+
+        @Override
+        public void visit(SWRLDataRangeAtom node) {
+            binary(SWRL_DATA_RANGE_ATOM, node.getPredicate(), node.getArgument());
+        }
+
+        @Override
+        public void visit(SWRLObjectPropertyAtom node) {
+            tag(SWRL_OBJECT_PROPERTY_ATOM);
+            write(node.getPredicate());
+            write(node.getFirstArgument());
+            write(node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLDataPropertyAtom node) {
+            tag(SWRL_DATA_PROPERTY_ATOM);
+            write(node.getPredicate());
+            write(node.getFirstArgument());
+            write(node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLBuiltInAtom node) {
+            tag(SWRL_BUILT_IN_ATOM);
+            iri(node.getPredicate());
+            write(node.getArguments());
+        }
+
+        @Override
+        public void visit(SWRLVariable node) {
+            tag(SWRL_VARIABLE);
+            iri(node.getIRI());
+        }
+
+        @Override
+        public void visit(SWRLIndividualArgument node) {
+            tag(SWRL_INDIVIDUAL_ARGUMENT);
+            write(node.getIndividual());
+        }
+
+        @Override
+        public void visit(SWRLLiteralArgument node) {
+            tag(SWRL_LITERAL_ARGUMENT);
+            write(node.getLiteral());
+        }
+
+        @Override
+        public void visit(SWRLSameIndividualAtom node) {
+            binary(SWRL_SAME_INDIVIDUAL_ATOM, node.getFirstArgument(), node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLDifferentIndividualsAtom node) {
+            binary(SWRL_DIFFERENT_INDIVIDUALS_ATOM, node.getFirstArgument(),
+                node.getSecondArgument());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.io;
+
+/**
+ * Tags identifying object kinds in the encoding used by {@link BinaryOWLObjectWriter} and
+ * {@link BinaryOWLObjectReader}. Values are part of the format and must not change.
+ * 
+ * @since 4.5.23
+ */
+final class BinaryOWLTags {
+
+    // @formatter:off
+    // entities, literals and annotations
+    static final int IRI_TAG                            = 1;
+    static final int CLASS                              = 2;
+    static final int OBJECT_PROPERTY                    = 3;
+    static final int DATA_PROPERTY                      = 4;
+    static final int ANNOTATION_PROPERTY                = 5;
+    static final int NAMED_INDIVIDUAL                   = 6;
+    static final int DATATYPE                           = 7;
+    static final int ANONYMOUS_INDIVIDUAL               = 8;
+    static final int LITERAL_STRING                     = 9;
+    static final int LITERAL_LANG                       = 10;
+    static final int LITERAL_TYPED                      = 11;
+    static final int OBJECT_INVERSE_OF                  = 12;
+    static final int ANNOTATION                         = 13;
+    static final int LITERAL_REF                        = 14;
+    // class expressions
+    static final int OBJECT_INTERSECTION_OF             = 20;
+    static final int OBJECT_UNION_OF                    = 21;
+    static final int OBJECT_COMPLEMENT_OF               = 22;
+    static final int OBJECT_ONE_OF                      = 23;
+    static final int OBJECT_SOME_VALUES_FROM            = 24;
+    static final int OBJECT_ALL_VALUES_FROM             = 25;
+    static final int OBJECT_HAS_VALUE                   = 26;
+    static final int OBJECT_HAS_SELF                    = 27;
+    static final int OBJECT_MIN_CARDINALITY             = 28;
+    static final int OBJECT_EXACT_CARDINALITY           = 29;
+    static final int OBJECT_MAX_CARDINALITY             = 30;
+    static final int DATA_SOME_VALUES_FROM              = 31;
+    static final int DATA_ALL_VALUES_FROM               = 32;
+    static final int DATA_HAS_VALUE                     = 33;
+    static final int DATA_MIN_CARDINALITY               = 34;
+    static final int DATA_EXACT_CARDINALITY             = 35;
+    static final int DATA_MAX_CARDINALITY               = 36;
+    // data ranges
+    static final int DATA_COMPLEMENT_OF                 = 40;
+    static final int DATA_ONE_OF                        = 41;
+    static final int DATA_INTERSECTION_OF               = 42;
+    static final int DATA_UNION_OF                      = 43;
+    static final int DATATYPE_RESTRICTION               = 44;
+    static final int FACET_RESTRICTION                  = 45;
+    // axioms
+    static final int DECLARATION                        = 60;
+    static final int DATATYPE_DEFINITION                = 61;
+    static final int SUBCLASS_OF                        = 62;
+    static final int EQUIVALENT_CLASSES                 = 63;
+    static final int DISJOINT_CLASSES                   = 64;
+    static final int DISJOINT_UNION                     = 65;
+    static final int HAS_KEY                            = 66;
+    static final int SUB_OBJECT_PROPERTY                = 67;
+    static final int SUB_PROPERTY_CHAIN_OF              = 68;
+    static final int EQUIVALENT_OBJECT_PROPERTIES       = 69;
+    static final int DISJOINT_OBJECT_PROPERTIES         = 70;
+    static final int INVERSE_OBJECT_PROPERTIES          = 71;
+    static final int OBJECT_PROPERTY_DOMAIN             = 72;
+    static final int OBJECT_PROPERTY_RANGE              = 73;
+    static final int FUNCTIONAL_OBJECT_PROPERTY         = 74;
+    static final int INVERSE_FUNCTIONAL_OBJECT_PROPERTY = 75;
+    static final int REFLEXIVE_OBJECT_PROPERTY          = 76;
+    static final int IRREFLEXIVE_OBJECT_PROPERTY        = 77;
+    static final int SYMMETRIC_OBJECT_PROPERTY          = 78;
+    static final int ASYMMETRIC_OBJECT_PROPERTY         = 79;
+    static final int TRANSITIVE_OBJECT_PROPERTY         = 80;
+    static final int SUB_DATA_PROPERTY                  = 81;
+    static final int EQUIVALENT_DATA_PROPERTIES         = 82;
+    static final int DISJOINT_DATA_PROPERTIES           = 83;
+    static final int DATA_PROPERTY_DOMAIN               = 84;
+    static final int DATA_PROPERTY_RANGE                = 85;
+    static final int FUNCTIONAL_DATA_PROPERTY           = 86;
+    static final int CLASS_ASSERTION                    = 87;
+    static final int OBJECT_PROPERTY_ASSERTION          = 88;
+    static final int NEGATIVE_OBJECT_PROPERTY_ASSERTION = 89;
+    static final int DATA_PROPERTY_ASSERTION            = 90;
+    static final int NEGATIVE_DATA_PROPERTY_ASSERTION   = 91;
+    static final int SAME_INDIVIDUAL                    = 92;
+    static final int DIFFERENT_INDIVIDUALS              = 93;
+    static final int ANNOTATION_ASSERTION               = 94;
+    static final int SUB_ANNOTATION_PROPERTY_OF         = 95;
+    static final int ANNOTATION_PROPERTY_DOMAIN         = 96;
+    static final int ANNOTATION_PROPERTY_RANGE          = 97;
+    // SWRL
+    static final int SWRL_RULE                          = 110;
+    static final int SWRL_CLASS_ATOM                    = 111;
+    static final int SWRL_DATA_RANGE_ATOM               = 112;
+    static final int SWRL_OBJECT_PROPERTY_ATOM          = 113;
+    static final int SWRL_DATA_PROPERTY_ATOM            = 114;
+    static final int SWRL_BUILT_IN_ATOM                 = 115;
+    static final int SWRL_VARIABLE                      = 116;
+    static final int SWRL_INDIVIDUAL_ARGUMENT           = 117;
+    static final int SWRL_LITERAL_ARGUMENT              = 118;
+    static final int SWRL_SAME_INDIVIDUAL_ATOM          = 119;
+    static final int SWRL_DIFFERENT_INDIVIDUALS_ATOM    = 120;
+    // @formatter:on
+
+    private BinaryOWLTags() {}
+}
@@ -14,17 +14,44 @@ package org.semanticweb.owlapi.io;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
+import java.util.Collections;
+import java.util.function.Supplier;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataComplementOf;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLHasValueRestriction;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectHasSelf;
+import org.semanticweb.owlapi.model.OWLObjectInverseOf;
+import org.semanticweb.owlapi.model.OWLQuantifiedRestriction;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.util.ShortFormProvider;
 import org.semanticweb.owlapi.util.SimpleRenderer;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 /**
  * A utility class which can be used by implementations to provide a toString rendering of OWL API
- * objects. The idea is that this is pluggable. TODO this does not allow for independent rendering;
- * in a multithreaded situation, the renderer may change mid execution because of the static
- * singleton instance
+ * objects. The idea is that this is pluggable.
+ * <p>
+ * By default, each thread renders with its own {@link SimpleRenderer}, so that threads do not
+ * wait for each other; {@link #setRendererFactory(Supplier)} replaces the renderers created for
+ * each thread. A renderer instance set with {@link #setRenderer(OWLObjectRenderer)} is shared by
+ * all threads, which take turns using it. Short form providers set with
+ * {@link #setShortFormProvider(ShortFormProvider)} are shared as well and must be thread safe.
+ * <p>
+ * Renderings of entities and small expressions, such as {@code p some A}, can be kept in a
+ * bounded cache, sized with {@link ConfigurationOptions#TO_STRING_CACHE_SIZE} or
+ * {@link #setCacheSize(int)}. The cache is cleared when the renderer or short form provider are
+ * changed; it should not be enabled with short form providers whose short forms change on their
+ * own, e.g., providers reading labels from an ontology being edited.
  * 
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.2.0
@@ -33,10 +60,14 @@ public final class ToStringRenderer {
 
     @Nonnull
     private static final ToStringRenderer INSTANCE = new ToStringRenderer();
-    private OWLObjectRenderer renderer;
+    /** Replaced as a whole on every change, so that renderings use a consistent configuration. */
+    private volatile Configuration configuration;
+    private final ThreadLocal<ThreadRenderer> threadRenderers = new ThreadLocal<>();
 
     private ToStringRenderer() {
-        renderer = new SimpleRenderer();
+        Integer cacheSize = ConfigurationOptions.TO_STRING_CACHE_SIZE.getValue(Integer.class,
+            Collections.emptyMap());
+        configuration = new Configuration(null, SimpleRenderer::new, null, cacheSize.intValue());
     }
 
     /** @return the singleton instance */
@@ -45,24 +76,163 @@ public final class ToStringRenderer {
     }
 
     /**
-     * @param provider the new short form provider
+     * @param provider the new short form provider; it is used by all threads
      */
     public synchronized void setShortFormProvider(@Nonnull ShortFormProvider provider) {
-        renderer.setShortFormProvider(provider);
+        Configuration c = configuration;
+        if (c.shared != null) {
+            synchronized (c.shared) {
+                c.shared.setShortFormProvider(provider);
+            }
+        }
+        configuration = new Configuration(c.shared, c.factory, provider, c.cacheSize);
     }
 
     /**
-     * @param renderer the new renderer to use
+     * @param renderer the new renderer to use; it is shared by all threads, which use it one at a
+     *        time. Use {@link #setRendererFactory(Supplier)} for renderers that can be created
+     *        for each thread.
      */
     public synchronized void setRenderer(@Nonnull OWLObjectRenderer renderer) {
-        this.renderer = checkNotNull(renderer, "renderer cannot be null");
+        Configuration c = configuration;
+        configuration = new Configuration(checkNotNull(renderer, "renderer cannot be null"),
+            null, c.shortFormProvider, c.cacheSize);
+    }
+
+    /**
+     * @param factory factory for the renderers to use; each thread rendering objects creates its
+     *        own renderer with it, and sets the current short form provider on it, if one has
+     *        been set
+     * @since 4.5.23
+     */
+    public synchronized void setRendererFactory(
+        @Nonnull Supplier<? extends OWLObjectRenderer> factory) {
+        Configuration c = configuration;
+        configuration = new Configuration(null, checkNotNull(factory, "factory cannot be null"),
+            c.shortFormProvider, c.cacheSize);
+    }
+
+    /**
+     * @param cacheSize max number of renderings of entities and small expressions to keep; zero
+     *        disables the cache
+     * @since 4.5.23
+     */
+    public synchronized void setCacheSize(int cacheSize) {
+        Configuration c = configuration;
+        configuration = new Configuration(c.shared, c.factory, c.shortFormProvider, cacheSize);
     }
 
     /**
      * @param object the object to render
      * @return the rendering for the object
      */
-    public synchronized String getRendering(@Nonnull OWLObject object) {
-        return renderer.render(checkNotNull(object, "object cannot be null"));
+    public String getRendering(@Nonnull OWLObject object) {
+        checkNotNull(object, "object cannot be null");
+        Configuration c = configuration;
+        if (c.cache == null || !isSmall(object)) {
+            return render(c, object);
+        }
+        String rendering = c.cache.getIfPresent(object);
+        if (rendering == null) {
+            rendering = render(c, object);
+            c.cache.put(object, rendering);
+        }
+        return rendering;
+    }
+
+    private String render(Configuration c, OWLObject object) {
+        if (c.shared != null) {
+            synchronized (c.shared) {
+                return c.shared.render(object);
+            }
+        }
+        ThreadRenderer r = threadRenderers.get();
+        if (r == null || r.configuration != c) {
+            r = new ThreadRenderer(c);
+            threadRenderers.set(r);
+        }
+        if (r.busy) {
+            // toString called while rendering on this thread; renderers are not reentrant
+            return new ThreadRenderer(c).renderer.render(object);
+        }
+        r.busy = true;
+        try {
+            return r.renderer.render(object);
+        } finally {
+            r.busy = false;
+        }
+    }
+
+    /**
+     * @param object object to render
+     * @return true for entities, IRIs, literals, and expressions whose parts are all of these
+     */
+    private static boolean isSmall(OWLObject object) {
+        if (isAtomic(object) || object instanceof OWLObjectInverseOf) {
+            return true;
+        }
+        if (object instanceof OWLObjectComplementOf) {
+            return isAtomic(((OWLObjectComplementOf) object).getOperand());
+        }
+        if (object instanceof OWLDataComplementOf) {
+            return isAtomic(((OWLDataComplementOf) object).getDataRange());
+        }
+        if (object instanceof OWLObjectHasSelf) {
+            return isAtomic(((OWLObjectHasSelf) object).getProperty());
+        }
+        if (object instanceof OWLQuantifiedRestriction) {
+            OWLQuantifiedRestriction<?> r = (OWLQuantifiedRestriction<?>) object;
+            return isAtomic(r.getProperty()) && isAtomic(r.getFiller());
+        }
+        if (object instanceof OWLHasValueRestriction) {
+            OWLHasValueRestriction<?> r = (OWLHasValueRestriction<?>) object;
+            return isAtomic(r.getProperty()) && isAtomic(r.getFiller());
+        }
+        return false;
+    }
+
+    private static boolean isAtomic(OWLObject object) {
+        return object instanceof OWLEntity || object instanceof IRI
+            || object instanceof OWLLiteral;
+    }
+
+    private static final class Configuration {
+
+        @Nullable
+        final OWLObjectRenderer shared;
+        @Nullable
+        final Supplier<? extends OWLObjectRenderer> factory;
+        @Nullable
+        final ShortFormProvider shortFormProvider;
+        final int cacheSize;
+        @Nullable
+        final Cache<OWLObject, String> cache;
+
+        Configuration(@Nullable OWLObjectRenderer shared,
+            @Nullable Supplier<? extends OWLObjectRenderer> factory,
+            @Nullable ShortFormProvider shortFormProvider, int cacheSize) {
+            this.shared = shared;
+            this.factory = factory;
+            this.shortFormProvider = shortFormProvider;
+            this.cacheSize = cacheSize;
+            cache = cacheSize > 0 ? Caffeine.newBuilder().maximumSize(cacheSize).build() : null;
+        }
+    }
+
+    private static final class ThreadRenderer {
+
+        final Configuration configuration;
+        final OWLObjectRenderer renderer;
+        boolean busy;
+
+        ThreadRenderer(Configuration configuration) {
+            this.configuration = configuration;
+            renderer = checkNotNull(
+                checkNotNull(configuration.factory, "factory cannot be null").get(),
+                "renderer factory returned null");
+            if (configuration.shortFormProvider != null) {
+                renderer.setShortFormProvider(configuration.shortFormProvider);
+            }
+        }
     }
 }
@@ -0,0 +1,59 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.model;
+
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Adds axioms to an ontology without the per change work of
+ * {@link OWLOntologyManager#applyChanges(java.util.List)}: listeners are not called for each
+ * axiom, and if no change or progress listener is attached, no change objects are created.
+ * Added axioms are visible in the ontology immediately. If listeners are attached, one
+ * {@link AddAxiom} is kept for each added axiom, and all of them are broadcast as a single list
+ * of changes when the loader is closed; memory use then grows with the number of axioms, as for
+ * a regular list of changes. Parsers use a bulk loader for the axioms of the document they read.
+ * 
+ * @since 4.5.23
+ */
+public interface OWLOntologyBulkLoader extends AutoCloseable {
+
+    /**
+     * @return the ontology axioms are added to
+     */
+    @Nonnull
+    OWLOntology getOntology();
+
+    /**
+     * @param axiom axiom to add
+     * @return true if the axiom was not already in the ontology
+     */
+    boolean add(@Nonnull OWLAxiom axiom);
+
+    /**
+     * @param axioms axioms to add
+     */
+    default void addAll(@Nonnull Collection<? extends OWLAxiom> axioms) {
+        for (OWLAxiom ax : axioms) {
+            assert ax != null;
+            add(ax);
+        }
+    }
+
+    /**
+     * Ends the bulk load and notifies listeners of the added axioms.
+     */
+    @Override
+    void close();
+}
@@ -16,19 +16,26 @@ import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ACCEP
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ALLOW_DUPLICATES_IN_CONSTRUCT_SETS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.AUTHORIZATION_VALUE;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.BANNED_PARSERS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.COMPACT_INDEXES;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONCURRENT_INDEX_READS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INITIALIZE_INDEXES_AFTER_LOAD;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.CONNECTION_TIMEOUT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.ENTITY_EXPANSION_LIMIT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.FOLLOW_REDIRECTS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.IMPORTS_LOADING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.LOAD_ANNOTATIONS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_IMPORT_HANDLING_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.MISSING_ONTOLOGY_HEADER_STRATEGY;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.OUTPUT_NAMED_GRAPH_IRI;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSER_THREADS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PARSE_WITH_STRICT_CONFIGURATION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.PRIORITY_COLLECTION_SORTING;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RDF_SPILL_THRESHOLD;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPAIR_ILLEGAL_PUNNINGS;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.REPORT_STACK_TRACES;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RETRIES_TO_ATTEMPT;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SKIP_MODULE_ANNOTATIONS;
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_TRANSLATION;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TREAT_DUBLINCORE_AS_BUILTIN;
 import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.TRIM_TO_SIZE;
 
@@ -585,4 +592,165 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
     public boolean shouldOutputNamedGraphIRI() {
         return OUTPUT_NAMED_GRAPH_IRI.getValue(Boolean.class, overrides).booleanValue();
     }
+
+    /**
+     * @return true if axiom index lookups in new ontologies should not block each other
+     */
+    public boolean shouldUseConcurrentIndexReads() {
+        return CONCURRENT_INDEX_READS.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param value true if axiom index lookups in new ontologies should not block each other. This
+     *        is read from the manager configuration when an ontology is created.
+     * @return A {@code OWLOntologyLoaderConfiguration} with the concurrent index reads flag set to
+     *         the new value.
+     */
+    public OWLOntologyLoaderConfiguration withConcurrentIndexReads(boolean value) {
+        if (shouldUseConcurrentIndexReads() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(CONCURRENT_INDEX_READS, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @return true if the axiom indexes of a loaded ontology should be built right after loading
+     */
+    public boolean shouldInitializeIndexesAfterLoad() {
+        return INITIALIZE_INDEXES_AFTER_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param value true if the axiom indexes of a loaded ontology should be built, in parallel,
+     *        right after loading instead of lazily on first query
+     * @return A {@code OWLOntologyLoaderConfiguration} with the index initialization flag set to the
+     *         new value.
+     */
+    public OWLOntologyLoaderConfiguration withInitializeIndexesAfterLoad(boolean value) {
+        if (shouldInitializeIndexesAfterLoad() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(INITIALIZE_INDEXES_AFTER_LOAD, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @return true if the axiom indexes of a loaded ontology should be compacted after loading
+     */
+    public boolean shouldCompactIndexes() {
+        return COMPACT_INDEXES.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param value true if the axiom indexes of a loaded ontology should be compacted after
+     *        loading, reducing memory use for ontologies that are mostly queried rather than
+     *        edited
+     * @return A {@code OWLOntologyLoaderConfiguration} with the compact indexes flag set to the new
+     *         value.
+     */
+    public OWLOntologyLoaderConfiguration withCompactIndexes(boolean value) {
+        if (shouldCompactIndexes() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(COMPACT_INDEXES, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @return true if RDF parsers should translate the triples of a named subject as soon as the
+     *         parser moves on to another subject
+     */
+    public boolean shouldTranslateRDFStreaming() {
+        return STREAMING_RDF_TRANSLATION.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @param value true if RDF parsers should translate the triples of a named subject as soon as
+     *        the parser moves on to another subject. This keeps memory use low for documents that
+     *        group triples by subject and declare properties before using them; blank node
+     *        structures are still translated at the end of the document.
+     * @return A {@code OWLOntologyLoaderConfiguration} with the streaming translation flag set to
+     *         the new value.
+     */
+    public OWLOntologyLoaderConfiguration withStreamingRDFTranslation(boolean value) {
+        if (shouldTranslateRDFStreaming() == value) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(STREAMING_RDF_TRANSLATION, Boolean.valueOf(value));
+        return configuration;
+    }
+
+    /**
+     * @return number of untranslated triples kept in memory by RDF parsers before spilling them to
+     *         disk; zero or less means never spill
+     */
+    public int getRDFSpillThreshold() {
+        return RDF_SPILL_THRESHOLD.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threshold number of untranslated triples RDF parsers keep in memory while reading a
+     *        document; beyond this, pending triples are written to a temporary file and read back
+     *        when the document has been fully read. Zero or less disables spilling.
+     * @return A {@code OWLOntologyLoaderConfiguration} with the spill threshold set to the new
+     *         value.
+     */
+    public OWLOntologyLoaderConfiguration withRDFSpillThreshold(int threshold) {
+        if (getRDFSpillThreshold() == threshold) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(RDF_SPILL_THRESHOLD, Integer.valueOf(threshold));
+        return configuration;
+    }
+
+    /**
+     * @return number of threads a parser that supports parallel parsing may use
+     */
+    public int getParserThreads() {
+        return PARSER_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads number of threads a parser that supports parallel parsing may use; values
+     *        less than two mean documents are parsed on the calling thread
+     * @return A {@code OWLOntologyLoaderConfiguration} with the parser threads set to the new
+     *         value.
+     */
+    public OWLOntologyLoaderConfiguration withParserThreads(int threads) {
+        if (getParserThreads() == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(PARSER_THREADS, Integer.valueOf(threads));
+        return configuration;
+    }
+
+    /**
+     * @return number of threads used to fetch and parse the imports closure of an ontology
+     */
+    public int getImportsLoadingThreads() {
+        return IMPORTS_LOADING_THREADS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @param threads number of threads used to fetch and parse the imports closure of an
+     *        ontology; values less than two mean imports are loaded one at a time, as the parser
+     *        finds them
+     * @return A {@code OWLOntologyLoaderConfiguration} with the imports loading threads set to the
+     *         new value.
+     */
+    public OWLOntologyLoaderConfiguration withImportsLoadingThreads(int threads) {
+        if (getImportsLoadingThreads() == threads) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration configuration = copyConfiguration();
+        configuration.overrides.put(IMPORTS_LOADING_THREADS, Integer.valueOf(threads));
+        return configuration;
+    }
 }
@@ -25,6 +25,7 @@ import javax.annotation.Nullable;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentTarget;
 import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.OntologyCopy;
 import org.semanticweb.owlapi.util.PriorityCollection;
 
@@ -853,6 +854,42 @@ public interface OWLOntologyManager extends OWLOntologySetProvider, HasDataFacto
      */
     void setDefaultChangeBroadcastStrategy(@Nonnull OWLOntologyChangeBroadcastStrategy strategy);
 
+    /**
+     * Starts adding axioms to an ontology in bulk, bypassing the application and broadcasting of
+     * a change for each axiom. If impending change listeners are attached outside of ontology
+     * loading, axioms are added as regular changes so that the listeners can veto them. If
+     * ontology change listeners or progress listeners are attached, an {@link AddAxiom} is still
+     * created for each added axiom, and the changes are broadcast together when the loader is
+     * closed; only without listeners are no change objects created at all.
+     * 
+     * <p>
+     * The default implementation, for managers that do not support bulk loading, adds each axiom
+     * as a regular change.
+     * 
+     * @param ontology the ontology to add axioms to
+     * @return a loader for the ontology; it must be closed when all axioms have been added
+     */
+    @Nonnull
+    default OWLOntologyBulkLoader startBulkLoad(@Nonnull OWLOntology ontology) {
+        return new OWLOntologyBulkLoader() {
+
+            @Override
+            public OWLOntology getOntology() {
+                return ontology;
+            }
+
+            @Override
+            public boolean add(OWLAxiom axiom) {
+                return applyChange(new AddAxiom(ontology, axiom)) == ChangeApplied.SUCCESSFULLY;
+            }
+
+            @Override
+            public void close() {
+                // changes have already been applied and broadcast
+            }
+        };
+    }
+
     /**
      * Requests that the manager loads an imported ontology that is described by an imports
      * statement. This method is generally used by parsers and other kinds of loaders. For simply
@@ -131,7 +131,82 @@ public enum ConfigurationOptions {
      * graph IRI can be set independently
      * or overridden with 
      * {@code OWLDocumentFormat::setParameter("namedGraphOverride", "desired value")}.*/
-    OUTPUT_NAMED_GRAPH_IRI              (Boolean.FALSE);
+    OUTPUT_NAMED_GRAPH_IRI              (Boolean.FALSE),
+    /** True if axiom index lookups
+     * in ontologies created by a 
+     * manager should not block each 
+     * other. Useful when many threads 
+     * query the same ontology; 
+     * writes still take exclusive 
+     * locks.*/
+    CONCURRENT_INDEX_READS              (Boolean.FALSE),
+    /** True if the lazily built axiom 
+     * indexes of a loaded ontology 
+     * should be built, in parallel, 
+     * right after loading rather than 
+     * on first query.*/
+    INITIALIZE_INDEXES_AFTER_LOAD       (Boolean.FALSE),
+    /** True if the axiom indexes of 
+     * a loaded ontology should be 
+     * compacted to int postings 
+     * after loading, trading lookup 
+     * speed and write speed for a 
+     * smaller heap.*/
+    COMPACT_INDEXES                     (Boolean.FALSE),
+    /** True if the RDF parsers should 
+     * translate the triples of a named 
+     * subject as soon as the subject 
+     * changes, instead of buffering 
+     * them until the end of the 
+     * document.*/
+    STREAMING_RDF_TRANSLATION           (Boolean.FALSE),
+    /** Number of untranslated triples 
+     * the RDF parsers keep in memory 
+     * while reading a document before 
+     * spilling them to a temporary 
+     * file. Zero or less disables 
+     * spilling.*/
+    RDF_SPILL_THRESHOLD                 (Integer.valueOf(0)),
+    /** Number of threads a parser 
+     * that supports parallel parsing, 
+     * such as the functional syntax 
+     * parser, may use. One means the 
+     * document is parsed on the 
+     * calling thread only.*/
+    PARSER_THREADS                      (Integer.valueOf(1)),
+    /** Number of threads used to 
+     * fetch and parse the imports 
+     * closure of an ontology. One 
+     * means imports are loaded one 
+     * at a time, as they are found.*/
+    IMPORTS_LOADING_THREADS             (Integer.valueOf(1)),
+    /** Number of threads a renderer 
+     * that supports parallel rendering, 
+     * such as the functional syntax 
+     * renderer, may use. One means the 
+     * document is rendered on the 
+     * calling thread only. Can be 
+     * overridden per save with the 
+     * {@code "renderer threads"} 
+     * format parameter.*/
+    RENDERER_THREADS                    (Integer.valueOf(1)),
+    /** Max number of toString renderings 
+     * of entities and small expressions 
+     * kept by the ToStringRenderer. Zero 
+     * disables the cache.*/
+    TO_STRING_CACHE_SIZE                (Integer.valueOf(0)),
+    /** True if the RDF renderers should 
+     * forget the blank nodes and axioms 
+     * of each subject once it has been 
+     * written, keeping only shared 
+     * anonymous individuals; Rio 
+     * N-Triples, N-Quads and BinaryRDF 
+     * statements are then written as 
+     * each axiom is translated. Can be 
+     * overridden per save with the 
+     * {@code "streaming rdf rendering"} 
+     * format parameter.*/
+    STREAMING_RDF_RENDERING             (Boolean.FALSE);
     //@formatter:on
     private static final String PREFIX =
         "org.semanticweb.owlapi.model.parameters.ConfigurationOptions.";
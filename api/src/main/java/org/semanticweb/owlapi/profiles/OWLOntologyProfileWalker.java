@@ -19,7 +19,10 @@ import javax.annotation.Nonnull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.util.OWLOntologyWalker;
 import org.semanticweb.owlapi.util.StructureWalker;
@@ -32,41 +35,100 @@ import org.semanticweb.owlapi.util.StructureWalker;
  */
 public class OWLOntologyProfileWalker extends OWLOntologyWalker {
 
+    @Nonnull
+    private final ProfileStructureWalker structureWalker = new ProfileStructureWalker();
+
     /**
      * @param objects
      *        ontologies to walk
      */
     public OWLOntologyProfileWalker(@Nonnull Set<OWLOntology> objects) {
         super(objects);
-        setStructureWalker(new StructureWalker<OWLOntology>(this) {
+        setStructureWalker(structureWalker);
+    }
+
+    /**
+     * Walks the header of an ontology, i.e., the ontology itself and its
+     * annotations, as {@link #walkStructure(OWLObjectVisitor)} does before
+     * walking the axioms of the ontology.
+     * 
+     * @param o
+     *        ontology to walk
+     * @param v
+     *        visitor to use
+     * @since 4.5.23
+     */
+    public void walkOntologyHeader(@Nonnull OWLOntology o, @Nonnull OWLObjectVisitor v) {
+        setVisitor(v);
+        ontology = o;
+        ax = null;
+        structureWalker.walkHeader(o);
+    }
+
+    /**
+     * Walks one axiom of an ontology, as
+     * {@link #walkStructure(OWLObjectVisitor)} does when it reaches the axiom.
+     * 
+     * @param o
+     *        ontology containing the axiom
+     * @param axiom
+     *        axiom to walk
+     * @param v
+     *        visitor to use
+     * @since 4.5.23
+     */
+    public void walkAxiom(@Nonnull OWLOntology o, @Nonnull OWLAxiom axiom,
+        @Nonnull OWLObjectVisitor v) {
+        setVisitor(v);
+        ontology = o;
+        axiom.accept(structureWalker);
+    }
+
+    private class ProfileStructureWalker extends StructureWalker<OWLOntology> {
 
-            @Override
-            public void visit(@Nonnull OWLAnnotationAssertionAxiom axiom) {
-                process(axiom);
-                if (axiom.getSubject() instanceof IRI) {
-                    // do not visit anonymous nodes from annotations
-                    axiom.getSubject().accept(this);
-                }
-                axiom.getAnnotation().accept(this);
+        ProfileStructureWalker() {
+            super(OWLOntologyProfileWalker.this);
+        }
+
+        void walkHeader(@Nonnull OWLOntology o) {
+            process(o);
+        }
+
+        @Override
+        protected void process(@Nonnull OWLObject object) {
+            if (object instanceof OWLAxiom || object instanceof OWLOntology) {
+                // the current annotation must not leak from the previous axiom
+                annotation = null;
             }
+            super.process(object);
+        }
 
-            @Override
-            public void visit(OWLAnnotation node) {
-                process(node);
-                node.getProperty().accept(this);
-                // only visit IRIs
-                if (node.getValue() instanceof IRI) {
-                    node.getValue().accept(this);
-                }
+        @Override
+        public void visit(@Nonnull OWLAnnotationAssertionAxiom axiom) {
+            process(axiom);
+            if (axiom.getSubject() instanceof IRI) {
+                // do not visit anonymous nodes from annotations
+                axiom.getSubject().accept(this);
             }
+            axiom.getAnnotation().accept(this);
+        }
 
-            @Override
-            public void visit(OWLDeclarationAxiom axiom) {
-                process(axiom);
-                walkerCallback.setAxiom(axiom);
-                // do not visit entities from declarations, only their IRIs
-                axiom.getEntity().getIRI().accept(this);
+        @Override
+        public void visit(OWLAnnotation node) {
+            process(node);
+            node.getProperty().accept(this);
+            // only visit IRIs
+            if (node.getValue() instanceof IRI) {
+                node.getValue().accept(this);
             }
-        });
+        }
+
+        @Override
+        public void visit(OWLDeclarationAxiom axiom) {
+            process(axiom);
+            walkerCallback.setAxiom(axiom);
+            // do not visit entities from declarations, only their IRIs
+            axiom.getEntity().getIRI().accept(this);
+        }
     }
 }
@@ -0,0 +1,482 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.OWLOntologyWalker;
+
+/**
+ * Checks an ontology and its imports closure against several profiles at once. Each axiom is
+ * walked once for all the requested profiles, and the axioms are split in chunks checked on the
+ * configured number of threads. The violations found are cached per axiom; the checker listens to
+ * the changes applied to the ontologies in the closure, and the next report only re-checks the
+ * axioms that were added or removed since the last one. Changes that can alter the result of
+ * checks on other axioms - declarations, datatype definitions, axioms used to compute simple
+ * properties and ranges, import and ontology annotation changes, and entities punned in the
+ * closure - cause a full check instead.
+ * <p>
+ * Only the axioms with violations are kept, in insertion ordered maps, and a report iterates over
+ * those alone. The reports hold the same violations as those returned by
+ * {@link OWLProfile#checkOntology(OWLOntology)} for the same profiles; after a full check they are
+ * also in the same order, while violations of axioms checked incrementally come after the others
+ * of the same ontology. Call {@link #dispose()} to stop listening to changes.
+ *
+ * @since 4.5.23
+ */
+public class ProfileChecker implements OWLOntologyChangeListener {
+
+    /** Axiom types whose presence is looked up while checking other axioms. */
+    private static final Set<AxiomType<?>> CONTEXT_TYPES = new HashSet<>(Arrays.asList(
+        AxiomType.DECLARATION, AxiomType.DATATYPE_DEFINITION, AxiomType.OBJECT_PROPERTY_RANGE,
+        AxiomType.SUB_OBJECT_PROPERTY, AxiomType.SUB_PROPERTY_CHAIN_OF,
+        AxiomType.TRANSITIVE_OBJECT_PROPERTY, AxiomType.EQUIVALENT_OBJECT_PROPERTIES,
+        AxiomType.INVERSE_OBJECT_PROPERTIES, AxiomType.SYMMETRIC_OBJECT_PROPERTY));
+    /** Number of chunks per thread, so that uneven chunks do not leave threads idle. */
+    private static final int CHUNKS_PER_THREAD = 4;
+    @Nonnull
+    private final OWLOntology ontology;
+    private final int threads;
+    @Nonnull
+    private final Set<Profiles> profiles;
+    @Nonnull
+    private final Set<Profiles> checking = EnumSet.noneOf(Profiles.class);
+    private final Map<OWLOntology, List<Tagged>> headers = new HashMap<>();
+    private final Map<OWLOntology, Map<OWLAxiom, List<Tagged>>> results = new HashMap<>();
+    private final List<OWLOntologyChange> pending = new ArrayList<>();
+    private boolean checked = false;
+    private boolean disposed = false;
+
+    /**
+     * @param ontology ontology to check, with its imports closure
+     * @param threads number of threads used to check the axioms; 1 checks them in the calling
+     *        thread
+     * @param profiles the profiles to report on; none means all the profiles in {@link Profiles}
+     */
+    public ProfileChecker(@Nonnull OWLOntology ontology, int threads, Profiles... profiles) {
+        this.ontology = checkNotNull(ontology, "ontology cannot be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.profiles = profiles.length == 0 ? EnumSet.allOf(Profiles.class)
+            : EnumSet.copyOf(Arrays.asList(profiles));
+        this.profiles.forEach(p -> checking.addAll(checkedProfiles(p)));
+        ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+    }
+
+    /**
+     * The profiles checked for each profile, as in the {@code checkOntology()} implementations.
+     *
+     * @param profile profile to report on
+     * @return the profile visitor gates whose violations belong to the report
+     */
+    private static Set<Profiles> checkedProfiles(Profiles profile) {
+        switch (profile) {
+            case OWL2_DL:
+                return EnumSet.of(Profiles.OWL2_DL);
+            case OWL2_EL:
+                return EnumSet.of(Profiles.OWL2_DL, Profiles.OWL2_EL);
+            case OWL2_QL:
+                return EnumSet.of(Profiles.OWL2_DL, Profiles.OWL2_QL);
+            case OWL2_RL:
+                return EnumSet.of(Profiles.OWL2_DL, Profiles.OWL2_RL);
+            case OWL2_FULL:
+            default:
+                return EnumSet.noneOf(Profiles.class);
+        }
+    }
+
+    private static int mask(Set<Profiles> set) {
+        int mask = 0;
+        for (Profiles p : set) {
+            mask |= 1 << p.ordinal();
+        }
+        return mask;
+    }
+
+    /** @return the ontology checked */
+    public OWLOntology getOntology() {
+        return ontology;
+    }
+
+    /**
+     * @param profile the profile to report on; must be one of the profiles this checker was
+     *        created for
+     * @return the report for the ontology and its imports closure, up to date with the changes
+     *         applied so far
+     */
+    public synchronized OWLProfileReport getReport(@Nonnull Profiles profile) {
+        if (!profiles.contains(profile)) {
+            throw new IllegalArgumentException(
+                "Profile " + profile + " is not checked; checked profiles: " + profiles);
+        }
+        update();
+        return report(profile);
+    }
+
+    /**
+     * @return the reports for all the profiles this checker was created for, up to date with the
+     *         changes applied so far
+     */
+    public synchronized Map<Profiles, OWLProfileReport> getReports() {
+        update();
+        Map<Profiles, OWLProfileReport> reports = new EnumMap<>(Profiles.class);
+        profiles.forEach(p -> reports.put(p, report(p)));
+        return reports;
+    }
+
+    /** Stops listening to changes and clears the cached results. */
+    public synchronized void dispose() {
+        if (!disposed) {
+            ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+            disposed = true;
+        }
+        headers.clear();
+        results.clear();
+        pending.clear();
+        checked = false;
+    }
+
+    @Override
+    public synchronized void ontologiesChanged(
+        @Nonnull List<? extends OWLOntologyChange> changes) {
+        if (checked) {
+            pending.addAll(changes);
+        }
+    }
+
+    private OWLProfileReport report(Profiles profile) {
+        int allowed = mask(checkedProfiles(profile));
+        Set<OWLProfileViolation> violations = new LinkedHashSet<>();
+        for (OWLOntology o : ontology.getImportsClosure()) {
+            add(headers.get(o), allowed, violations);
+            Map<OWLAxiom, List<Tagged>> axioms = results.get(o);
+            if (axioms != null) {
+                for (List<Tagged> tagged : axioms.values()) {
+                    add(tagged, allowed, violations);
+                }
+            }
+        }
+        return new OWLProfileReport(profile.getOWLProfile(), violations);
+    }
+
+    private static void add(@Nullable List<Tagged> tagged, int allowed,
+        Set<OWLProfileViolation> violations) {
+        if (tagged != null) {
+            for (Tagged t : tagged) {
+                if ((t.gates & ~allowed) == 0) {
+                    violations.add(t.violation);
+                }
+            }
+        }
+    }
+
+    private void update() {
+        if (disposed) {
+            throw new IllegalStateException("The profile checker has been disposed");
+        }
+        Set<OWLOntology> closure = ontology.getImportsClosure();
+        if (!checked || requiresFullCheck(closure)) {
+            fullCheck(closure);
+            return;
+        }
+        // only the axioms added or removed since the last report need checking again
+        Map<OWLOntology, Set<OWLAxiom>> touched = new LinkedHashMap<>();
+        for (OWLOntologyChange change : pending) {
+            if (closure.contains(change.getOntology())) {
+                touched.computeIfAbsent(change.getOntology(), o -> new HashSet<>())
+                    .add(change.getAxiom());
+            }
+        }
+        pending.clear();
+        List<Chunk> chunks = new ArrayList<>();
+        for (Map.Entry<OWLOntology, Set<OWLAxiom>> e : touched.entrySet()) {
+            OWLOntology o = e.getKey();
+            Map<OWLAxiom, List<Tagged>> axioms = results.get(o);
+            List<OWLAxiom> present = new ArrayList<>();
+            for (OWLAxiom ax : e.getValue()) {
+                axioms.remove(ax);
+                if (o.containsAxiom(ax)) {
+                    present.add(ax);
+                }
+            }
+            split(o, false, present, chunks);
+        }
+        run(chunks);
+    }
+
+    private boolean requiresFullCheck(Set<OWLOntology> closure) {
+        for (OWLOntologyChange change : pending) {
+            if (!closure.contains(change.getOntology())) {
+                continue;
+            }
+            if (!change.isAxiomChange()) {
+                // imports, ontology annotations and ontology id
+                return true;
+            }
+            OWLAxiom ax = change.getAxiom();
+            if (CONTEXT_TYPES.contains(ax.getAxiomType()) || punned(ax)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param ax changed axiom
+     * @return true if an entity in the signature of the axiom shares its IRI with an entity of a
+     *         different type in the axiom or in the closure; punning checks on other axioms might
+     *         have a different outcome after the change
+     */
+    private boolean punned(OWLAxiom ax) {
+        Set<IRI> iris = new HashSet<>();
+        for (OWLEntity e : ax.getSignature()) {
+            if (!iris.add(e.getIRI())) {
+                return true;
+            }
+            for (OWLEntity other : ontology.getEntitiesInSignature(e.getIRI(), Imports.INCLUDED)) {
+                if (!other.isType(e.getEntityType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void fullCheck(Set<OWLOntology> closure) {
+        pending.clear();
+        headers.clear();
+        results.clear();
+        List<Chunk> chunks = new ArrayList<>();
+        for (OWLOntology o : closure) {
+            split(o, true, new ArrayList<>(o.getAxioms()), chunks);
+        }
+        run(chunks);
+        checked = true;
+    }
+
+    private void split(OWLOntology o, boolean header, List<OWLAxiom> axioms, List<Chunk> chunks) {
+        results.computeIfAbsent(o, x -> new LinkedHashMap<>());
+        int size = Math.max(1, axioms.size() / (threads * CHUNKS_PER_THREAD) + 1);
+        if (axioms.isEmpty()) {
+            if (header) {
+                chunks.add(new Chunk(o, true, Collections.<OWLAxiom> emptyList()));
+            }
+            return;
+        }
+        for (int start = 0; start < axioms.size(); start += size) {
+            chunks.add(new Chunk(o, header && start == 0,
+                axioms.subList(start, Math.min(axioms.size(), start + size))));
+        }
+    }
+
+    private void run(List<Chunk> chunks) {
+        if (threads == 1 || chunks.size() < 2) {
+            chunks.forEach(c -> merge(c, c.check(checking)));
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<Map<OWLAxiom, List<Tagged>>>> futures = new ArrayList<>(chunks.size());
+            for (Chunk c : chunks) {
+                futures.add(pool.submit(() -> c.check(checking)));
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                merge(chunks.get(i), futures.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void merge(Chunk chunk, Map<OWLAxiom, List<Tagged>> found) {
+        if (chunk.header) {
+            headers.put(chunk.ontology, chunk.headerViolations);
+        }
+        results.get(chunk.ontology).putAll(found);
+    }
+
+    /** A violation and the mask of the profile gates it was found under. */
+    private static final class Tagged {
+
+        final OWLProfileViolation violation;
+        final int gates;
+
+        Tagged(OWLProfileViolation violation, int gates) {
+            this.violation = violation;
+            this.gates = gates;
+        }
+    }
+
+    /** A run of axioms from one ontology, optionally preceded by the ontology header. */
+    private static final class Chunk {
+
+        final OWLOntology ontology;
+        final boolean header;
+        final List<OWLAxiom> axioms;
+        @Nullable
+        List<Tagged> headerViolations;
+
+        Chunk(OWLOntology ontology, boolean header, List<OWLAxiom> axioms) {
+            this.ontology = ontology;
+            this.header = header;
+            this.axioms = axioms;
+        }
+
+        /**
+         * @param checking the profiles to check
+         * @return the violations of the axioms that have any, in the order of the axioms
+         */
+        Map<OWLAxiom, List<Tagged>> check(Set<Profiles> checking) {
+            OWLOntologyProfileWalker walker =
+                new OWLOntologyProfileWalker(Collections.<OWLOntology> emptySet());
+            TaggingVisitor visitor = new TaggingVisitor(walker, checking);
+            Map<OWLAxiom, List<Tagged>> found = new LinkedHashMap<>();
+            if (header) {
+                walker.walkOntologyHeader(ontology, visitor);
+                headerViolations = visitor.take();
+            }
+            for (OWLAxiom ax : axioms) {
+                walker.walkAxiom(ontology, ax, visitor);
+                List<Tagged> tagged = visitor.take();
+                if (tagged != null) {
+                    found.put(ax, tagged);
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * A profile visitor that records, for each violation, the profile gates open when the
+     * violation was found, so that one walk serves the reports of all profiles.
+     */
+    private static class TaggingVisitor extends ProfileVisitor {
+
+        private final Recorder recorder;
+        private int gates = 0;
+
+        TaggingVisitor(OWLOntologyWalker walker, Set<Profiles> checking) {
+            this(walker, checking, new Recorder());
+        }
+
+        private TaggingVisitor(OWLOntologyWalker walker, Set<Profiles> checking,
+            Recorder recorder) {
+            super(walker, recorder, checking);
+            this.recorder = recorder;
+            recorder.visitor = this;
+        }
+
+        @Nullable
+        List<Tagged> take() {
+            List<Tagged> tagged = recorder.found;
+            recorder.found = null;
+            return tagged;
+        }
+
+        private void gate(Profiles p, Runnable check) {
+            int previous = gates;
+            gates |= 1 << p.ordinal();
+            try {
+                check.run();
+            } finally {
+                gates = previous;
+            }
+        }
+
+        @Override
+        protected void dl(Runnable... runnables) {
+            gate(Profiles.OWL2_DL, () -> super.dl(runnables));
+        }
+
+        @Override
+        protected void el(Runnable... runnables) {
+            gate(Profiles.OWL2_EL, () -> super.el(runnables));
+        }
+
+        @Override
+        protected void ql(Runnable... runnables) {
+            gate(Profiles.OWL2_QL, () -> super.ql(runnables));
+        }
+
+        @Override
+        protected void rl(Runnable... runnables) {
+            gate(Profiles.OWL2_RL, () -> super.rl(runnables));
+        }
+    }
+
+    /** Collects the violations of one axiom; only {@code add()} is used by the visitors. */
+    private static class Recorder extends AbstractCollection<OWLProfileViolation> {
+
+        @Nullable
+        TaggingVisitor visitor;
+        @Nullable
+        List<Tagged> found;
+
+        @Override
+        public boolean add(OWLProfileViolation v) {
+            if (found == null) {
+                found = new ArrayList<>(2);
+            }
+            found.add(new Tagged(v, visitor == null ? 0 : visitor.gates));
+            return true;
+        }
+
+        @Override
+        public Iterator<OWLProfileViolation> iterator() {
+            return found == null ? Collections.<OWLProfileViolation> emptyIterator()
+                : found.stream().map(t -> t.violation).iterator();
+        }
+
+        @Override
+        public int size() {
+            return found == null ? 0 : found.size();
+        }
+    }
+}
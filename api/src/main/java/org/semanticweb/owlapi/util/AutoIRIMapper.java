@@ -13,24 +13,47 @@
 package org.semanticweb.owlapi.util;
 
 import static org.semanticweb.owlapi.util.CollectionFactory.createMap;
+import static org.semanticweb.owlapi.util.CollectionFactory.createSyncMap;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
-import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,6 +64,7 @@ import org.semanticweb.owlapi.annotations.HasPriority;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSourceBase;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntologyIRIMapper;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
 import org.slf4j.Logger;
@@ -55,6 +79,11 @@ import org.xml.sax.helpers.DefaultHandler;
  * Syntax, Functional Syntax and OBO (other serialisations are not supported). Zip and jar files
  * containing ontologies are supported, either as main argument to the constructor or as content of
  * the root folder.
+ * <p>
+ * For large folders, files can be read on several threads ({@link #setScanThreads(int)}), the
+ * ontology IRIs found can be kept in an index file so that only new and changed files are read
+ * again ({@link #setIndexFile(File)}), and the folder can be watched so that mappings follow
+ * changes to its files ({@link #startWatching()}).
  * 
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
@@ -68,15 +97,30 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     static final Pattern pattern = Pattern.compile("Ontology\\(<([^>]+)>");
     static final Pattern manPattern = Pattern.compile("Ontology:[\r\n ]*<([^>]+)>");
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoIRIMapper.class);
+    private static final int INDEX_VERSION = 1;
     private final Set<String> fileExtensions =
         new HashSet<>(Arrays.asList(".owl", ".xml", ".rdf", ".omn", ".ofn"));
-    private boolean mapped;
+    private volatile boolean mapped;
     private final boolean recursive;
     private final Map<String, OntologyRootElementHandler> handlerMap = createMap();
-    private final Map<IRI, IRI> ontologyIRI2PhysicalURIMap = createMap();
-    private final Map<String, IRI> oboFileMap = createMap();
+    // replaced as a whole when the directory is mapped again, so that readers never see a
+    // partial scan
+    private volatile Map<IRI, IRI> ontologyIRI2PhysicalURIMap = createSyncMap();
+    private volatile Map<String, IRI> oboFileMap = createSyncMap();
+    // the maps a full scan adds to; only set while mapFiles() runs
+    @Nullable
+    private transient Map<IRI, IRI> scannedOntologies;
+    @Nullable
+    private transient Map<String, IRI> scannedOboFiles;
     private final String directoryPath;
-    private transient File currentFile;
+    private int scanThreads = 1;
+    @Nullable
+    private String indexPath;
+    // what was found in each file, by path relative to the directory; only kept by indexed scans
+    @Nullable
+    private transient Map<String, IndexEntry> index;
+    @Nullable
+    private transient DirectoryWatcher watcher;
 
     /**
      * Creates an auto-mapper which examines ontologies that reside in the specified root folder
@@ -165,6 +209,79 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         fileExtensions.addAll(extensions);
     }
 
+    /**
+     * @return number of threads used to read files when the directory is mapped
+     */
+    public int getScanThreads() {
+        return scanThreads;
+    }
+
+    /**
+     * Sets the number of threads used to read files when the directory is mapped. With more than
+     * one thread, the directory is walked first and the files found are read concurrently; the
+     * mappings are then added in walk order, so the outcome is the same as with a single thread.
+     *
+     * @param threads number of threads; one, the default, reads files one at a time
+     */
+    public void setScanThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        scanThreads = threads;
+    }
+
+    /**
+     * @return the index file, or null if no index is kept
+     */
+    @Nullable
+    public File getIndexFile() {
+        return indexPath == null ? null : new File(indexPath);
+    }
+
+    /**
+     * Sets a file in which the ontology IRIs found in each file are kept, with the size and
+     * modification time of the file. The index is read before the directory is mapped and written
+     * after, and only files that are new or whose size or modification time changed are read. The
+     * index is discarded if it was written for a different directory.
+     *
+     * @param indexFile index file, or null to keep no index (the default)
+     */
+    public void setIndexFile(@Nullable File indexFile) {
+        indexPath = indexFile == null ? null : indexFile.getAbsolutePath();
+        index = null;
+    }
+
+    /**
+     * Starts watching the directory, and its sub directories if this mapper is recursive, and
+     * updates the mappings as files are created, modified or deleted. Changes are handled on a
+     * daemon thread; the index file, if set, is written after each change.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        DirectoryWatcher w = new DirectoryWatcher(getDirectory().toPath());
+        watcher = w;
+        // map after registering, so that no change is lost in between
+        mapFiles();
+        Thread thread = new Thread(w, "AutoIRIMapper watcher: " + directoryPath);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the directory. The mappings found so far are kept.
+     */
+    public synchronized void stopWatching() {
+        DirectoryWatcher w = watcher;
+        watcher = null;
+        if (w != null) {
+            w.close();
+        }
+    }
+
     /**
      * Gets the set of ontology IRIs that this mapper has found.
      *
@@ -172,7 +289,7 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
      */
     public Set<IRI> getOntologyIRIs() {
         if (!mapped) {
-            mapFiles();
+            mapIfNeeded();
         }
         return new HashSet<>(ontologyIRI2PhysicalURIMap.keySet());
     }
@@ -187,7 +304,7 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     @Override
     public IRI getDocumentIRI(IRI ontologyIRI) {
         if (!mapped) {
-            mapFiles();
+            mapIfNeeded();
         }
         if (ontologyIRI.toString().endsWith(".obo")) {
             String path = ontologyIRI.toURI().getPath();
@@ -203,10 +320,44 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         return ontologyIRI2PhysicalURIMap.get(ontologyIRI);
     }
 
-    private void mapFiles() {
+    private synchronized void mapIfNeeded() {
+        if (!mapped) {
+            mapFiles();
+        }
+    }
+
+    /**
+     * Maps the directory into new maps, which replace the current ones when the scan is complete;
+     * until then, readers see the previous mappings.
+     */
+    private synchronized void mapFiles() {
+        Map<IRI, IRI> ontologies = createSyncMap();
+        Map<String, IRI> oboFiles = createSyncMap();
+        scannedOntologies = ontologies;
+        scannedOboFiles = oboFiles;
+        try {
+            if (scanThreads > 1 || indexPath != null || watcher != null) {
+                mapIndexed();
+            } else {
+                processFile(getDirectory());
+            }
+        } finally {
+            scannedOntologies = null;
+            scannedOboFiles = null;
+        }
+        ontologyIRI2PhysicalURIMap = ontologies;
+        oboFileMap = oboFiles;
         mapped = true;
-        ontologyIRI2PhysicalURIMap.clear();
-        processFile(getDirectory());
+    }
+
+    private Map<IRI, IRI> ontologyTarget() {
+        Map<IRI, IRI> scanned = scannedOntologies;
+        return scanned == null ? ontologyIRI2PhysicalURIMap : scanned;
+    }
+
+    private Map<String, IRI> oboTarget() {
+        Map<String, IRI> scanned = scannedOboFiles;
+        return scanned == null ? oboFileMap : scanned;
     }
 
     private void processFile(File f) {
@@ -229,32 +380,294 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     }
 
     protected void parseIfExtensionSupported(File file) {
-        String name = file.getName();
+        if (isCandidate(file.getName())) {
+            apply(file, scan(file, 0, 0));
+        }
+    }
+
+    private boolean isCandidate(String name) {
         int lastIndexOf = name.lastIndexOf('.');
         if (lastIndexOf < 0) {
             // no extension for the file, nothing to do
-            return;
+            return false;
         }
-        String extension = name.substring(lastIndexOf);
+        String extension = name.substring(lastIndexOf).toLowerCase();
+        return ".zip".equals(extension) || ".jar".equals(extension) || ".obo".equals(extension)
+            || ".ofn".equals(extension) || ".omn".equals(extension)
+            || fileExtensions.contains(extension);
+    }
+
+    /**
+     * Reads what a file maps; safe to call concurrently.
+     *
+     * @param file file with a supported extension
+     * @param size size of the file, recorded in the index
+     * @param modified modification time of the file, recorded in the index
+     * @return the mappings found in the file
+     */
+    private IndexEntry scan(File file, long size, long modified) {
+        IndexEntry entry = new IndexEntry(size, modified);
+        String name = file.getName();
+        String extension = name.substring(name.lastIndexOf('.'));
         if (".zip".equalsIgnoreCase(extension) || ".jar".equalsIgnoreCase(extension)) {
             try {
                 ZipIRIMapper mapper = new ZipIRIMapper(file, "jar:" + file.toURI() + "!/");
-                mapper.oboMappings().forEach(e -> oboFileMap.put(e.getKey(), e.getValue()));
+                mapper.oboMappings().forEach(e -> entry.oboMappings.put(e.getKey(), e.getValue()));
                 mapper.iriMappings()
-                    .forEach(e -> ontologyIRI2PhysicalURIMap.put(e.getKey(), e.getValue()));
+                    .forEach(e -> entry.archiveMappings.put(e.getKey(), e.getValue()));
             } catch (IOException e) {
                 // if we can't parse a file, then we can't map it
                 LOGGER.debug("Exception reading file", e);
             }
 
         } else if (".obo".equalsIgnoreCase(extension)) {
-            oboFileMap.put(name, IRI.create(file));
+            entry.oboMappings.put(name, IRI.create(file));
         } else if (".ofn".equalsIgnoreCase(extension)) {
-            parseFSSFile(file);
+            parseFSSFile(file, entry.ontologyIRIs);
         } else if (".omn".equalsIgnoreCase(extension)) {
-            parseManchesterSyntaxFile(file);
-        } else if (fileExtensions.contains(extension.toLowerCase())) {
-            parseFile(file);
+            parseManchesterSyntaxFile(file, entry.ontologyIRIs);
+        } else {
+            parseFile(file, entry.ontologyIRIs);
+        }
+        return entry;
+    }
+
+    private void apply(File file, IndexEntry entry) {
+        entry.ontologyIRIs.forEach(iri -> addMapping(iri, file));
+        ontologyTarget().putAll(entry.archiveMappings);
+        oboTarget().putAll(entry.oboMappings);
+    }
+
+    private void unapply(File file, IndexEntry entry) {
+        IRI documentIRI = IRI.create(file);
+        entry.ontologyIRIs.forEach(iri -> ontologyIRI2PhysicalURIMap.remove(iri, documentIRI));
+        entry.archiveMappings.forEach(ontologyIRI2PhysicalURIMap::remove);
+        entry.oboMappings.forEach(oboFileMap::remove);
+    }
+
+    private String key(Path file) {
+        return getDirectory().toPath().relativize(file).toString();
+    }
+
+    /**
+     * Maps the directory from the index, reading only new and changed files, on the configured
+     * number of threads.
+     */
+    private void mapIndexed() {
+        Map<String, IndexEntry> previous = index == null ? readIndex() : index;
+        Map<String, BasicFileAttributes> files = new LinkedHashMap<>();
+        walk(getDirectory().toPath(), files);
+        Map<String, IndexEntry> current = new HashMap<>();
+        List<Future<IndexEntry>> scans = new ArrayList<>();
+        ForkJoinPool pool = scanThreads > 1 ? new ForkJoinPool(scanThreads) : null;
+        try {
+            for (Map.Entry<String, BasicFileAttributes> e : files.entrySet()) {
+                File file = new File(getDirectory(), e.getKey());
+                long size = e.getValue().size();
+                long modified = e.getValue().lastModifiedTime().toMillis();
+                IndexEntry cached = previous.get(e.getKey());
+                if (cached != null && cached.size == size && cached.modified == modified) {
+                    current.put(e.getKey(), cached);
+                } else if (pool == null) {
+                    current.put(e.getKey(), scan(file, size, modified));
+                } else {
+                    scans.add(pool.submit(() -> scan(file, size, modified)));
+                    current.put(e.getKey(), null);
+                }
+            }
+            int next = 0;
+            for (String key : files.keySet()) {
+                IndexEntry entry = current.get(key);
+                if (entry == null) {
+                    entry = scans.get(next++).get();
+                    current.put(key, entry);
+                }
+                apply(new File(getDirectory(), key), entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        index = current;
+        writeIndex();
+    }
+
+    /**
+     * Collects the files with supported extensions under a directory, skipping hidden sub
+     * directories as the sequential scan does.
+     *
+     * @param start directory or file to walk
+     * @param files map to add the files found to, by key
+     */
+    private void walk(Path start, Map<String, BasicFileAttributes> files) {
+        try {
+            Files.walkFileTree(start, Collections.emptySet(),
+                recursive ? Integer.MAX_VALUE : 1, new SimpleFileVisitor<Path>() {
+
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir,
+                        BasicFileAttributes attrs) throws IOException {
+                        return Files.isHidden(dir) ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                        if (attrs.isRegularFile() && isCandidate(file.getFileName().toString())) {
+                            files.put(key(file), attrs);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        LOGGER.debug("Exception reading file", e);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        } catch (IOException e) {
+            LOGGER.debug("Exception walking directory", e);
+        }
+    }
+
+    /**
+     * Updates the mappings for files and directories that changed under a watched directory.
+     *
+     * @param changes changed paths, with true for paths that were created
+     */
+    synchronized void filesChanged(Map<Path, Boolean> changes) {
+        Map<String, IndexEntry> entries = index;
+        DirectoryWatcher w = watcher;
+        if (entries == null || w == null) {
+            return;
+        }
+        for (Map.Entry<Path, Boolean> change : changes.entrySet()) {
+            Path path = change.getKey();
+            String key = key(path);
+            if (Files.isDirectory(path)) {
+                if (change.getValue().booleanValue() && recursive) {
+                    w.register(path);
+                    Map<String, BasicFileAttributes> files = new LinkedHashMap<>();
+                    walk(path, files);
+                    files.forEach((k, attrs) -> refresh(entries, k, attrs));
+                }
+                continue;
+            }
+            IndexEntry old = entries.remove(key);
+            if (old != null) {
+                unapply(path.toFile(), old);
+            } else if (!Files.exists(path)) {
+                // a deleted directory: drop everything that was found under it
+                String prefix = key + File.separatorChar;
+                List<String> removed = new ArrayList<>();
+                entries.forEach((k, e) -> {
+                    if (k.startsWith(prefix)) {
+                        removed.add(k);
+                        unapply(new File(getDirectory(), k), e);
+                    }
+                });
+                removed.forEach(entries::remove);
+            }
+            if (Files.isRegularFile(path) && isCandidate(path.getFileName().toString())) {
+                try {
+                    refresh(entries, key, Files.readAttributes(path, BasicFileAttributes.class));
+                } catch (IOException e) {
+                    LOGGER.debug("Exception reading file", e);
+                }
+            }
+        }
+        writeIndex();
+    }
+
+    private void refresh(Map<String, IndexEntry> entries, String key, BasicFileAttributes attrs) {
+        File file = new File(getDirectory(), key);
+        IndexEntry old = entries.get(key);
+        if (old != null) {
+            unapply(file, old);
+        }
+        IndexEntry entry = scan(file, attrs.size(), attrs.lastModifiedTime().toMillis());
+        entries.put(key, entry);
+        apply(file, entry);
+    }
+
+    private Map<String, IndexEntry> readIndex() {
+        Map<String, IndexEntry> entries = new HashMap<>();
+        if (indexPath == null || !new File(indexPath).exists()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(indexPath)))) {
+            if (in.readInt() != INDEX_VERSION || !directoryPath.equals(in.readUTF())) {
+                return entries;
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                String key = in.readUTF();
+                IndexEntry entry = new IndexEntry(in.readLong(), in.readLong());
+                for (int j = in.readInt(); j > 0; j--) {
+                    entry.ontologyIRIs.add(IRI.create(in.readUTF()));
+                }
+                for (int j = in.readInt(); j > 0; j--) {
+                    entry.archiveMappings.put(IRI.create(in.readUTF()), IRI.create(in.readUTF()));
+                }
+                for (int j = in.readInt(); j > 0; j--) {
+                    entry.oboMappings.put(in.readUTF(), IRI.create(in.readUTF()));
+                }
+                entries.put(key, entry);
+            }
+        } catch (IOException e) {
+            // an unreadable index only means that all files are read again
+            LOGGER.debug("Exception reading index " + indexPath, e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    private void writeIndex() {
+        Map<String, IndexEntry> entries = index;
+        if (indexPath == null || entries == null) {
+            return;
+        }
+        File target = new File(indexPath);
+        File temp = new File(indexPath + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(INDEX_VERSION);
+            out.writeUTF(directoryPath);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, IndexEntry> e : entries.entrySet()) {
+                IndexEntry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.modified);
+                out.writeInt(entry.ontologyIRIs.size());
+                for (IRI iri : entry.ontologyIRIs) {
+                    out.writeUTF(iri.toString());
+                }
+                out.writeInt(entry.archiveMappings.size());
+                for (Map.Entry<IRI, IRI> m : entry.archiveMappings.entrySet()) {
+                    out.writeUTF(m.getKey().toString());
+                    out.writeUTF(m.getValue().toString());
+                }
+                out.writeInt(entry.oboMappings.size());
+                for (Map.Entry<String, IRI> m : entry.oboMappings.entrySet()) {
+                    out.writeUTF(m.getKey());
+                    out.writeUTF(m.getValue().toString());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write index " + indexPath, e);
+            return;
+        }
+        try {
+            // readers never see a partially written index
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write index " + indexPath, e);
         }
     }
 
@@ -262,8 +675,9 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
      * Search first 100 lines for FSS style Ontology(&lt;IRI&gt; ...
      *
      * @param file the file to parse
+     * @param found list to add the ontology IRI to
      */
-    private void parseFSSFile(File file) {
+    private static void parseFSSFile(File file, List<IRI> found) {
         try (InputStream input = new FileInputStream(file);
             Reader reader = new InputStreamReader(input, "UTF-8");
             BufferedReader br = new BufferedReader(reader)) {
@@ -275,7 +689,7 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
                 if (m.matches()) {
                     String group = m.group(1);
                     assert group != null;
-                    addMapping(IRI.create(group), file);
+                    found.add(IRI.create(group));
                     break;
                 }
             }
@@ -285,15 +699,15 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         }
     }
 
-    private void parseFile(File file) {
+    private void parseFile(File file, List<IRI> found) {
         try (FileInputStream in = new FileInputStream(file);
             BufferedInputStream delegate = new BufferedInputStream(in);
             InputStream is = OWLOntologyDocumentSourceBase.wrap(delegate);) {
-            currentFile = file;
             // Using the default expansion limit. If the ontology IRI cannot be
             // found before 64000 entities are expanded, the file is too
             // expensive to parse.
-            SAXParsers.initParserWithOWLAPIStandards(null, "64000").parse(is, this);
+            SAXParsers.initParserWithOWLAPIStandards(null, "64000").parse(is,
+                new RootElementHandler(found));
         } catch (SAXException e) {
             // Exceptions thrown to halt parsing early when the ontology IRI is found
             // should not be logged because they are not actual errors, only a performance hack.
@@ -306,14 +720,16 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         }
     }
 
-    private void parseManchesterSyntaxFile(File file) {
+    private static void parseManchesterSyntaxFile(File file, List<IRI> found) {
         try (FileInputStream input = new FileInputStream(file);
             InputStreamReader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
             BufferedReader br = new BufferedReader(reader)) {
             // Ontology: <URI>
             String line = br.readLine();
             while (line != null) {
-                if (parseManLine(file, line) != null) {
+                IRI iri = parseManLine(line);
+                if (iri != null) {
+                    found.add(iri);
                     return;
                 }
                 line = br.readLine();
@@ -325,25 +741,27 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
     }
 
     @Nullable
-    private IRI parseManLine(File file, String line) {
+    private static IRI parseManLine(String line) {
         Matcher matcher = manPattern.matcher(line);
         if (matcher.matches()) {
-            IRI iri = IRI.create(matcher.group(1));
-            addMapping(iri, file);
-            return iri;
+            return IRI.create(matcher.group(1));
         }
         return null;
     }
 
-    @Override
-    public void startElement(String uri, String localName, String qName, Attributes attributes)
-        throws SAXException {
+    /**
+     * Adds the ontology IRI declared by a root element, if any, to the IRIs found in a file.
+     * 
+     * @throws SAXException to stop parsing once the owl:Ontology element has been read
+     */
+    private void rootElement(String uri, String localName, Attributes attributes,
+        List<IRI> found) throws SAXException {
         String tag = uri + localName;
         OntologyRootElementHandler handler = handlerMap.get(tag);
         if (handler != null) {
             IRI ontologyIRI = handler.handle(checkNotNull(attributes));
-            if (ontologyIRI != null && currentFile != null) {
-                addMapping(ontologyIRI, verifyNotNull(currentFile));
+            if (ontologyIRI != null) {
+                found.add(ontologyIRI);
             }
         }
         if (tag.equals("http://www.w3.org/2002/07/owl#Ontology")) {
@@ -351,12 +769,26 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         }
     }
 
+    /**
+     * Reads a root element as the mapper does for the XML files in its folder. Since files are now
+     * read concurrently, each by its own handler, no file is being read when this method is called
+     * from outside the mapper, and the ontology IRI found is not mapped.
+     * 
+     * @deprecated the mapper reads XML files with a private handler; this method will be removed
+     */
+    @Deprecated
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes)
+        throws SAXException {
+        rootElement(uri, localName, attributes, new ArrayList<IRI>());
+    }
+
     /**
      * @param ontologyIRI ontology
      * @param file file
      */
     protected void addMapping(@Nonnull IRI ontologyIRI, @Nonnull File file) {
-        ontologyIRI2PhysicalURIMap.put(ontologyIRI, IRI.create(file));
+        ontologyTarget().put(ontologyIRI, IRI.create(file));
     }
 
     @Override
@@ -368,6 +800,139 @@ public class AutoIRIMapper extends DefaultHandler implements OWLOntologyIRIMappe
         return sb.toString();
     }
 
+    /**
+     * Collects the ontology IRIs declared by the root elements of one XML file, so that files can
+     * be read concurrently.
+     */
+    private class RootElementHandler extends DefaultHandler {
+
+        private final List<IRI> found;
+
+        RootElementHandler(List<IRI> found) {
+            this.found = found;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName,
+            Attributes attributes) throws SAXException {
+            rootElement(uri, localName, attributes, found);
+        }
+    }
+
+    /**
+     * What was found in one file, with the size and modification time of the file when it was
+     * read.
+     */
+    private static class IndexEntry {
+
+        final long size;
+        final long modified;
+        // ontology IRIs declared by the file itself
+        final List<IRI> ontologyIRIs = new ArrayList<>(1);
+        // ontology IRIs to document IRIs for archives
+        final Map<IRI, IRI> archiveMappings = new LinkedHashMap<>();
+        final Map<String, IRI> oboMappings = new LinkedHashMap<>();
+
+        IndexEntry(long size, long modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * Watches the directory and its sub directories and passes changes to
+     * {@link AutoIRIMapper#filesChanged(Map)}.
+     */
+    private class DirectoryWatcher implements Runnable {
+
+        private final WatchService service;
+        private final Map<WatchKey, Path> directories = createSyncMap();
+
+        DirectoryWatcher(Path root) throws IOException {
+            service = root.getFileSystem().newWatchService();
+            if (Files.isDirectory(root)) {
+                register(root);
+            }
+        }
+
+        void register(Path start) {
+            try {
+                Files.walkFileTree(start, Collections.emptySet(),
+                    recursive ? Integer.MAX_VALUE : 0, new SimpleFileVisitor<Path>() {
+
+                        @Override
+                        public FileVisitResult preVisitDirectory(Path dir,
+                            BasicFileAttributes attrs) throws IOException {
+                            if (Files.isHidden(dir)) {
+                                return FileVisitResult.SKIP_SUBTREE;
+                            }
+                            directories.put(dir.register(service,
+                                StandardWatchEventKinds.ENTRY_CREATE,
+                                StandardWatchEventKinds.ENTRY_DELETE,
+                                StandardWatchEventKinds.ENTRY_MODIFY), dir);
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                            throws IOException {
+                            // with a depth of zero, the start directory is visited as a file
+                            return attrs.isDirectory() ? preVisitDirectory(file, attrs)
+                                : FileVisitResult.CONTINUE;
+                        }
+                    });
+            } catch (IOException | ClosedWatchServiceException e) {
+                LOGGER.debug("Cannot watch directory " + start, e);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                WatchKey key;
+                try {
+                    key = service.take();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                }
+                Path dir = directories.get(key);
+                Map<Path, Boolean> changes = new LinkedHashMap<>();
+                boolean overflow = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    } else if (dir != null) {
+                        Path path = dir.resolve((Path) event.context());
+                        boolean created = event.kind() == StandardWatchEventKinds.ENTRY_CREATE;
+                        changes.merge(path, Boolean.valueOf(created),
+                            (a, b) -> Boolean.valueOf(a.booleanValue() || b.booleanValue()));
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+                try {
+                    if (overflow) {
+                        // events were lost; the index makes a full update cheap
+                        mapFiles();
+                    } else {
+                        filesChanged(changes);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Cannot update mappings for " + directoryPath, e);
+                }
+            }
+        }
+
+        void close() {
+            try {
+                service.close();
+            } catch (IOException e) {
+                LOGGER.debug("Exception closing watch service", e);
+            }
+        }
+    }
+
     /**
      * A simple interface which extracts an ontology IRI from a set of element attributes.
      */
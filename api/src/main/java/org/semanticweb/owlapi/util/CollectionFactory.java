@@ -73,13 +73,14 @@ public class CollectionFactory {
     /**
      * Sort the input collection; if the ordering is unstable and an error is thrown (due to the use
      * of TimSort in JDK 1.7 and newer), catch it and leave the collection unsorted. NOTE: use this
-     * method if ordering is desirable but not necessary.
+     * method if ordering is desirable but not necessary. The order is that of {@code compareTo},
+     * computed on {@link OWLObjectSortKeys sort keys}.
      * 
      * @param toReturn list to sort
      */
     public static void sortOptionally(@Nonnull List<? extends OWLObject> toReturn) {
         try {
-            Collections.sort(toReturn);
+            OWLObjectSortKeys.sort(toReturn);
         } catch (IllegalArgumentException e) {
             // catch possible sorting misbehaviour
             if (!e.getMessage().contains(COMPARISON_METHOD)) {
@@ -119,7 +120,8 @@ public class CollectionFactory {
     /**
      * Sort a copy of the input collection; if the ordering is unstable and an error is thrown (due
      * to the use of TimSort in JDK 1.7 and newer), catch it and leave the collection unsorted.
-     * NOTE: use this method if ordering is desirable but not necessary.
+     * NOTE: use this method if ordering is desirable but not necessary. The order is that of
+     * {@code compareTo}, computed on {@link OWLObjectSortKeys sort keys}.
      * 
      * @param toReturn collection to sort
      * @param <T> list type
@@ -129,7 +131,7 @@ public class CollectionFactory {
     public static <T extends OWLObject> List<T> sortOptionally(@Nonnull Collection<T> toReturn) {
         List<T> list = new ArrayList<>(toReturn);
         try {
-            Collections.sort(list);
+            OWLObjectSortKeys.sort(list);
         } catch (IllegalArgumentException e) {
             // catch possible sorting misbehaviour
             if (!e.getMessage().contains(COMPARISON_METHOD)) {
@@ -16,12 +16,17 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.semanticweb.owlapi.model.HasAnnotations;
+import org.semanticweb.owlapi.model.HasIRI;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
@@ -30,6 +35,7 @@ import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataAllValuesFrom;
@@ -91,6 +97,7 @@ import org.semanticweb.owlapi.model.OWLObjectUnionOf;
 import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLPrimitive;
 import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
@@ -111,6 +118,7 @@ import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
 import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.util.StructureWalker.AnnotationWalkingControl;
 
 /**
  * Class to remove structure sharing from OWL objects (Axioms or expressions)
@@ -142,6 +150,60 @@ public class OWLObjectDesharer implements OWLObjectVisitorEx<OWLObject> {
         return get(object);
     }
 
+    /**
+     * @param o object to check
+     * @return true if this object contains anonymous expressions referred multiple times. This is
+     *         called structure sharing. An example can be:<br>
+     * 
+     *         <pre>
+     * some P C subClassOf some Q (some P C)
+     *         </pre>
+     * 
+     *         <br>
+     *         This can happen in axioms as well as in expressions:<br>
+     * 
+     *         <pre>
+     * (some P C) and (some Q (some P C))
+     *         </pre>
+     * 
+     *         <br>
+     * @since 4.5.23
+     */
+    public static boolean hasSharedStructure(OWLObject o) {
+        final Map<OWLObject, AtomicInteger> counters = new HashMap<>();
+        OWLObjectWalker<OWLObject> walker = new OWLObjectWalker<>(Collections.singleton(o), true,
+            AnnotationWalkingControl.DONT_WALK_ANNOTATIONS);
+        walker.walkStructure(new OWLObjectVisitorAdapter() {
+
+            @Override
+            protected void handleDefault(OWLObject axiom) {
+                if (isNotAnonymousExpression(axiom)) {
+                    return;
+                }
+                AtomicInteger i = counters.get(axiom);
+                if (i == null) {
+                    i = new AtomicInteger();
+                    counters.put(axiom, i);
+                }
+                i.incrementAndGet();
+            }
+        });
+        for (AtomicInteger i : counters.values()) {
+            if (i.get() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotAnonymousExpression(OWLObject o) {
+        if (o instanceof SWRLIndividualArgument) {
+            return isNotAnonymousExpression(((SWRLIndividualArgument) o).getIndividual());
+        }
+        return o instanceof OWLAxiom || o instanceof OWLOntology || o instanceof OWLPrimitive
+            || o instanceof HasIRI;
+    }
+
     private Set<OWLAnnotation> anns(HasAnnotations axiom) {
         checkNotNull(axiom, "axiom cannot be null");
         return list(axiom.getAnnotations());
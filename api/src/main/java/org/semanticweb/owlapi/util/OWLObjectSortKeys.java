@@ -0,0 +1,748 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.*;
+
+/**
+ * Sort keys for OWL objects. The key of an object is a string built from its type index and its
+ * components, in the order in which {@code compareTo} compares them, so that comparing two keys
+ * as strings gives the same order as comparing the objects, without recursing into their
+ * structure or copying annotation sets at every comparison. Numbers are written as four
+ * characters, strings are terminated by two zero characters (with zero characters in the string
+ * escaped), and sets and lists as their elements, each preceded by a one, followed by a zero; the
+ * elements of a set are sorted by key first. All parts are self delimiting, so keys of composite
+ * objects compare component by component.
+ * <p>
+ * Ontologies have no sort key.
+ * 
+ * @since 4.5.23
+ */
+public final class OWLObjectSortKeys {
+
+    /** Lists shorter than this are sorted with {@code compareTo}, which is cheaper for them. */
+    private static final int MIN_KEYED_SORT_SIZE = 8;
+    private static final Comparator<OWLObject> COMPARATOR =
+        (o1, o2) -> sortKey(o1).compareTo(sortKey(o2));
+
+    private OWLObjectSortKeys() {}
+
+    /**
+     * @param object object
+     * @return the sort key of the object; objects implementing {@link HasSortKey} compute it once
+     * @throws IllegalArgumentException if the object is an ontology
+     */
+    @Nonnull
+    public static String sortKey(@Nonnull OWLObject object) {
+        if (object instanceof HasSortKey) {
+            return ((HasSortKey) object).getSortKey();
+        }
+        return computeSortKey(object);
+    }
+
+    /**
+     * Compute the sort key of an object. The keys of entities appearing in the object are taken
+     * from the entities if they implement {@link HasSortKey}; the key of the object itself is not
+     * looked up or kept.
+     * 
+     * @param object object
+     * @return the sort key of the object
+     * @throws IllegalArgumentException if the object is an ontology
+     */
+    @Nonnull
+    public static String computeSortKey(@Nonnull OWLObject object) {
+        KeyWriter writer = new KeyWriter();
+        writer.writeUncached(checkNotNull(object, "object cannot be null"));
+        return writer.out.toString();
+    }
+
+    /**
+     * @return comparator comparing objects by their sort key, i.e., in the same order as
+     *         {@code compareTo}; the keys are obtained with {@link #sortKey(OWLObject)}, so this is
+     *         cheap for entities, which keep their key, while the keys of other objects are
+     *         computed at each comparison
+     */
+    @Nonnull
+    public static Comparator<OWLObject> comparator() {
+        return COMPARATOR;
+    }
+
+    /**
+     * Sort a list in the order of {@code compareTo}. The key of each element is computed once and
+     * dropped after the sort; entities keep their keys. Short lists, and lists containing
+     * ontologies, are sorted with {@code compareTo}.
+     * 
+     * @param list list to sort
+     */
+    @SuppressWarnings("unchecked")
+    public static void sort(@Nonnull List<? extends OWLObject> list) {
+        int size = list.size();
+        if (size < MIN_KEYED_SORT_SIZE) {
+            ((List<OWLObject>) list).sort(null);
+            return;
+        }
+        Keyed[] keyed = new Keyed[size];
+        int i = 0;
+        for (OWLObject o : list) {
+            if (o instanceof OWLOntology) {
+                ((List<OWLObject>) list).sort(null);
+                return;
+            }
+            // entities keep their key, other objects are keyed only for this sort
+            keyed[i++] = new Keyed(o, o instanceof OWLEntity ? sortKey(o) : computeSortKey(o));
+        }
+        Arrays.sort(keyed);
+        List<OWLObject> sorted = (List<OWLObject>) list;
+        for (i = 0; i < size; i++) {
+            sorted.set(i, keyed[i].object);
+        }
+    }
+
+    private static final class Keyed implements Comparable<Keyed> {
+
+        final OWLObject object;
+        private final String key;
+
+        Keyed(OWLObject object, String key) {
+            this.object = object;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(Keyed o) {
+            return key.compareTo(o.key);
+        }
+    }
+
+    /**
+     * Visitor writing the components of an object, after its type index, in the order of the
+     * {@code compareTo} implementations.
+     */
+    private static class KeyWriter implements OWLObjectVisitor {
+
+        StringBuilder out = new StringBuilder();
+        private final OWLObjectTypeIndexProvider typeIndexProvider =
+            new OWLObjectTypeIndexProvider();
+
+        KeyWriter() {}
+
+        void writeUncached(OWLObject o) {
+            number(typeIndexProvider.getTypeIndex(o));
+            o.accept(this);
+        }
+
+        private void write(OWLObject o) {
+            if (o instanceof OWLEntity && o instanceof HasSortKey) {
+                out.append(((HasSortKey) o).getSortKey());
+            } else {
+                writeUncached(o);
+            }
+        }
+
+        private String key(OWLObject o) {
+            if (o instanceof OWLEntity && o instanceof HasSortKey) {
+                return ((HasSortKey) o).getSortKey();
+            }
+            StringBuilder outer = out;
+            out = new StringBuilder();
+            writeUncached(o);
+            String key = out.toString();
+            out = outer;
+            return key;
+        }
+
+        private void number(int value) {
+            out.append((char) (value >>> 24 & 0xFF)).append((char) (value >>> 16 & 0xFF))
+                .append((char) (value >>> 8 & 0xFF)).append((char) (value & 0xFF));
+        }
+
+        private void string(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == 0) {
+                    out.append((char) 0).append((char) 1);
+                } else {
+                    out.append(c);
+                }
+            }
+            out.append((char) 0).append((char) 0);
+        }
+
+        private void list(List<? extends OWLObject> objects) {
+            for (OWLObject o : objects) {
+                out.append((char) 1);
+                write(o);
+            }
+            out.append((char) 0);
+        }
+
+        private void list(Collection<? extends OWLObject> objects) {
+            for (OWLObject o : objects) {
+                out.append((char) 1);
+                write(o);
+            }
+            out.append((char) 0);
+        }
+
+        /** Sets are compared as sorted sets, where elements comparing as equal appear once. */
+        private void set(Collection<? extends OWLObject> objects) {
+            String[] keys = new String[objects.size()];
+            int i = 0;
+            for (OWLObject o : objects) {
+                keys[i++] = key(o);
+            }
+            Arrays.sort(keys);
+            for (i = 0; i < keys.length; i++) {
+                if (i == 0 || !keys[i].equals(keys[i - 1])) {
+                    out.append((char) 1).append(keys[i]);
+                }
+            }
+            out.append((char) 0);
+        }
+
+        private void annotations(OWLAxiom axiom) {
+            list(axiom.getAnnotations());
+        }
+
+        private void entity(OWLEntity entity) {
+            write(entity.getIRI());
+        }
+
+        @Override
+        public void visit(@Nonnull IRI iri) {
+            string(iri.getNamespace());
+            string(iri.getRemainder().or(""));
+        }
+
+        @Override
+        public void visit(@Nonnull OWLClass ce) {
+            entity(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectProperty property) {
+            entity(property);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataProperty property) {
+            entity(property);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAnnotationProperty property) {
+            entity(property);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLNamedIndividual individual) {
+            entity(individual);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDatatype node) {
+            entity(node);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAnonymousIndividual individual) {
+            string(individual.getID().toString());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLLiteral node) {
+            write(node.getDatatype());
+            string(node.getLiteral());
+            string(node.getLang());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectInverseOf property) {
+            write(property.getInverse());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAnnotation node) {
+            // nested annotations are not compared
+            write(node.getProperty());
+            write(node.getValue());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLOntology ontology) {
+            throw new IllegalArgumentException("Ontologies have no sort key: " + ontology);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectIntersectionOf ce) {
+            set(ce.getOperands());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectUnionOf ce) {
+            set(ce.getOperands());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectComplementOf ce) {
+            write(ce.getOperand());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectOneOf ce) {
+            set(ce.getIndividuals());
+        }
+
+        private void restriction(OWLQuantifiedRestriction<?> ce) {
+            write(ce.getProperty());
+            write(ce.getFiller());
+        }
+
+        private void cardinality(OWLCardinalityRestriction<?> ce) {
+            write(ce.getProperty());
+            number(ce.getCardinality());
+            write(ce.getFiller());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectSomeValuesFrom ce) {
+            restriction(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectAllValuesFrom ce) {
+            restriction(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectHasValue ce) {
+            write(ce.getProperty());
+            write(ce.getFiller());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectHasSelf ce) {
+            write(ce.getProperty());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectMinCardinality ce) {
+            cardinality(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectExactCardinality ce) {
+            cardinality(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectMaxCardinality ce) {
+            cardinality(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataSomeValuesFrom ce) {
+            restriction(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataAllValuesFrom ce) {
+            restriction(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataHasValue ce) {
+            write(ce.getProperty());
+            write(ce.getFiller());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataMinCardinality ce) {
+            cardinality(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataExactCardinality ce) {
+            cardinality(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataMaxCardinality ce) {
+            cardinality(ce);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataComplementOf node) {
+            write(node.getDataRange());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataOneOf node) {
+            set(node.getValues());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataIntersectionOf node) {
+            set(node.getOperands());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataUnionOf node) {
+            set(node.getOperands());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDatatypeRestriction node) {
+            write(node.getDatatype());
+            set(node.getFacetRestrictions());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLFacetRestriction node) {
+            number(node.getFacet().ordinal());
+            write(node.getFacetValue());
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDeclarationAxiom axiom) {
+            write(axiom.getEntity());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDatatypeDefinitionAxiom axiom) {
+            write(axiom.getDatatype());
+            write(axiom.getDataRange());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSubClassOfAxiom axiom) {
+            write(axiom.getSubClass());
+            write(axiom.getSuperClass());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLEquivalentClassesAxiom axiom) {
+            list(axiom.getClassExpressionsAsList());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDisjointClassesAxiom axiom) {
+            list(axiom.getClassExpressionsAsList());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDisjointUnionAxiom axiom) {
+            write(axiom.getOWLClass());
+            set(axiom.getClassExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLHasKeyAxiom axiom) {
+            write(axiom.getClassExpression());
+            set(axiom.getPropertyExpressions());
+            annotations(axiom);
+        }
+
+        private void subProperty(OWLSubPropertyAxiom<?> axiom) {
+            write(axiom.getSubProperty());
+            write(axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        private void naryProperty(OWLNaryPropertyAxiom<?> axiom) {
+            set(axiom.getProperties());
+            annotations(axiom);
+        }
+
+        private void domain(OWLPropertyDomainAxiom<?> axiom) {
+            write(axiom.getProperty());
+            write(axiom.getDomain());
+            annotations(axiom);
+        }
+
+        private void range(OWLPropertyRangeAxiom<?, ?> axiom) {
+            write(axiom.getProperty());
+            write(axiom.getRange());
+            annotations(axiom);
+        }
+
+        private void characteristic(OWLUnaryPropertyAxiom<?> axiom) {
+            write(axiom.getProperty());
+            annotations(axiom);
+        }
+
+        private void assertion(OWLPropertyAssertionAxiom<?, ?> axiom) {
+            write(axiom.getSubject());
+            write(axiom.getProperty());
+            write(axiom.getObject());
+            annotations(axiom);
+        }
+
+        private void naryIndividuals(OWLNaryIndividualAxiom axiom) {
+            set(axiom.getIndividuals());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSubObjectPropertyOfAxiom axiom) {
+            subProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSubPropertyChainOfAxiom axiom) {
+            list(axiom.getPropertyChain());
+            write(axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLEquivalentObjectPropertiesAxiom axiom) {
+            naryProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDisjointObjectPropertiesAxiom axiom) {
+            naryProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLInverseObjectPropertiesAxiom axiom) {
+            naryProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectPropertyDomainAxiom axiom) {
+            domain(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectPropertyRangeAxiom axiom) {
+            range(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLFunctionalObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLInverseFunctionalObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLReflexiveObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLIrreflexiveObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSymmetricObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAsymmetricObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLTransitiveObjectPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSubDataPropertyOfAxiom axiom) {
+            subProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLEquivalentDataPropertiesAxiom axiom) {
+            naryProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDisjointDataPropertiesAxiom axiom) {
+            naryProperty(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataPropertyDomainAxiom axiom) {
+            domain(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataPropertyRangeAxiom axiom) {
+            range(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLFunctionalDataPropertyAxiom axiom) {
+            characteristic(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLClassAssertionAxiom axiom) {
+            write(axiom.getIndividual());
+            write(axiom.getClassExpression());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLObjectPropertyAssertionAxiom axiom) {
+            assertion(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLNegativeObjectPropertyAssertionAxiom axiom) {
+            assertion(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDataPropertyAssertionAxiom axiom) {
+            assertion(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLNegativeDataPropertyAssertionAxiom axiom) {
+            assertion(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSameIndividualAxiom axiom) {
+            naryIndividuals(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLDifferentIndividualsAxiom axiom) {
+            naryIndividuals(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAnnotationAssertionAxiom axiom) {
+            write(axiom.getSubject());
+            write(axiom.getProperty());
+            write(axiom.getValue());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLSubAnnotationPropertyOfAxiom axiom) {
+            write(axiom.getSubProperty());
+            write(axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAnnotationPropertyDomainAxiom axiom) {
+            write(axiom.getProperty());
+            write(axiom.getDomain());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull OWLAnnotationPropertyRangeAxiom axiom) {
+            write(axiom.getProperty());
+            write(axiom.getRange());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLRule rule) {
+            set(rule.getBody());
+            set(rule.getHead());
+            annotations(rule);
+        }
+
+        private void unaryAtom(SWRLUnaryAtom<?> atom) {
+            write((OWLObject) atom.getPredicate());
+            write(atom.getArgument());
+        }
+
+        private void binaryAtom(SWRLBinaryAtom<?, ?> atom) {
+            write((OWLObject) atom.getPredicate());
+            write(atom.getFirstArgument());
+            write(atom.getSecondArgument());
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLClassAtom node) {
+            unaryAtom(node);
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLDataRangeAtom node) {
+            unaryAtom(node);
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLObjectPropertyAtom node) {
+            binaryAtom(node);
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLDataPropertyAtom node) {
+            binaryAtom(node);
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLBuiltInAtom node) {
+            write(node.getPredicate());
+            list(node.getArguments());
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLVariable node) {
+            write(node.getIRI());
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLIndividualArgument node) {
+            write(node.getIndividual());
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLLiteralArgument node) {
+            write(node.getLiteral());
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLSameIndividualAtom node) {
+            binaryAtom(node);
+        }
+
+        @Override
+        public void visit(@Nonnull SWRLDifferentIndividualsAtom node) {
+            binaryAtom(node);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.atomicdecomposition.AtomicDecomposition;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLogicalAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * Atomic decomposition: the time to decompose an ontology, and the time to look up the module of
+ * a small signature in the decomposition, to compare with {@link ModuleExtractionBenchmark}. The
+ * decomposition extracts the module of every axiom, so the ontologies are smaller than in the
+ * other benchmarks:
+ *
+ * <pre>
+ * java -jar benchmarks.jar AtomicDecompositionBenchmark -p moduleType=BOT -p threads=1,4
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AtomicDecompositionBenchmark {
+
+    private static final int SIGNATURES = 64;
+    @Param({"2000"})
+    public int classes;
+    @Param({"BOT", "TOP", "STAR"})
+    public ModuleType moduleType;
+    @Param({"1"})
+    public int threads;
+    @Param({"10"})
+    public int signatureSize;
+    private Set<OWLLogicalAxiom> axioms;
+    private AtomicDecomposition decomposition;
+    private List<Set<OWLEntity>> signatures;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology =
+            SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+        axioms = ontology.getLogicalAxioms(Imports.INCLUDED);
+        decomposition = new AtomicDecomposition(axioms, moduleType, threads);
+        OWLDataFactory df = manager.getOWLDataFactory();
+        Random random = new Random(SyntheticOntologies.SEED);
+        signatures = new ArrayList<>(SIGNATURES);
+        for (int i = 0; i < SIGNATURES; i++) {
+            Set<OWLEntity> signature = new HashSet<>();
+            while (signature.size() < signatureSize) {
+                signature.add(SyntheticOntologies.cls(df, random.nextInt(classes)));
+            }
+            signatures.add(signature);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AtomicDecomposition decompose() {
+        return new AtomicDecomposition(axioms, moduleType, threads);
+    }
+
+    @Benchmark
+    public Set<OWLAxiom> module() {
+        next = (next + 1) % SIGNATURES;
+        return decomposition.getModule(signatures.get(next));
+    }
+}
@@ -0,0 +1,60 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
+
+/**
+ * Sorting the axioms of an ontology, as the renderers do on save: with {@code compareTo}, with
+ * sort keys computed once per sort, and with the sort key comparator, which keeps the keys on
+ * the axioms after the first sort.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AxiomSortBenchmark {
+
+    @Param({"100000"})
+    public int classes;
+    private List<OWLAxiom> axioms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        axioms = new ArrayList<>(SyntheticOntologies.axioms(
+            OWLManager.getOWLDataFactory(), classes, SyntheticOntologies.SEED));
+        Collections.shuffle(axioms, new Random(SyntheticOntologies.SEED));
+    }
+
+    @Benchmark
+    public List<OWLAxiom> compareTo() {
+        List<OWLAxiom> list = new ArrayList<>(axioms);
+        Collections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<OWLAxiom> sortKeys() {
+        List<OWLAxiom> list = new ArrayList<>(axioms);
+        OWLObjectSortKeys.sort(list);
+        return list;
+    }
+}
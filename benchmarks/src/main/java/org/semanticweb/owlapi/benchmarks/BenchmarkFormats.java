@@ -0,0 +1,43 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+
+/**
+ * Short names for the formats used as benchmark parameters.
+ */
+final class BenchmarkFormats {
+
+    private BenchmarkFormats() {}
+
+    /**
+     * @param name one of functional, rdfxml, turtle, owlxml, manchester, binary
+     * @return a new format instance
+     */
+    @Nonnull
+    static OWLDocumentFormat create(@Nonnull String name) {
+        switch (name) {
+            case "functional":
+                return new FunctionalSyntaxDocumentFormat();
+            case "rdfxml":
+                return new RDFXMLDocumentFormat();
+            case "turtle":
+                return new TurtleDocumentFormat();
+            case "owlxml":
+                return new OWLXMLDocumentFormat();
+            case "manchester":
+                return new ManchesterSyntaxDocumentFormat();
+            case "binary":
+                return new BinaryOWLDocumentFormat();
+            default:
+                throw new IllegalArgumentException("Unknown format: " + name);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * Object creation throughput of {@link OWLDataFactoryImpl} with the default configuration. Entity
+ * names cycle over a fixed range, so that repeated names are created the same way as when parsing
+ * a document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataFactoryBenchmark {
+
+    private static final int NAMES = 10000;
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+    private final IRI[] iris = new IRI[NAMES];
+    private int next;
+
+    public DataFactoryBenchmark() {
+        for (int i = 0; i < NAMES; i++) {
+            iris[i] = IRI.create(SyntheticOntologies.NS, "C" + i);
+        }
+    }
+
+    private int next() {
+        next = (next + 1) % NAMES;
+        return next;
+    }
+
+    @Benchmark
+    public IRI createIRI() {
+        return IRI.create(SyntheticOntologies.NS, "C" + next());
+    }
+
+    @Benchmark
+    public OWLClass createClass() {
+        return df.getOWLClass(iris[next()]);
+    }
+
+    @Benchmark
+    public OWLClassExpression createSomeValuesFrom() {
+        int i = next();
+        return df.getOWLObjectSomeValuesFrom(SyntheticOntologies.objectProperty(df, i % 100),
+            df.getOWLClass(iris[i]));
+    }
+
+    @Benchmark
+    public OWLAxiom createSubClassOf() {
+        int i = next();
+        return df.getOWLSubClassOfAxiom(df.getOWLClass(iris[i]),
+            df.getOWLClass(iris[(i + 1) % NAMES]));
+    }
+
+    @Benchmark
+    public OWLAxiom createLabelAssertion() {
+        int i = next();
+        return df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), iris[i],
+            df.getOWLLiteral("class " + i, "en"));
+    }
+
+    @Benchmark
+    public OWLLiteral createIntegerLiteral() {
+        return df.getOWLLiteral(next());
+    }
+}
@@ -0,0 +1,103 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.search.EntitySearcher;
+
+/**
+ * Throughput of the {@link EntitySearcher} queries most used by editors and tools, on an ontology
+ * whose indexes are built before the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntitySearcherBenchmark {
+
+    @Param({"10000"})
+    public int classes;
+    private OWLOntology ontology;
+    private OWLClass[] classArray;
+    private OWLNamedIndividual[] individualArray;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        ontology = SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+        OWLDataFactory df = manager.getOWLDataFactory();
+        classArray = new OWLClass[classes];
+        for (int i = 0; i < classes; i++) {
+            classArray[i] = SyntheticOntologies.cls(df, i);
+        }
+        individualArray = new OWLNamedIndividual[SyntheticOntologies.individuals(classes)];
+        for (int i = 0; i < individualArray.length; i++) {
+            individualArray[i] = SyntheticOntologies.individual(df, i);
+        }
+        // build the lazy indexes outside of the measurement
+        for (OWLClass c : classArray) {
+            EntitySearcher.getSuperClasses(c, ontology);
+            EntitySearcher.getSubClasses(c, ontology);
+            EntitySearcher.getEquivalentClasses(c, ontology);
+            EntitySearcher.getAnnotations(c, ontology);
+        }
+        for (OWLNamedIndividual i : individualArray) {
+            EntitySearcher.getTypes(i, ontology);
+        }
+    }
+
+    private OWLClass randomClass() {
+        return classArray[ThreadLocalRandom.current().nextInt(classArray.length)];
+    }
+
+    @Benchmark
+    public Iterable<OWLClassExpression> superClasses() {
+        return EntitySearcher.getSuperClasses(randomClass(), ontology);
+    }
+
+    @Benchmark
+    public Iterable<OWLClassExpression> subClasses() {
+        return EntitySearcher.getSubClasses(randomClass(), ontology);
+    }
+
+    @Benchmark
+    public Iterable<OWLClassExpression> equivalentClasses() {
+        return EntitySearcher.getEquivalentClasses(randomClass(), ontology);
+    }
+
+    @Benchmark
+    public Iterable<OWLAnnotation> annotations() {
+        return EntitySearcher.getAnnotations(randomClass(), ontology);
+    }
+
+    @Benchmark
+    public Iterable<OWLAxiom> referencingAxioms() {
+        return EntitySearcher.getReferencingAxioms(randomClass(), ontology);
+    }
+
+    @Benchmark
+    public Iterable<OWLClassExpression> types() {
+        OWLIndividual i =
+            individualArray[ThreadLocalRandom.current().nextInt(individualArray.length)];
+        return EntitySearcher.getTypes(i, ontology);
+    }
+}
@@ -0,0 +1,100 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Load time of the same ontology from functional syntax, RDF/XML and the binary format. The source
+ * ontology is converted to the format under test before the measurement; by default it is the
+ * NCBI taxonomy, any other file can be passed as a parameter:
+ * 
+ * <pre>
+ * java -jar benchmarks.jar FormatLoadBenchmark -p source=/path/to/ontology.owl
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class FormatLoadBenchmark {
+
+    @Param({""})
+    public String source;
+    @Param({"functional", "rdfxml", "binary"})
+    public String format;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntologyLoaderConfiguration config =
+            new OWLOntologyLoaderConfiguration().setStrict(false);
+        OWLOntology ontology;
+        if (source.isEmpty()) {
+            try (InputStream in =
+                new GZIPInputStream(getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz"))) {
+                ontology = manager.loadOntologyFromOntologyDocument(
+                    new StreamDocumentSource(in), config);
+            }
+        } else {
+            ontology = manager.loadOntologyFromOntologyDocument(
+                new FileDocumentSource(new File(source)), config);
+        }
+        file = File.createTempFile("format", "." + format);
+        manager.saveOntology(ontology, createFormat(), IRI.create(file));
+    }
+
+    private OWLDocumentFormat createFormat() {
+        switch (format) {
+            case "rdfxml":
+                return new RDFXMLDocumentFormat();
+            case "binary":
+                return new BinaryOWLDocumentFormat();
+            default:
+                return new FunctionalSyntaxDocumentFormat();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public OWLOntology load() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        return manager.loadOntologyFromOntologyDocument(new FileDocumentSource(file),
+            new OWLOntologyLoaderConfiguration().setStrict(false));
+    }
+}
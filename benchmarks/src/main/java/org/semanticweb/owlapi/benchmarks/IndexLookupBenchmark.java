@@ -0,0 +1,96 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.search.Filters;
+
+import uk.ac.manchester.cs.owl.owlapi.Internals;
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * Lookup throughput of the {@link Internals} axiom indexes, without the ontology and manager
+ * layers on top. The lazy indexes are built, and optionally compacted, before the measurement:
+ *
+ * <pre>
+ * java -jar benchmarks.jar IndexLookupBenchmark -p compact=true
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexLookupBenchmark {
+
+    @Param({"10000"})
+    public int classes;
+    @Param({"false", "true"})
+    public boolean compact;
+    private Internals ints;
+    private OWLClass[] classArray;
+    private OWLAxiom[] axiomArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OWLDataFactory df = new OWLDataFactoryImpl();
+        ints = new Internals();
+        for (OWLAxiom ax : SyntheticOntologies.axioms(df, classes, SyntheticOntologies.SEED)) {
+            ints.addAxiom(ax);
+        }
+        ints.initIndexes(ForkJoinPool.commonPool());
+        if (compact) {
+            ints.compactIndexes();
+        }
+        classArray = new OWLClass[classes];
+        for (int i = 0; i < classes; i++) {
+            classArray[i] = SyntheticOntologies.cls(df, i);
+        }
+        axiomArray = ints.getAxioms().toArray(new OWLAxiom[0]);
+    }
+
+    private OWLClass randomClass() {
+        return classArray[ThreadLocalRandom.current().nextInt(classArray.length)];
+    }
+
+    @Benchmark
+    public void subClassAxiomsBySubClass(Blackhole bh) {
+        bh.consume(ints.filterAxioms(Filters.subClassWithSub, randomClass()));
+    }
+
+    @Benchmark
+    public void subClassAxiomsBySuperClass(Blackhole bh) {
+        bh.consume(ints.filterAxioms(Filters.subClassWithSuper, randomClass()));
+    }
+
+    @Benchmark
+    public void referencingAxioms(Blackhole bh) {
+        for (OWLAxiom ax : ints.getReferencingAxioms(randomClass())) {
+            bh.consume(ax);
+        }
+    }
+
+    @Benchmark
+    public void axiomsByType(Blackhole bh) {
+        bh.consume(ints.getAxiomsByType().getValues(AxiomType.EQUIVALENT_CLASSES));
+    }
+
+    @Benchmark
+    public boolean containsAxiom() {
+        OWLAxiom ax = axiomArray[ThreadLocalRandom.current().nextInt(axiomArray.length)];
+        return ints.getAxiomsByType().contains(ax.getAxiomType(), ax);
+    }
+}
@@ -0,0 +1,98 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Read throughput of axiom index lookups on a shared ontology, with and without concurrent index
+ * reads. Each benchmark method runs the same query with a different number of threads, so that the
+ * scaling can be read off a single run:
+ * 
+ * <pre>
+ * java -jar benchmarks.jar IndexReadContentionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IndexReadContentionBenchmark {
+
+    private static final int CLASSES = 50000;
+    @Param({"false", "true"})
+    public boolean concurrentReads;
+    private OWLOntology ontology;
+    private OWLClass[] classes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+        manager.setOntologyLoaderConfiguration(manager.getOntologyLoaderConfiguration()
+            .withConcurrentIndexReads(concurrentReads));
+        OWLDataFactory df = manager.getOWLDataFactory();
+        ontology = manager.createOntology(IRI.create("urn:test:contention"));
+        classes = new OWLClass[CLASSES];
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 0; i < CLASSES; i++) {
+            classes[i] = df.getOWLClass(IRI.create("urn:test:contention#C" + i));
+            if (i > 0) {
+                axioms.add(df.getOWLSubClassOfAxiom(classes[i], classes[(i - 1) / 2]));
+            }
+        }
+        manager.addAxioms(ontology, new HashSet<>(axioms));
+        // initialize the lazy index outside of the measurement
+        ontology.getSubClassAxiomsForSubClass(classes[0]);
+    }
+
+    private void query(Blackhole bh) {
+        OWLClass c = classes[ThreadLocalRandom.current().nextInt(CLASSES)];
+        bh.consume(ontology.getSubClassAxiomsForSubClass(c));
+        bh.consume(ontology.getSubClassAxiomsForSuperClass(c));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void subClassLookup1Thread(Blackhole bh) {
+        query(bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void subClassLookup4Threads(Blackhole bh) {
+        query(bh);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void subClassLookup16Threads(Blackhole bh) {
+        query(bh);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void subClassLookup32Threads(Blackhole bh) {
+        query(bh);
+    }
+}
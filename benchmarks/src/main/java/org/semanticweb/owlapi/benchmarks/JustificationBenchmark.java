@@ -0,0 +1,97 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.semanticweb.owlapi.api.test.baseclasses.TellingReasonerFactory;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+
+/**
+ * Time to find one justification with {@link BlackBoxExplanation}, starting from the expansion or
+ * from the locality module of the class, and with a new reasoner per satisfiability test or one
+ * reused reasoner. A few generated classes are made subclasses of owl:Nothing, and the
+ * justifications are for their descendants; the reasoner only follows told subclass axioms, so
+ * that the measurement is dominated by the explanation rather than by reasoning:
+ *
+ * <pre>
+ * java -jar benchmarks.jar JustificationBenchmark -p classes=10000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JustificationBenchmark {
+
+    private static final int UNSATISFIABLE_ROOTS = 5;
+    private static final int TARGETS = 16;
+    @Param({"2000"})
+    public int classes;
+    @Param({"false", "true"})
+    public boolean moduleSeeded;
+    @Param({"false", "true"})
+    public boolean reasonerReused;
+    private BlackBoxExplanation explanation;
+    private List<OWLClass> targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology =
+            SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+        OWLDataFactory df = manager.getOWLDataFactory();
+        Random random = new Random(SyntheticOntologies.SEED);
+        // roots are taken from the top of the tree, so that they have many descendants
+        for (int i = 0; i < UNSATISFIABLE_ROOTS; i++) {
+            manager.addAxiom(ontology, df.getOWLSubClassOfAxiom(
+                SyntheticOntologies.cls(df, 1 + random.nextInt(Math.max(1, classes / 50))),
+                df.getOWLNothing()));
+        }
+        TellingReasonerFactory factory = new TellingReasonerFactory();
+        OWLReasoner reasoner = factory.createNonBufferingReasoner(ontology);
+        targets = new ArrayList<>(TARGETS);
+        for (int i = classes - 1; i > 0 && targets.size() < TARGETS; i--) {
+            OWLClass c = SyntheticOntologies.cls(df, i);
+            if (!reasoner.isSatisfiable(c)) {
+                targets.add(c);
+            }
+        }
+        explanation = new BlackBoxExplanation(ontology, factory, reasoner);
+        explanation.setModuleSeeded(moduleSeeded);
+        explanation.setReasonerReused(reasonerReused);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        explanation.dispose();
+    }
+
+    @Benchmark
+    public Set<OWLAxiom> explain() {
+        OWLClass target = targets.get(next);
+        next = (next + 1) % targets.size();
+        return explanation.getExplanation(target);
+    }
+}
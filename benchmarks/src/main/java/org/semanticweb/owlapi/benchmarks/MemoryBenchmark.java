@@ -32,9 +32,9 @@ public class MemoryBenchmark {
         MemoryBenchmark.class);
 
     public static void main(String[] args) throws Exception {
-        if (args.length > 2) {
+        if (args.length > 3) {
             System.err.println("usage: " + MemoryBenchmark.class
-                .getCanonicalName() + "<src-ontology> <dest-hprof>");
+                .getCanonicalName() + "<src-ontology> <dest-hprof> [compact]");
         }
         String filename = "/Users/ses/ontologies/GO/go.ofn";
         if (args.length > 0) {
@@ -42,7 +42,8 @@ public class MemoryBenchmark {
         }
         Path ontologyPath = FileSystems.getDefault().getPath(filename);
         Path hprofPath = getHprofPath(args, ontologyPath);
-        memoryProfile(ontologyPath, hprofPath);
+        memoryProfile(ontologyPath, hprofPath, args.length > 2 && "compact"
+            .equals(args[2]));
         System.exit(0);
     }
 
@@ -61,6 +62,27 @@ public class MemoryBenchmark {
      */
     public static void memoryProfile(Path ontologyPath, Path hprofPath)
         throws OWLOntologyCreationException, IOException {
+        memoryProfile(ontologyPath, hprofPath, false);
+    }
+
+    /**
+     * Run memory profiling for an input ontology and output the dump file to
+     * the hprof path provided
+     * 
+     * @param ontologyPath
+     *        input ontology
+     * @param hprofPath
+     *        dump file path for output
+     * @param compact
+     *        true if all axiom indexes should be built and compacted before
+     *        the dump, false to leave the indexes as loaded
+     * @throws OWLOntologyCreationException
+     *         if the ontology cannot be created or loaded
+     * @throws IOException
+     *         if the dump file cannot be created
+     */
+    public static void memoryProfile(Path ontologyPath, Path hprofPath,
+        boolean compact) throws OWLOntologyCreationException, IOException {
         OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
         File file = ontologyPath.toFile();
         manager.getIRIMappers().add(new AutoIRIMapper(file.getParentFile(),
@@ -72,7 +94,8 @@ public class MemoryBenchmark {
             ds = new FileDocumentSource(file);
         }
         OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration()
-            .setStrict(false);
+            .setStrict(false).withInitializeIndexesAfterLoad(compact)
+            .withCompactIndexes(compact);
         OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ds,
             config);
         getDiagnostics().dumpHeap(hprofPath.toString(), true);
@@ -0,0 +1,78 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+/**
+ * Extraction time of syntactic locality modules for small signatures. A fixed set of signatures of
+ * the given size is drawn once, and each invocation extracts the module of the next one with an
+ * extractor created before the measurement:
+ *
+ * <pre>
+ * java -jar benchmarks.jar ModuleExtractionBenchmark -p moduleType=STAR -p signatureSize=50
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ModuleExtractionBenchmark {
+
+    private static final int SIGNATURES = 64;
+    @Param({"10000"})
+    public int classes;
+    @Param({"BOT", "TOP", "STAR"})
+    public ModuleType moduleType;
+    @Param({"10"})
+    public int signatureSize;
+    private SyntacticLocalityModuleExtractor extractor;
+    private List<Set<OWLEntity>> signatures;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology =
+            SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+        extractor = new SyntacticLocalityModuleExtractor(manager, ontology, moduleType);
+        OWLDataFactory df = manager.getOWLDataFactory();
+        Random random = new Random(SyntheticOntologies.SEED);
+        signatures = new ArrayList<>(SIGNATURES);
+        for (int i = 0; i < SIGNATURES; i++) {
+            Set<OWLEntity> signature = new HashSet<>();
+            while (signature.size() < signatureSize) {
+                signature.add(SyntheticOntologies.cls(df, random.nextInt(classes)));
+            }
+            signatures.add(signature);
+        }
+    }
+
+    @Benchmark
+    public Set<OWLAxiom> extract() {
+        next = (next + 1) % SIGNATURES;
+        return extractor.extract(signatures.get(next));
+    }
+}
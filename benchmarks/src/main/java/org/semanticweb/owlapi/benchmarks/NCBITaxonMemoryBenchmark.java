@@ -7,6 +7,7 @@ public class NCBITaxonMemoryBenchmark {
     public static void main(String[] args) throws Exception {
         MemoryBenchmark.memoryProfile(FileSystems.getDefault().getPath(
             "/Users/ignazio/workspace/benchmarks/ncbitaxon/src/main/resources/ncbitaxon.rdf.ofn.gz"),
-            FileSystems.getDefault().getPath("ncbitaxon.hprof"));
+            FileSystems.getDefault().getPath("ncbitaxon.hprof"), args.length > 0 && "compact"
+                .equals(args[0]));
     }
 }
@@ -0,0 +1,77 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+/**
+ * Load time of an OBO document translated after parsing (one parser thread) and translated
+ * while it is parsed (two parser threads). The document is generated with the shape of the Gene
+ * Ontology: terms with names, definitions, synonyms, is_a and part_of relationships, and the
+ * typedefs after the terms. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class OBOStreamingLoadBenchmark {
+
+    @Param({"50000"})
+    public int terms;
+    @Param({"1", "2"})
+    public int threads;
+    private byte[] document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(SyntheticOntologies.SEED);
+        StringBuilder b = new StringBuilder(terms * 200);
+        b.append("format-version: 1.2\nontology: bench\ndefault-namespace: bench\n\n");
+        for (int i = 0; i < terms; i++) {
+            b.append("[Term]\nid: BENCH:").append(i).append("\nname: term ").append(i)
+                .append("\ndef: \"Definition of term ").append(i).append(".\" [PMID:")
+                .append(i).append("]\nsynonym: \"synonym ").append(i).append("\" EXACT []\n");
+            if (i > 0) {
+                b.append("is_a: BENCH:").append(random.nextInt(i)).append('\n');
+                if (random.nextInt(4) == 0) {
+                    b.append("relationship: part_of BENCH:").append(random.nextInt(i))
+                        .append('\n');
+                }
+            }
+            b.append('\n');
+        }
+        b.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\n"
+            + "is_transitive: true\n");
+        document = b.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public OWLOntology load() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(
+            new StreamDocumentSource(new ByteArrayInputStream(document),
+                IRI.create("http://purl.obolibrary.org/obo/bench.obo"), new OBODocumentFormat(),
+                null),
+            new OWLOntologyLoaderConfiguration().withParserThreads(threads));
+    }
+}
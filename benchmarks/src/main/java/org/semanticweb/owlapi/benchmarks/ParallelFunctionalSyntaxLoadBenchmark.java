@@ -0,0 +1,87 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Load time of a functional syntax document with one parser thread and with several. The source
+ * ontology is saved in functional syntax before the measurement; by default it is the NCBI
+ * taxonomy, other ontologies such as the Gene Ontology can be passed as a parameter:
+ * 
+ * <pre>
+ * java -jar benchmarks.jar ParallelFunctionalSyntaxLoadBenchmark -p source=/path/to/go.owl
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ParallelFunctionalSyntaxLoadBenchmark {
+
+    @Param({""})
+    public String source;
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException, OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntologyLoaderConfiguration config =
+            new OWLOntologyLoaderConfiguration().setStrict(false);
+        OWLOntology ontology;
+        if (source.isEmpty()) {
+            try (InputStream in =
+                new GZIPInputStream(getClass().getResourceAsStream("/ncbitaxon.rdf.ofn.gz"))) {
+                ontology = manager.loadOntologyFromOntologyDocument(
+                    new StreamDocumentSource(in), config);
+            }
+        } else {
+            ontology = manager.loadOntologyFromOntologyDocument(
+                new FileDocumentSource(new File(source)), config);
+        }
+        file = File.createTempFile("parallel", ".ofn");
+        manager.saveOntology(ontology, new FunctionalSyntaxDocumentFormat(), IRI.create(file));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public OWLOntology load() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        return manager.loadOntologyFromOntologyDocument(
+            new FileDocumentSource(file, new FunctionalSyntaxDocumentFormat()),
+            new OWLOntologyLoaderConfiguration().setStrict(false).withParserThreads(threads));
+    }
+}
@@ -0,0 +1,84 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxObjectRenderer;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+/**
+ * Functional syntax rendering time with one renderer thread and with several. The output is
+ * counted and discarded:
+ * 
+ * <pre>
+ * java -jar benchmarks.jar ParallelFunctionalSyntaxRenderBenchmark -p classes=500000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ParallelFunctionalSyntaxRenderBenchmark {
+
+    @Param({"100000"})
+    public int classes;
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+    private OWLOntology ontology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        ontology = SyntheticOntologies.create(OWLManager.createOWLOntologyManager(), classes,
+            SyntheticOntologies.SEED);
+    }
+
+    @Benchmark
+    public long render() {
+        CountingWriter writer = new CountingWriter();
+        FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(ontology,
+            new FunctionalSyntaxDocumentFormat(), writer);
+        renderer.setRendererThreads(threads);
+        ontology.accept(renderer);
+        return writer.count;
+    }
+
+    private static class CountingWriter extends Writer {
+
+        long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str) {
+            count += str.length();
+        }
+
+        @Override
+        public void flush() {
+            // nothing buffered
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Parse time per format. A generated ontology is saved in memory in the format under test before
+ * the measurement, and the benchmark parses it into a new manager; the format is passed to the
+ * document source so that only the parser for the format is tried:
+ *
+ * <pre>
+ * java -jar benchmarks.jar ParseBenchmark -p format=functional,rdfxml -p classes=100000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParseBenchmark {
+
+    @Param({"functional", "rdfxml", "turtle", "owlxml", "manchester", "binary"})
+    public String format;
+    @Param({"10000"})
+    public int classes;
+    private byte[] document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException, OWLOntologyStorageException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology ontology =
+            SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        manager.saveOntology(ontology, BenchmarkFormats.create(format), out);
+        document = out.toByteArray();
+    }
+
+    @Benchmark
+    public OWLOntology parse() throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        return manager.loadOntologyFromOntologyDocument(
+            new StreamDocumentSource(new ByteArrayInputStream(document),
+                IRI.create("urn:benchmark:parse"), BenchmarkFormats.create(format), null));
+    }
+}
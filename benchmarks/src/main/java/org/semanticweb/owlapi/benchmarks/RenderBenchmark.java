@@ -0,0 +1,72 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+/**
+ * Rendering time per storer. The output is counted and discarded, so that the measurement does
+ * not include buffer growth or disk writes:
+ *
+ * <pre>
+ * java -jar benchmarks.jar RenderBenchmark -p format=turtle -p classes=100000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RenderBenchmark {
+
+    @Param({"functional", "rdfxml", "turtle", "owlxml", "manchester", "binary"})
+    public String format;
+    @Param({"10000"})
+    public int classes;
+    private OWLOntologyManager manager;
+    private OWLOntology ontology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        manager = OWLManager.createOWLOntologyManager();
+        ontology = SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+    }
+
+    @Benchmark
+    public long render() throws OWLOntologyStorageException {
+        CountingOutputStream out = new CountingOutputStream();
+        manager.saveOntology(ontology, BenchmarkFormats.create(format), out);
+        return out.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.rio.RioRenderer;
+import org.semanticweb.owlapi.rio.RioStatementRenderer;
+
+/**
+ * N-Triples export through {@link RioRenderer}, which builds an RDF graph for each subject
+ * before converting it, and through {@link RioStatementRenderer}, which passes the statements to
+ * the writer as they are translated. With {@code parts=0} the ontology is written by
+ * RioRenderer; otherwise by RioStatementRenderer split across that many writers, one thread
+ * each. The output is counted and discarded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RioStatementRenderBenchmark {
+
+    @Param({"100000"})
+    public int classes;
+    @Param({"0", "1", "4"})
+    public int parts;
+    private OWLOntology ontology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        ontology = SyntheticOntologies.create(OWLManager.createOWLOntologyManager(), classes,
+            SyntheticOntologies.SEED);
+    }
+
+    @Benchmark
+    public long render() throws IOException {
+        List<CountingOutputStream> outputs = new ArrayList<>();
+        List<RDFWriter> writers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, parts); i++) {
+            CountingOutputStream out = new CountingOutputStream();
+            outputs.add(out);
+            writers.add(Rio.createWriter(RDFFormat.NTRIPLES, out));
+        }
+        if (parts == 0) {
+            new RioRenderer(ontology, writers.get(0), null).render();
+        } else {
+            new RioStatementRenderer(ontology, null).render(writers);
+        }
+        long count = 0;
+        for (CountingOutputStream out : outputs) {
+            count += out.count;
+        }
+        return count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
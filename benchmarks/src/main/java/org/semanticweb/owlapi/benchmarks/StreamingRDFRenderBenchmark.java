@@ -0,0 +1,94 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.rdf.RDFRendererBase;
+import org.semanticweb.owlapi.rdf.rdfxml.renderer.RDFXMLRenderer;
+import org.semanticweb.owlapi.rdf.turtle.renderer.TurtleRenderer;
+
+/**
+ * RDF/XML and Turtle rendering with and without streaming. The output is counted and discarded;
+ * run with {@code -prof gc} and a small heap to compare the memory the renderers retain:
+ * 
+ * <pre>
+ * java -Xmx1g -jar benchmarks.jar StreamingRDFRenderBenchmark -p classes=500000 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class StreamingRDFRenderBenchmark {
+
+    @Param({"100000"})
+    public int classes;
+    @Param({"rdfxml", "turtle"})
+    public String format;
+    @Param({"false", "true"})
+    public boolean streaming;
+    private OWLOntology ontology;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        ontology = SyntheticOntologies.create(OWLManager.createOWLOntologyManager(), classes,
+            SyntheticOntologies.SEED);
+    }
+
+    @Benchmark
+    public long render() throws IOException {
+        CountingWriter writer = new CountingWriter();
+        RDFRendererBase renderer;
+        if ("turtle".equals(format)) {
+            renderer = new TurtleRenderer(ontology, writer, new TurtleDocumentFormat());
+        } else {
+            renderer = new RDFXMLRenderer(ontology, writer, new RDFXMLDocumentFormat());
+        }
+        renderer.setStreaming(streaming);
+        renderer.render();
+        return writer.count;
+    }
+
+    private static class CountingWriter extends Writer {
+
+        long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str) {
+            count += str.length();
+        }
+
+        @Override
+        public void flush() {
+            // nothing buffered
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
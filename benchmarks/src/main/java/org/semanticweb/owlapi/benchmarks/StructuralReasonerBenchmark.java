@@ -0,0 +1,140 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.NodeSet;
+import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+
+/**
+ * Classification time of the {@link StructuralReasoner}, the cost of hierarchy queries on a
+ * classified reasoner, and the cost of applying a small edit to it. The cost of an edit should not
+ * grow with the number of classes. Classification can be compared across thread counts, and the
+ * queries with and without a reachability index (the limit is in bytes, 0 disables the index):
+ *
+ * <pre>
+ * java -jar benchmarks.jar StructuralReasonerBenchmark -p classes=10000,100000,300000
+ * java -jar benchmarks.jar StructuralReasonerBenchmark.classify -p threads=1,2,4,8
+ * java -jar benchmarks.jar "StructuralReasonerBenchmark.(sub|super|entailed).*" -p indexLimit=0,1000000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StructuralReasonerBenchmark {
+
+    @Param({"10000"})
+    public int classes;
+    @Param({"1"})
+    public int threads;
+    @Param({"0"})
+    public long indexLimit;
+    private OWLOntologyManager manager;
+    private OWLOntology ontology;
+    private StructuralReasoner classified;
+    private OWLClass[] classArray;
+
+    @Setup(Level.Trial)
+    public void setUp() throws OWLOntologyCreationException {
+        manager = OWLManager.createOWLOntologyManager();
+        ontology = SyntheticOntologies.create(manager, classes, SyntheticOntologies.SEED);
+        classified =
+            new StructuralReasoner(ontology, new SimpleConfiguration(), BufferingMode.BUFFERING);
+        classified.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+        classified.setReachabilityIndexLimit(indexLimit);
+        classArray = new OWLClass[classes];
+        for (int i = 0; i < classes; i++) {
+            classArray[i] = SyntheticOntologies.cls(manager.getOWLDataFactory(), i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        classified.dispose();
+    }
+
+    @Benchmark
+    public NodeSet<OWLClass> classify() {
+        StructuralReasoner reasoner = new StructuralReasoner(ontology, new SimpleConfiguration(),
+            BufferingMode.BUFFERING, threads);
+        try {
+            reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+            return reasoner.getSubClasses(reasoner.getTopClassNode().getRepresentativeElement(),
+                true);
+        } finally {
+            // the reasoner listens to the manager until disposed
+            reasoner.dispose();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NodeSet<OWLClass> superClasses() {
+        return classified.getSuperClasses(randomClass(), false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NodeSet<OWLClass> subClasses() {
+        return classified.getSubClasses(randomClass(), false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean entailed() {
+        return classified.isEntailed(
+            manager.getOWLDataFactory().getOWLSubClassOfAxiom(randomClass(), randomClass()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NodeSet<OWLClass> directSubClasses() {
+        return classified.getSubClasses(randomClass(), true);
+    }
+
+    /**
+     * Adds a subclass axiom between two random classes and removes it again, flushing the
+     * reasoner after each change.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Node<OWLClass> edit() {
+        OWLClass sub = randomClass();
+        OWLAxiom ax = manager.getOWLDataFactory().getOWLSubClassOfAxiom(sub, randomClass());
+        if (!ontology.containsAxiom(ax)) {
+            manager.addAxiom(ontology, ax);
+            classified.flush();
+            manager.removeAxiom(ontology, ax);
+            classified.flush();
+        }
+        return classified.getEquivalentClasses(sub);
+    }
+
+    private OWLClass randomClass() {
+        return classArray[ThreadLocalRandom.current().nextInt(classArray.length)];
+    }
+}
@@ -0,0 +1,195 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Generator for the ontologies used by the benchmarks, so that they run without downloading or
+ * bundling real ontologies. The shape loosely follows a biomedical terminology: a class tree with
+ * labels, existential restrictions over a small property hierarchy, some defined and disjoint
+ * classes and an ABox of about a tenth of the size of the TBox. The same size and seed always
+ * produce the same axioms.
+ */
+public final class SyntheticOntologies {
+
+    /** Namespace of all generated entities. */
+    public static final String NS = "http://owlapi.sourceforge.net/benchmarks/synthetic#";
+    /** Seed used by the benchmarks unless they need several different ontologies. */
+    public static final long SEED = 42L;
+
+    private SyntheticOntologies() {}
+
+    /**
+     * @param df data factory
+     * @param i index
+     * @return the i-th generated class
+     */
+    @Nonnull
+    public static OWLClass cls(@Nonnull OWLDataFactory df, int i) {
+        return df.getOWLClass(IRI.create(NS, "C" + i));
+    }
+
+    /**
+     * @param df data factory
+     * @param i index
+     * @return the i-th generated object property
+     */
+    @Nonnull
+    public static OWLObjectProperty objectProperty(@Nonnull OWLDataFactory df, int i) {
+        return df.getOWLObjectProperty(IRI.create(NS, "p" + i));
+    }
+
+    /**
+     * @param df data factory
+     * @param i index
+     * @return the i-th generated data property
+     */
+    @Nonnull
+    public static OWLDataProperty dataProperty(@Nonnull OWLDataFactory df, int i) {
+        return df.getOWLDataProperty(IRI.create(NS, "d" + i));
+    }
+
+    /**
+     * @param df data factory
+     * @param i index
+     * @return the i-th generated individual
+     */
+    @Nonnull
+    public static OWLNamedIndividual individual(@Nonnull OWLDataFactory df, int i) {
+        return df.getOWLNamedIndividual(IRI.create(NS, "i" + i));
+    }
+
+    /**
+     * @param classes number of classes
+     * @return number of object properties generated for the given number of classes
+     */
+    public static int objectProperties(int classes) {
+        return Math.max(2, classes / 100);
+    }
+
+    /**
+     * @param classes number of classes
+     * @return number of data properties generated for the given number of classes
+     */
+    public static int dataProperties(int classes) {
+        return Math.max(1, classes / 500);
+    }
+
+    /**
+     * @param classes number of classes
+     * @return number of individuals generated for the given number of classes
+     */
+    public static int individuals(int classes) {
+        return Math.max(1, classes / 10);
+    }
+
+    /**
+     * @param df data factory
+     * @param classes number of classes
+     * @param seed random seed
+     * @return the axioms of a generated ontology, in generation order
+     */
+    @Nonnull
+    public static List<OWLAxiom> axioms(@Nonnull OWLDataFactory df, int classes, long seed) {
+        Random random = new Random(seed);
+        int properties = objectProperties(classes);
+        int dataProperties = dataProperties(classes);
+        int individuals = individuals(classes);
+        List<OWLAxiom> axioms = new ArrayList<>(classes * 5);
+        for (int i = 0; i < properties; i++) {
+            OWLObjectProperty p = objectProperty(df, i);
+            declare(df, axioms, p);
+            if (i > 0) {
+                axioms.add(df.getOWLSubObjectPropertyOfAxiom(p,
+                    objectProperty(df, random.nextInt(i))));
+            }
+            if (i % 5 == 1) {
+                axioms.add(df.getOWLTransitiveObjectPropertyAxiom(p));
+            }
+        }
+        for (int i = 0; i < dataProperties; i++) {
+            OWLDataProperty d = dataProperty(df, i);
+            declare(df, axioms, d);
+            axioms.add(df.getOWLDataPropertyRangeAxiom(d, df.getIntegerOWLDatatype()));
+        }
+        for (int i = 0; i < classes; i++) {
+            OWLClass c = cls(df, i);
+            declare(df, axioms, c);
+            axioms.add(df.getOWLAnnotationAssertionAxiom(df.getRDFSLabel(), c.getIRI(),
+                df.getOWLLiteral("class " + i, "en")));
+            if (i == 0) {
+                continue;
+            }
+            // parents are drawn from the classes generated so far, which keeps the tree acyclic
+            // and its depth logarithmic in the number of classes
+            axioms.add(df.getOWLSubClassOfAxiom(c, cls(df, random.nextInt(i))));
+            if (i % 3 == 0) {
+                axioms.add(df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(
+                    objectProperty(df, random.nextInt(properties)), cls(df, random.nextInt(i)))));
+            }
+            if (i % 10 == 0) {
+                axioms.add(df.getOWLEquivalentClassesAxiom(c,
+                    df.getOWLObjectIntersectionOf(cls(df, random.nextInt(i)),
+                        df.getOWLObjectSomeValuesFrom(
+                            objectProperty(df, random.nextInt(properties)),
+                            cls(df, random.nextInt(i))))));
+            }
+            if (i % 20 == 0) {
+                axioms.add(df.getOWLDisjointClassesAxiom(c, cls(df, random.nextInt(i))));
+            }
+        }
+        for (int i = 0; i < individuals; i++) {
+            OWLNamedIndividual ind = individual(df, i);
+            declare(df, axioms, ind);
+            axioms.add(df.getOWLClassAssertionAxiom(cls(df, random.nextInt(classes)), ind));
+            if (i > 0) {
+                axioms.add(df.getOWLObjectPropertyAssertionAxiom(
+                    objectProperty(df, random.nextInt(properties)), ind,
+                    individual(df, random.nextInt(i))));
+            }
+            axioms.add(df.getOWLDataPropertyAssertionAxiom(
+                dataProperty(df, random.nextInt(dataProperties)), ind, random.nextInt(1000)));
+        }
+        return axioms;
+    }
+
+    private static void declare(OWLDataFactory df, List<OWLAxiom> axioms, OWLEntity e) {
+        axioms.add(df.getOWLDeclarationAxiom(e));
+    }
+
+    /**
+     * Creates a generated ontology in the given manager.
+     *
+     * @param manager manager to create the ontology in
+     * @param classes number of classes
+     * @param seed random seed
+     * @return the generated ontology
+     * @throws OWLOntologyCreationException if the ontology cannot be created
+     */
+    @Nonnull
+    public static OWLOntology create(@Nonnull OWLOntologyManager manager, int classes, long seed)
+        throws OWLOntologyCreationException {
+        OWLOntology ontology = manager
+            .createOntology(IRI.create("http://owlapi.sourceforge.net/benchmarks/synthetic/"
+                + classes + '/' + seed));
+        manager.addAxioms(ontology,
+            new LinkedHashSet<>(axioms(manager.getOWLDataFactory(), classes, seed)));
+        return ontology;
+    }
+}
@@ -0,0 +1,92 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.ToStringRenderer;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.util.SimpleRenderer;
+
+/**
+ * Throughput of {@code toString} on axioms and on their superclasses, as logging from reasoner
+ * worker threads does. {@code shared} renders with one renderer instance for all threads, as
+ * {@link ToStringRenderer} did before renderers were created per thread; {@code cacheSize}
+ * enables the cache of renderings of entities and small expressions. Each benchmark method runs
+ * with a different number of threads:
+ * 
+ * <pre>
+ * java -jar benchmarks.jar ToStringContentionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ToStringContentionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean shared;
+    @Param({"0", "10000"})
+    public int cacheSize;
+    private OWLAxiom[] axioms;
+    private OWLClassExpression[] expressions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<OWLAxiom> list = SyntheticOntologies.axioms(OWLManager.getOWLDataFactory(), 5000,
+            SyntheticOntologies.SEED);
+        axioms = list.toArray(new OWLAxiom[list.size()]);
+        expressions = list.stream().filter(OWLSubClassOfAxiom.class::isInstance)
+            .map(ax -> ((OWLSubClassOfAxiom) ax).getSuperClass())
+            .toArray(OWLClassExpression[]::new);
+        if (shared) {
+            ToStringRenderer.getInstance().setRenderer(new SimpleRenderer());
+        }
+        ToStringRenderer.getInstance().setCacheSize(cacheSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ToStringRenderer.getInstance().setRendererFactory(SimpleRenderer::new);
+        ToStringRenderer.getInstance().setCacheSize(0);
+    }
+
+    private void render(Blackhole bh) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        bh.consume(axioms[random.nextInt(axioms.length)].toString());
+        bh.consume(expressions[random.nextInt(expressions.length)].toString());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void toString1Thread(Blackhole bh) {
+        render(bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void toString4Threads(Blackhole bh) {
+        render(bh);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void toString16Threads(Blackhole bh) {
+        render(bh);
+    }
+}
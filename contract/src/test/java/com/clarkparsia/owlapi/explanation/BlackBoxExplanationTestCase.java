@@ -0,0 +1,121 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package com.clarkparsia.owlapi.explanation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLNothing;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TellingReasonerFactory;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+class BlackBoxExplanationTestCase extends TestBase {
+
+    private final OWLClass a = Class(IRI.create("urn:test:blackbox#A"));
+
+    /**
+     * A is unsatisfiable through a chain of twenty classes; the chain is surrounded by axioms that
+     * are not needed, some of them in the locality module of A and some outside it.
+     */
+    private OWLOntology ontology() {
+        OWLOntology o = create();
+        OWLClass previous = a;
+        for (int i = 0; i < 20; i++) {
+            OWLClass next = Class(IRI.create("urn:test:blackbox#C" + i));
+            o.getOWLOntologyManager().addAxiom(o, SubClassOf(previous, next));
+            o.getOWLOntologyManager().addAxiom(o,
+                SubClassOf(previous, Class(IRI.create("urn:test:blackbox#D" + i))));
+            o.getOWLOntologyManager().addAxiom(o,
+                SubClassOf(Class(IRI.create("urn:test:blackbox#E" + i)), previous));
+            previous = next;
+        }
+        o.getOWLOntologyManager().addAxiom(o, SubClassOf(previous, OWLNothing()));
+        return o;
+    }
+
+    private static Set<OWLAxiom> explain(@Nonnull OWLOntology o, @Nonnull OWLClass c,
+        boolean moduleSeeded, boolean reasonerReused) {
+        OWLReasonerFactory factory = new TellingReasonerFactory();
+        BlackBoxExplanation explanation =
+            new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+        explanation.setModuleSeeded(moduleSeeded);
+        explanation.setReasonerReused(reasonerReused);
+        try {
+            return explanation.getExplanation(c);
+        } finally {
+            explanation.dispose();
+        }
+    }
+
+    @Test
+    void shouldFindSameMinimalJustificationWithAllStrategies() {
+        OWLOntology o = ontology();
+        Set<OWLAxiom> expected = explain(o, a, false, false);
+        assertEquals(21, expected.size());
+        for (OWLAxiom ax : expected) {
+            assertTrue(ax.isOfType(AxiomType.SUBCLASS_OF));
+            OWLSubClassOfAxiom sub = (OWLSubClassOfAxiom) ax;
+            assertFalse(sub.getSuperClass().asOWLClass().getIRI().toString().contains("#D"));
+            assertFalse(sub.getSubClass().asOWLClass().getIRI().toString().contains("#E"));
+        }
+        assertEquals(expected, explain(o, a, false, true));
+        assertEquals(expected, explain(o, a, true, false));
+        assertEquals(expected, explain(o, a, true, true));
+        assertEquals(1, o.getOWLOntologyManager().getOntologies().size());
+    }
+
+    @Test
+    void shouldNotExplainSatisfiableClass() {
+        OWLOntology o = ontology();
+        OWLClass d = Class(IRI.create("urn:test:blackbox#D0"));
+        assertTrue(explain(o, d, false, true).isEmpty());
+        assertTrue(explain(o, d, true, true).isEmpty());
+    }
+
+    @Test
+    void shouldFollowRemovedAxiomsWithinTransaction() {
+        OWLOntology o = ontology();
+        OWLReasonerFactory factory = new TellingReasonerFactory();
+        BlackBoxExplanation explanation =
+            new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+        explanation.setModuleSeeded(true);
+        Set<OWLAxiom> justification = explanation.getExplanation(a);
+        assertEquals(21, justification.size());
+        OWLAxiom removed = SubClassOf(Class(IRI.create("urn:test:blackbox#C3")),
+            Class(IRI.create("urn:test:blackbox#C4")));
+        assertTrue(justification.contains(removed));
+        explanation.beginTransaction();
+        o.getOWLOntologyManager().removeAxiom(o, removed);
+        assertTrue(explanation.getExplanation(a).isEmpty());
+        o.getOWLOntologyManager().addAxiom(o, removed);
+        assertEquals(justification, explanation.getExplanation(a));
+        explanation.endTransaction();
+        explanation.dispose();
+        assertEquals(1, o.getOWLOntologyManager().getOntologies().size());
+    }
+}
@@ -0,0 +1,95 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package com.clarkparsia.owlapi.explanation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLNothing;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TellingReasonerFactory;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+class HSTExplanationGeneratorTestCase extends TestBase {
+
+    private final OWLClass a = Class(IRI.create("urn:test:hst#A"));
+
+    /** Five justifications for the unsatisfiability of A, four of two axioms, one of three. */
+    private OWLOntology ontology() {
+        OWLOntology o = create();
+        for (int i = 0; i < 4; i++) {
+            OWLClass b = Class(IRI.create("urn:test:hst#B" + i));
+            o.getOWLOntologyManager().addAxiom(o, SubClassOf(a, b));
+            o.getOWLOntologyManager().addAxiom(o, SubClassOf(b, OWLNothing()));
+        }
+        OWLClass c = Class(IRI.create("urn:test:hst#C"));
+        OWLClass d = Class(IRI.create("urn:test:hst#D"));
+        o.getOWLOntologyManager().addAxiom(o, SubClassOf(a, c));
+        o.getOWLOntologyManager().addAxiom(o, SubClassOf(c, d));
+        o.getOWLOntologyManager().addAxiom(o, SubClassOf(d, OWLNothing()));
+        o.getOWLOntologyManager().addAxiom(o, SubClassOf(d, Class(IRI.create("urn:test:hst#E"))));
+        return o;
+    }
+
+    private static HSTExplanationGenerator generator(@Nonnull OWLOntology o,
+        @Nonnull OWLReasonerFactory factory, int threads) {
+        BlackBoxExplanation single =
+            new BlackBoxExplanation(o, factory, factory.createNonBufferingReasoner(o));
+        if (threads == 1) {
+            return new HSTExplanationGenerator(single);
+        }
+        return new HSTExplanationGenerator(single, new OWLManager(), threads);
+    }
+
+    @Test
+    void shouldFindSameJustificationsConcurrently() {
+        OWLOntology o = ontology();
+        Set<OWLAxiom> axioms = o.getAxioms();
+        TellingReasonerFactory factory = new TellingReasonerFactory(0);
+        Set<Set<OWLAxiom>> expected = generator(o, factory, 1).getExplanations(a);
+        assertEquals(5, expected.size());
+        assertEquals(axioms, o.getAxioms());
+        Set<Set<OWLAxiom>> actual = generator(o, factory, 3).getExplanations(a);
+        assertEquals(expected, actual);
+        assertEquals(axioms, o.getAxioms());
+    }
+
+    @Test
+    void shouldStopAfterMaxExplanations() {
+        OWLOntology o = ontology();
+        TellingReasonerFactory factory = new TellingReasonerFactory(0);
+        assertEquals(2, generator(o, factory, 1).getExplanations(a, 2).size());
+        assertEquals(2, generator(o, factory, 3).getExplanations(a, 2).size());
+    }
+
+    @Test
+    void shouldStopWhenTimeRunsOut() {
+        OWLOntology o = ontology();
+        HSTExplanationGenerator generator = generator(o, new TellingReasonerFactory(20), 2);
+        generator.setTimeOut(1);
+        Set<Set<OWLAxiom>> explanations = generator.getExplanations(a);
+        assertTrue(!explanations.isEmpty() && explanations.size() < 5, explanations.toString());
+    }
+}
@@ -0,0 +1,85 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.OBOFormatParserException;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+class StreamingObo2OwlTestCase extends TestBase {
+
+    /** Typedefs follow the terms that use them, as written by the OBO writer. */
+    static final String TYPEDEFS_LAST = "format-version: 1.2\n" + "ontology: streaming\n"
+        + "default-namespace: test\n" + "subsetdef: slim \"a slim\"\n\n"
+        + "[Term]\nid: X:1\nname: x1\nsubset: slim\nis_a: X:2\n"
+        + "relationship: part_of X:2\nrelationship: seeAlso X:3\n\n"
+        + "[Term]\nid: X:2\nname: x2\nintersection_of: X:3\nintersection_of: part_of X:4\n\n"
+        + "[Term]\nid: X:3\nname: x3\nis_a: X:4 {gci_relation=\"part_of\", gci_filler=\"X:5\"}\n\n"
+        + "[Term]\nid: X:4\nalt_id: X:40\n\n"
+        + "[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\nis_transitive: true\n\n"
+        + "[Typedef]\nid: seeAlso\nis_metadata_tag: true\n";
+
+    private OWLOntology convert(String input) throws OWLOntologyCreationException, IOException {
+        return new OWLAPIObo2Owl(m).convert(
+            new OBOFormatParser().parse(new BufferedReader(new StringReader(input))),
+            m.createOntology());
+    }
+
+    private OWLOntology stream(String input, boolean parallel)
+        throws OWLOntologyCreationException {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        return new OWLAPIObo2Owl(manager).convert(new BufferedReader(new StringReader(input)),
+            manager.createOntology(), parallel);
+    }
+
+    @Test
+    void shouldTranslateSameAxiomsWhenStreaming()
+        throws OWLOntologyCreationException, IOException {
+        OWLOntology expected = convert(TYPEDEFS_LAST);
+        // the shorthand must have been expanded and the metadata tag must be an annotation
+        assertTrue(expected.containsObjectPropertyInSignature(
+            IRI.create(Obo2OWLConstants.DEFAULT_IRI_PREFIX + "BFO_0000050")));
+        assertTrue(expected.getAxioms(AxiomType.ANNOTATION_ASSERTION).stream()
+            .anyMatch(ax -> ax.getProperty().getIRI().toString().endsWith("#seeAlso")));
+        for (boolean parallel : new boolean[] {false, true}) {
+            OWLOntology actual = stream(TYPEDEFS_LAST, parallel);
+            assertEquals(expected.getOntologyID(), actual.getOntologyID());
+            assertEquals(expected.getAnnotations(), actual.getAnnotations());
+            assertEquals(expected.getAxioms(), actual.getAxioms());
+        }
+    }
+
+    @Test
+    void shouldLoadWithParserThreads() throws OWLOntologyCreationException {
+        OWLOntology expected = m.loadOntologyFromOntologyDocument(new StringDocumentSource(
+            TYPEDEFS_LAST, IRI.create("urn:test:streaming"), new OBODocumentFormat(), null));
+        OWLOntology actual = m1.loadOntologyFromOntologyDocument(
+            new StringDocumentSource(TYPEDEFS_LAST, IRI.create("urn:test:streaming"),
+                new OBODocumentFormat(), null),
+            new OWLOntologyLoaderConfiguration().withParserThreads(2));
+        assertEquals(expected.getAxioms(), actual.getAxioms());
+    }
+
+    @Test
+    void shouldReportParseErrorsFromParsingThread() {
+        String broken = TYPEDEFS_LAST + "\n[Term]\nname: no id line\n";
+        assertThrows(OBOFormatParserException.class, () -> stream(broken, true));
+        assertThrows(OBOFormatParserException.class, () -> stream(broken, false));
+    }
+}
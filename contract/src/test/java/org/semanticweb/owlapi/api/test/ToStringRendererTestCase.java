@@ -0,0 +1,98 @@
+package org.semanticweb.owlapi.api.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.OWLObjectRenderer;
+import org.semanticweb.owlapi.io.ToStringRenderer;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.util.ShortFormProvider;
+import org.semanticweb.owlapi.util.SimpleRenderer;
+
+class ToStringRendererTestCase extends TestBase {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    @AfterEach
+    void restoreDefaults() {
+        ToStringRenderer.getInstance().setRendererFactory(SimpleRenderer::new);
+        ToStringRenderer.getInstance().setCacheSize(0);
+    }
+
+    private OWLObjectRenderer countingRenderer() {
+        created.incrementAndGet();
+        SimpleRenderer delegate = new SimpleRenderer();
+        return new OWLObjectRenderer() {
+
+            @Override
+            public void setShortFormProvider(ShortFormProvider shortFormProvider) {
+                delegate.setShortFormProvider(shortFormProvider);
+            }
+
+            @Override
+            public String render(OWLObject object) {
+                rendered.incrementAndGet();
+                return delegate.render(object);
+            }
+        };
+    }
+
+    @Test
+    void shouldRenderOnSeveralThreads() throws Exception {
+        List<OWLObject> objects = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            objects.add(df.getOWLSubClassOfAxiom(df.getOWLClass(iri("C" + i)),
+                df.getOWLObjectSomeValuesFrom(P, df.getOWLClass(iri("D" + i)))));
+        }
+        List<String> expected = new ArrayList<>();
+        for (OWLObject o : objects) {
+            expected.add(new SimpleRenderer().render(o));
+        }
+        ToStringRenderer.getInstance().setRendererFactory(this::countingRenderer);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> renderings = new ArrayList<>();
+                    for (OWLObject o : objects) {
+                        renderings.add(o.toString());
+                    }
+                    return renderings;
+                }));
+            }
+            for (Future<List<String>> f : futures) {
+                assertEquals(expected, f.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(4, created.get());
+    }
+
+    @Test
+    void shouldCacheEntitiesAndSmallExpressions() {
+        ToStringRenderer.getInstance().setRendererFactory(this::countingRenderer);
+        ToStringRenderer.getInstance().setCacheSize(100);
+        OWLClassExpression some = df.getOWLObjectSomeValuesFrom(P, A);
+        OWLObject axiom = df.getOWLSubClassOfAxiom(A, some);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new SimpleRenderer().render(A), A.toString());
+            assertEquals(new SimpleRenderer().render(some), some.toString());
+            assertEquals(new SimpleRenderer().render(axiom), axiom.toString());
+        }
+        assertEquals(5, rendered.get());
+    }
+}
@@ -0,0 +1,166 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.baseclasses;
+
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DisjointClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectAllValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectComplementOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectIntersectionOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyDomain;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyRange;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectUnionOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubObjectPropertyOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.TransitiveObjectProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+/**
+ * Random class and object property axioms over a fixed vocabulary, for tests that compare
+ * module extraction results on ontologies too large to write by hand. The same seed gives the
+ * same axioms and signatures.
+ */
+public class RandomAxioms {
+
+    private final Random random;
+    private final String namespace;
+    private final List<OWLClass> classes = new ArrayList<>();
+    private final List<OWLObjectProperty> properties = new ArrayList<>();
+    private final List<OWLEntity> entities = new ArrayList<>();
+
+    /**
+     * @param seed seed of the random sequence
+     * @param namespace namespace of the entities
+     */
+    public RandomAxioms(long seed, String namespace) {
+        random = new Random(seed);
+        this.namespace = namespace;
+    }
+
+    /**
+     * Creates a vocabulary of count / 3 classes and the given number of properties, and axioms
+     * over it.
+     * 
+     * @param count number of axioms to generate; repeated axioms are only kept once
+     * @param propertyCount number of object properties
+     * @return the axioms
+     */
+    public Set<OWLAxiom> axioms(int count, int propertyCount) {
+        for (int i = 0; i < count / 3; i++) {
+            classes.add(Class(IRI.create(namespace + "C" + i)));
+        }
+        for (int i = 0; i < propertyCount; i++) {
+            properties.add(ObjectProperty(IRI.create(namespace + "p" + i)));
+        }
+        entities.addAll(classes);
+        entities.addAll(properties);
+        Set<OWLAxiom> axioms = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            switch (random.nextInt(8)) {
+                case 0:
+                    axioms.add(EquivalentClasses(cls(), expression()));
+                    break;
+                case 1:
+                    axioms.add(DisjointClasses(cls(), expression()));
+                    break;
+                case 2:
+                    axioms.add(ObjectPropertyDomain(property(), expression()));
+                    break;
+                case 3:
+                    axioms.add(ObjectPropertyRange(property(), expression()));
+                    break;
+                case 4:
+                    axioms.add(SubObjectPropertyOf(property(), property()));
+                    break;
+                case 5:
+                    axioms.add(ClassAssertion(expression(),
+                        NamedIndividual(IRI.create(namespace + "i" + random.nextInt(10)))));
+                    break;
+                default:
+                    axioms.add(SubClassOf(expression(), expression()));
+            }
+        }
+        axioms.add(TransitiveObjectProperty(property()));
+        return axioms;
+    }
+
+    /**
+     * @return the classes and properties of the vocabulary
+     */
+    public List<OWLEntity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return a random class of the vocabulary
+     */
+    public OWLClass cls() {
+        return classes.get(random.nextInt(classes.size()));
+    }
+
+    /**
+     * @return a random property of the vocabulary
+     */
+    public OWLObjectProperty property() {
+        return properties.get(random.nextInt(properties.size()));
+    }
+
+    /**
+     * @return a random class expression of depth one at most
+     */
+    public OWLClassExpression expression() {
+        switch (random.nextInt(7)) {
+            case 0:
+                return ObjectSomeValuesFrom(property(), cls());
+            case 1:
+                return ObjectAllValuesFrom(property(), cls());
+            case 2:
+                return ObjectIntersectionOf(cls(), cls());
+            case 3:
+                return ObjectUnionOf(cls(), cls());
+            case 4:
+                return ObjectComplementOf(cls());
+            default:
+                return cls();
+        }
+    }
+
+    /**
+     * @return one to four random entities of the vocabulary
+     */
+    public Set<OWLEntity> signature() {
+        Set<OWLEntity> signature = new HashSet<>();
+        int size = 1 + random.nextInt(4);
+        while (signature.size() < size) {
+            signature.add(entities.get(random.nextInt(entities.size())));
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,128 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.baseclasses;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.reasoner.BufferingMode;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasoner;
+
+/**
+ * Structural reasoner that finds a class unsatisfiable if owl:Nothing is among its told
+ * superclasses, for explanation tests and benchmarks that need a cheap, predictable reasoner.
+ * Only the axioms flushed to the reasoner are used, so that buffered changes are not seen before
+ * a flush; an optional delay is added to each satisfiability test.
+ */
+public class TellingReasonerFactory implements OWLReasonerFactory {
+
+    private final long delay;
+
+    /** Factory for reasoners without delay. */
+    public TellingReasonerFactory() {
+        this(0);
+    }
+
+    /**
+     * @param delay milliseconds to wait in each satisfiability test
+     */
+    public TellingReasonerFactory(long delay) {
+        this.delay = delay;
+    }
+
+    @Override
+    public String getReasonerName() {
+        return "told unsatisfiability";
+    }
+
+    @Override
+    public OWLReasoner createNonBufferingReasoner(OWLOntology ontology) {
+        return createNonBufferingReasoner(ontology, new SimpleConfiguration());
+    }
+
+    @Override
+    public OWLReasoner createReasoner(OWLOntology ontology) {
+        return createReasoner(ontology, new SimpleConfiguration());
+    }
+
+    @Override
+    public OWLReasoner createNonBufferingReasoner(OWLOntology ontology,
+        OWLReasonerConfiguration config) {
+        return new TellingReasoner(ontology, config, BufferingMode.NON_BUFFERING);
+    }
+
+    @Override
+    public OWLReasoner createReasoner(OWLOntology ontology, OWLReasonerConfiguration config) {
+        return new TellingReasoner(ontology, config, BufferingMode.BUFFERING);
+    }
+
+    private class TellingReasoner extends StructuralReasoner {
+
+        TellingReasoner(OWLOntology ontology, OWLReasonerConfiguration config,
+            BufferingMode mode) {
+            super(ontology, config, mode);
+        }
+
+        @Override
+        public boolean isSatisfiable(OWLClassExpression ce) {
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // with nothing pending the ontology indexes hold the flushed axioms; otherwise the
+            // flushed axioms have to be scanned
+            Collection<OWLAxiom> flushed =
+                getPendingChanges().isEmpty() ? null : getReasonerAxioms();
+            Set<OWLClassExpression> seen = new HashSet<>();
+            Deque<OWLClassExpression> queue = new ArrayDeque<>();
+            queue.add(ce);
+            while (!queue.isEmpty()) {
+                OWLClassExpression c = queue.poll();
+                if (c.isOWLNothing()) {
+                    return false;
+                }
+                if (c.isAnonymous() || !seen.add(c)) {
+                    continue;
+                }
+                if (flushed == null) {
+                    for (OWLSubClassOfAxiom ax : getRootOntology()
+                        .getSubClassAxiomsForSubClass(c.asOWLClass())) {
+                        queue.add(ax.getSuperClass());
+                    }
+                } else {
+                    for (OWLAxiom ax : flushed) {
+                        if (ax instanceof OWLSubClassOfAxiom
+                            && ((OWLSubClassOfAxiom) ax).getSubClass().equals(c)) {
+                            queue.add(((OWLSubClassOfAxiom) ax).getSuperClass());
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
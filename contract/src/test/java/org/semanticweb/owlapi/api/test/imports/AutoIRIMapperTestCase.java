@@ -1,11 +1,23 @@
 package org.semanticweb.owlapi.api.test.imports;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.util.AutoIRIMapper;
+import org.semanticweb.owlapi.vocab.Namespaces;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 
 class AutoIRIMapperTestCase extends TestBase {
 
@@ -16,4 +28,100 @@ class AutoIRIMapperTestCase extends TestBase {
         assert documentIRI != null;
         assertTrue(documentIRI.toString().endsWith("/urntestontology.xml"));
     }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldStopAtOntologyElementWhenUsedAsHandler() {
+        AutoIRIMapper mapper = new AutoIRIMapper(folder, false);
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute(Namespaces.RDF.toString(), "about", "rdf:about", "CDATA",
+            "urn:test:handler");
+        assertThrows(SAXException.class, () -> mapper.startElement(Namespaces.OWL.toString(),
+            "Ontology", "owl:Ontology", attributes));
+    }
+
+    private static File write(File dir, String name, String content) throws IOException {
+        File file = new File(dir, name);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String fss(String iri) {
+        return "Prefix(:=<urn:test#>)\nOntology(<" + iri + ">\n)";
+    }
+
+    private void createMirror() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            write(folder, "sub" + i % 3 + "/o" + i + ".ofn", fss("urn:test:fss" + i));
+        }
+        write(folder, "m.omn", "Prefix: : <urn:test#>\nOntology: <urn:test:man>\n");
+        write(folder, "r.owl",
+            "<?xml version=\"1.0\"?>\n<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\" xmlns:owl=\"http://www.w3.org/2002/07/owl#\">\n"
+                + "<owl:Ontology rdf:about=\"urn:test:rdf\"/>\n</rdf:RDF>");
+        write(folder, ".hidden/h.ofn", fss("urn:test:hidden"));
+    }
+
+    @Test
+    void shouldMapSameFilesOnSeveralThreads() throws IOException {
+        createMirror();
+        AutoIRIMapper sequential = new AutoIRIMapper(folder, true);
+        AutoIRIMapper parallel = new AutoIRIMapper(folder, true);
+        parallel.setScanThreads(4);
+        assertEquals(22, sequential.getOntologyIRIs().size());
+        assertEquals(sequential.getOntologyIRIs(), parallel.getOntologyIRIs());
+        for (IRI iri : sequential.getOntologyIRIs()) {
+            assertEquals(sequential.getDocumentIRI(iri), parallel.getDocumentIRI(iri));
+        }
+        assertNull(parallel.getDocumentIRI(IRI.create("urn:test:hidden")));
+    }
+
+    @Test
+    void shouldReadOnlyChangedFilesWithIndex() throws IOException {
+        createMirror();
+        File dir = new File(folder, "sub0");
+        File index = new File(folder, "index.bin");
+        AutoIRIMapper first = new AutoIRIMapper(dir, true);
+        first.setIndexFile(index);
+        assertTrue(first.getOntologyIRIs().contains(IRI.create("urn:test:fss0")));
+        assertTrue(index.exists());
+        // same size and modification time: the index entry is trusted and the file is not read
+        File unchanged = new File(dir, "o0.ofn");
+        FileTime time = Files.getLastModifiedTime(unchanged.toPath());
+        write(dir, "o0.ofn", fss("urn:test:fssX"));
+        Files.setLastModifiedTime(unchanged.toPath(), time);
+        // different size: the file is read again
+        write(dir, "o3.ofn", fss("urn:test:fss3changed"));
+        AutoIRIMapper second = new AutoIRIMapper(dir, true);
+        second.setIndexFile(index);
+        second.setScanThreads(2);
+        assertEquals(IRI.create(unchanged), second.getDocumentIRI(IRI.create("urn:test:fss0")));
+        assertNull(second.getDocumentIRI(IRI.create("urn:test:fssX")));
+        assertNull(second.getDocumentIRI(IRI.create("urn:test:fss3")));
+        assertEquals(IRI.create(new File(dir, "o3.ofn")),
+            second.getDocumentIRI(IRI.create("urn:test:fss3changed")));
+    }
+
+    @Test
+    void shouldFollowChangesWhenWatching() throws IOException, InterruptedException {
+        createMirror();
+        AutoIRIMapper mapper = new AutoIRIMapper(folder, true);
+        mapper.startWatching();
+        try {
+            File added = write(folder, "sub1/new/added.ofn", fss("urn:test:added"));
+            IRI addedIRI = IRI.create("urn:test:added");
+            for (int i = 0; i < 200 && mapper.getDocumentIRI(addedIRI) == null; i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(IRI.create(added), mapper.getDocumentIRI(addedIRI));
+            Files.delete(new File(folder, "sub0/o0.ofn").toPath());
+            IRI removedIRI = IRI.create("urn:test:fss0");
+            for (int i = 0; i < 200 && mapper.getDocumentIRI(removedIRI) != null; i++) {
+                Thread.sleep(50);
+            }
+            assertNull(mapper.getDocumentIRI(removedIRI));
+        } finally {
+            mapper.stopWatching();
+        }
+    }
 }
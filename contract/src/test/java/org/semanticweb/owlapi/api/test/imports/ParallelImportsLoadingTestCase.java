@@ -0,0 +1,247 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ImportsDeclaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormatFactory;
+import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
+import org.semanticweb.owlapi.formats.OWLXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxOWLParser;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLParser;
+import org.semanticweb.owlapi.io.OWLParserFactoryImpl;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.SimpleIRIMapper;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyFactoryImpl;
+import uk.ac.manchester.cs.owl.owlapi.OWLOntologyManagerImpl;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentOWLOntologyBuilder;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NonConcurrentOWLOntologyBuilder;
+
+class ParallelImportsLoadingTestCase extends TestBase {
+
+    private final IRI root = IRI.create("urn:test:root");
+    private final IRI core = IRI.create("urn:test:core");
+    private final Map<IRI, IRI> documents = new LinkedHashMap<>();
+
+    private void save(IRI iri, OWLDocumentFormat format, List<IRI> imports) throws Exception {
+        OWLOntology o = m.createOntology(iri);
+        for (IRI i : imports) {
+            m.applyChange(new AddImport(o, ImportsDeclaration(i)));
+        }
+        OWLObjectProperty p = ObjectProperty(IRI.create(iri + "#p"));
+        m.addAxiom(o, Declaration(p));
+        for (int i = 0; i < 50; i++) {
+            OWLClass c = Class(IRI.create(iri + "#C" + i));
+            m.addAxiom(o, Declaration(c));
+            m.addAxiom(o, SubClassOf(c, ObjectSomeValuesFrom(p, Class(IRI.create(iri + "#C" + i / 2)))));
+        }
+        File file = new File(folder, iri.toString().replace(':', '_') + ".owl");
+        m.saveOntology(o, format, IRI.create(file));
+        m.removeOntology(o);
+        documents.put(iri, IRI.create(file));
+    }
+
+    private void createClosure() throws Exception {
+        List<OWLDocumentFormat> formats = Arrays.asList(new RDFXMLDocumentFormat(),
+            new OWLXMLDocumentFormat(), new ManchesterSyntaxDocumentFormat(),
+            new FunctionalSyntaxDocumentFormat());
+        List<IRI> leaves = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            IRI leaf = IRI.create("urn:test:leaf" + i);
+            leaves.add(leaf);
+            save(leaf, formats.get(i % formats.size()), Arrays.asList(core));
+        }
+        // the core ontology is shared by all leaves and closes a cycle with the first one
+        save(core, new FunctionalSyntaxDocumentFormat(), Arrays.asList(leaves.get(0)));
+        save(root, new RDFXMLDocumentFormat(), leaves);
+    }
+
+    private OWLOntologyManager manager(int threads) {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        for (Map.Entry<IRI, IRI> e : documents.entrySet()) {
+            manager.getIRIMappers().add(new SimpleIRIMapper(e.getKey(), e.getValue()));
+        }
+        manager.setOntologyLoaderConfiguration(
+            manager.getOntologyLoaderConfiguration().withImportsLoadingThreads(threads));
+        return manager;
+    }
+
+    private static List<String> load(OWLOntologyManager manager, IRI iri)
+        throws OWLOntologyCreationException {
+        List<String> loaded = new ArrayList<>();
+        manager.addOntologyLoaderListener(new OWLOntologyLoaderListener() {
+
+            @Override
+            public void startedLoadingOntology(LoadingStartedEvent event) {}
+
+            @Override
+            public void finishedLoadingOntology(LoadingFinishedEvent event) {
+                loaded.add(event.getOntologyID().toString());
+            }
+        });
+        manager.loadOntology(iri);
+        return loaded;
+    }
+
+    @Test
+    void shouldLoadSameClosureInSameOrderAsSequentialLoad() throws Exception {
+        createClosure();
+        OWLOntologyManager sequential = manager(1);
+        List<String> expectedOrder = load(sequential, root);
+        OWLOntologyManager parallel = manager(4);
+        List<String> actualOrder = load(parallel, root);
+        assertEquals(expectedOrder, actualOrder);
+        assertEquals(10, parallel.getOntologies().size());
+        for (OWLOntology expected : sequential.getOntologies()) {
+            OWLOntology actual = parallel.getOntology(expected.getOntologyID());
+            assertSame(parallel, actual.getOWLOntologyManager());
+            assertEquals(expected.getAxioms(), actual.getAxioms());
+            assertEquals(expected.getImportsDeclarations(), actual.getImportsDeclarations());
+            assertEquals(expected.getImportsClosure().size(), actual.getImportsClosure().size());
+            assertEquals(sequential.getOntologyFormat(expected).getClass(),
+                parallel.getOntologyFormat(actual).getClass());
+            assertEquals(sequential.getOntologyDocumentIRI(expected),
+                parallel.getOntologyDocumentIRI(actual));
+        }
+    }
+
+    /** Functional syntax parser that counts down a latch after each document it parses. */
+    private static class CountingParserFactory extends OWLParserFactoryImpl {
+
+        private static final long serialVersionUID = 1L;
+        final transient CountDownLatch parsed;
+
+        CountingParserFactory(CountDownLatch parsed) {
+            super(new FunctionalSyntaxDocumentFormatFactory());
+            this.parsed = parsed;
+        }
+
+        @Override
+        public OWLParser createParser() {
+            return new OWLFunctionalSyntaxOWLParser() {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource,
+                    OWLOntology ontology, OWLOntologyLoaderConfiguration configuration)
+                    throws IOException {
+                    OWLDocumentFormat format =
+                        super.parse(documentSource, ontology, configuration);
+                    parsed.countDown();
+                    return format;
+                }
+            };
+        }
+    }
+
+    @Test
+    void shouldParseClosureWhileConcurrentManagerIsInUse() throws Exception {
+        List<IRI> leaves =
+            Arrays.asList(IRI.create("urn:test:leaf0"), IRI.create("urn:test:leaf1"));
+        for (IRI leaf : leaves) {
+            save(leaf, new FunctionalSyntaxDocumentFormat(), Collections.<IRI> emptyList());
+        }
+        save(root, new FunctionalSyntaxDocumentFormat(), leaves);
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        OWLOntologyManagerImpl manager = new OWLOntologyManagerImpl(df, lock);
+        manager.getOntologyFactories().set(new OWLOntologyFactoryImpl(
+            new ConcurrentOWLOntologyBuilder(new NonConcurrentOWLOntologyBuilder(), lock)));
+        CountDownLatch parsed = new CountDownLatch(3);
+        manager.getOntologyParsers().set(new CountingParserFactory(parsed));
+        for (Map.Entry<IRI, IRI> e : documents.entrySet()) {
+            manager.getIRIMappers().add(new SimpleIRIMapper(e.getKey(), e.getValue()));
+        }
+        manager.setOntologyLoaderConfiguration(
+            manager.getOntologyLoaderConfiguration().withImportsLoadingThreads(4));
+        // another thread reads from the manager until the whole closure has been parsed
+        CountDownLatch reading = new CountDownLatch(1);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> parsedWhileReading = reader.submit(() -> {
+                lock.readLock().lock();
+                try {
+                    reading.countDown();
+                    return Boolean.valueOf(parsed.await(20, TimeUnit.SECONDS));
+                } finally {
+                    lock.readLock().unlock();
+                }
+            });
+            reading.await();
+            OWLOntology o = manager.loadOntology(root);
+            assertTrue(parsedWhileReading.get().booleanValue());
+            assertEquals(3, o.getImportsClosure().size());
+            for (OWLOntology imported : o.getImportsClosure()) {
+                assertSame(manager, imported.getOWLOntologyManager());
+                assertEquals(101, imported.getAxiomCount());
+            }
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldReportMissingImports() throws Exception {
+        save(core, new FunctionalSyntaxDocumentFormat(),
+            Arrays.asList(IRI.create("urn:test:missing")));
+        documents.put(IRI.create("urn:test:missing"), IRI.create(new File(folder, "missing.owl")));
+        OWLOntologyManager manager = manager(4);
+        manager.setOntologyLoaderConfiguration(manager.getOntologyLoaderConfiguration()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        List<IRI> missing = new ArrayList<>();
+        manager.addMissingImportListener(event -> missing.add(event.getImportedOntologyURI()));
+        OWLOntology o = manager.loadOntology(core);
+        assertEquals(Arrays.asList(IRI.create("urn:test:missing")), missing);
+        assertEquals(1, o.getImportsClosure().size());
+    }
+}
@@ -0,0 +1,111 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.IRI;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.owlxml.parser.OWLXMLParser;
+
+class BulkLoadTestCase extends TestBase {
+
+    @Test
+    void shouldBroadcastAllAdditionsOnClose() {
+        OWLOntology ont = create("bulk");
+        List<List<? extends OWLOntologyChange>> broadcasts = new ArrayList<>();
+        m.addOntologyChangeListener(changes -> broadcasts.add(new ArrayList<>(changes)));
+        try (OWLOntologyBulkLoader loader = m.startBulkLoad(ont)) {
+            assertTrue(loader.add(SubClassOf(A, B)));
+            assertFalse(loader.add(SubClassOf(A, B)));
+            loader.addAll(Arrays.asList(SubClassOf(B, C), Declaration(A)));
+            // axioms are visible before the loader is closed
+            assertTrue(ont.containsAxiom(SubClassOf(B, C)));
+            assertEquals(1, ont.getSubClassAxiomsForSubClass(A).size());
+            assertTrue(broadcasts.isEmpty());
+        }
+        assertEquals(1, broadcasts.size());
+        List<OWLAxiom> added = new ArrayList<>();
+        for (OWLOntologyChange change : broadcasts.get(0)) {
+            assertTrue(change.isAddAxiom());
+            added.add(change.getAxiom());
+        }
+        assertEquals(Arrays.asList(SubClassOf(A, B), SubClassOf(B, C), Declaration(A)), added);
+        assertEquals(3, ont.getAxiomCount());
+    }
+
+    @Test
+    void shouldApplyChangesWhenImpendingListenersAreAttached() {
+        OWLOntology ont = create("bulk");
+        List<OWLAxiom> impending = new ArrayList<>();
+        m.addImpendingOntologyChangeListener(changes -> {
+            for (OWLOntologyChange change : changes) {
+                impending.add(change.getAxiom());
+            }
+        });
+        try (OWLOntologyBulkLoader loader = m.startBulkLoad(ont)) {
+            loader.add(SubClassOf(A, B));
+            loader.add(SubClassOf(B, C));
+        }
+        assertEquals(Arrays.asList(SubClassOf(A, B), SubClassOf(B, C)), impending);
+        assertEquals(2, ont.getAxiomCount());
+    }
+
+    @Test
+    void shouldKeepCachesConsistentAfterBulkLoad() {
+        OWLOntology ont = create("bulk");
+        m.addAxiom(ont, Declaration(A));
+        // populate the signature caches before loading more axioms
+        assertFalse(ont.containsClassInSignature(C.getIRI()));
+        try (OWLOntologyBulkLoader loader = m.startBulkLoad(ont)) {
+            loader.add(SubClassOf(B, C));
+        }
+        assertTrue(ont.containsClassInSignature(C.getIRI()));
+        assertEquals(3, ont.getClassesInSignature().size());
+    }
+
+    @Test
+    void shouldBroadcastAdditionsWhenParsingFails() {
+        OWLOntology ont = create("bulk");
+        List<OWLOntologyChange> broadcast = new ArrayList<>();
+        m.addOntologyChangeListener(broadcast::addAll);
+        // the second axiom is not closed
+        String input = "<?xml version=\"1.0\"?>\n"
+            + "<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\" ontologyIRI=\"urn:test:bulk\">\n"
+            + "<SubClassOf><Class IRI=\"urn:test#A\"/><Class IRI=\"urn:test#B\"/></SubClassOf>\n"
+            + "<SubClassOf><Class IRI=\"urn:test#B\"/>\n</Ontology>";
+        assertThrows(OWLParserException.class, () -> new OWLXMLParser()
+            .parse(new StringDocumentSource(input), ont, new OWLOntologyLoaderConfiguration()));
+        OWLAxiom parsed = SubClassOf(Class(IRI("urn:test#A")), Class(IRI("urn:test#B")));
+        assertTrue(ont.containsAxiom(parsed));
+        assertTrue(broadcast.stream().anyMatch(c -> c.isAddAxiom() && parsed.equals(c.getAxiom())));
+    }
+}
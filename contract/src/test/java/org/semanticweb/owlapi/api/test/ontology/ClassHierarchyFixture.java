@@ -0,0 +1,108 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DisjointClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSComment;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * A binary class hierarchy with existential restrictions, class assertions, three way disjoint
+ * classes and annotations, and the index lookups to compare between two ontologies holding it.
+ */
+final class ClassHierarchyFixture {
+
+    private ClassHierarchyFixture() {}
+
+    /**
+     * @param index class number
+     * @return the class
+     */
+    static OWLClass cls(int index) {
+        return Class(TestBase.iri("C" + index));
+    }
+
+    /**
+     * @param m manager of the ontology
+     * @param o ontology to fill
+     * @param size number of classes
+     * @return the ontology
+     */
+    static OWLOntology fill(OWLOntologyManager m, OWLOntology o, int size) {
+        m.applyChange(
+            new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("hierarchy"))));
+        for (int index = 0; index < size; index++) {
+            m.addAxiom(o, Declaration(cls(index)));
+            if (index > 0) {
+                if (index % 2 == 1) {
+                    m.addAxiom(o, SubClassOf(cls(index), cls((index - 1) / 2), Collections
+                        .singleton(Annotation(RDFSComment(), Literal("edge " + index)))));
+                } else {
+                    m.addAxiom(o, SubClassOf(cls(index), cls((index - 1) / 2)));
+                }
+                m.addAxiom(o,
+                    SubClassOf(cls(index), ObjectSomeValuesFrom(TestBase.P, cls(index / 3))));
+                m.addAxiom(o,
+                    ClassAssertion(cls(index), NamedIndividual(TestBase.iri("i" + index))));
+            }
+            if (index > 1 && index % 5 == 0) {
+                m.addAxiom(o, DisjointClasses(cls(index), cls(index - 1), cls(index - 2)));
+            }
+        }
+        return o;
+    }
+
+    /**
+     * @param o ontology holding a hierarchy
+     * @param size number of classes of the hierarchy
+     * @return the results of the lookups for each class, and of the lookups by axiom type
+     */
+    static List<Set<OWLAxiom>> lookups(OWLOntology o, int size) {
+        List<Set<OWLAxiom>> l = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            OWLClass c = cls(index);
+            l.add(new HashSet<>(o.getSubClassAxiomsForSuperClass(c)));
+            l.add(new HashSet<>(o.getSubClassAxiomsForSubClass(c)));
+            l.add(new HashSet<>(o.getAxioms(c, EXCLUDED)));
+            l.add(new HashSet<>(o.getReferencingAxioms(c)));
+            l.add(new HashSet<>(o.getDeclarationAxioms(c)));
+            l.add(new HashSet<>(o.getDisjointClassesAxioms(c)));
+            l.add(new HashSet<>(o.getClassAssertionAxioms(c)));
+        }
+        l.add(new HashSet<>(o.getAxioms(AxiomType.SUBCLASS_OF)));
+        l.add(new HashSet<>(o.getLogicalAxioms()));
+        return l;
+    }
+}
@@ -0,0 +1,90 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.api.test.ontology.ClassHierarchyFixture.cls;
+import static org.semanticweb.owlapi.api.test.ontology.ClassHierarchyFixture.fill;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import uk.ac.manchester.cs.owl.owlapi.HasCompactIndexes;
+import uk.ac.manchester.cs.owl.owlapi.HasInitIndexes;
+
+class CompactIndexesTestCase extends TestBase {
+
+    private static final int SIZE = 1000;
+
+    private OWLOntology createHierarchy() {
+        return fill(m, create(), SIZE);
+    }
+
+    private static List<Set<OWLAxiom>> lookups(OWLOntology o) {
+        return ClassHierarchyFixture.lookups(o, SIZE);
+    }
+
+    private static void compact(OWLOntology o) {
+        ((HasInitIndexes) o).initIndexes();
+        ((HasCompactIndexes) o).compactIndexes();
+    }
+
+    @Test
+    void shouldAnswerSameLookupsAfterCompaction() {
+        OWLOntology o = createHierarchy();
+        List<Set<OWLAxiom>> expected = lookups(o);
+        compact(o);
+        assertEquals(expected, lookups(o));
+        assertEquals(createHierarchy().getAxiomCount(), o.getAxiomCount());
+        assertTrue(o.containsClassInSignature(cls(SIZE - 1).getIRI()));
+    }
+
+    @Test
+    void shouldApplyChangesToCompactedIndexes() {
+        OWLOntology o = createHierarchy();
+        compact(o);
+        OWLOntology expected = createHierarchy();
+        OWLAxiom added = SubClassOf(cls(5), cls(7));
+        OWLAxiom removed = SubClassOf(cls(2), cls(0));
+        for (OWLOntology ont : new OWLOntology[] {o, expected}) {
+            m.addAxiom(ont, added);
+            m.removeAxiom(ont, removed);
+        }
+        assertTrue(o.containsAxiom(added));
+        assertFalse(o.containsAxiom(removed));
+        assertEquals(lookups(expected), lookups(o));
+        compact(o);
+        assertEquals(lookups(expected), lookups(o));
+    }
+
+    @Test
+    void shouldCheckContainsByIdAfterCompaction() {
+        OWLOntology o = createHierarchy();
+        compact(o);
+        for (OWLAxiom ax : createHierarchy().getAxioms()) {
+            assertTrue(o.containsAxiom(ax), ax.toString());
+        }
+        for (int index = 1; index < SIZE; index++) {
+            assertFalse(o.containsAxiom(SubClassOf(cls((index - 1) / 2), cls(index))));
+            assertFalse(o.containsAxiom(SubClassOf(cls(index), cls(index))));
+        }
+    }
+}
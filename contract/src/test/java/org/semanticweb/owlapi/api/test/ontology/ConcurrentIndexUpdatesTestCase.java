@@ -0,0 +1,115 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+
+class ConcurrentIndexUpdatesTestCase extends TestBase {
+
+    private static final int THREADS = 8;
+    private static final int CLASSES = 300;
+    private static final int SUPERCLASSES = 10;
+
+    private static OWLClass sub(int thread, int index) {
+        return Class(iri("C" + thread + "_" + index));
+    }
+
+    private static OWLClass sup(int index) {
+        return Class(iri("S" + index % SUPERCLASSES));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldKeepIndexesConsistentWhenChangedFromSeveralThreads(boolean concurrentReads)
+        throws Exception {
+        OWLOntologyManager manager = setupConcurrentManager();
+        manager.setOntologyLoaderConfiguration(
+            manager.getOntologyLoaderConfiguration().withConcurrentIndexReads(concurrentReads));
+        OWLOntology o = manager.createOntology(iri("concurrent"));
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CLASSES; i++) {
+                        OWLClass c = sub(thread, i);
+                        manager.addAxiom(o, Declaration(c));
+                        manager.addAxiom(o, SubClassOf(c, sup(i)));
+                        // lookups initialise and read the indexes while other threads write
+                        o.getSubClassAxiomsForSuperClass(sup(i));
+                        o.getReferencingAxioms(c);
+                        if (i % 2 == 1) {
+                            manager.removeAxiom(o, SubClassOf(c, sup(i)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        Set<OWLAxiom> expected = new HashSet<>();
+        List<Set<OWLSubClassOfAxiom>> bySuperClass = new ArrayList<>();
+        for (int j = 0; j < SUPERCLASSES; j++) {
+            bySuperClass.add(new HashSet<>());
+        }
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < CLASSES; i++) {
+                OWLClass c = sub(t, i);
+                expected.add(Declaration(c));
+                Set<OWLSubClassOfAxiom> subClassAxioms = new HashSet<>();
+                if (i % 2 == 0) {
+                    subClassAxioms.add(SubClassOf(c, sup(i)));
+                    bySuperClass.get(i % SUPERCLASSES).add(SubClassOf(c, sup(i)));
+                }
+                expected.addAll(subClassAxioms);
+                assertEquals(subClassAxioms, o.getSubClassAxiomsForSubClass(c));
+                assertEquals(1, o.getDeclarationAxioms(c).size());
+                assertEquals(subClassAxioms.size() + 1, o.getReferencingAxioms(c).size());
+            }
+        }
+        assertEquals(expected, o.getAxioms());
+        assertEquals(expected.size(), o.getAxiomCount());
+        for (int j = 0; j < SUPERCLASSES; j++) {
+            assertEquals(bySuperClass.get(j), o.getSubClassAxiomsForSuperClass(sup(j)));
+            assertEquals(bySuperClass.get(j), o.getReferencingAxioms(sup(j)));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.ontology;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.api.test.ontology.ClassHierarchyFixture.cls;
+import static org.semanticweb.owlapi.api.test.ontology.ClassHierarchyFixture.fill;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.BinaryOWLObjectReader;
+import org.semanticweb.owlapi.io.BinaryOWLObjectWriter;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.ImmutableOWLOntologyChangeException;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLMutableOntology;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owl.owlapi.HasWriteSnapshot;
+
+class OntologySnapshotTestCase extends TestBase {
+
+    private static final int SIZE = 1000;
+
+    private OWLOntology createHierarchy() {
+        return fill(m, create("snapshot"), SIZE);
+    }
+
+    private static List<Set<OWLAxiom>> lookups(OWLOntology o) {
+        return ClassHierarchyFixture.lookups(o, SIZE);
+    }
+
+    private OWLOntology reload(OWLOntology o) throws IOException, OWLOntologyCreationException {
+        return reload(o, OWLManager.createOWLOntologyManager());
+    }
+
+    private OWLOntology reload(OWLOntology o, OWLOntologyManager manager)
+        throws IOException, OWLOntologyCreationException {
+        File file = new File(folder, "snapshot.bin");
+        ((HasWriteSnapshot) o).writeSnapshot(file.toPath());
+        return manager.loadOntologyFromOntologyDocument(file);
+    }
+
+    @Test
+    void shouldAnswerSameLookupsFromSnapshot() throws Exception {
+        OWLOntology o = createHierarchy();
+        OWLOntology loaded = reload(o);
+        assertEquals(o.getOntologyID(), loaded.getOntologyID());
+        assertEquals(o.getAnnotations(), loaded.getAnnotations());
+        assertEquals(o.getAxiomCount(), loaded.getAxiomCount());
+        assertEquals(lookups(o), lookups(loaded));
+        for (OWLAxiom ax : o.getAxioms()) {
+            assertTrue(loaded.containsAxiom(ax), ax.toString());
+        }
+        assertFalse(loaded.containsAxiom(SubClassOf(cls(1), cls(SIZE))));
+        assertTrue(loaded.getReferencingAxioms(cls(SIZE)).isEmpty());
+    }
+
+    @Test
+    void shouldAnswerLookupsFromSeveralThreadsWhenLoadedByConcurrentManager() throws Exception {
+        OWLOntology o = createHierarchy();
+        OWLOntology loaded = reload(o, OWLManager.createConcurrentOWLOntologyManager());
+        List<Set<OWLAxiom>> expected = lookups(o);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Set<OWLAxiom>>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> lookups(loaded)));
+            }
+            for (Future<List<Set<OWLAxiom>>> f : futures) {
+                assertEquals(expected, f.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldLoadSnapshotAsImmutableOntology() throws Exception {
+        OWLOntology loaded = reload(createHierarchy());
+        assertFalse(loaded instanceof OWLMutableOntology);
+        OWLOntologyManager manager = loaded.getOWLOntologyManager();
+        assertThrows(ImmutableOWLOntologyChangeException.class,
+            () -> manager.addAxiom(loaded, SubClassOf(cls(5), cls(7))));
+        assertFalse(loaded.containsAxiom(SubClassOf(cls(5), cls(7))));
+    }
+
+    @Test
+    void shouldRoundTripAxiomsThroughBinaryCodec() throws Exception {
+        OWLOntology o = createHierarchy();
+        m.addAxiom(o, df.getOWLAnnotationAssertionAxiom(cls(1).getIRI(),
+            Annotation(RDFSLabel(), Literal("label", "en"))));
+        m.addAxiom(o, df.getOWLDataPropertyAssertionAxiom(
+            df.getOWLDataProperty(IRI.create(uriBase + "#d")), indA, Literal(3)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryOWLObjectWriter(new DataOutputStream(out)).writeObjects(o.getAxioms());
+        BinaryOWLObjectReader reader = new BinaryOWLObjectReader(
+            new DataInputStream(new ByteArrayInputStream(out.toByteArray())), df);
+        assertEquals(o.getAxioms(), reader.readSet(OWLAxiom.class));
+    }
+}
@@ -13,17 +13,32 @@
 package org.semanticweb.owlapi.api.test.reasoners;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLNothing;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.OWLThing;
 import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubDataPropertyOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubObjectPropertyOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import javax.annotation.Nonnull;
 
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
@@ -82,4 +97,207 @@ class StructuralReasonerTestCase extends TestBase {
         man.removeAxiom(ont, SubClassOf(A, OWLThing()));
         testClassHierarchy(reasoner);
     }
+
+    @Test
+    void shouldMatchFreshReasonerAfterIncrementalChanges() {
+        OWLOntology ont = create("incremental");
+        OWLOntologyManager man = ont.getOWLOntologyManager();
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            classes.add(Class(iri("C" + i)));
+        }
+        classes.add(OWLThing());
+        classes.add(OWLNothing());
+        List<OWLObjectProperty> properties = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            properties.add(ObjectProperty(iri("p" + i)));
+        }
+        StructuralReasoner reasoner =
+            new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        Random random = new Random(42);
+        List<OWLAxiom> added = new ArrayList<>();
+        for (int step = 0; step < 300; step++) {
+            if (!added.isEmpty() && random.nextInt(3) == 0) {
+                man.removeAxiom(ont, added.remove(random.nextInt(added.size())));
+            } else {
+                OWLAxiom ax;
+                int kind = random.nextInt(6);
+                if (kind == 0) {
+                    ax = EquivalentClasses(classes.get(random.nextInt(classes.size())),
+                        classes.get(random.nextInt(classes.size())));
+                } else if (kind == 1) {
+                    ax = SubObjectPropertyOf(properties.get(random.nextInt(properties.size())),
+                        properties.get(random.nextInt(properties.size())));
+                } else {
+                    ax = SubClassOf(classes.get(random.nextInt(classes.size())),
+                        classes.get(random.nextInt(classes.size())));
+                }
+                man.addAxiom(ont, ax);
+                added.add(ax);
+            }
+            StructuralReasoner fresh =
+                new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+            for (OWLClass c : classes) {
+                assertEquals(fresh.getEquivalentClasses(c), reasoner.getEquivalentClasses(c));
+                assertEquals(fresh.getSubClasses(c, true), reasoner.getSubClasses(c, true));
+                assertEquals(fresh.getSuperClasses(c, true), reasoner.getSuperClasses(c, true));
+            }
+            for (OWLObjectPropertyExpression p : properties) {
+                assertEquals(fresh.getEquivalentObjectProperties(p),
+                    reasoner.getEquivalentObjectProperties(p));
+                assertEquals(fresh.getSubObjectProperties(p, true),
+                    reasoner.getSubObjectProperties(p, true));
+                assertEquals(fresh.getSuperObjectProperties(p, true),
+                    reasoner.getSuperObjectProperties(p, true));
+            }
+            fresh.dispose();
+        }
+        reasoner.dispose();
+    }
+
+    @Test
+    void shouldComputeSameHierarchiesWithSeveralThreads() {
+        OWLOntology ont = create("concurrent");
+        OWLOntologyManager man = ont.getOWLOntologyManager();
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            classes.add(Class(iri("C" + i)));
+        }
+        classes.add(OWLThing());
+        classes.add(OWLNothing());
+        List<OWLObjectProperty> properties = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            properties.add(ObjectProperty(iri("p" + i)));
+        }
+        List<OWLDataProperty> dataProperties = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            dataProperties.add(DataProperty(iri("d" + i)));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 220; i++) {
+            // a sparse graph, so that there are many weakly connected components and some cycles
+            man.addAxiom(ont, SubClassOf(classes.get(random.nextInt(classes.size())),
+                classes.get(random.nextInt(classes.size()))));
+        }
+        for (int i = 0; i < 10; i++) {
+            man.addAxiom(ont, EquivalentClasses(classes.get(random.nextInt(classes.size())),
+                classes.get(random.nextInt(classes.size()))));
+            man.addAxiom(ont,
+                SubObjectPropertyOf(properties.get(random.nextInt(properties.size())),
+                    properties.get(random.nextInt(properties.size()))));
+            man.addAxiom(ont,
+                SubDataPropertyOf(dataProperties.get(random.nextInt(dataProperties.size())),
+                    dataProperties.get(random.nextInt(dataProperties.size()))));
+        }
+        StructuralReasoner sequential =
+            new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        StructuralReasoner concurrent = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING, 4);
+        assertEquals(sequential.getTopClassNode(), concurrent.getTopClassNode());
+        assertEquals(sequential.getBottomClassNode(), concurrent.getBottomClassNode());
+        for (OWLClass c : classes) {
+            assertEquals(sequential.getEquivalentClasses(c), concurrent.getEquivalentClasses(c));
+            assertEquals(sequential.getSubClasses(c, true), concurrent.getSubClasses(c, true));
+            assertEquals(sequential.getSuperClasses(c, true),
+                concurrent.getSuperClasses(c, true));
+        }
+        for (OWLObjectPropertyExpression p : properties) {
+            assertEquals(sequential.getEquivalentObjectProperties(p),
+                concurrent.getEquivalentObjectProperties(p));
+            assertEquals(sequential.getSubObjectProperties(p, true),
+                concurrent.getSubObjectProperties(p, true));
+            assertEquals(sequential.getSuperObjectProperties(p, true),
+                concurrent.getSuperObjectProperties(p, true));
+        }
+        for (OWLDataProperty p : dataProperties) {
+            assertEquals(sequential.getEquivalentDataProperties(p),
+                concurrent.getEquivalentDataProperties(p));
+            assertEquals(sequential.getSubDataProperties(p, true),
+                concurrent.getSubDataProperties(p, true));
+            assertEquals(sequential.getSuperDataProperties(p, true),
+                concurrent.getSuperDataProperties(p, true));
+        }
+        sequential.dispose();
+        concurrent.dispose();
+    }
+
+    @Test
+    void shouldAnswerIndirectQueriesFromReachabilityIndex() {
+        OWLOntology ont = create("reachability");
+        OWLOntologyManager man = ont.getOWLOntologyManager();
+        List<OWLClass> classes = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            classes.add(Class(iri("C" + i)));
+        }
+        Random random = new Random(11);
+        for (int i = 1; i < classes.size(); i++) {
+            // every class has one or two parents with a lower number, so there are no cycles
+            man.addAxiom(ont, SubClassOf(classes.get(i), classes.get(random.nextInt(i))));
+            if (random.nextBoolean()) {
+                man.addAxiom(ont, SubClassOf(classes.get(i), classes.get(random.nextInt(i))));
+            }
+        }
+        man.addAxiom(ont, EquivalentClasses(classes.get(40), classes.get(41)));
+        classes.add(OWLThing());
+        classes.add(OWLNothing());
+        StructuralReasoner walking =
+            new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        StructuralReasoner indexed =
+            new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        indexed.setReachabilityIndexLimit(Long.MAX_VALUE);
+        assertSameIndirectAnswers(walking, indexed, classes);
+        assertTrue(indexed.getReachabilityIndexSize() > 0);
+        man.addAxiom(ont, SubClassOf(classes.get(3), classes.get(70)));
+        assertEquals(0, indexed.getReachabilityIndexSize());
+        assertSameIndirectAnswers(walking, indexed, classes);
+        assertTrue(indexed.getReachabilityIndexSize() > 0);
+        // an index over the limit is not kept, and queries walk the hierarchy instead
+        indexed.setReachabilityIndexLimit(100);
+        assertSameIndirectAnswers(walking, indexed, classes);
+        assertEquals(0, indexed.getReachabilityIndexSize());
+        walking.dispose();
+        indexed.dispose();
+    }
+
+    @Test
+    void shouldCheckEntailmentOfHierarchyAxioms() {
+        OWLObjectProperty q = ObjectProperty(iri("q"));
+        OWLObjectProperty r = ObjectProperty(iri("r"));
+        OWLDataProperty e = DataProperty(iri("e"));
+        OWLDataProperty f = DataProperty(iri("f"));
+        OWLOntology ont = o(SubClassOf(A, B), SubClassOf(B, C), SubObjectPropertyOf(P, q),
+            SubObjectPropertyOf(q, r), SubDataPropertyOf(DPP, e), SubDataPropertyOf(e, f));
+        StructuralReasoner reasoner =
+            new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        assertTrue(reasoner.isEntailmentCheckingSupported(AxiomType.SUBCLASS_OF));
+        assertTrue(reasoner.isEntailmentCheckingSupported(AxiomType.SUB_OBJECT_PROPERTY));
+        assertTrue(reasoner.isEntailmentCheckingSupported(AxiomType.SUB_DATA_PROPERTY));
+        assertFalse(reasoner.isEntailmentCheckingSupported(AxiomType.CLASS_ASSERTION));
+        assertTrue(reasoner.isEntailed(SubClassOf(A, C)));
+        assertFalse(reasoner.isEntailed(SubClassOf(C, A)));
+        assertTrue(reasoner.isEntailed(SubObjectPropertyOf(P, r)));
+        assertFalse(reasoner.isEntailed(SubObjectPropertyOf(r, P)));
+        assertTrue(reasoner.isEntailed(SubDataPropertyOf(DPP, f)));
+        assertFalse(reasoner.isEntailed(SubDataPropertyOf(f, DPP)));
+        reasoner.dispose();
+    }
+
+    private static void assertSameIndirectAnswers(@Nonnull StructuralReasoner walking,
+        @Nonnull StructuralReasoner indexed, @Nonnull List<OWLClass> classes) {
+        for (OWLClass c : classes) {
+            assertEquals(walking.getSubClasses(c, false), indexed.getSubClasses(c, false));
+            NodeSet<OWLClass> supers = walking.getSuperClasses(c, false);
+            assertEquals(supers, indexed.getSuperClasses(c, false));
+            for (OWLClass d : classes) {
+                boolean subsumed =
+                    supers.containsEntity(d) || walking.getEquivalentClasses(c).contains(d);
+                assertEquals(Boolean.valueOf(subsumed),
+                    Boolean.valueOf(walking.isEntailed(SubClassOf(c, d))));
+                assertEquals(Boolean.valueOf(subsumed),
+                    Boolean.valueOf(indexed.isEntailed(SubClassOf(c, d))));
+            }
+        }
+        assertTrue(indexed.isEntailed(SubClassOf(classes.get(5), OWLThing())));
+        assertFalse(indexed.isEntailed(SubClassOf(OWLThing(), classes.get(5))));
+    }
 }
@@ -0,0 +1,113 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSComment;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+
+class BinaryOWLFormatTestCase extends TestBase {
+
+    private OWLOntology createOntology() {
+        OWLOntology o = create("binary");
+        m.applyChange(new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("binary"))));
+        OWLDataProperty d = DataProperty(iri("d"));
+        OWLAnonymousIndividual anon = df.getOWLAnonymousIndividual();
+        m.addAxiom(o, Declaration(A));
+        m.addAxiom(o, SubClassOf(A, ObjectSomeValuesFrom(P, B),
+            Collections.singleton(Annotation(RDFSComment(), Literal("annotated")))));
+        m.addAxiom(o, ClassAssertion(C, anon));
+        m.addAxiom(o, ObjectPropertyAssertion(P, indA, anon));
+        for (int i = 0; i < 10; i++) {
+            m.addAxiom(o, DataPropertyAssertion(d, df.getOWLNamedIndividual(iri("i" + i)),
+                Literal(i % 3 + 1)));
+            m.addAxiom(o, AnnotationAssertion(RDFSLabel(), iri("i" + i), Literal("label", "en")));
+        }
+        return o;
+    }
+
+    private static void assertSameContent(OWLOntology expected, OWLOntology actual) {
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(expected.getAnnotations(), actual.getAnnotations());
+        assertEquals(expected.getAxioms(), actual.getAxioms());
+    }
+
+    @Test
+    void shouldRoundTripThroughFile() throws Exception {
+        OWLOntology o = createOntology();
+        File file = new File(folder, "ontology.owlb");
+        m.saveOntology(o, new BinaryOWLDocumentFormat(), IRI.create(file));
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLOntology loaded = manager.loadOntologyFromOntologyDocument(file);
+        assertSameContent(o, loaded);
+        assertTrue(manager.getOntologyFormat(loaded) instanceof BinaryOWLDocumentFormat);
+    }
+
+    @Test
+    void shouldRoundTripThroughStream() throws Exception {
+        OWLOntology o = createOntology();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.saveOntology(o, new BinaryOWLDocumentFormat(), out);
+        OWLOntology loaded = OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StreamDocumentSource(
+                new ByteArrayInputStream(out.toByteArray()), IRI.create("urn:test:binary"),
+                new BinaryOWLDocumentFormat(), null));
+        assertSameContent(o, loaded);
+    }
+
+    @Test
+    void shouldNotWriteToTextualTarget() {
+        OWLOntology o = createOntology();
+        assertThrows(OWLOntologyStorageException.class,
+            () -> m.saveOntology(o, new BinaryOWLDocumentFormat(), new StringDocumentTarget()));
+    }
+
+    @Test
+    void shouldLeaveTextualInputToOtherParsers() throws Exception {
+        OWLOntology loaded = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(
+            new StringDocumentSource("Ontology(<urn:test:text> Declaration(Class(<urn:test:text#A>)))"));
+        assertEquals(1, loaded.getAxiomCount());
+    }
+}
@@ -0,0 +1,114 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSComment;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class ParallelFunctionalSyntaxParserTestCase extends TestBase {
+
+    private String createDocument() throws Exception {
+        OWLOntology o = create("parallel");
+        m.applyChange(new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("parallel"))));
+        OWLAnonymousIndividual anon = df.getOWLAnonymousIndividual();
+        m.addAxiom(o, ClassAssertion(C, anon));
+        // enough axioms for several chunks
+        for (int i = 0; i < 10000; i++) {
+            OWLClass c = Class(iri("C" + i));
+            m.addAxiom(o, Declaration(c));
+            m.addAxiom(o, SubClassOf(c, ObjectSomeValuesFrom(P, Class(iri("C" + i / 2))),
+                Collections.singleton(Annotation(RDFSComment(), Literal("(" + i + ")")))));
+            m.addAxiom(o, AnnotationAssertion(RDFSLabel(), c.getIRI(), Literal("C ) " + i, "en")));
+        }
+        m.addAxiom(o, ObjectPropertyAssertion(P, indA, anon));
+        StringDocumentTarget target = new StringDocumentTarget();
+        m.saveOntology(o, new FunctionalSyntaxDocumentFormat(), target);
+        return target.toString();
+    }
+
+    private static OWLOntology load(String document, int threads)
+        throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(
+            new StringDocumentSource(document),
+            new OWLOntologyLoaderConfiguration().withParserThreads(threads));
+    }
+
+    private static Set<OWLAxiom> namedAxioms(OWLOntology o) {
+        Set<OWLAxiom> axioms = new HashSet<>();
+        for (OWLAxiom ax : o.getAxioms()) {
+            if (ax.getAnonymousIndividuals().isEmpty()) {
+                axioms.add(ax);
+            }
+        }
+        return axioms;
+    }
+
+    @Test
+    void shouldLoadSameOntologyAsSequentialParser() throws Exception {
+        String document = createDocument();
+        OWLOntology expected = load(document, 1);
+        OWLOntology actual = load(document, 4);
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(expected.getAnnotations(), actual.getAnnotations());
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        assertEquals(namedAxioms(expected), namedAxioms(actual));
+        // the blank node is shared by axioms in the first and the last chunk
+        assertEquals(1, actual.getReferencedAnonymousIndividuals(false).size());
+    }
+
+    @Test
+    void shouldLoadDocumentWithoutAxioms() throws Exception {
+        OWLOntology o = load("Prefix(:=<urn:test#>)\nOntology(<urn:test>\n"
+            + "Annotation(rdfs:comment \"empty\"))", 4);
+        assertEquals(IRI.create("urn:test"), o.getOntologyID().getOntologyIRI().get());
+        assertEquals(1, o.getAnnotations().size());
+        assertEquals(0, o.getAxiomCount());
+    }
+
+    @Test
+    void shouldReportErrorInLastChunk() throws Exception {
+        String document = createDocument();
+        String broken = document.substring(0, document.lastIndexOf(')')) + "SubClassOf(:A))";
+        assertThrows(OWLOntologyCreationException.class, () -> load(broken, 4));
+    }
+}
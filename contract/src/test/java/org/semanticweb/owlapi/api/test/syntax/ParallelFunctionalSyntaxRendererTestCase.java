@@ -0,0 +1,115 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DifferentIndividuals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DisjointClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentClasses;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSComment;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxObjectRenderer;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class ParallelFunctionalSyntaxRendererTestCase extends TestBase {
+
+    private OWLOntology createOntology() {
+        OWLOntology o = create("parallelrendering");
+        m.applyChange(new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("parallel"))));
+        // enough entities for several chunks
+        for (int i = 0; i < 2000; i++) {
+            OWLClass c = Class(iri("C" + i));
+            if (i % 2 == 0) {
+                m.addAxiom(o, Declaration(c));
+            }
+            m.addAxiom(o, SubClassOf(c, ObjectSomeValuesFrom(P, Class(iri("C" + i / 2))),
+                Collections.singleton(Annotation(RDFSComment(), Literal("" + i)))));
+            m.addAxiom(o, AnnotationAssertion(RDFSLabel(), c.getIRI(), Literal("C " + i, "en")));
+            if (i % 3 == 0) {
+                // written in the section of the first class, rendered with it first
+                m.addAxiom(o, EquivalentClasses(c, Class(iri("D" + i))));
+            }
+            if (i % 5 == 0) {
+                // not written in entity sections
+                m.addAxiom(o, DisjointClasses(c, Class(iri("D" + i)), Class(iri("E" + i))));
+                OWLNamedIndividual ind = NamedIndividual(iri("i" + i));
+                m.addAxiom(o, ClassAssertion(c, ind));
+                m.addAxiom(o, DifferentIndividuals(ind, NamedIndividual(iri("j" + i))));
+            }
+        }
+        // annotation assertion on an IRI that is not an entity
+        m.addAxiom(o, AnnotationAssertion(RDFSComment(), iri("nothing"), Literal("other")));
+        return o;
+    }
+
+    private static String render(OWLOntology o, int threads) {
+        StringWriter writer = new StringWriter();
+        FunctionalSyntaxObjectRenderer renderer =
+            new FunctionalSyntaxObjectRenderer(o, new FunctionalSyntaxDocumentFormat(), writer);
+        renderer.setRendererThreads(threads);
+        o.accept(renderer);
+        return writer.toString();
+    }
+
+    @Test
+    void shouldRenderSameDocumentAsSequentialRenderer() {
+        OWLOntology o = createOntology();
+        String expected = render(o, 1);
+        assertEquals(expected, render(o, 2));
+        assertEquals(expected, render(o, 4));
+        // rendered on the common pool rather than on a pool of its own
+        int common = ForkJoinPool.getCommonPoolParallelism();
+        if (common > 1) {
+            assertEquals(expected, render(o, common));
+        }
+    }
+
+    @Test
+    void shouldUseRendererThreadsFromFormat() throws Exception {
+        OWLOntology o = createOntology();
+        StringDocumentTarget expected = new StringDocumentTarget();
+        m.saveOntology(o, new FunctionalSyntaxDocumentFormat(), expected);
+        FunctionalSyntaxDocumentFormat format = new FunctionalSyntaxDocumentFormat();
+        format.setParameter("renderer threads", Integer.valueOf(4));
+        StringDocumentTarget actual = new StringDocumentTarget();
+        m.saveOntology(o, format, actual);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void shouldRenderEmptyOntology() {
+        OWLOntology o = create("emptyrendering");
+        assertEquals(render(o, 1), render(o, 4));
+    }
+}
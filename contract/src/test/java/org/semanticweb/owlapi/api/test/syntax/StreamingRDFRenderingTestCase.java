@@ -0,0 +1,90 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnonymousIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DifferentIndividuals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.EquivalentObjectProperties;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectInverseOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectUnionOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class StreamingRDFRenderingTestCase extends TestBase {
+
+    private OWLOntology createOntology() {
+        OWLOntology o = create("streamingrendering");
+        OWLObjectProperty p = ObjectProperty(iri("p"));
+        OWLAnonymousIndividual shared = AnonymousIndividual();
+        for (int i = 0; i < 100; i++) {
+            OWLClass c = Class(iri("C" + i));
+            OWLNamedIndividual ind = NamedIndividual(iri("i" + i));
+            m.addAxiom(o, SubClassOf(c, ObjectSomeValuesFrom(p, Class(iri("C" + i / 2)))));
+            m.addAxiom(o, ClassAssertion(c, ind));
+            // the same blank node in the sections of many individuals
+            m.addAxiom(o, ObjectPropertyAssertion(p, ind, shared));
+            // written with the individual and again as a general axiom
+            m.addAxiom(o, DifferentIndividuals(ind, NamedIndividual(iri("j" + i))));
+            // collected for the individual that is the object
+            m.addAxiom(o, ObjectPropertyAssertion(ObjectInverseOf(p), ind,
+                NamedIndividual(iri("k" + i))));
+            // collected for both properties
+            m.addAxiom(o, EquivalentObjectProperties(ObjectInverseOf(ObjectProperty(iri("q" + i))),
+                ObjectInverseOf(ObjectProperty(iri("r" + i)))));
+        }
+        // general class axiom
+        m.addAxiom(o, SubClassOf(ObjectUnionOf(Class(iri("C1")), Class(iri("C2"))),
+            ObjectSomeValuesFrom(p, Class(iri("C3")))));
+        return o;
+    }
+
+    private String save(OWLOntology o, OWLDocumentFormat format, boolean streaming)
+        throws Exception {
+        format.setParameter("streaming rdf rendering", Boolean.valueOf(streaming));
+        StringDocumentTarget target = new StringDocumentTarget();
+        m.saveOntology(o, format, target);
+        return target.toString();
+    }
+
+    @Test
+    void shouldRenderSameRDFXMLWhenStreaming() throws Exception {
+        OWLOntology o = createOntology();
+        assertEquals(save(o, new RDFXMLDocumentFormat(), false),
+            save(o, new RDFXMLDocumentFormat(), true));
+    }
+
+    @Test
+    void shouldRenderSameTurtleWhenStreaming() throws Exception {
+        OWLOntology o = createOntology();
+        assertEquals(save(o, new TurtleDocumentFormat(), false),
+            save(o, new TurtleDocumentFormat(), true));
+    }
+}
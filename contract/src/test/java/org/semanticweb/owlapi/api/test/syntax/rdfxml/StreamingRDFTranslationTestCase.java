@@ -0,0 +1,160 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax.rdfxml;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnnotationProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSComment;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSLabel;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class StreamingRDFTranslationTestCase extends TestBase {
+
+    private OWLOntology createOntology() {
+        OWLOntology o = create("streaming");
+        m.applyChange(new AddOntologyAnnotation(o, Annotation(RDFSComment(), Literal("header"))));
+        OWLDataProperty d = DataProperty(iri("d"));
+        OWLAnnotationProperty note = AnnotationProperty(iri("note"));
+        m.addAxiom(o, Declaration(A));
+        m.addAxiom(o, Declaration(B));
+        m.addAxiom(o, Declaration(P));
+        m.addAxiom(o, Declaration(d));
+        m.addAxiom(o, Declaration(note));
+        m.addAxiom(o, SubClassOf(A, ObjectSomeValuesFrom(P, B)));
+        for (int i = 0; i < 50; i++) {
+            m.addAxiom(o, AnnotationAssertion(RDFSLabel(), iri("C" + i), Literal("c" + i)));
+            m.addAxiom(o, AnnotationAssertion(note, iri("C" + i), iri("C" + (i + 1))));
+            m.addAxiom(o, ClassAssertion(A, indA));
+            m.addAxiom(o, DataPropertyAssertion(d, df.getOWLNamedIndividual(iri("i" + i)),
+                Literal(i + 1)));
+            m.addAxiom(o, ObjectPropertyAssertion(P, df.getOWLNamedIndividual(iri("i" + i)),
+                indB));
+        }
+        m.addAxiom(o, AnnotationAssertion(RDFSComment(), A.getIRI(), Literal("annotated"),
+            Annotation(RDFSLabel(), Literal("source"))));
+        return o;
+    }
+
+    private OWLOntology load(String text, OWLOntologyLoaderConfiguration config) throws Exception {
+        return OWLManager.createOWLOntologyManager()
+            .loadOntologyFromOntologyDocument(new StringDocumentSource(text), config);
+    }
+
+    private void assertSameTranslation(OWLDocumentFormat format) throws Exception {
+        OWLOntology o = createOntology();
+        StringDocumentTarget target = new StringDocumentTarget();
+        m.saveOntology(o, format, target);
+        String text = target.toString();
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration();
+        OWLOntology expected = load(text, config);
+        for (OWLOntologyLoaderConfiguration c : new OWLOntologyLoaderConfiguration[] {
+            config.withStreamingRDFTranslation(true), config.withRDFSpillThreshold(1),
+            config.withStreamingRDFTranslation(true).withRDFSpillThreshold(10)}) {
+            OWLOntology actual = load(text, c);
+            assertEquals(expected.getAxioms(), actual.getAxioms());
+            assertEquals(expected.getAnnotations(), actual.getAnnotations());
+            assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        }
+    }
+
+    @Test
+    void shouldTranslateRDFXMLTheSameWay() throws Exception {
+        assertSameTranslation(new RDFXMLDocumentFormat());
+    }
+
+    @Test
+    void shouldTranslateTurtleTheSameWay() throws Exception {
+        assertSameTranslation(new TurtleDocumentFormat());
+    }
+
+    @Test
+    void shouldTranslateDeclarationsArrivingAfterSpillTheSameWay() throws Exception {
+        StringBuilder text = new StringBuilder();
+        text.append("@prefix : <urn:test#> .\n")
+            .append("@prefix owl: <http://www.w3.org/2002/07/owl#> .\n")
+            .append("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n")
+            .append("<urn:test> a owl:Ontology .\n");
+        // uses of :p, :d and :A long before they are typed
+        for (int i = 0; i < 40; i++) {
+            text.append(":i").append(i).append(" :p :A ; :d \"").append(i).append("\" ; a :A .\n");
+        }
+        text.append(":A a owl:Class ; rdfs:subClassOf :B .\n")
+            .append(":A a owl:NamedIndividual .\n").append(":p a owl:ObjectProperty .\n")
+            .append(":d a owl:DatatypeProperty .\n");
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration();
+        OWLOntology expected = load(text.toString(), config);
+        OWLNamedIndividual punned = df.getOWLNamedIndividual(IRI.create("urn:test#A"));
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create("urn:test#p"));
+        assertTrue(expected.containsAxiom(
+            ObjectPropertyAssertion(p, df.getOWLNamedIndividual(IRI.create("urn:test#i39")),
+                punned)));
+        for (OWLOntologyLoaderConfiguration c : new OWLOntologyLoaderConfiguration[] {
+            config.withRDFSpillThreshold(1), config.withRDFSpillThreshold(5),
+            config.withStreamingRDFTranslation(true).withRDFSpillThreshold(3)}) {
+            assertEquals(expected.getAxioms(), load(text.toString(), c).getAxioms());
+        }
+    }
+
+    private static String[] spillFiles() {
+        String[] names = new File(System.getProperty("java.io.tmpdir"))
+            .list((dir, name) -> name.startsWith("owlapi-triples") && name.endsWith(".spill"));
+        Arrays.sort(names);
+        return names;
+    }
+
+    @Test
+    void shouldDeleteSpillFileWhenParsingFails() throws Exception {
+        StringDocumentTarget target = new StringDocumentTarget();
+        m.saveOntology(createOntology(), new RDFXMLDocumentFormat(), target);
+        String text = target.toString();
+        // cut the document off after most of the triples have been spilled
+        String truncated = text.substring(0, text.length() * 4 / 5);
+        String[] before = spillFiles();
+        assertThrows(OWLOntologyCreationException.class,
+            () -> load(truncated, new OWLOntologyLoaderConfiguration().withRDFSpillThreshold(1)));
+        assertArrayEquals(before, spillFiles());
+    }
+}
@@ -0,0 +1,197 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.atomicdecomposition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DatatypeRestriction;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.FacetRestriction;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Integer;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectIntersectionOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.RandomAxioms;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+class AtomicDecompositionTestCase extends TestBase {
+
+    private final RandomAxioms random = new RandomAxioms(5, "urn:test:ad#");
+
+    private Set<OWLAxiom> randomAxioms(int count) {
+        return random.axioms(count, 5);
+    }
+
+    @Test
+    void shouldMatchModuleExtractor() {
+        Set<OWLAxiom> axioms = randomAxioms(300);
+        for (ModuleType type : ModuleType.values()) {
+            SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(m,
+                m.getOntologyLoaderConfiguration().withSkipModuleAnnotations(true),
+                IRI.create("urn:test:ad" + type), axioms, type, false);
+            AtomicDecomposition single = new AtomicDecomposition(axioms, type, 1);
+            AtomicDecomposition parallel = new AtomicDecomposition(axioms, type, 3);
+            assertEquals(atoms(single), atoms(parallel));
+            for (int i = 0; i < 30; i++) {
+                Set<OWLEntity> signature = random.signature();
+                Set<OWLAxiom> expected = extractor.extract(signature);
+                assertEquals(expected, single.getModule(signature));
+                assertEquals(expected, parallel.getModule(signature));
+            }
+            for (Atom atom : single.getAtoms()) {
+                Set<OWLEntity> signature = new HashSet<>();
+                Set<OWLAxiom> ideal = new HashSet<>();
+                for (OWLAxiom ax : atom.getAxioms()) {
+                    signature.addAll(ax.getSignature());
+                }
+                for (Atom a : single.getPrincipalIdeal(atom)) {
+                    ideal.addAll(a.getAxioms());
+                }
+                assertEquals(extractor.extract(signature), ideal);
+            }
+        }
+    }
+
+    @Test
+    void shouldAddAtomsThatBecomeNonLocalTogether() {
+        OWLClass a = Class(IRI.create("urn:test:ad#A"));
+        OWLClass b = Class(IRI.create("urn:test:ad#B"));
+        OWLClass c = Class(IRI.create("urn:test:ad#C"));
+        OWLClass f = Class(IRI.create("urn:test:ad#F"));
+        OWLClass g = Class(IRI.create("urn:test:ad#G"));
+        // the last axiom is local for the signature of each of the others
+        Set<OWLAxiom> axioms = new HashSet<>(Arrays.asList(SubClassOf(a, b), SubClassOf(c, f),
+            SubClassOf(ObjectIntersectionOf(b, f), g)));
+        AtomicDecomposition decomposition = new AtomicDecomposition(axioms, ModuleType.BOT, 1);
+        assertEquals(3, decomposition.getAtoms().size());
+        assertEquals(axioms, decomposition.getModule(new HashSet<>(Arrays.asList(a, c))));
+    }
+
+    @Test
+    void shouldRestoreSavedDecomposition() throws IOException {
+        Set<OWLAxiom> axioms = randomAxioms(200);
+        OWLAxiom tautology = SubClassOf(random.cls(), df.getOWLThing());
+        axioms.add(tautology);
+        AtomicDecomposition decomposition = new AtomicDecomposition(axioms, ModuleType.STAR, 2);
+        assertNull(decomposition.getAtom(tautology));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        decomposition.save(out);
+        AtomicDecomposition loaded =
+            AtomicDecomposition.load(new ByteArrayInputStream(out.toByteArray()), axioms);
+        assertEquals(ModuleType.STAR, loaded.getModuleType());
+        assertEquals(atoms(decomposition), atoms(loaded));
+        assertEquals(decomposition.getTautologies(), loaded.getTautologies());
+        for (int i = 0; i < decomposition.getAtoms().size(); i++) {
+            assertEquals(atoms(decomposition.getAtoms().get(i).getDependencies()),
+                atoms(loaded.getAtoms().get(i).getDependencies()));
+        }
+        for (int i = 0; i < 10; i++) {
+            Set<OWLEntity> signature = random.signature();
+            assertEquals(decomposition.getModule(signature), loaded.getModule(signature));
+        }
+        axioms.remove(tautology);
+        assertThrows(IOException.class,
+            () -> AtomicDecomposition.load(new ByteArrayInputStream(out.toByteArray()), axioms));
+    }
+
+    /** @return axioms with facet restrictions, built the same way in every process */
+    static Set<OWLAxiom> facetAxioms() {
+        OWLDataProperty d = DataProperty(IRI.create("urn:test:ad#d"));
+        Set<OWLAxiom> axioms = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            OWLClass c = Class(IRI.create("urn:test:ad#F" + i));
+            axioms.add(SubClassOf(c, DataSomeValuesFrom(d,
+                DatatypeRestriction(Integer(), FacetRestriction(OWLFacet.MIN_INCLUSIVE, Literal(i)),
+                    FacetRestriction(OWLFacet.MAX_EXCLUSIVE, Literal(i + 10))))));
+            if (i % 3 != 0) {
+                axioms.add(SubClassOf(c, Class(IRI.create("urn:test:ad#F" + (i - 1)))));
+            }
+        }
+        return axioms;
+    }
+
+    /**
+     * Saves the decomposition of {@link #facetAxioms()}; run in a separate process by
+     * {@link #shouldRestoreDecompositionSavedByAnotherProcess()}.
+     * 
+     * @param args the file to save to
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        try (OutputStream out = new FileOutputStream(args[0])) {
+            new AtomicDecomposition(facetAxioms(), ModuleType.STAR, 1).save(out);
+        }
+    }
+
+    @Test
+    void shouldRestoreDecompositionSavedByAnotherProcess() throws Exception {
+        File file = File.createTempFile("decomposition", ".bin");
+        try {
+            Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-cp",
+                System.getProperty("java.class.path"), AtomicDecompositionTestCase.class.getName(),
+                file.getAbsolutePath()).inheritIO().start();
+            assertEquals(0, process.waitFor());
+            Set<OWLAxiom> axioms = facetAxioms();
+            AtomicDecomposition loaded;
+            try (InputStream in = new FileInputStream(file)) {
+                loaded = AtomicDecomposition.load(in, axioms);
+            }
+            assertEquals(atoms(new AtomicDecomposition(axioms, ModuleType.STAR, 1)),
+                atoms(loaded));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static List<Set<OWLAxiom>> atoms(AtomicDecomposition decomposition) {
+        return atoms(decomposition.getAtoms());
+    }
+
+    private static List<Set<OWLAxiom>> atoms(List<Atom> atoms) {
+        List<Set<OWLAxiom>> list = new ArrayList<>();
+        for (Atom atom : atoms) {
+            list.add(atom.getAxioms());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,136 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.profiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectComplementOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectUnionOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+class ProfileCheckerTestCase extends TestBase {
+
+    private static void assertSameReports(OWLOntology ontology, ProfileChecker checker) {
+        for (Profiles p : Profiles.values()) {
+            OWLProfileReport expected = p.checkOntology(ontology);
+            OWLProfileReport actual = checker.getReport(p);
+            assertEquals(expected.isInProfile(), actual.isInProfile(), p.toString());
+            assertEquals(expected.getViolations().toString(), actual.getViolations().toString(),
+                p.toString());
+        }
+    }
+
+    /** Incremental checks append the violations of new axioms, so only the contents match. */
+    private static void assertSameViolations(OWLOntology ontology, ProfileChecker checker) {
+        for (Profiles p : Profiles.values()) {
+            OWLProfileReport expected = p.checkOntology(ontology);
+            OWLProfileReport actual = checker.getReport(p);
+            assertEquals(expected.isInProfile(), actual.isInProfile(), p.toString());
+            assertEquals(sorted(expected), sorted(actual), p.toString());
+        }
+    }
+
+    private static List<String> sorted(OWLProfileReport report) {
+        return report.getViolations().stream().map(Object::toString).sorted()
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldReportSameViolationsAsSequentialChecks() throws OWLOntologyCreationException {
+        IRI allTestURI = IRI.create(ProfileCheckerTestCase.class.getResource("/all.rdf"));
+        OWLOntology testCasesOntology = loadOntology(allTestURI, m);
+        OWLAnnotationProperty premise = df.getOWLAnnotationProperty(
+            IRI.create("http://www.w3.org/2007/OWL/testOntology#", "rdfXmlPremiseOntology"));
+        int checked = 0;
+        for (OWLLiteral l : testCasesOntology.getAxioms(AxiomType.ANNOTATION_ASSERTION).stream()
+            .filter(ax -> ax.getProperty().equals(premise)).map(ax -> ax.getValue())
+            .filter(OWLLiteral.class::isInstance).map(OWLLiteral.class::cast)
+            .collect(Collectors.toList())) {
+            OWLOntology ontology = OWLManager.createOWLOntologyManager()
+                .loadOntologyFromOntologyDocument(new StringDocumentSource(l.getLiteral()),
+                    new OWLOntologyLoaderConfiguration()
+                        .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+            ProfileChecker checker = new ProfileChecker(ontology, 4);
+            assertSameReports(ontology, checker);
+            checker.dispose();
+            checked++;
+        }
+        assertTrue(checked > 0);
+    }
+
+    @Test
+    void shouldUpdateReportsAfterChanges() {
+        OWLClass d = Class(iri("D"));
+        OWLAxiom union = SubClassOf(A, ObjectUnionOf(B, C));
+        // the imported ontology needs a name to be imported by
+        OWLOntology imported = create("imported");
+        m.addAxioms(imported, new HashSet<>(Arrays.asList(Declaration(A), Declaration(B),
+            Declaration(C), Declaration(P), SubClassOf(A, ObjectSomeValuesFrom(P, B)))));
+        OWLOntology ontology = o(union);
+        m.applyChange(new AddImport(ontology, df.getOWLImportsDeclaration(
+            imported.getOntologyID().getOntologyIRI().get())));
+        ProfileChecker checker = new ProfileChecker(ontology, 2);
+        assertSameReports(ontology, checker);
+        assertFalse(checker.getReport(Profiles.OWL2_EL).isInProfile());
+        // checked incrementally
+        m.removeAxiom(ontology, union);
+        m.addAxiom(imported, SubClassOf(B, ObjectComplementOf(C)));
+        assertSameViolations(ontology, checker);
+        m.addAxiom(ontology, SubClassOf(d, A));
+        assertSameViolations(ontology, checker);
+        assertFalse(checker.getReport(Profiles.OWL2_DL).isInProfile());
+        // declarations require a full check
+        m.addAxiom(imported, Declaration(d));
+        assertSameReports(ontology, checker);
+        // punning requires a full check
+        m.addAxiom(ontology, Declaration(df.getOWLDatatype(iri("D"))));
+        assertSameReports(ontology, checker);
+        checker.dispose();
+    }
+
+    @Test
+    void shouldCheckOnlyRequestedProfiles() {
+        OWLOntology ontology = o(Declaration(A), Declaration(B), Declaration(C),
+            SubClassOf(A, ObjectUnionOf(B, C)));
+        ProfileChecker checker = new ProfileChecker(ontology, 1, Profiles.OWL2_EL);
+        assertEquals(1, checker.getReports().size());
+        assertEquals(Profiles.OWL2_EL.checkOntology(ontology).getViolations().toString(),
+            checker.getReport(Profiles.OWL2_EL).getViolations().toString());
+        checker.dispose();
+    }
+}
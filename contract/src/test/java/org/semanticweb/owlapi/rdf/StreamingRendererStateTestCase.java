@@ -0,0 +1,67 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnonymousIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DifferentIndividuals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.rdf.turtle.renderer.TurtleRenderer;
+
+class StreamingRendererStateTestCase extends TestBase {
+
+    private static final int SIZE = 500;
+    private static final int SHARED = 3;
+
+    @Test
+    void shouldRetainOnlySharedIndividualsAndAxiomsCollectedTwice() throws Exception {
+        OWLOntology o = create("streamingstate");
+        OWLClass c = Class(iri("C"));
+        OWLObjectProperty p = ObjectProperty(iri("p"));
+        OWLAnonymousIndividual[] shared = new OWLAnonymousIndividual[SHARED];
+        for (int i = 0; i < SHARED; i++) {
+            shared[i] = AnonymousIndividual();
+        }
+        for (int i = 0; i < SIZE; i++) {
+            // appears once: forgotten after its subject
+            m.addAxiom(o, ClassAssertion(c, AnonymousIndividual()));
+            // appears in many subjects: kept for the whole document
+            m.addAxiom(o, ObjectPropertyAssertion(p, NamedIndividual(iri("i" + i)),
+                shared[i % SHARED]));
+            // collected for the individual and again as a general axiom
+            m.addAxiom(o, DifferentIndividuals(NamedIndividual(iri("i" + i)),
+                NamedIndividual(iri("j" + i))));
+        }
+        TurtleDocumentFormat format = new TurtleDocumentFormat();
+        format.setParameter("streaming rdf rendering", Boolean.TRUE);
+        RDFRendererBase renderer = new TurtleRenderer(o, new StringWriter(), format);
+        renderer.render();
+        assertEquals(SIZE, renderer.retainedAxiomCount());
+        assertEquals(SHARED, renderer.retainedBlankNodeCount());
+        assertEquals(SHARED, renderer.retainedRenderedNodeCount());
+    }
+}
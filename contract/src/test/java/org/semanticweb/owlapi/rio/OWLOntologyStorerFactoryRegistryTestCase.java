@@ -12,7 +12,7 @@ import org.semanticweb.owlapi.util.PriorityCollection;
  */
 class OWLOntologyStorerFactoryRegistryTestCase extends TestBase {
 
-    private static final int EXPECTED_STORERS = 20;
+    private static final int EXPECTED_STORERS = 21;
 
     @Test
     void setUp() {
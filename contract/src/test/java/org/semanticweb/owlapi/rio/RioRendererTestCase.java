@@ -16,6 +16,7 @@ import javax.annotation.Nonnull;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
 import org.eclipse.rdf4j.model.vocabulary.OWL;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.rio.RDFFormat;
@@ -128,6 +129,18 @@ class RioRendererTestCase extends TestBase {
         assertEquals(171, resultStatements.size(), DUPLICATE_STATEMENTS);
     }
 
+    @Test
+    void testRenderKoalaStatementCollectorStreaming() throws IOException {
+        new RioRenderer(testOntologyKoala, testHandlerStatementCollector, null).render();
+        StatementCollector streamed = new StatementCollector();
+        RioRenderer testRenderer = new RioRenderer(testOntologyKoala, streamed, null);
+        testRenderer.setStreaming(true);
+        testRenderer.render();
+        // streaming can repeat a statement shared by two subjects, but the graph is the same
+        assertTrue(Models.isomorphic(testHandlerStatementCollector.getStatements(),
+            streamed.getStatements()));
+    }
+
     @Test
     void testRenderKoalaRdfXmlWriter() throws IOException {
         RioRenderer testRenderer = new RioRenderer(testOntologyKoala, testRdfXmlRioWriter, null);
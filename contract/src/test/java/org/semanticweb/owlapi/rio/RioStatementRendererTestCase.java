@@ -0,0 +1,105 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.AnonymousIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectIntersectionOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectSomeValuesFrom;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+class RioStatementRendererTestCase extends TestBase {
+
+    @BeforeEach
+    void setUpStorers() {
+        m.getOntologyStorers().set(new RioNTriplesStorerFactory());
+    }
+
+    private OWLOntology createOntology() {
+        OWLOntology o = create("statementrenderer");
+        OWLObjectProperty p = ObjectProperty(iri("p"));
+        OWLAnonymousIndividual shared = AnonymousIndividual();
+        for (int i = 0; i < 3000; i++) {
+            OWLClass c = Class(iri("C" + i));
+            OWLNamedIndividual ind = NamedIndividual(iri("i" + i));
+            // lists and restrictions are blank nodes local to the axiom
+            m.addAxiom(o, SubClassOf(c, ObjectIntersectionOf(Class(iri("C" + i / 2)),
+                ObjectSomeValuesFrom(p, Class(iri("C" + i / 3))))));
+            m.addAxiom(o, ClassAssertion(c, ind));
+            // the same blank node in more than one batch of axioms
+            m.addAxiom(o, ObjectPropertyAssertion(p, ind, shared));
+        }
+        return o;
+    }
+
+    @Test
+    void shouldWriteSameStatementsAsRioRenderer() throws IOException {
+        OWLOntology koala = loadOntologyFrom(getClass().getResourceAsStream("/koala.owl"));
+        StatementCollector expected = new StatementCollector();
+        new RioRenderer(koala, expected, null).render();
+        StatementCollector actual = new StatementCollector();
+        new RioStatementRenderer(koala, null).render(actual);
+        // blank nodes are named differently, so the graphs are compared up to blank node names
+        assertTrue(Models.isomorphic(expected.getStatements(), actual.getStatements()));
+        assertEquals(171, actual.getStatements().stream().distinct().count());
+    }
+
+    @Test
+    void shouldRoundTripWhenWritingStatements() {
+        NTriplesDocumentFormat format = new NTriplesDocumentFormat();
+        format.setParameter("streaming rdf rendering", Boolean.TRUE);
+        roundTripOntology(createOntology(), format);
+    }
+
+    @Test
+    void shouldLoadSameOntologyFromParts() throws IOException {
+        OWLOntology o = createOntology();
+        List<File> parts =
+            new RioStatementRenderer(o, null).render(folder, "parts", RDFFormat.NTRIPLES, 3);
+        assertEquals(3, parts.size());
+        StringBuilder all = new StringBuilder();
+        for (File part : parts) {
+            all.append(new String(Files.readAllBytes(part.toPath()), StandardCharsets.UTF_8));
+        }
+        OWLOntology loaded = loadOntologyFromSource(new StringDocumentSource(all.toString(),
+            IRI.create("string:parts"), new NTriplesDocumentFormat(), null));
+        equal(o, loaded);
+    }
+}
@@ -0,0 +1,109 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+class OWLObjectSortKeysTestCase extends TestBase {
+
+    private List<OWLObject> objects() {
+        OWLDataProperty dp = df.getOWLDataProperty(iri("dp"));
+        OWLAnnotationProperty ap = df.getRDFSComment();
+        OWLAnnotation note = df.getOWLAnnotation(ap, df.getOWLLiteral("note"));
+        OWLAnnotation other = df.getOWLAnnotation(ap, df.getOWLLiteral("other"));
+        OWLClassExpression someA = df.getOWLObjectSomeValuesFrom(P, A);
+        return Arrays.asList(A, B, P, Q, dp, ap, indA, indB, df.getOWLAnonymousIndividual(),
+            df.getOWLLiteral("a"), df.getOWLLiteral("a\u0000b"), df.getOWLLiteral("ab"),
+            df.getOWLLiteral("a", "en"), df.getOWLLiteral(1), df.getOWLLiteral(10),
+            df.getOWLObjectInverseOf(P), someA, df.getOWLObjectSomeValuesFrom(P, B),
+            df.getOWLObjectAllValuesFrom(Q, A), df.getOWLObjectMinCardinality(1, P, A),
+            df.getOWLObjectMinCardinality(2, P, A), df.getOWLObjectMinCardinality(10, P),
+            df.getOWLObjectIntersectionOf(A, B), df.getOWLObjectIntersectionOf(A, B, C),
+            df.getOWLObjectIntersectionOf(B, C), df.getOWLObjectUnionOf(A, someA),
+            df.getOWLObjectComplementOf(A), df.getOWLObjectOneOf(indA, indB),
+            df.getOWLDataSomeValuesFrom(dp, OWL2Datatype.XSD_INTEGER.getDatatype(df)),
+            df.getOWLDatatypeMinInclusiveRestriction(1),
+            df.getOWLDatatypeMaxInclusiveRestriction(1),
+            df.getOWLSubClassOfAxiom(A, B), df.getOWLSubClassOfAxiom(A, someA),
+            df.getOWLSubClassOfAxiom(A, B, Collections.singleton(note)),
+            df.getOWLSubClassOfAxiom(A, B, Collections.singleton(other)),
+            df.getOWLEquivalentClassesAxiom(A, B), df.getOWLEquivalentClassesAxiom(B, A, C),
+            df.getOWLDisjointClassesAxiom(A, B), df.getOWLDeclarationAxiom(A),
+            df.getOWLDeclarationAxiom(P), df.getOWLClassAssertionAxiom(A, indA),
+            df.getOWLObjectPropertyAssertionAxiom(P, indA, indB),
+            df.getOWLDataPropertyAssertionAxiom(dp, indA, 1),
+            df.getOWLSubPropertyChainOfAxiom(Arrays.asList(P, Q), R),
+            df.getOWLSubPropertyChainOfAxiom(Arrays.asList(P, Q, P), R),
+            df.getOWLAnnotationAssertionAxiom(A.getIRI(), note),
+            df.getOWLAnnotationAssertionAxiom(B.getIRI(), other), note, other);
+    }
+
+    @Test
+    void shouldCompareKeysInTheOrderOfCompareTo() {
+        List<OWLObject> objects = objects();
+        for (OWLObject o1 : objects) {
+            for (OWLObject o2 : objects) {
+                String keys = OWLObjectSortKeys.sortKey(o1) + " " + OWLObjectSortKeys.sortKey(o2);
+                assertEquals(Integer.signum(o1.compareTo(o2)),
+                    Integer.signum(OWLObjectSortKeys.comparator().compare(o1, o2)),
+                    o1 + " " + o2 + " " + keys);
+            }
+        }
+    }
+
+    @Test
+    void shouldSortAxiomsLikeCompareTo() {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (OWLObject o : objects()) {
+            if (o instanceof OWLAxiom) {
+                axioms.add((OWLAxiom) o);
+            }
+        }
+        Collections.shuffle(axioms, new Random(42));
+        List<OWLAxiom> expected = new ArrayList<>(axioms);
+        Collections.sort(expected);
+        OWLObjectSortKeys.sort(axioms);
+        assertEquals(expected, axioms);
+        Collection<OWLAxiom> unsorted = new HashSet<>(axioms);
+        assertEquals(expected, CollectionFactory.sortOptionally(unsorted));
+    }
+
+    @Test
+    void shouldKeepSortKeysOfEntitiesOnly() {
+        assertSame(OWLObjectSortKeys.sortKey(A), OWLObjectSortKeys.sortKey(A));
+        OWLAxiom axiom = df.getOWLSubClassOfAxiom(A, B);
+        assertFalse(axiom instanceof HasSortKey);
+        assertEquals(OWLObjectSortKeys.sortKey(axiom),
+            OWLObjectSortKeys.computeSortKey(df.getOWLSubClassOfAxiom(A, B)));
+    }
+}
@@ -0,0 +1,100 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owlapi.modularity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.RandomAxioms;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+
+class SyntacticLocalityModuleExtractorTestCase extends TestBase {
+
+    private final RandomAxioms random = new RandomAxioms(3, "urn:test:module#");
+
+    private Set<OWLAxiom> randomAxioms(int count) {
+        Set<OWLAxiom> axioms = random.axioms(count, 6);
+        for (OWLEntity e : random.getEntities()) {
+            axioms.add(Declaration(e));
+        }
+        return axioms;
+    }
+
+    @Test
+    void shouldMatchFullFixpointForEachLocalityClass() {
+        // enough axioms for the first rounds to be evaluated concurrently
+        Set<OWLAxiom> axioms = randomAxioms(1500);
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(m,
+            IRI.create("urn:test:module"), axioms, ModuleType.BOT);
+        for (int i = 0; i < 20; i++) {
+            Set<OWLEntity> signature = random.signature();
+            assertSameModule(extractor, axioms, signature, ModuleType.BOT,
+                LocalityClass.BOTTOM_BOTTOM);
+            assertSameModule(extractor, axioms, signature, ModuleType.TOP, LocalityClass.TOP_TOP);
+        }
+        extractor.dispose();
+    }
+
+    /**
+     * Compares the module with the one computed by evaluating all remaining axioms in every
+     * round, on one and on several threads.
+     */
+    private static void assertSameModule(@Nonnull SyntacticLocalityModuleExtractor extractor,
+        @Nonnull Set<OWLAxiom> axioms, @Nonnull Set<OWLEntity> signature,
+        @Nonnull ModuleType type, @Nonnull LocalityClass locality) {
+        Set<OWLEntity> moduleSignature = new HashSet<>(signature);
+        Set<OWLAxiom> expected = extractor.enrich(
+            extractor.extract(axioms, moduleSignature, locality, false), moduleSignature, false);
+        extractor.setModuleType(type);
+        extractor.setThreads(1);
+        assertEquals(expected, extractor.extract(signature));
+        extractor.setThreads(3);
+        assertEquals(expected, extractor.extract(signature));
+    }
+
+    @Test
+    void shouldExtractManyModulesConcurrently() {
+        Set<OWLAxiom> axioms = randomAxioms(150);
+        for (ModuleType type : ModuleType.values()) {
+            SyntacticLocalityModuleExtractor extractor =
+                new SyntacticLocalityModuleExtractor(m, IRI.create("urn:test:module"), axioms, type);
+            List<Set<OWLEntity>> signatures = new ArrayList<>();
+            List<Set<OWLAxiom>> expected = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                Set<OWLEntity> signature = random.signature();
+                signatures.add(signature);
+                expected.add(extractor.extract(signature));
+            }
+            extractor.setThreads(4);
+            assertEquals(expected, extractor.extractModules(signatures));
+            // the threads are kept for the next call, and started again after dispose()
+            assertEquals(expected, extractor.extractModules(signatures));
+            extractor.dispose();
+            assertEquals(expected, extractor.extractModules(signatures));
+            extractor.dispose();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import javax.annotation.Nonnull;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
@@ -53,6 +54,8 @@ public abstract class OWLReasonerBase implements OWLReasoner {
     private final List<OWLOntologyChange> rawChanges = new ArrayList<>();
     @Nonnull
     private final Set<OWLAxiom> reasonerAxioms;
+    @Nonnull
+    private Set<OWLOntology> reasonerClosure;
     private final long timeOut;
     @Nonnull
     private final OWLReasonerConfiguration configuration;
@@ -79,7 +82,8 @@ public abstract class OWLReasonerBase implements OWLReasoner {
         manager = rootOntology.getOWLOntologyManager();
         manager.addOntologyChangeListener(ontologyChangeListener);
         reasonerAxioms = new HashSet<>();
-        for (OWLOntology ont : rootOntology.getImportsClosure()) {
+        reasonerClosure = rootOntology.getImportsClosure();
+        for (OWLOntology ont : reasonerClosure) {
             for (OWLAxiom ax : ont.getLogicalAxioms()) {
                 reasonerAxioms.add(ax.getAxiomWithoutAnnotations());
             }
@@ -179,7 +183,29 @@ public abstract class OWLReasonerBase implements OWLReasoner {
         if (rawChanges.isEmpty()) {
             return;
         }
-        for (OWLOntology ont : rootOntology.getImportsClosure()) {
+        Set<OWLOntology> closure = rootOntology.getImportsClosure();
+        if (closure.equals(reasonerClosure)) {
+            Set<OWLAxiom> touched = new HashSet<>();
+            boolean axiomChangesOnly = true;
+            for (OWLOntologyChange change : rawChanges) {
+                if (change.isImportChange()) {
+                    axiomChangesOnly = false;
+                    break;
+                }
+                if (change.isAxiomChange()) {
+                    touched.add(change.getAxiom());
+                }
+            }
+            if (axiomChangesOnly) {
+                // only the axioms named by the changes can differ between
+                // the closure and the reasoner axioms; this keeps the cost of
+                // a flush proportional to the size of the changes
+                computeDiff(touched, closure, added, removed);
+                return;
+            }
+        }
+        reasonerClosure = closure;
+        for (OWLOntology ont : closure) {
             for (OWLAxiom ax : ont.getLogicalAxioms()) {
                 if (!reasonerAxioms.contains(ax.getAxiomWithoutAnnotations())) {
                     added.add(ax);
@@ -200,6 +226,86 @@ public abstract class OWLReasonerBase implements OWLReasoner {
         }
     }
 
+    /**
+     * Computes the same diff as {@link #computeDiff(Set, Set)}, restricted to
+     * the axioms that are equal, ignoring annotations, to the axioms touched by
+     * the pending changes.
+     * 
+     * @param touched
+     *        the axioms added or removed by the pending changes
+     * @param closure
+     *        the imports closure of the root ontology
+     * @param added
+     *        The logical axioms that have been added to the imports closure of
+     *        the reasoner root ontology
+     * @param removed
+     *        The logical axioms that have been removed from the imports closure
+     *        of the reasoner root ontology
+     */
+    private void computeDiff(@Nonnull Set<OWLAxiom> touched,
+            @Nonnull Set<OWLOntology> closure, @Nonnull Set<OWLAxiom> added,
+            @Nonnull Set<OWLAxiom> removed) {
+        for (OWLAxiom ax : touched) {
+            if (reasonerAxioms.contains(ax)
+                    && !rootOntology.containsAxiom(ax, Imports.INCLUDED,
+                            AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)) {
+                removed.add(ax);
+            }
+            if (!ax.isLogicalAxiom() && !ax.isOfType(AxiomType.DECLARATION)) {
+                continue;
+            }
+            OWLAxiom withoutAnnotations = ax.getAxiomWithoutAnnotations();
+            if (reasonerAxioms.contains(withoutAnnotations)) {
+                if (!rootOntology.containsAxiom(withoutAnnotations,
+                        Imports.INCLUDED,
+                        AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)) {
+                    removed.add(withoutAnnotations);
+                    // annotated copies still in the closure are re-added
+                    added.addAll(getAxiomsIgnoreAnnotations(closure,
+                            withoutAnnotations));
+                }
+            } else {
+                added.addAll(getAxiomsIgnoreAnnotations(closure,
+                        withoutAnnotations));
+            }
+        }
+    }
+
+    /**
+     * @param closure
+     *        the ontologies to search
+     * @param axiom
+     *        an axiom without annotations
+     * @return the axioms in the closure that are equal to the axiom, ignoring
+     *         annotations; the search goes through the referencing axioms of
+     *         one entity in the axiom signature, so that it does not scan all
+     *         axioms of the same type
+     */
+    @Nonnull
+    private static Set<OWLAxiom> getAxiomsIgnoreAnnotations(
+            @Nonnull Set<OWLOntology> closure, @Nonnull OWLAxiom axiom) {
+        OWLEntity key = null;
+        for (OWLEntity e : axiom.getSignature()) {
+            if (key == null || key.isBuiltIn()) {
+                key = e;
+            }
+        }
+        Set<OWLAxiom> result = new HashSet<>();
+        for (OWLOntology ont : closure) {
+            if (key == null) {
+                result.addAll(ont.getAxiomsIgnoreAnnotations(axiom,
+                        Imports.EXCLUDED));
+                continue;
+            }
+            for (OWLAxiom ax : ont.getReferencingAxioms(key, Imports.EXCLUDED)) {
+                if (ax.equalsIgnoreAnnotations(axiom)) {
+                    result.add(ax);
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets the axioms that should be currently being reasoned over.
      * 
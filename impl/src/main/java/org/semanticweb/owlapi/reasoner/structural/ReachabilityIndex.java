@@ -0,0 +1,318 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.reasoner.structural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.impl.DefaultNodeSet;
+
+/**
+ * Precomputed reachability over the nodes of a hierarchy. Every node gets a dense id; the ids of
+ * the descendants and of the ancestors of each node are kept as sorted arrays. Indirect
+ * descendants and ancestors are then listed in time proportional to the answer, and subsumption
+ * between two nodes is a binary search in the ancestors of the subsumee.
+ * <p>
+ * Nodes in the same cycle of the direct relation share their arrays. The memory used is estimated
+ * while the index is built, and the build gives up as soon as the estimate exceeds the limit.
+ * 
+ * @param <T> type of the entities in the hierarchy
+ * @since 4.5.23
+ */
+final class ReachabilityIndex<T extends OWLObject> {
+
+    /** Estimated cost of a hash map entry, including the boxed id. */
+    private static final int ENTRY_BYTES = 64;
+    /** Estimated cost of an array header and of the reference to it. */
+    private static final int ARRAY_BYTES = 24;
+    private static final int[] EMPTY = new int[0];
+    @Nonnull
+    private final List<Node<T>> nodes;
+    @Nonnull
+    private final Map<T, Integer> ids;
+    @Nonnull
+    private final int[][] descendants;
+    @Nonnull
+    private final int[][] ancestors;
+    private final long size;
+
+    private ReachabilityIndex(@Nonnull List<Node<T>> nodes, @Nonnull Map<T, Integer> ids,
+        @Nonnull int[][] descendants, @Nonnull int[][] ancestors, long size) {
+        this.nodes = nodes;
+        this.ids = ids;
+        this.descendants = descendants;
+        this.ancestors = ancestors;
+        this.size = size;
+    }
+
+    /**
+     * @param start    the nodes to index; nodes reached from them are indexed as well
+     * @param children the direct children of a node
+     * @param parents  the direct parents of a node
+     * @param maxBytes upper bound for the estimated size of the index
+     * @return the index, or null if it would need more than maxBytes
+     */
+    @Nullable
+    static <T extends OWLObject> ReachabilityIndex<T> build(@Nonnull Collection<Node<T>> start,
+        @Nonnull Function<Node<T>, Collection<Node<T>>> children,
+        @Nonnull Function<Node<T>, Collection<Node<T>>> parents, long maxBytes) {
+        List<Node<T>> nodes = new ArrayList<>();
+        Map<Node<T>, Integer> nodeIds = new HashMap<>();
+        for (Node<T> node : start) {
+            id(node, nodes, nodeIds);
+        }
+        List<int[]> down = new ArrayList<>();
+        List<int[]> up = new ArrayList<>();
+        // nodes found through the edges are appended, so the loop also reaches them
+        for (int i = 0; i < nodes.size(); i++) {
+            down.add(ids(children.apply(nodes.get(i)), nodes, nodeIds));
+            up.add(ids(parents.apply(nodes.get(i)), nodes, nodeIds));
+        }
+        Map<T, Integer> ids = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            for (T entity : nodes.get(i)) {
+                ids.put(entity, Integer.valueOf(i));
+            }
+        }
+        long budget = maxBytes - (long) ids.size() * ENTRY_BYTES
+            - 2L * nodes.size() * ARRAY_BYTES;
+        if (budget < 0) {
+            return null;
+        }
+        int[][] descendants = closure(down.toArray(new int[nodes.size()][]), budget);
+        if (descendants == null) {
+            return null;
+        }
+        long used = used(descendants);
+        int[][] ancestors = closure(up.toArray(new int[nodes.size()][]), budget - used);
+        if (ancestors == null) {
+            return null;
+        }
+        used += used(ancestors);
+        return new ReachabilityIndex<>(nodes, ids, descendants, ancestors,
+            maxBytes - budget + used);
+    }
+
+    private static <T extends OWLObject> int id(@Nonnull Node<T> node,
+        @Nonnull List<Node<T>> nodes, @Nonnull Map<Node<T>, Integer> nodeIds) {
+        Integer id = nodeIds.get(node);
+        if (id == null) {
+            id = Integer.valueOf(nodes.size());
+            nodeIds.put(node, id);
+            nodes.add(node);
+        }
+        return id.intValue();
+    }
+
+    @Nonnull
+    private static <T extends OWLObject> int[] ids(@Nonnull Collection<Node<T>> targets,
+        @Nonnull List<Node<T>> nodes, @Nonnull Map<Node<T>, Integer> nodeIds) {
+        int[] result = new int[targets.size()];
+        int i = 0;
+        for (Node<T> target : targets) {
+            assert target != null;
+            result[i++] = id(target, nodes, nodeIds);
+        }
+        return result;
+    }
+
+    /** @return the bytes used by the arrays, counting shared arrays once */
+    private static long used(@Nonnull int[][] sets) {
+        long used = 0;
+        Set<int[]> counted = Collections.newSetFromMap(new IdentityHashMap<int[], Boolean>());
+        for (int[] set : sets) {
+            if (counted.add(set)) {
+                used += 4L * set.length;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Computes the nodes reachable from each node through one or more edges. The strongly
+     * connected components are found with an iterative Tarjan search, which emits each component
+     * after all the components it reaches; the reachable set of a component is the union of the
+     * sets of its successors, plus its own members if it is a cycle.
+     * 
+     * @return the sorted reachable ids of each node, or null if they would exceed the budget
+     */
+    @Nullable
+    private static int[][] closure(@Nonnull int[][] edges, long budget) {
+        int n = edges.length;
+        int[][] reach = new int[n][];
+        int[] index = new int[n];
+        int[] lowlink = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+        int[] stack = new int[n];
+        int stackSize = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int[] seen = new int[n];
+        int stamp = 0;
+        int[] buffer = new int[n];
+        int counter = 0;
+        long used = 0;
+        for (int root = 0; root < n; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = 0;
+            index[root] = counter;
+            lowlink[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < edges[v].length) {
+                    int w = edges[v][callEdge[depth]++];
+                    if (index[w] < 0) {
+                        index[w] = counter;
+                        lowlink[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = 0;
+                    } else if (onStack[w]) {
+                        lowlink[v] = Math.min(lowlink[v], index[w]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int caller = callNode[depth];
+                    lowlink[caller] = Math.min(lowlink[caller], lowlink[v]);
+                }
+                if (lowlink[v] != index[v]) {
+                    continue;
+                }
+                // v is the root of a component: pop it and compute its reachable set
+                int first = stackSize;
+                do {
+                    first--;
+                    onStack[stack[first]] = false;
+                } while (stack[first] != v);
+                stamp++;
+                int count = 0;
+                boolean cycle = stackSize - first > 1;
+                for (int i = first; i < stackSize; i++) {
+                    for (int w : edges[stack[i]]) {
+                        if (reach[w] == null) {
+                            // an edge inside the component, including a self loop
+                            cycle = true;
+                            continue;
+                        }
+                        if (seen[w] != stamp) {
+                            seen[w] = stamp;
+                            buffer[count++] = w;
+                        }
+                        for (int x : reach[w]) {
+                            if (seen[x] != stamp) {
+                                seen[x] = stamp;
+                                buffer[count++] = x;
+                            }
+                        }
+                    }
+                }
+                if (cycle) {
+                    for (int i = first; i < stackSize; i++) {
+                        if (seen[stack[i]] != stamp) {
+                            seen[stack[i]] = stamp;
+                            buffer[count++] = stack[i];
+                        }
+                    }
+                }
+                used += 4L * count;
+                if (used > budget) {
+                    return null;
+                }
+                int[] set = count == 0 ? EMPTY : Arrays.copyOf(buffer, count);
+                Arrays.sort(set);
+                for (int i = first; i < stackSize; i++) {
+                    reach[stack[i]] = set;
+                }
+                stackSize = first;
+            }
+        }
+        return reach;
+    }
+
+    /**
+     * @param entity entity to look up
+     * @return true if the entity is in an indexed node
+     */
+    boolean contains(@Nonnull T entity) {
+        return ids.containsKey(entity);
+    }
+
+    /**
+     * Adds the nodes reachable downwards from the node of an indexed entity.
+     * 
+     * @param entity an indexed entity
+     * @param ns     node set to add to
+     */
+    void addDescendants(@Nonnull T entity, @Nonnull DefaultNodeSet<T> ns) {
+        add(descendants[ids.get(entity).intValue()], ns);
+    }
+
+    /**
+     * Adds the nodes reachable upwards from the node of an indexed entity.
+     * 
+     * @param entity an indexed entity
+     * @param ns     node set to add to
+     */
+    void addAncestors(@Nonnull T entity, @Nonnull DefaultNodeSet<T> ns) {
+        add(ancestors[ids.get(entity).intValue()], ns);
+    }
+
+    private void add(@Nonnull int[] set, @Nonnull DefaultNodeSet<T> ns) {
+        for (int id : set) {
+            Node<T> node = nodes.get(id);
+            assert node != null;
+            ns.addNode(node);
+        }
+    }
+
+    /**
+     * @param sub an indexed entity
+     * @param sup an indexed entity
+     * @return true if the two entities are in the same node, or the node of sup is an ancestor of
+     *         the node of sub
+     */
+    boolean isSubsumedBy(@Nonnull T sub, @Nonnull T sup) {
+        int a = ids.get(sub).intValue();
+        int b = ids.get(sup).intValue();
+        return a == b || Arrays.binarySearch(ancestors[a], b) >= 0;
+    }
+
+    /** @return estimated size of the index in bytes */
+    long getSizeInBytes() {
+        return size;
+    }
+}
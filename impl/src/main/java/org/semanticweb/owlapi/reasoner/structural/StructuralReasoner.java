@@ -18,7 +18,9 @@ import static org.semanticweb.owlapi.search.Searcher.sup;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -26,6 +28,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -56,8 +61,11 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
 import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.FreshEntityPolicy;
@@ -65,6 +73,7 @@ import org.semanticweb.owlapi.reasoner.IndividualNodeSetPolicy;
 import org.semanticweb.owlapi.reasoner.InferenceType;
 import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
+import org.semanticweb.owlapi.reasoner.NullReasonerProgressMonitor;
 import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
 import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
 import org.semanticweb.owlapi.reasoner.ReasonerProgressMonitor;
@@ -104,10 +113,14 @@ public class StructuralReasoner extends OWLReasonerBase {
         new DataPropertyHierarchyInfo();
     @Nonnull
     private static final Version VERSION = new Version(1, 0, 0, 0);
+    /** Tasks per thread for concurrent hierarchy computation, to even out the load. */
+    private static final int CHUNKS_PER_THREAD = 4;
     private boolean interrupted = false;
     @Nonnull
     protected final ReasonerProgressMonitor pm;
     private boolean prepared = false;
+    private final int threads;
+    private long reachabilityIndexLimit = 0;
 
     /**
      * @param rootOntology  the ontology
@@ -116,9 +129,30 @@ public class StructuralReasoner extends OWLReasonerBase {
      */
     public StructuralReasoner(@Nonnull OWLOntology rootOntology,
         @Nonnull OWLReasonerConfiguration configuration, @Nonnull BufferingMode bufferingMode) {
+        this(rootOntology, configuration, bufferingMode, 1);
+    }
+
+    /**
+     * @param rootOntology  the ontology
+     * @param configuration the reasoner configuration
+     * @param bufferingMode the buffering mode
+     * @param threads       number of threads used to compute the hierarchies; with more than one
+     *                      thread, the class, object property and data property hierarchies are
+     *                      computed concurrently, and so are the told parents of the entities and
+     *                      the cycles in each weakly connected part of a hierarchy. The results are
+     *                      the same as with one thread.
+     * @since 4.5.23
+     */
+    public StructuralReasoner(@Nonnull OWLOntology rootOntology,
+        @Nonnull OWLReasonerConfiguration configuration, @Nonnull BufferingMode bufferingMode,
+        int threads) {
         super(rootOntology, configuration, bufferingMode);
         checkNotNull(configuration, "configuration cannot be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
         pm = configuration.getProgressMonitor();
+        this.threads = threads;
         prepareReasoner();
     }
 
@@ -175,17 +209,102 @@ public class StructuralReasoner extends OWLReasonerBase {
      * @throws TimeOutException             on timeout
      */
     public final void prepareReasoner() {
-        classHierarchyInfo.computeHierarchy();
-        objectPropertyHierarchyInfo.computeHierarchy();
-        dataPropertyHierarchyInfo.computeHierarchy();
+        if (threads == 1) {
+            classHierarchyInfo.computeHierarchy();
+            objectPropertyHierarchyInfo.computeHierarchy();
+            dataPropertyHierarchyInfo.computeHierarchy();
+        } else {
+            computeHierarchiesConcurrently();
+        }
         prepared = true;
     }
 
+    /**
+     * Computes the three hierarchies concurrently. The progress monitor sees a single task, since
+     * the tasks of the three hierarchies would otherwise interleave.
+     */
+    private void computeHierarchiesConcurrently() {
+        pm.reasonerTaskStarted("Computing hierarchies");
+        pm.reasonerTaskBusy();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(3);
+            futures.add(pool.submit(() -> classHierarchyInfo.computeHierarchy(pool)));
+            futures.add(pool.submit(() -> objectPropertyHierarchyInfo.computeHierarchy(pool)));
+            futures.add(pool.submit(() -> dataPropertyHierarchyInfo.computeHierarchy(pool)));
+            for (Future<?> f : futures) {
+                await(f);
+            }
+        } finally {
+            pool.shutdownNow();
+            pm.reasonerTaskStopped();
+        }
+    }
+
+    /**
+     * @param future the future to wait for
+     * @return the result of the future; interruptions and timeouts raised by the task are
+     *         rethrown as they are
+     */
+    private static <V> V await(@Nonnull Future<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReasonerInterruptedException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        }
+    }
+
     @Override
     public void precomputeInferences(InferenceType... inferenceTypes) {
         prepareReasoner();
     }
 
+    /**
+     * Enables or disables the reachability indexes. An index lists, for each node of a hierarchy,
+     * all its descendants and ancestors; with it, indirect sub and super class and property
+     * queries, and the subclass and subproperty checks of {@link #isEntailed(OWLAxiom)}, take time
+     * proportional to the answer. The indexes are built on the first query that needs them and
+     * dropped when the hierarchy changes; the next query rebuilds them in full, which takes time
+     * and space proportional to the size of the transitive closure of the hierarchy, not to the
+     * hierarchy itself. With frequent edits between queries, every edit pays such a full rebuild;
+     * leave the indexes disabled for ontologies that change often. A hierarchy whose index would
+     * need more than the limit is queried by walking the hierarchy instead.
+     * 
+     * @param maxBytes upper bound for the estimated size of the index of each hierarchy; 0 (the
+     *                 default) disables the indexes
+     * @since 4.5.23
+     */
+    public void setReachabilityIndexLimit(long maxBytes) {
+        reachabilityIndexLimit = maxBytes;
+        classHierarchyInfo.invalidateIndex();
+        objectPropertyHierarchyInfo.invalidateIndex();
+        dataPropertyHierarchyInfo.invalidateIndex();
+    }
+
+    /**
+     * @return the limit set with {@link #setReachabilityIndexLimit(long)}
+     * @since 4.5.23
+     */
+    public long getReachabilityIndexLimit() {
+        return reachabilityIndexLimit;
+    }
+
+    /**
+     * @return estimated size in bytes of the reachability indexes currently built; 0 if none has
+     *         been built or if they exceeded the limit
+     * @since 4.5.23
+     */
+    public long getReachabilityIndexSize() {
+        return classHierarchyInfo.getIndexSize() + objectPropertyHierarchyInfo.getIndexSize()
+            + dataPropertyHierarchyInfo.getIndexSize();
+    }
+
     @Override
     public boolean isPrecomputed(InferenceType inferenceType) {
         return true;
@@ -224,24 +343,56 @@ public class StructuralReasoner extends OWLReasonerBase {
     @Override
     public boolean isEntailed(OWLAxiom axiom) {
         return getRootOntology().containsAxiom(axiom, INCLUDED,
-            AxiomAnnotations.IGNORE_AXIOM_ANNOTATIONS);
+            AxiomAnnotations.IGNORE_AXIOM_ANNOTATIONS) || isEntailedByHierarchy(axiom);
     }
 
     @Override
     public boolean isEntailed(@Nonnull Set<? extends OWLAxiom> axioms) {
         for (OWLAxiom ax : axioms) {
             assert ax != null;
-            if (!getRootOntology().containsAxiom(ax, INCLUDED,
-                AxiomAnnotations.IGNORE_AXIOM_ANNOTATIONS)) {
+            if (!isEntailed(ax)) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * @param axiom axiom to check
+     * @return true if the axiom is a subclass or subproperty axiom between named entities that
+     *         follows from the hierarchy
+     */
+    private boolean isEntailedByHierarchy(@Nonnull OWLAxiom axiom) {
+        if (axiom instanceof OWLSubClassOfAxiom) {
+            OWLSubClassOfAxiom ax = (OWLSubClassOfAxiom) axiom;
+            if (ax.getSubClass().isAnonymous() || ax.getSuperClass().isAnonymous()) {
+                return false;
+            }
+            ensurePrepared();
+            return classHierarchyInfo.isSubsumedBy(ax.getSubClass().asOWLClass(),
+                ax.getSuperClass().asOWLClass());
+        }
+        if (axiom instanceof OWLSubObjectPropertyOfAxiom) {
+            OWLSubObjectPropertyOfAxiom ax = (OWLSubObjectPropertyOfAxiom) axiom;
+            ensurePrepared();
+            return objectPropertyHierarchyInfo.isSubsumedBy(ax.getSubProperty(),
+                ax.getSuperProperty());
+        }
+        if (axiom instanceof OWLSubDataPropertyOfAxiom) {
+            OWLSubDataPropertyOfAxiom ax = (OWLSubDataPropertyOfAxiom) axiom;
+            ensurePrepared();
+            return dataPropertyHierarchyInfo.isSubsumedBy(ax.getSubProperty().asOWLDataProperty(),
+                ax.getSuperProperty().asOWLDataProperty());
+        }
+        return false;
+    }
+
     @Override
     public boolean isEntailmentCheckingSupported(AxiomType<?> axiomType) {
-        return false;
+        // other axioms are only entailed if asserted
+        return AxiomType.SUBCLASS_OF.equals(axiomType)
+            || AxiomType.SUB_OBJECT_PROPERTY.equals(axiomType)
+            || AxiomType.SUB_DATA_PROPERTY.equals(axiomType);
     }
 
     @Override
@@ -760,9 +911,21 @@ public class StructuralReasoner extends OWLReasonerBase {
         private final Set<T> directChildrenOfTopNode = new HashSet<>();
         @Nonnull
         private final Set<T> directParentsOfBottomNode = new HashSet<>();
+        /** Told parents and children, read once and kept up to date by processChanges(). */
+        @Nonnull
+        private final Map<T, Collection<T>> parents = new HashMap<>();
+        @Nonnull
+        private final Map<T, Collection<T>> children = new HashMap<>();
         private final NodeCache<T> nodeCache;
         private final String name;
         private int classificationSize;
+        /** Set while the hierarchy is computed concurrently with the other hierarchies. */
+        @Nullable
+        private ReasonerProgressMonitor monitor;
+        /** Built on demand when the reachability index limit is positive. */
+        @Nullable
+        private ReachabilityIndex<T> index;
+        private boolean indexTooLarge;
 
         AbstractHierarchyInfo(String name, @Nonnull T topEntity, @Nonnull T bottomEntity,
             RawHierarchyProvider<T> rawParentChildProvider) {
@@ -798,6 +961,9 @@ public class StructuralReasoner extends OWLReasonerBase {
         @Nonnull
         protected abstract DefaultNode<T> createNode();
 
+        @Nonnull
+        protected abstract DefaultNodeSet<T> createNodeSet();
+
         /**
          * Gets the set of relevant entities in a particular axiom.
          * 
@@ -818,60 +984,299 @@ public class StructuralReasoner extends OWLReasonerBase {
         }
 
         public void computeHierarchy() {
-            pm.reasonerTaskStarted("Computing " + name + " hierarchy");
-            pm.reasonerTaskBusy();
+            computeHierarchy(null);
+        }
+
+        /**
+         * @param pool the pool to read the told hierarchy and search for cycles with, or null to
+         *             do both on the calling thread
+         */
+        void computeHierarchy(@Nullable ForkJoinPool pool) {
+            monitor = pool == null ? pm : new NullReasonerProgressMonitor();
+            try {
+                computeHierarchy(pool, verifyNotNull(monitor));
+            } finally {
+                monitor = null;
+            }
+        }
+
+        private void computeHierarchy(@Nullable ForkJoinPool pool,
+            @Nonnull ReasonerProgressMonitor progress) {
+            progress.reasonerTaskStarted("Computing " + name + " hierarchy");
+            progress.reasonerTaskBusy();
+            invalidateIndex();
             nodeCache.clear();
-            Map<T, Collection<T>> cache = new HashMap<>();
+            parents.clear();
+            children.clear();
+            directChildrenOfTopNode.clear();
+            directParentsOfBottomNode.clear();
             Set<T> entities = new HashSet<>();
             for (OWLOntology ont : getRootOntology().getImportsClosure()) {
                 assert ont != null;
                 entities.addAll(getEntities(ont));
             }
             classificationSize = entities.size();
-            pm.reasonerTaskProgressChanged(0, classificationSize);
-            updateForSignature(entities, cache);
-            pm.reasonerTaskStopped();
+            progress.reasonerTaskProgressChanged(0, classificationSize);
+            if (pool == null) {
+                for (T entity : entities) {
+                    assert entity != null;
+                    readTold(entity);
+                }
+                updateForSignature(entities, true);
+            } else {
+                readToldConcurrently(entities, pool);
+                storeNodes(entities, true, findCyclesConcurrently(entities, pool));
+            }
+            progress.reasonerTaskStopped();
         }
 
-        private void updateForSignature(@Nonnull Set<T> signature,
-            @Nullable Map<T, Collection<T>> cache) {
-            HashSet<Set<T>> cyclesResult = new HashSet<>();
-            Set<T> processed = new HashSet<>();
-            nodeCache.clearTopNode();
-            nodeCache.clearBottomNode();
-            nodeCache.clearNodes(signature);
-            directChildrenOfTopNode.removeAll(signature);
-            Set<T> equivTopOrChildrenOfTop = new HashSet<>();
-            Set<T> equivBottomOrParentsOfBottom = new HashSet<>();
-            for (T entity : signature) {
+        /**
+         * Reads the told parents and children of the entities in chunks on a pool; the maps are
+         * filled in on the calling thread.
+         */
+        private void readToldConcurrently(@Nonnull Set<T> entities, @Nonnull ForkJoinPool pool) {
+            List<T> list = new ArrayList<>(entities);
+            int size = Math.max(1, list.size() / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+            List<Future<List<Collection<T>>>> futures = new ArrayList<>();
+            for (int start = 0; start < list.size(); start += size) {
+                List<T> chunk = list.subList(start, Math.min(list.size(), start + size));
+                futures.add(pool.submit(() -> {
+                    List<Collection<T>> told = new ArrayList<>(chunk.size() * 2);
+                    for (T entity : chunk) {
+                        assert entity != null;
+                        throwExceptionIfInterrupted();
+                        told.add(rawParentChildProvider.getParents(entity));
+                        told.add(rawParentChildProvider.getChildren(entity));
+                    }
+                    return told;
+                }));
+            }
+            int start = 0;
+            for (Future<List<Collection<T>>> f : futures) {
+                List<Collection<T>> told = await(f);
+                for (int i = 0; i < told.size(); i += 2) {
+                    T entity = list.get(start + i / 2);
+                    if (!told.get(i).isEmpty()) {
+                        parents.put(entity, told.get(i));
+                    }
+                    if (!told.get(i + 1).isEmpty()) {
+                        children.put(entity, told.get(i + 1));
+                    }
+                }
+                start += told.size() / 2;
+            }
+        }
+
+        /**
+         * Finds the cycles among the entities. No cycle can span two weakly connected components
+         * of the told hierarchy, so the components are grouped into batches and each batch is
+         * searched on the pool with its own Tarjan state.
+         */
+        @Nonnull
+        private Set<Set<T>> findCyclesConcurrently(@Nonnull Set<T> entities,
+            @Nonnull ForkJoinPool pool) {
+            Map<T, T> roots = new HashMap<>();
+            for (T entity : entities) {
+                assert entity != null;
+                for (T parent : parents(entity)) {
+                    assert parent != null;
+                    T a = root(roots, entity);
+                    T b = root(roots, parent);
+                    if (!a.equals(b)) {
+                        roots.put(a, b);
+                    }
+                }
+            }
+            Map<T, List<T>> components = new HashMap<>();
+            for (T entity : entities) {
+                assert entity != null;
+                T root = root(roots, entity);
+                List<T> component = components.get(root);
+                if (component == null) {
+                    component = new ArrayList<>();
+                    components.put(root, component);
+                }
+                component.add(entity);
+            }
+            int size = Math.max(1, entities.size() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+            List<Future<Set<Set<T>>>> futures = new ArrayList<>();
+            List<T> batch = new ArrayList<>();
+            for (List<T> component : components.values()) {
+                batch.addAll(component);
+                if (batch.size() >= size) {
+                    futures.add(submitCycleSearch(batch, pool));
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                futures.add(submitCycleSearch(batch, pool));
+            }
+            Set<Set<T>> cycles = new HashSet<>();
+            for (Future<Set<Set<T>>> f : futures) {
+                cycles.addAll(await(f));
+            }
+            return cycles;
+        }
+
+        @Nonnull
+        private Future<Set<Set<T>>> submitCycleSearch(@Nonnull List<T> batch,
+            @Nonnull ForkJoinPool pool) {
+            return pool.submit(() -> {
+                Map<T, Integer> indexMap = new HashMap<>();
+                Map<T, Integer> lowlinkMap = new HashMap<>();
+                Stack<T> stack = new Stack<>();
+                Set<T> stackEntities = new HashSet<>();
+                Set<Set<T>> cycles = new HashSet<>();
+                for (T entity : batch) {
+                    assert entity != null;
+                    if (!indexMap.containsKey(entity)) {
+                        tarjan(entity, indexMap.size(), stack, indexMap, lowlinkMap, cycles,
+                            stackEntities);
+                    }
+                }
+                return cycles;
+            });
+        }
+
+        /**
+         * Finds the representative of an entity in a union-find forest, halving the path on the
+         * way.
+         */
+        @Nonnull
+        private T root(@Nonnull Map<T, T> roots, @Nonnull T entity) {
+            T current = entity;
+            T parent = roots.get(current);
+            while (parent != null) {
+                T grandParent = roots.get(parent);
+                if (grandParent != null) {
+                    roots.put(current, grandParent);
+                }
+                current = parent;
+                parent = grandParent;
+            }
+            return current;
+        }
+
+        /**
+         * Reads the told parents and children of an entity from the raw hierarchy provider.
+         * Both depend only on the axioms that mention the entity.
+         * 
+         * @param entity the entity
+         */
+        private void readTold(@Nonnull T entity) {
+            Collection<T> rawParents = rawParentChildProvider.getParents(entity);
+            if (rawParents.isEmpty()) {
+                parents.remove(entity);
+            } else {
+                parents.put(entity, rawParents);
+            }
+            Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
+            if (rawChildren.isEmpty()) {
+                children.remove(entity);
+            } else {
+                children.put(entity, rawChildren);
+            }
+        }
+
+        @Nonnull
+        private Collection<T> parents(@Nonnull T entity) {
+            Collection<T> told = parents.get(entity);
+            return told == null ? Collections.<T> emptySet() : told;
+        }
+
+        @Nonnull
+        private Collection<T> children(@Nonnull T entity) {
+            Collection<T> told = children.get(entity);
+            return told == null ? Collections.<T> emptySet() : told;
+        }
+
+        /**
+         * Recomputes the nodes and the top and bottom neighbours of the entities in a region. The
+         * region must contain every entity whose told parents or children changed, and all the
+         * entities that shared a node with them; only the nodes of the region are replaced.
+         * 
+         * @param region the entities to update
+         * @param full   true if the whole hierarchy is being computed
+         * @return false if the top or bottom node changed, in which case the hierarchy must be
+         *         computed again
+         */
+        private boolean updateForSignature(@Nonnull Set<T> region, boolean full) {
+            Set<T> oldTop = nodeCache.getTopNode().getEntities();
+            Set<T> oldBottom = nodeCache.getBottomNode().getEntities();
+            Set<Set<T>> cyclesResult = new HashSet<>();
+            for (T entity : region) {
+                if (!oldTop.contains(entity) && !oldBottom.contains(entity)) {
+                    nodeCache.removeNode(entity);
+                }
+            }
+            directChildrenOfTopNode.removeAll(region);
+            directParentsOfBottomNode.removeAll(region);
+            Map<T, Integer> indexMap = new HashMap<>();
+            Map<T, Integer> lowlinkMap = new HashMap<>();
+            Stack<T> stack = new Stack<>();
+            Set<T> stackEntities = new HashSet<>();
+            for (T entity : region) {
                 assert entity != null;
-                if (!processed.contains(entity)) {
-                    pm.reasonerTaskProgressChanged(processed.size(), signature.size());
-                    tarjan(entity, 0, new Stack<T>(), new HashMap<T, Integer>(),
-                        new HashMap<T, Integer>(), cyclesResult, processed, new HashSet<T>(), cache,
-                        equivTopOrChildrenOfTop, equivBottomOrParentsOfBottom);
+                if (!indexMap.containsKey(entity)) {
+                    tarjan(entity, indexMap.size(), stack, indexMap, lowlinkMap, cyclesResult,
+                        stackEntities);
                     throwExceptionIfInterrupted();
                 }
             }
+            if (!full && (changed(topEntity, oldTop, indexMap, cyclesResult)
+                || changed(bottomEntity, oldBottom, indexMap, cyclesResult))) {
+                return false;
+            }
+            storeNodes(region, full, cyclesResult);
+            return true;
+        }
+
+        /**
+         * Stores the cycles found for a region and recomputes the top and bottom neighbours of
+         * the region.
+         * 
+         * @param region       the entities to update
+         * @param full         true if the whole hierarchy is being computed
+         * @param cyclesResult the cycles reachable from the region
+         */
+        private void storeNodes(@Nonnull Set<T> region, boolean full,
+            @Nonnull Set<Set<T>> cyclesResult) {
             // Store new cycles
+            List<Set<T>> regionCycles = new ArrayList<>();
             for (Set<T> cycle : cyclesResult) {
                 assert cycle != null;
-                nodeCache.addNode(cycle);
+                if (full || !Collections.disjoint(cycle, region)
+                    && !cycle.contains(topEntity) && !cycle.contains(bottomEntity)) {
+                    nodeCache.addNode(cycle);
+                    regionCycles.add(cycle);
+                }
+            }
+            for (T entity : region) {
+                assert entity != null;
+                if (!full && !isInSignature(entity)) {
+                    continue;
+                }
+                Collection<T> told = parents(entity);
+                if (told.isEmpty() || told.contains(topEntity)) {
+                    directChildrenOfTopNode.add(entity);
+                }
+                told = children(entity);
+                if (told.isEmpty() || told.contains(bottomEntity)) {
+                    directParentsOfBottomNode.add(entity);
+                }
             }
-            directChildrenOfTopNode.addAll(equivTopOrChildrenOfTop);
             directChildrenOfTopNode.removeAll(nodeCache.getTopNode().getEntities());
-            directParentsOfBottomNode.addAll(equivBottomOrParentsOfBottom);
             directParentsOfBottomNode.removeAll(nodeCache.getBottomNode().getEntities());
             // Now check that each found cycle has a proper parent an child
-            for (Set<T> node : cyclesResult) {
+            for (Set<T> node : regionCycles) {
                 if (!node.contains(topEntity) && !node.contains(bottomEntity)) {
                     boolean childOfTop = true;
                     for (T element : node) {
                         assert element != null;
-                        Collection<T> parents = rawParentChildProvider.getParents(element);
-                        parents.removeAll(node);
-                        parents.removeAll(nodeCache.getTopNode().getEntities());
-                        if (!parents.isEmpty()) {
+                        Collection<T> elementParents = new HashSet<>(parents(element));
+                        elementParents.removeAll(node);
+                        elementParents.removeAll(nodeCache.getTopNode().getEntities());
+                        if (!elementParents.isEmpty()) {
                             childOfTop = false;
                             break;
                         }
@@ -882,10 +1287,10 @@ public class StructuralReasoner extends OWLReasonerBase {
                     boolean parentOfBottom = true;
                     for (T element : node) {
                         assert element != null;
-                        Collection<T> children = rawParentChildProvider.getChildren(element);
-                        children.removeAll(node);
-                        children.removeAll(nodeCache.getBottomNode().getEntities());
-                        if (!children.isEmpty()) {
+                        Collection<T> elementChildren = new HashSet<>(children(element));
+                        elementChildren.removeAll(node);
+                        elementChildren.removeAll(nodeCache.getBottomNode().getEntities());
+                        if (!elementChildren.isEmpty()) {
                             parentOfBottom = false;
                             break;
                         }
@@ -897,8 +1302,36 @@ public class StructuralReasoner extends OWLReasonerBase {
             }
         }
 
+        /**
+         * @return true if the search reached the entity and found it in a different strongly
+         *         connected component than its current node
+         */
+        private boolean changed(@Nonnull T entity, @Nonnull Set<T> oldNode,
+            @Nonnull Map<T, Integer> indexMap, @Nonnull Set<Set<T>> cycles) {
+            if (!indexMap.containsKey(entity)) {
+                return false;
+            }
+            for (Set<T> cycle : cycles) {
+                if (cycle.contains(entity)) {
+                    return !cycle.equals(oldNode);
+                }
+            }
+            return oldNode.size() > 1;
+        }
+
+        /**
+         * @param entity the entity
+         * @return true if the entity is still in the signature of the imports closure
+         */
+        protected abstract boolean isInSignature(@Nonnull T entity);
+
         /**
          * Processes the specified signature that represents the signature of potential changes.
+         * Only the told parents and children of the signature are read again, and only the nodes
+         * of the signature and of the entities equivalent to them are recomputed; the search for
+         * new equivalences follows the stored told parents, so it is bounded by the ancestors of
+         * the signature rather than by the size of the ontology. A change to the top or bottom
+         * node causes the whole hierarchy to be computed again.
          * 
          * @param signature The signature
          * @param added     added axioms
@@ -907,71 +1340,48 @@ public class StructuralReasoner extends OWLReasonerBase {
         @SuppressWarnings("unused")
         public void processChanges(@Nonnull Set<T> signature, @Nonnull Set<OWLAxiom> added,
             @Nonnull Set<OWLAxiom> removed) {
-            updateForSignature(signature, null);
+            invalidateIndex();
+            Set<T> region = new HashSet<>(signature);
+            for (T entity : signature) {
+                assert entity != null;
+                region.addAll(nodeCache.getNode(entity).getEntities());
+                readTold(entity);
+            }
+            if (!updateForSignature(region, false)) {
+                computeHierarchy();
+            }
         }
 
         /**
          * Applies the tarjan algorithm for a given entity. This computes the cycle that the entity
-         * is involved in (if any).
+         * is involved in (if any), following the stored told parents.
          * 
-         * @param entity          The entity
-         * @param inputIndex      index
-         * @param stack           stack
-         * @param indexMap        index map
-         * @param lowlinkMap      low link map
-         * @param result          result
-         * @param processed       processed
-         * @param stackEntities   stack entities
-         * @param cache           A cache of children to parents - may be {@code null} if no caching
-         *                        is to take place.
-         * @param childrenOfTop   A set of entities that have a raw parent that is the top entity
-         * @param parentsOfBottom A set of entities that have a raw parent that is the bottom entity
+         * @param entity        The entity
+         * @param inputIndex    index
+         * @param stack         stack
+         * @param indexMap      index map, shared by all the searches of an update
+         * @param lowlinkMap    low link map
+         * @param result        result
+         * @param stackEntities stack entities
          */
         public void tarjan(@Nonnull T entity, int inputIndex, @Nonnull Stack<T> stack,
             @Nonnull Map<T, Integer> indexMap, @Nonnull Map<T, Integer> lowlinkMap,
-            @Nonnull Set<Set<T>> result, @Nonnull Set<T> processed, @Nonnull Set<T> stackEntities,
-            @Nullable Map<T, Collection<T>> cache, @Nonnull Set<T> childrenOfTop,
-            @Nonnull Set<T> parentsOfBottom) {
+            @Nonnull Set<Set<T>> result, @Nonnull Set<T> stackEntities) {
             int index = inputIndex;
             throwExceptionIfInterrupted();
-            if (processed.add(entity)) {
-                Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
-                if (rawChildren.isEmpty() || rawChildren.contains(bottomEntity)) {
-                    parentsOfBottom.add(entity);
-                }
-            }
-            pm.reasonerTaskProgressChanged(processed.size(), classificationSize);
+            ReasonerProgressMonitor progress = monitor;
+            (progress == null ? pm : progress).reasonerTaskProgressChanged(indexMap.size(),
+                classificationSize);
             indexMap.put(entity, Integer.valueOf(index));
             lowlinkMap.put(entity, Integer.valueOf(index));
             index += 1;
             stack.push(entity);
             stackEntities.add(entity);
-            // Get the raw parents - cache if necessary
-            Collection<T> rawParents = null;
-            if (cache != null) {
-                // We are therefore caching raw parents of children.
-                rawParents = cache.get(entity);
-                if (rawParents == null) {
-                    // Not in cache!
-                    rawParents = rawParentChildProvider.getParents(entity);
-                    // Note down if our entity is a
-                    if (rawParents.isEmpty() || rawParents.contains(topEntity)) {
-                        childrenOfTop.add(entity);
-                    }
-                    cache.put(entity, rawParents);
-                }
-            } else {
-                rawParents = rawParentChildProvider.getParents(entity);
-                // Note down if our entity is a
-                if (rawParents.isEmpty() || rawParents.contains(topEntity)) {
-                    childrenOfTop.add(entity);
-                }
-            }
-            for (T superEntity : rawParents) {
+            for (T superEntity : parents(entity)) {
                 assert superEntity != null;
                 if (!indexMap.containsKey(superEntity)) {
-                    tarjan(superEntity, index, stack, indexMap, lowlinkMap, result, processed,
-                        stackEntities, cache, childrenOfTop, parentsOfBottom);
+                    tarjan(superEntity, indexMap.size(), stack, indexMap, lowlinkMap, result,
+                        stackEntities);
                     lowlinkMap.put(entity,
                         Integer.valueOf(Math.min(lowlinkMap.get(entity).intValue(),
                             lowlinkMap.get(superEntity).intValue())));
@@ -998,9 +1408,67 @@ public class StructuralReasoner extends OWLReasonerBase {
             }
         }
 
+        void invalidateIndex() {
+            index = null;
+            indexTooLarge = false;
+        }
+
+        long getIndexSize() {
+            ReachabilityIndex<T> built = index;
+            return built == null ? 0 : built.getSizeInBytes();
+        }
+
+        /**
+         * @return the reachability index, built if needed; null if disabled or over the limit
+         */
+        @Nullable
+        private ReachabilityIndex<T> getIndex() {
+            if (index == null && !indexTooLarge && reachabilityIndexLimit > 0) {
+                Set<Node<T>> start = new HashSet<>();
+                start.add(nodeCache.getTopNode());
+                start.add(nodeCache.getBottomNode());
+                for (OWLOntology ont : getRootOntology().getImportsClosure()) {
+                    assert ont != null;
+                    for (T entity : getEntities(ont)) {
+                        assert entity != null;
+                        start.add(nodeCache.getNode(entity));
+                    }
+                }
+                index = ReachabilityIndex.build(start,
+                    n -> getNodeHierarchyChildren(n.getRepresentativeElement(), true,
+                        createNodeSet()).getNodes(),
+                    n -> getNodeHierarchyParents(n.getRepresentativeElement(), true,
+                        createNodeSet()).getNodes(),
+                    reachabilityIndexLimit);
+                indexTooLarge = index == null;
+            }
+            return index;
+        }
+
+        /**
+         * @param sub the subsumee
+         * @param sup the subsumer
+         * @return true if sup is equivalent to sub or one of its ancestors
+         */
+        boolean isSubsumedBy(@Nonnull T sub, @Nonnull T sup) {
+            ReachabilityIndex<T> reach = getIndex();
+            if (reach != null && reach.contains(sub) && reach.contains(sup)) {
+                return reach.isSubsumedBy(sub, sup);
+            }
+            return nodeCache.getNode(sub).contains(sup)
+                || getNodeHierarchyParents(sub, false, createNodeSet()).containsEntity(sup);
+        }
+
         @Nonnull
         public NodeSet<T> getNodeHierarchyChildren(@Nonnull T parent, boolean direct,
             @Nonnull DefaultNodeSet<T> ns) {
+            if (!direct) {
+                ReachabilityIndex<T> reach = getIndex();
+                if (reach != null && reach.contains(parent)) {
+                    reach.addDescendants(parent, ns);
+                    return ns;
+                }
+            }
             Node<T> node = nodeCache.getNode(parent);
             if (node.isBottomNode()) {
                 return ns;
@@ -1008,7 +1476,7 @@ public class StructuralReasoner extends OWLReasonerBase {
             Set<T> directChildren = new HashSet<>();
             for (T equiv : node) {
                 assert equiv != null;
-                directChildren.addAll(rawParentChildProvider.getChildren(equiv));
+                directChildren.addAll(children(equiv));
                 if (directParentsOfBottomNode.contains(equiv)) {
                     ns.addNode(nodeCache.getBottomNode());
                 }
@@ -1034,6 +1502,13 @@ public class StructuralReasoner extends OWLReasonerBase {
         @Nonnull
         public NodeSet<T> getNodeHierarchyParents(@Nonnull T child, boolean direct,
             @Nonnull DefaultNodeSet<T> ns) {
+            if (!direct) {
+                ReachabilityIndex<T> reach = getIndex();
+                if (reach != null && reach.contains(child)) {
+                    reach.addAncestors(child, ns);
+                    return ns;
+                }
+            }
             Node<T> node = nodeCache.getNode(child);
             if (node.isTopNode()) {
                 return ns;
@@ -1041,7 +1516,7 @@ public class StructuralReasoner extends OWLReasonerBase {
             Set<T> directParents = new HashSet<>();
             for (T equiv : node) {
                 assert equiv != null;
-                directParents.addAll(rawParentChildProvider.getParents(equiv));
+                directParents.addAll(parents(equiv));
                 if (directChildrenOfTopNode.contains(equiv)) {
                     ns.addNode(nodeCache.getTopNode());
                 }
@@ -1191,11 +1666,22 @@ public class StructuralReasoner extends OWLReasonerBase {
             return ont.getClassesInSignature();
         }
 
+        @Override
+        protected boolean isInSignature(@Nonnull OWLClass entity) {
+            return getRootOntology().containsEntityInSignature(entity, INCLUDED);
+        }
+
         @Nonnull
         @Override
         protected DefaultNode<OWLClass> createNode() {
             return new OWLClassNode();
         }
+
+        @Nonnull
+        @Override
+        protected DefaultNodeSet<OWLClass> createNodeSet() {
+            return new OWLClassNodeSet();
+        }
     }
 
     private class ObjectPropertyHierarchyInfo
@@ -1229,6 +1715,12 @@ public class StructuralReasoner extends OWLReasonerBase {
             return result;
         }
 
+        @Override
+        protected boolean isInSignature(@Nonnull OWLObjectPropertyExpression entity) {
+            return getRootOntology().containsEntityInSignature(entity.getNamedProperty(),
+                INCLUDED);
+        }
+
         @Nonnull
         @Override
         protected DefaultNode<OWLObjectPropertyExpression> createNode(
@@ -1242,6 +1734,12 @@ public class StructuralReasoner extends OWLReasonerBase {
             return new OWLObjectPropertyNode();
         }
 
+        @Nonnull
+        @Override
+        protected DefaultNodeSet<OWLObjectPropertyExpression> createNodeSet() {
+            return new OWLObjectPropertyNodeSet();
+        }
+
         @Override
         public void processChanges(@Nonnull Set<OWLObjectPropertyExpression> signature,
             @Nonnull Set<OWLAxiom> added, @Nonnull Set<OWLAxiom> removed) {
@@ -1285,6 +1783,11 @@ public class StructuralReasoner extends OWLReasonerBase {
             return ont.getDataPropertiesInSignature();
         }
 
+        @Override
+        protected boolean isInSignature(@Nonnull OWLDataProperty entity) {
+            return getRootOntology().containsEntityInSignature(entity, INCLUDED);
+        }
+
         @Nonnull
         @Override
         protected DefaultNode<OWLDataProperty> createNode(Set<OWLDataProperty> cycle) {
@@ -1296,6 +1799,12 @@ public class StructuralReasoner extends OWLReasonerBase {
         protected DefaultNode<OWLDataProperty> createNode() {
             return new OWLDataPropertyNode();
         }
+
+        @Nonnull
+        @Override
+        protected DefaultNodeSet<OWLDataProperty> createNodeSet() {
+            return new OWLDataPropertyNodeSet();
+        }
     }
 
     /**
@@ -12,6 +12,8 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package uk.ac.manchester.cs.owl.owlapi;
 
+import java.util.concurrent.ForkJoinPool;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -44,42 +46,62 @@ public class ClassAxiomByClassPointer extends
         super(t, v, initialized, i);
     }
 
+    /**
+     * @param t
+     *        axiom type
+     * @param v
+     *        visitor
+     * @param initialized
+     *        initialized
+     * @param i
+     *        internals
+     * @param concurrentReads
+     *        true if lookups should not block each other
+     */
+    public ClassAxiomByClassPointer(@Nullable AxiomType<?> t,
+            @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+            @Nonnull Internals i, boolean concurrentReads) {
+        super(t, v, initialized, i, concurrentReads);
+    }
+
     @Nonnull
     @Override
-    public synchronized ClassAxiomByClassPointer init() {
-        if (isInitialized()) {
-            return this;
-        }
+    public ClassAxiomByClassPointer init() {
         super.init();
+        return this;
+    }
+
+    @Override
+    protected void fill(@Nullable ForkJoinPool pool) {
+        super.fill(pool);
         // special case: this map needs other maps to be initialized first
         MapPointer<OWLClass, OWLEquivalentClassesAxiom> equivalent = i.get(
                 OWLClass.class, OWLEquivalentClassesAxiom.class).get();
         for (OWLClass c : equivalent.keySet()) {
             for (OWLClassAxiom ax : equivalent.getValues(c)) {
-                put(c, ax);
+                putInternal(c, ax);
             }
         }
         MapPointer<OWLClass, OWLSubClassOfAxiom> lhs = i.get(OWLClass.class,
                 OWLSubClassOfAxiom.class).get();
         for (OWLClass c : lhs.keySet()) {
             for (OWLClassAxiom ax : lhs.getValues(c)) {
-                put(c, ax);
+                putInternal(c, ax);
             }
         }
         MapPointer<OWLClass, OWLDisjointClassesAxiom> disjoints = i.get(
                 OWLClass.class, OWLDisjointClassesAxiom.class).get();
         for (OWLClass c : disjoints.keySet()) {
             for (OWLClassAxiom ax : disjoints.getValues(c)) {
-                put(c, ax);
+                putInternal(c, ax);
             }
         }
         MapPointer<OWLClass, OWLDisjointUnionAxiom> disjointUnion = i.get(
                 OWLClass.class, OWLDisjointUnionAxiom.class).get();
         for (OWLClass c : disjointUnion.keySet()) {
             for (OWLClassAxiom ax : disjointUnion.getValues(c)) {
-                put(c, ax);
+                putInternal(c, ax);
             }
         }
-        return this;
     }
 }
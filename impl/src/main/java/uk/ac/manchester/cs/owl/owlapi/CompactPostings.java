@@ -0,0 +1,256 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * Compressed sparse row form of an axiom index: the key ids, sorted, with the ids of the axioms
+ * for the key at {@code keys[i]} stored, sorted, in {@code postings[offsets[i]]} to
+ * {@code postings[offsets[i + 1] - 1]}. Instances are immutable; axioms are only materialized when
+ * read. The arrays are held in int buffers, so that they can live on the heap or in a mapped
+ * ontology snapshot.
+ * 
+ * @since 4.5.23
+ */
+final class CompactPostings {
+
+    @Nonnull
+    private final IndexIdTable ids;
+    @Nonnull
+    private final IntBuffer keys;
+    @Nonnull
+    private final IntBuffer offsets;
+    /** Null when postings[i] == i, as happens for the index of axioms by type. */
+    @Nullable
+    private final IntBuffer postings;
+
+    /**
+     * @param ids ids shared by the indexes
+     * @param keys sorted key ids
+     * @param offsets offsets of the postings of each key, plus the total number of postings
+     * @param postings axiom ids, sorted for each key
+     */
+    CompactPostings(@Nonnull IndexIdTable ids, @Nonnull int[] keys, @Nonnull int[] offsets,
+        @Nonnull int[] postings) {
+        this(ids, IntBuffer.wrap(keys), IntBuffer.wrap(offsets),
+            isIdentity(postings) ? null : IntBuffer.wrap(postings));
+    }
+
+    /**
+     * @param ids ids shared by the indexes
+     * @param keys sorted key ids
+     * @param offsets offsets of the postings of each key, plus the total number of postings
+     * @param postings axiom ids, sorted for each key; null if each posting is its own axiom id
+     */
+    CompactPostings(@Nonnull IndexIdTable ids, @Nonnull IntBuffer keys,
+        @Nonnull IntBuffer offsets, @Nullable IntBuffer postings) {
+        this.ids = ids;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    private static boolean isIdentity(int[] postings) {
+        for (int i = 0; i < postings.length; i++) {
+            if (postings[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of keys
+     */
+    int keyCount() {
+        return keys.limit();
+    }
+
+    /**
+     * @return number of postings
+     */
+    int size() {
+        return offsets.get(keys.limit());
+    }
+
+    /**
+     * @param key key to look up
+     * @return the slot for the key, or -1 if the key is not in this index
+     */
+    int slot(@Nullable Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int id = ids.keyId(key);
+        if (id == 0) {
+            return -1;
+        }
+        return search(keys, 0, keys.limit(), id);
+    }
+
+    /**
+     * @param buffer buffer sorted between from and to
+     * @param from first position to search
+     * @param to first position after the ones to search
+     * @param value value to look for
+     * @return the position of the value, or -1 if it is not present
+     */
+    private static int search(IntBuffer buffer, int from, int to, int value) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int mid = low + high >>> 1;
+            int v = buffer.get(mid);
+            if (v < value) {
+                low = mid + 1;
+            } else if (v > value) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param slot key slot
+     * @return the key
+     */
+    @Nonnull
+    Object key(int slot) {
+        return ids.key(keys.get(slot));
+    }
+
+    /**
+     * @param slot key slot
+     * @return first posting for the key
+     */
+    int start(int slot) {
+        return offsets.get(slot);
+    }
+
+    /**
+     * @param slot key slot
+     * @return first posting after the postings for the key
+     */
+    int end(int slot) {
+        return offsets.get(slot + 1);
+    }
+
+    /**
+     * @param posting posting index
+     * @return the axiom
+     */
+    @Nonnull
+    OWLAxiom axiom(int posting) {
+        IntBuffer p = postings;
+        return ids.axiom(p == null ? posting : p.get(posting));
+    }
+
+    /**
+     * @param slot key slot
+     * @param axiom axiom to look for
+     * @return true if the axiom is among the postings for the key
+     */
+    boolean contains(int slot, @Nonnull OWLAxiom axiom) {
+        int id = ids.axiomId(axiom);
+        if (id < 0) {
+            return false;
+        }
+        IntBuffer p = postings;
+        if (p == null) {
+            return start(slot) <= id && id < end(slot);
+        }
+        return search(p, start(slot), end(slot), id) >= 0;
+    }
+
+    /**
+     * Write the arrays of these postings as read back by
+     * {@link #read(IndexIdTable, IntBuffer)}: the number of keys, the keys, the offsets, and
+     * either -1 or the postings.
+     * 
+     * @param out output
+     * @throws IOException if the output cannot be written
+     */
+    void write(@Nonnull DataOutput out) throws IOException {
+        int count = keys.limit();
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(keys.get(i));
+        }
+        for (int i = 0; i <= count; i++) {
+            out.writeInt(offsets.get(i));
+        }
+        IntBuffer p = postings;
+        if (p == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(p.limit());
+        for (int i = 0; i < p.limit(); i++) {
+            out.writeInt(p.get(i));
+        }
+    }
+
+    /**
+     * Read postings written by {@link #write(DataOutput)}, without copying: the returned postings
+     * are views of the input buffer, whose position is moved past them.
+     * 
+     * @param ids ids for keys and axioms
+     * @param in input
+     * @return postings
+     */
+    @Nonnull
+    static CompactPostings read(@Nonnull IndexIdTable ids, @Nonnull IntBuffer in) {
+        int count = in.get();
+        IntBuffer keys = slice(in, count);
+        IntBuffer offsets = slice(in, count + 1);
+        int size = in.get();
+        IntBuffer postings = size < 0 ? null : slice(in, size);
+        return new CompactPostings(ids, keys, offsets, postings);
+    }
+
+    private static IntBuffer slice(IntBuffer in, int length) {
+        IntBuffer slice = in.slice();
+        slice.limit(length);
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        for (int slot = 0; slot < keyCount(); slot++) {
+            if (slot > 0) {
+                b.append(", ");
+            }
+            b.append(key(slot)).append("=[");
+            for (int i = start(slot); i < end(slot); i++) {
+                if (i > start(slot)) {
+                    b.append(", ");
+                }
+                b.append(axiom(i));
+            }
+            b.append(']');
+        }
+        return b.append('}').toString();
+    }
+}
@@ -0,0 +1,15 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+/**
+ * Implemented by ontologies whose axiom indexes can be switched to a compact, read optimized
+ * storage.
+ */
+public interface HasCompactIndexes {
+
+    /**
+     * Store the initialized axiom indexes as sorted int postings over dense ids rather than hash
+     * maps of sets. Lookups stay correct but allocate the returned axioms; an index reverts to the
+     * hash map form on its first change.
+     */
+    void compactIndexes();
+}
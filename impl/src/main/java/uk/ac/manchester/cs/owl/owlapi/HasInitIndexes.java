@@ -0,0 +1,32 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.AxiomType;
+
+/**
+ * Implemented by ontologies whose axiom indexes are built lazily, on first use, and can be built in
+ * advance instead, so that first queries do not pay for index construction.
+ */
+public interface HasInitIndexes {
+
+    /**
+     * Build all lazily initialized axiom indexes now, in parallel on the common pool.
+     */
+    default void initIndexes() {
+        initIndexes(AxiomType.AXIOM_TYPES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Build the lazily initialized axiom indexes for the specified axiom types now, in parallel on
+     * the pool.
+     * 
+     * @param types axiom types whose indexes should be built
+     * @param pool pool to build the indexes on
+     */
+    void initIndexes(@Nonnull Collection<? extends AxiomType<?>> types,
+        @Nonnull ForkJoinPool pool);
+}
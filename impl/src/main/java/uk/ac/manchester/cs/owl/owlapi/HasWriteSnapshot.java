@@ -0,0 +1,21 @@
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Implemented by ontologies that can write a binary snapshot of their axioms and indexes, to be
+ * memory mapped by {@link OntologySnapshotFactory} instead of being parsed again.
+ */
+public interface HasWriteSnapshot {
+
+    /**
+     * Write a snapshot of this ontology. All lazily built indexes are built first, so that the
+     * snapshot can answer every lookup. Imported ontologies are not included; their import
+     * declarations are, and are loaded again when the snapshot is.
+     * 
+     * @param file file to write; overwritten if it exists
+     * @throws IOException if the file cannot be written
+     */
+    void writeSnapshot(Path file) throws IOException;
+}
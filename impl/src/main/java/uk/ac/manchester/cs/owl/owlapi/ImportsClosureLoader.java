@@ -0,0 +1,335 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.IRIDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLMutableOntology;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyFactory;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.PriorityCollectionSorting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Fetches and parses the imports closure of a document on several threads, ahead of the load that
+ * registers it. Each document is parsed into a private manager that records import requests
+ * instead of following them; the imports found are resolved with the manager's IRI mappers and
+ * parsed in turn. Parsing does not take the manager's lock: the ontologies are detached from it
+ * as soon as they are created, so parses do not contend with each other or with other users of a
+ * concurrent manager. The manager then loads the document as usual and, holding its write lock,
+ * adopts each parsed ontology when its import request comes up, so ontologies are registered in
+ * the same order as a sequential load. A document whose parser looked at its imports while
+ * parsing, for example to type RDF nodes, cannot be adopted and is parsed again once its imports
+ * are in place; documents that failed to parse are loaded the usual way, so errors are reported as
+ * before.
+ * 
+ * @since 4.5.23
+ */
+class ImportsClosureLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportsClosureLoader.class);
+    @Nonnull
+    private final OWLOntologyManagerImpl manager;
+    @Nonnull
+    private final OWLOntologyLoaderConfiguration configuration;
+    @Nonnull
+    private final OWLOntologyLoaderConfiguration discoveryConfiguration;
+    private final List<OWLOntologyFactory> factories = new ArrayList<>();
+    private final List<OWLParserFactory> parsers = new ArrayList<>();
+
+    /**
+     * @param manager manager that will load the documents
+     * @param configuration load configuration
+     */
+    ImportsClosureLoader(@Nonnull OWLOntologyManagerImpl manager,
+        @Nonnull OWLOntologyLoaderConfiguration configuration) {
+        this.manager = manager;
+        this.configuration = configuration;
+        // punning repair and index tuning depend on the imports closure; the manager applies
+        // them after adopting the ontology
+        discoveryConfiguration = configuration.withImportsLoadingThreads(1)
+            .setRepairIllegalPunnings(false).setTrimToSize(false)
+            .withInitializeIndexesAfterLoad(false).withCompactIndexes(false);
+        for (OWLOntologyFactory factory : manager.getOntologyFactories()) {
+            factories.add(new SharedLockFactory(factory));
+        }
+        for (OWLParserFactory parser : manager.getOntologyParsers()) {
+            parsers.add(parser);
+        }
+    }
+
+    /**
+     * Parses a document and its imports closure. Called before the manager takes its write lock,
+     * so that other users of the manager are not held up while the closure is parsed.
+     * 
+     * @param source the document to load
+     * @return parsed documents, by document IRI
+     */
+    @Nonnull
+    Map<IRI, ParsedDocument> parse(@Nonnull OWLOntologyDocumentSource source) {
+        Map<IRI, ParsedDocument> parsed = new HashMap<>();
+        Set<IRI> requested = new HashSet<>();
+        Set<IRI> documents = new HashSet<>();
+        documents.add(source.getDocumentIRI());
+        ForkJoinPool pool = new ForkJoinPool(configuration.getImportsLoadingThreads());
+        try {
+            CompletionService<ParsedDocument> completed = new ExecutorCompletionService<>(pool);
+            completed.submit(() -> parseDocument(source));
+            int pending = 1;
+            while (pending > 0) {
+                ParsedDocument document = completed.take().get();
+                pending--;
+                parsed.put(document.getDocumentIRI(), document);
+                OWLOntology ontology = document.getOntology();
+                if (ontology != null) {
+                    // imports of this ontology by name need not be fetched again
+                    requested.addAll(ontology.getOntologyID().getOntologyIRI().asSet());
+                    requested.addAll(ontology.getOntologyID().getVersionIRI().asSet());
+                }
+                for (OWLImportsDeclaration declaration : document.getImportRequests()) {
+                    IRI iri = declaration.getIRI();
+                    if (configuration.isIgnoredImport(iri) || !requested.add(iri)
+                        || manager.contains(iri)) {
+                        continue;
+                    }
+                    IRI documentIRI =
+                        manager.getDocumentIRIFromMappers(new OWLOntologyID(iri, null));
+                    if (documentIRI != null && documents.add(documentIRI)) {
+                        IRIDocumentSource importSource =
+                            new IRIDocumentSource(documentIRI, null, null);
+                        completed.submit(() -> parseDocument(importSource));
+                        pending++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // whatever has not been parsed is loaded sequentially
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return parsed;
+    }
+
+    @Nonnull
+    private ParsedDocument parseDocument(@Nonnull OWLOntologyDocumentSource source) {
+        DiscoveryManager discovery = new DiscoveryManager(manager.getOWLDataFactory());
+        discovery.getOntologyFactories().add(factories);
+        discovery.getOntologyParsers().add(parsers);
+        try {
+            OWLOntology ontology =
+                discovery.loadOntologyFromOntologyDocument(source, discoveryConfiguration);
+            return new ParsedDocument(source.getDocumentIRI(), ontology,
+                discovery.getOntologyFormat(ontology), discovery.importRequests,
+                discovery.importsRead);
+        } catch (OWLOntologyCreationException | RuntimeException e) {
+            LOGGER.debug("Could not parse {} ahead of loading: {}", source.getDocumentIRI(),
+                e.getMessage());
+            return new ParsedDocument(source.getDocumentIRI(), null, null,
+                Collections.<OWLImportsDeclaration> emptyList(), false);
+        }
+    }
+
+    /**
+     * A document parsed ahead of loading.
+     */
+    static class ParsedDocument {
+
+        @Nonnull
+        private final IRI documentIRI;
+        @Nullable
+        private final OWLOntology ontology;
+        @Nullable
+        private final OWLDocumentFormat format;
+        @Nonnull
+        private final List<OWLImportsDeclaration> importRequests;
+        private final boolean importsRead;
+
+        ParsedDocument(@Nonnull IRI documentIRI, @Nullable OWLOntology ontology,
+            @Nullable OWLDocumentFormat format, @Nonnull List<OWLImportsDeclaration> importRequests,
+            boolean importsRead) {
+            this.documentIRI = documentIRI;
+            this.ontology = ontology;
+            this.format = format;
+            this.importRequests = importRequests;
+            this.importsRead = importsRead;
+        }
+
+        @Nonnull
+        IRI getDocumentIRI() {
+            return documentIRI;
+        }
+
+        @Nullable
+        OWLOntology getOntology() {
+            return ontology;
+        }
+
+        @Nullable
+        OWLDocumentFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * @return import requests made by the parser, in order
+         */
+        @Nonnull
+        List<OWLImportsDeclaration> getImportRequests() {
+            return importRequests;
+        }
+
+        /**
+         * @return true if the ontology can be registered as parsed: the parser did not look at
+         *         imports that were missing at the time
+         */
+        boolean canBeAdopted() {
+            return ontology != null && (importRequests.isEmpty() || !importsRead);
+        }
+    }
+
+    /**
+     * Manager that records import requests instead of loading them, and notes whether the parser
+     * looked at the imports of the ontology being parsed.
+     */
+    private static class DiscoveryManager extends OWLOntologyManagerImpl {
+
+        private static final long serialVersionUID = 40000L;
+        final List<OWLImportsDeclaration> importRequests = new ArrayList<>();
+        boolean importsRead;
+
+        DiscoveryManager(@Nonnull OWLDataFactory dataFactory) {
+            super(dataFactory, new NoOpReadWriteLock(), PriorityCollectionSorting.NEVER);
+        }
+
+        @Override
+        public void ontologyCreated(OWLOntology ontology) {
+            // the shared factories hand out the lock of the loading manager; the ontology is
+            // filled without it, and gets it back when adopted
+            if (ontology instanceof OWLMutableOntology) {
+                ((OWLMutableOntology) ontology).setLock(new NoOpReadWriteLock());
+            }
+            super.ontologyCreated(ontology);
+        }
+
+        @Override
+        public void makeLoadImportRequest(OWLImportsDeclaration declaration) {
+            importRequests.add(declaration);
+        }
+
+        @Override
+        public void makeLoadImportRequest(OWLImportsDeclaration declaration,
+            OWLOntologyLoaderConfiguration configuration) {
+            importRequests.add(declaration);
+        }
+
+        @Override
+        public OWLOntology getImportedOntology(OWLImportsDeclaration declaration) {
+            importsRead = true;
+            return super.getImportedOntology(declaration);
+        }
+
+        @Override
+        public Set<OWLOntology> getDirectImports(OWLOntology ontology) {
+            importsRead = true;
+            return super.getDirectImports(ontology);
+        }
+
+        @Override
+        public Set<OWLOntology> getImports(OWLOntology ontology) {
+            importsRead = true;
+            return super.getImports(ontology);
+        }
+
+        @Override
+        public Set<OWLOntology> getImportsClosure(OWLOntology ontology) {
+            importsRead = true;
+            return super.getImportsClosure(ontology);
+        }
+
+        @Override
+        public List<OWLOntology> getSortedImportsClosure(OWLOntology ontology) {
+            importsRead = true;
+            return super.getSortedImportsClosure(ontology);
+        }
+    }
+
+    /**
+     * Factory that does not pass the private manager's lock on to the manager's factory, whose
+     * ontology builder is shared with the loading manager.
+     */
+    private static class SharedLockFactory implements OWLOntologyFactory {
+
+        private static final long serialVersionUID = 40000L;
+        private final OWLOntologyFactory delegate;
+
+        SharedLockFactory(OWLOntologyFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean canCreateFromDocumentIRI(IRI documentIRI) {
+            return delegate.canCreateFromDocumentIRI(documentIRI);
+        }
+
+        @Override
+        public boolean canLoad(OWLOntologyDocumentSource documentSource) {
+            return delegate.canLoad(documentSource);
+        }
+
+        @Override
+        public OWLOntology createOWLOntology(OWLOntologyManager manager, OWLOntologyID ontologyID,
+            IRI documentIRI, OWLOntologyCreationHandler handler)
+            throws OWLOntologyCreationException {
+            return delegate.createOWLOntology(manager, ontologyID, documentIRI, handler);
+        }
+
+        @Override
+        public OWLOntology loadOWLOntology(OWLOntologyManager manager,
+            OWLOntologyDocumentSource documentSource, OWLOntologyCreationHandler handler,
+            OWLOntologyLoaderConfiguration loaderConfiguration)
+            throws OWLOntologyCreationException {
+            return delegate.loadOWLOntology(manager, documentSource, handler,
+                loaderConfiguration);
+        }
+    }
+}
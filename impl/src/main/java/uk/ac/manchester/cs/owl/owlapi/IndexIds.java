@@ -0,0 +1,148 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import com.carrotsearch.hppcrt.maps.ObjectIntHashMap;
+
+/**
+ * Dense int ids for the keys and axioms of compacted indexes. Ids are shared by all the indexes of
+ * an {@link Internals} instance, so that a key or an axiom appearing in many indexes is stored
+ * once. Axiom ids follow the order of the axioms passed in; key ids are assigned by
+ * {@link #intern(Object)} while compacting, and do not change once the indexes using them have
+ * been compacted.
+ * 
+ * @since 4.5.23
+ */
+final class IndexIds implements IndexIdTable {
+
+    /** Key ids start at 1; 0 is the missing value of the map. */
+    @Nonnull
+    private final ObjectIntHashMap<Object> keyIds = new ObjectIntHashMap<>();
+    @Nonnull
+    private Object[] keys = new Object[1024];
+    private int keyCount = 0;
+    @Nonnull
+    private final OWLAxiom[] axioms;
+    /**
+     * Axiom ids sorted by the hash code of their axiom, so that an axiom is found by binary search
+     * on its hash code; this takes one int per axiom, where a hash map would take several, and
+     * axioms cache their hash codes.
+     */
+    @Nonnull
+    private final int[] idsByHash;
+
+    /**
+     * @param axioms all axioms that can appear in the indexes to compact
+     */
+    IndexIds(@Nonnull Collection<? extends OWLAxiom> axioms) {
+        this.axioms = axioms.toArray(new OWLAxiom[axioms.size()]);
+        long[] packed = new long[this.axioms.length];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = (long) this.axioms[i].hashCode() << 32 | i;
+        }
+        Arrays.sort(packed);
+        idsByHash = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            idsByHash[i] = (int) packed[i];
+        }
+    }
+
+    /**
+     * @param key key to add
+     * @return the id of the key
+     */
+    int intern(@Nonnull Object key) {
+        int id = keyIds.get(key);
+        if (id == 0) {
+            keyCount++;
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[keyCount] = key;
+            keyIds.put(key, keyCount);
+            id = keyCount;
+        }
+        return id;
+    }
+
+    /**
+     * Trim the key table; no more keys can be added after this call, which must happen before the
+     * ids are shared with readers.
+     */
+    void sealKeys() {
+        keys = Arrays.copyOf(keys, keyCount + 1);
+    }
+
+    /**
+     * @return number of key ids; ids go from 1 to this number
+     */
+    int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * @return number of axiom ids; ids go from 0 to this number, excluded
+     */
+    int axiomCount() {
+        return axioms.length;
+    }
+
+    @Override
+    public int keyId(@Nonnull Object key) {
+        return keyIds.get(key);
+    }
+
+    @Override
+    @Nonnull
+    public Object key(int id) {
+        return keys[id];
+    }
+
+    @Override
+    public int axiomId(@Nonnull OWLAxiom axiom) {
+        int hash = axiom.hashCode();
+        int low = 0;
+        int high = idsByHash.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (axioms[idsByHash[middle]].hashCode() < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < idsByHash.length; i++) {
+            OWLAxiom candidate = axioms[idsByHash[i]];
+            if (candidate.hashCode() != hash) {
+                break;
+            }
+            if (candidate.equals(axiom)) {
+                return idsByHash[i];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @Nonnull
+    public OWLAxiom axiom(int id) {
+        return axioms[id];
+    }
+}
@@ -67,11 +67,14 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -369,6 +372,138 @@ public class Internals implements Serializable {
         return false;
     }
 
+    /**
+     * @return the indexes that are built on first use; the class axioms by class index is not
+     *         included, since it is built from other indexes
+     */
+    @Nonnull
+    protected List<MapPointer<?, ?>> lazyIndexes() {
+        return Arrays.asList(classAssertionAxiomsByClass,
+            annotationAssertionAxiomsBySubject,
+            subClassAxiomsBySubPosition,
+            subClassAxiomsBySuperPosition,
+            objectSubPropertyAxiomsBySubPosition,
+            objectSubPropertyAxiomsBySuperPosition,
+            dataSubPropertyAxiomsBySubPosition,
+            dataSubPropertyAxiomsBySuperPosition,
+            equivalentClassesAxiomsByClass,
+            disjointClassesAxiomsByClass,
+            disjointUnionAxiomsByClass,
+            hasKeyAxiomsByClass,
+            equivalentObjectPropertyAxiomsByProperty,
+            disjointObjectPropertyAxiomsByProperty,
+            objectPropertyDomainAxiomsByProperty,
+            objectPropertyRangeAxiomsByProperty,
+            functionalObjectPropertyAxiomsByProperty,
+            inverseFunctionalPropertyAxiomsByProperty,
+            symmetricPropertyAxiomsByProperty,
+            asymmetricPropertyAxiomsByProperty,
+            reflexivePropertyAxiomsByProperty,
+            irreflexivePropertyAxiomsByProperty,
+            transitivePropertyAxiomsByProperty,
+            inversePropertyAxiomsByProperty,
+            equivalentDataPropertyAxiomsByProperty,
+            disjointDataPropertyAxiomsByProperty,
+            dataPropertyDomainAxiomsByProperty,
+            dataPropertyRangeAxiomsByProperty,
+            functionalDataPropertyAxiomsByProperty,
+            classAssertionAxiomsByIndividual,
+            objectPropertyAssertionsByIndividual,
+            dataPropertyAssertionsByIndividual,
+            negativeObjectPropertyAssertionAxiomsByIndividual,
+            negativeDataPropertyAssertionAxiomsByIndividual,
+            differentIndividualsAxiomsByIndividual,
+            sameIndividualsAxiomsByIndividual);
+    }
+
+    /**
+     * Builds all lazily initialized indexes now rather than on first use. Indexes are built
+     * concurrently on the pool, and large indexes visit their axioms in parallel chunks.
+     * 
+     * @param pool pool to build the indexes on
+     */
+    public void initIndexes(@Nonnull ForkJoinPool pool) {
+        initIndexes(AXIOM_TYPES, pool);
+    }
+
+    /**
+     * Builds the lazily initialized indexes for the specified axiom types now rather than on first
+     * use. Indexes are built concurrently on the pool, and large indexes visit their axioms in
+     * parallel chunks.
+     * 
+     * @param types axiom types whose indexes should be built
+     * @param pool pool to build the indexes on
+     */
+    public void initIndexes(@Nonnull Collection<? extends AxiomType<?>> types,
+        @Nonnull ForkJoinPool pool) {
+        checkNotNull(types, "types cannot be null");
+        checkNotNull(pool, "pool cannot be null");
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (MapPointer<?, ?> p : lazyIndexes()) {
+            if (!p.isInitialized() && types.contains(p.getType())) {
+                tasks.add(pool.submit(() -> p.init(pool)));
+            }
+        }
+        tasks.forEach(ForkJoinTask::join);
+        // class axioms by class is built from the class axiom indexes, so it goes last
+        if (types.contains(SUBCLASS_OF) || types.contains(EQUIVALENT_CLASSES)
+            || types.contains(DISJOINT_CLASSES) || types.contains(DISJOINT_UNION)) {
+            pool.submit(() -> classAxiomsByClass.init(pool)).join();
+        }
+    }
+
+    /**
+     * Replaces the hash maps of all initialized indexes with compact postings over dense int ids
+     * shared by all indexes; see {@link MapPointer#compact(IndexIds)}. Compacted indexes use much
+     * less memory but materialize the axioms they return on each lookup, and revert to hash maps
+     * on the first change; this suits ontologies that are loaded once and then only queried.
+     * Indexes that are not initialized yet are built as hash maps on first use, so
+     * {@link #initIndexes(ForkJoinPool)} should be called first to compact all of them.
+     */
+    public void compactIndexes() {
+        List<MapPointer<?, ?>> indexes = allIndexes();
+        IndexIds ids = indexIds(indexes, false);
+        for (MapPointer<?, ?> p : indexes) {
+            p.compact(ids);
+        }
+    }
+
+    /**
+     * @return all indexes, in a fixed order: axioms by type, references, declarations, class
+     *         axioms by class, then the lazily built indexes
+     */
+    @Nonnull
+    protected List<MapPointer<?, ?>> allIndexes() {
+        List<MapPointer<?, ?>> indexes = new ArrayList<>(Arrays.asList(axiomsByType,
+            owlClassReferences, owlObjectPropertyReferences, owlDataPropertyReferences,
+            owlIndividualReferences, owlAnonymousIndividualReferences, owlDatatypeReferences,
+            owlAnnotationPropertyReferences, declarationsByEntity, classAxiomsByClass));
+        indexes.addAll(lazyIndexes());
+        return indexes;
+    }
+
+    /**
+     * @param indexes indexes whose keys need ids
+     * @param compacted true if the keys of indexes that are already compacted need ids as well
+     * @return ids for all axioms, in axiom type order, and for the keys of the initialized
+     *         indexes; key ids are sealed
+     */
+    @Nonnull
+    IndexIds indexIds(@Nonnull List<MapPointer<?, ?>> indexes, boolean compacted) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (AxiomType<?> t : AXIOM_TYPES) {
+            axioms.addAll(axiomsByType.getValues(t));
+        }
+        IndexIds ids = new IndexIds(axioms);
+        // axioms are in type order: with the types interned first, the postings of the axioms by
+        // type index are all the axiom ids in order, and need not be stored
+        AXIOM_TYPES.forEach(ids::intern);
+        // all keys must have ids before the first index shares them with readers
+        indexes.forEach(p -> p.internKeys(ids, compacted));
+        ids.sealKeys();
+        return ids;
+    }
+
     /**
      * Trims the capacity of the axiom indexes . An application can use this operation to minimize
      * the storage of the internals instance.
@@ -17,11 +17,18 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
@@ -47,6 +54,10 @@ import uk.ac.manchester.cs.owl.owlapi.util.collections.SmallSet;
 /**
  * * Objects that identify contained maps - so that getting the keys of a specific map does not
  * require a specific method for each map nor does it require the map to be copied and returned.
+ * <p>
+ * By default all access is mutually exclusive. When built with concurrent reads enabled, lookups
+ * share a read lock and do not block each other; additions, removals and lazy initialization take
+ * the write lock, so readers always see a complete index.
  * 
  * @author ignazio
  * @param <K> key
@@ -58,12 +69,22 @@ public class MapPointer<K, V extends OWLAxiom> {
     private final AxiomType<?> type;
     @Nullable
     private final OWLAxiomVisitorEx<?> visitor;
-    private boolean initialized;
+    private volatile boolean initialized;
     @Nonnull
     protected final Internals i;
-    private SoftReference<Set<IRI>> iris;
+    private volatile SoftReference<Set<IRI>> iris;
     private int size = 0;
-    private final ObjectObjectHashMap<K, Collection<V>> map = new ObjectObjectHashMap<>(17, 0.75F);
+    @Nonnull
+    private ObjectObjectHashMap<K, Collection<V>> map = new ObjectObjectHashMap<>(17, 0.75F);
+    /** Non null while the index is compacted; the map is empty meanwhile. */
+    @Nullable
+    private CompactPostings compact;
+    /** Minimum number of axioms per chunk when visiting in parallel. */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    @Nonnull
+    private final Lock readLock;
+    @Nonnull
+    private final Lock writeLock;
 
     /**
      * @param t type of axioms contained
@@ -73,106 +94,279 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v,
         boolean initialized, @Nonnull Internals i) {
+        this(t, v, initialized, i, false);
+    }
+
+    /**
+     * @param t type of axioms contained
+     * @param v visitor
+     * @param initialized true if initialized
+     * @param i internals containing this pointer
+     * @param concurrentReads true if lookups should not block each other
+     */
+    public MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v,
+        boolean initialized, @Nonnull Internals i, boolean concurrentReads) {
         type = t;
         visitor = v;
         this.initialized = initialized;
         this.i = checkNotNull(i, "i cannot be null");
+        if (concurrentReads) {
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+            readLock = lock.readLock();
+            writeLock = lock.writeLock();
+        } else {
+            readLock = new ReentrantLock();
+            writeLock = readLock;
+        }
     }
 
     /**
      * @param e entity
      * @return true if an entity with the same iri as the input exists in the collection
      */
-    public synchronized boolean containsReference(K e) {
-        return map.containsKey(e);
+    public boolean containsReference(K e) {
+        readLock.lock();
+        try {
+            return hasKey(e);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * @param e IRI
      * @return true if an entity with the same iri as the input exists in the collection
      */
-    public synchronized boolean containsReference(IRI e) {
-        Set<IRI> set = null;
-        if (iris != null) {
-            set = iris.get();
-        }
-        if (set == null) {
-            set = initSet();
+    public boolean containsReference(IRI e) {
+        readLock.lock();
+        try {
+            Set<IRI> set = null;
+            SoftReference<Set<IRI>> reference = iris;
+            if (reference != null) {
+                set = reference.get();
+            }
+            if (set == null) {
+                set = initSet();
+            }
+            return set.contains(e);
+        } finally {
+            readLock.unlock();
         }
-        return set.contains(e);
     }
 
     private Set<IRI> initSet() {
         Set<IRI> set = CollectionFactory.createSet();
-        Consumer<ObjectCursor<K>> k = q -> consumer(set, q);
-        map.keys().forEach(k);
+        CompactPostings c = compact;
+        if (c == null) {
+            Consumer<ObjectCursor<K>> k = q -> consumer(set, q);
+            map.keys().forEach(k);
+        } else {
+            for (int slot = 0; slot < c.keyCount(); slot++) {
+                addIRI(set, c.key(slot));
+            }
+        }
+        // concurrent readers might build the same set twice; the set is complete before being
+        // published, so either copy is correct
         iris = new SoftReference<>(set);
         return set;
     }
 
     protected void consumer(Set<IRI> set, ObjectCursor<K> k) {
-        if (k.value instanceof OWLEntity) {
-            set.add(((OWLEntity) k.value).getIRI());
-        } else if (k.value instanceof IRI) {
-            set.add((IRI) k.value);
+        addIRI(set, k.value);
+    }
+
+    private static void addIRI(Set<IRI> set, @Nullable Object k) {
+        if (k instanceof OWLEntity) {
+            set.add(((OWLEntity) k).getIRI());
+        } else if (k instanceof IRI) {
+            set.add((IRI) k);
         }
     }
 
     /**
      * @return true if initialized
      */
-    public synchronized boolean isInitialized() {
+    public boolean isInitialized() {
         return initialized;
     }
 
     /**
      * @return the map pointer
      */
-    @SuppressWarnings({"unchecked", "null"})
-    public synchronized MapPointer<K, V> init() {
+    public MapPointer<K, V> init() {
+        return init(null);
+    }
+
+    /**
+     * Initialize this pointer. If a pool is specified and there are enough axioms to index, the
+     * axioms are visited in parallel chunks on the pool; the keys are then merged into the map in
+     * axiom order, so the result is the same as for a sequential initialization.
+     * 
+     * @param pool pool for visiting the axioms; null to initialize on the calling thread
+     * @return the map pointer
+     */
+    public MapPointer<K, V> init(@Nullable ForkJoinPool pool) {
         if (initialized) {
             return this;
         }
-        initialized = true;
+        writeLock.lock();
+        try {
+            if (!initialized) {
+                fill(pool);
+                iris = null;
+                // only publish once the map is complete, so that readers checking the flag
+                // without holding the lock never see a partial index
+                initialized = true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * @return the type of axioms indexed by this pointer, or null if the pointer is not built from
+     *         a single axiom type
+     */
+    @Nullable
+    public AxiomType<?> getType() {
+        return type;
+    }
+
+    /**
+     * Populate the map from the axioms already in the ontology. Called at most once, with the
+     * write lock held; subclasses that need extra content should add it here through
+     * {@link #putInternal(Object, OWLAxiom)}.
+     * 
+     * @param pool pool for visiting the axioms; null to visit on the calling thread
+     */
+    @SuppressWarnings({"unchecked", "null"})
+    protected void fill(@Nullable ForkJoinPool pool) {
         if (visitor == null) {
-            return this;
+            return;
         }
-        if (visitor instanceof InitVisitor) {
-            for (V ax : (Collection<V>) i.getAxiomsByType().getValues(type)) {
-                K key = ax.accept((InitVisitor<K>) visitor);
-                // this can only be null because the visitor return nulls in
-                // methods that do not declare it
-                if (key != null) {
-                    putInternal(key, ax);
-                }
+        List<V> axioms = (List<V>) i.getAxiomsByType().getValues(type);
+        if (pool == null || pool.getParallelism() < 2 || axioms.size() < PARALLEL_THRESHOLD) {
+            for (V ax : axioms) {
+                merge(keys(ax), ax);
             }
+            return;
+        }
+        Object[] keys = new Object[axioms.size()];
+        KeyCollector collector = new KeyCollector(axioms, keys, 0, keys.length);
+        if (ForkJoinTask.getPool() == pool) {
+            collector.invoke();
+        } else {
+            pool.invoke(collector);
+        }
+        for (int index = 0; index < keys.length; index++) {
+            merge(keys[index], axioms.get(index));
+        }
+    }
+
+    /**
+     * @param ax axiom to visit
+     * @return the key for the axiom (possibly null) or the collection of keys, depending on the
+     *         visitor
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Object keys(V ax) {
+        if (visitor instanceof InitVisitor) {
+            // this can only be null because the visitor return nulls in
+            // methods that do not declare it
+            return ax.accept((InitVisitor<K>) visitor);
+        }
+        return ax.accept((InitCollectionVisitor<K>) visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void merge(@Nullable Object keys, V ax) {
+        if (keys == null) {
+            return;
+        }
+        if (visitor instanceof InitVisitor) {
+            putInternal((K) keys, ax);
         } else {
-            for (V ax : (Collection<V>) i.getAxiomsByType().getValues(type)) {
-                Collection<K> keys = ax.accept((InitCollectionVisitor<K>) visitor);
-                for (K key : keys) {
-                    putInternal(key, ax);
+            for (K key : (Collection<K>) keys) {
+                putInternal(key, ax);
+            }
+        }
+    }
+
+    /**
+     * Computes the keys for a range of axioms, splitting the range until it is small enough.
+     * Visitors are stateless, so chunks can be visited concurrently; each chunk writes to its own
+     * slots in the result array.
+     */
+    private class KeyCollector extends RecursiveAction {
+
+        private static final long serialVersionUID = 40000L;
+        private final List<V> axioms;
+        private final Object[] keys;
+        private final int from;
+        private final int to;
+
+        KeyCollector(List<V> axioms, Object[] keys, int from, int to) {
+            this.axioms = axioms;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int index = from; index < to; index++) {
+                    keys[index] = keys(axioms.get(index));
                 }
+                return;
             }
+            int middle = (from + to) >>> 1;
+            invokeAll(new KeyCollector(axioms, keys, from, middle),
+                new KeyCollector(axioms, keys, middle, to));
         }
-        return this;
     }
 
     @Nonnull
     @Override
-    public synchronized String toString() {
-        return initialized + map.toString();
+    public String toString() {
+        readLock.lock();
+        try {
+            CompactPostings c = compact;
+            return initialized + (c == null ? map.toString() : c.toString());
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * @return key set
      */
     @Nonnull
-    public synchronized List<K> keySet() {
+    public List<K> keySet() {
         init();
+        readLock.lock();
+        try {
+            return keyList();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private List<K> keyList() {
         List<K> keySet = new ArrayList<>();
-        ObjectProcedure<K> predicate = keySet::add;
-        map.keys().forEach(predicate);
-        assert keySet != null;
+        CompactPostings c = compact;
+        if (c == null) {
+            ObjectProcedure<K> predicate = keySet::add;
+            map.keys().forEach(predicate);
+        } else {
+            for (int slot = 0; slot < c.keyCount(); slot++) {
+                keySet.add((K) c.key(slot));
+            }
+        }
         return keySet;
     }
 
@@ -181,9 +375,14 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return value
      */
     @Nonnull
-    public synchronized List<V> getValues(K key) {
+    public List<V> getValues(K key) {
         init();
-        return get(key);
+        readLock.lock();
+        try {
+            return get(key);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -193,31 +392,41 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @return set of values
      */
     @Nonnull
-    public synchronized <T> Collection<OWLAxiom> filterAxioms(@Nonnull OWLAxiomSearchFilter filter,
+    public <T> Collection<OWLAxiom> filterAxioms(@Nonnull OWLAxiomSearchFilter filter,
         @Nonnull T key) {
         init();
-        List<OWLAxiom> toReturn = new ArrayList<>();
-        for (AxiomType<?> at : filter.getAxiomTypes()) {
-            Collection<V> collection = map.get((K) at);
-            if (collection != null) {
-                for (OWLAxiom ax : collection) {
-                    assert ax != null;
-                    if (filter.pass(ax, key)) {
-                        toReturn.add(ax);
+        readLock.lock();
+        try {
+            List<OWLAxiom> toReturn = new ArrayList<>();
+            for (AxiomType<?> at : filter.getAxiomTypes()) {
+                Collection<V> collection = lookup((K) at);
+                if (collection != null) {
+                    for (OWLAxiom ax : collection) {
+                        assert ax != null;
+                        if (filter.pass(ax, key)) {
+                            toReturn.add(ax);
+                        }
                     }
                 }
             }
+            return toReturn;
+        } finally {
+            readLock.unlock();
         }
-        return toReturn;
     }
 
     /**
      * @param key key to look up
      * @return true if there are values for key
      */
-    public synchronized boolean hasValues(K key) {
+    public boolean hasValues(K key) {
         init();
-        return map.containsKey(key);
+        readLock.lock();
+        try {
+            return hasKey(key);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -225,13 +434,18 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param value value to add
      * @return true if addition happens
      */
-    public synchronized boolean put(K key, V value) {
-        // lazy init: no elements added until a recall is made
-        if (!initialized) {
-            return false;
+    public boolean put(K key, V value) {
+        writeLock.lock();
+        try {
+            // lazy init: no elements added until a recall is made
+            if (!initialized) {
+                return false;
+            }
+            iris = null;
+            return putInternal(key, value);
+        } finally {
+            writeLock.unlock();
         }
-        iris = null;
-        return putInternal(key, value);
     }
 
     /**
@@ -239,21 +453,31 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param value value to remove
      * @return true if removal happens
      */
-    public synchronized boolean remove(K key, V value) {
-        if (!initialized) {
-            return false;
+    public boolean remove(K key, V value) {
+        writeLock.lock();
+        try {
+            if (!initialized) {
+                return false;
+            }
+            iris = null;
+            return removeInternal(key, value);
+        } finally {
+            writeLock.unlock();
         }
-        iris = null;
-        return removeInternal(key, value);
     }
 
     /**
      * @param key key to look up
      * @return true if there are values for key
      */
-    public synchronized boolean containsKey(K key) {
+    public boolean containsKey(K key) {
         init();
-        return map.containsKey(key);
+        readLock.lock();
+        try {
+            return hasKey(key);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -261,40 +485,69 @@ public class MapPointer<K, V extends OWLAxiom> {
      * @param value value to look up
      * @return true if key and value are contained
      */
-    public synchronized boolean contains(K key, V value) {
+    public boolean contains(K key, V value) {
         init();
-        return containsEntry(key, value);
+        readLock.lock();
+        try {
+            return containsEntry(key, value);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * @return all values contained
      */
     @Nonnull
-    public synchronized List<V> getAllValues() {
+    public List<V> getAllValues() {
         init();
-        return values();
+        readLock.lock();
+        try {
+            return values();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * @return number of mapping contained
      */
-    public synchronized int size() {
+    public int size() {
         init();
-        return size;
+        readLock.lock();
+        try {
+            return size;
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * @return true if empty
      */
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         init();
-        return size == 0;
+        readLock.lock();
+        try {
+            return size == 0;
+        } finally {
+            readLock.unlock();
+        }
     }
 
-    private boolean putInternal(@Nullable K k, V v) {
+    /**
+     * Add a mapping without checking initialization or locking; the caller must hold the write
+     * lock.
+     * 
+     * @param k key
+     * @param v value
+     * @return true if the mapping was added
+     */
+    protected boolean putInternal(@Nullable K k, V v) {
         if (k == null) {
             return false;
         }
+        thaw();
         Collection<V> set = map.get(k);
         if (set == null) {
             set = Collections.singleton(v);
@@ -327,6 +580,11 @@ public class MapPointer<K, V extends OWLAxiom> {
     }
 
     private boolean containsEntry(K k, V v) {
+        CompactPostings c = compact;
+        if (c != null) {
+            int slot = c.slot(k);
+            return slot >= 0 && c.contains(slot, v);
+        }
         Collection<V> t = map.get(k);
         if (t == null) {
             return false;
@@ -335,6 +593,7 @@ public class MapPointer<K, V extends OWLAxiom> {
     }
 
     private boolean removeInternal(K k, V v) {
+        thaw();
         Collection<V> t = map.get(k);
         if (t == null) {
             return false;
@@ -361,24 +620,212 @@ public class MapPointer<K, V extends OWLAxiom> {
     @Nonnull
     private List<V> values() {
         List<V> values = new ArrayList<>();
-        ObjectProcedure<? super Collection<V>> p = values::addAll;
-        map.values().forEach(p);
+        CompactPostings c = compact;
+        if (c == null) {
+            ObjectProcedure<? super Collection<V>> p = values::addAll;
+            map.values().forEach(p);
+        } else {
+            for (int slot = 0; slot < c.keyCount(); slot++) {
+                addValues(c, slot, values);
+            }
+        }
         return values;
     }
 
     @Nonnull
     private List<V> get(K k) {
-        Collection<V> t = map.get(k);
+        Collection<V> t = lookup(k);
         if (t == null) {
             return CollectionFactory.emptyList();
         }
-        return new ArrayList<>(t);
+        return t instanceof ArrayList ? (List<V>) t : new ArrayList<>(t);
+    }
+
+    /**
+     * @param k key
+     * @return the values for the key, or null if there are none; for a compacted index, this is a
+     *         new list
+     */
+    @Nullable
+    private Collection<V> lookup(K k) {
+        CompactPostings c = compact;
+        if (c == null) {
+            return map.get(k);
+        }
+        int slot = c.slot(k);
+        if (slot < 0) {
+            return null;
+        }
+        List<V> values = new ArrayList<>(c.end(slot) - c.start(slot));
+        addValues(c, slot, values);
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addValues(CompactPostings c, int slot, List<V> values) {
+        for (int posting = c.start(slot); posting < c.end(slot); posting++) {
+            values.add((V) c.axiom(posting));
+        }
+    }
+
+    private boolean hasKey(K k) {
+        CompactPostings c = compact;
+        if (c == null) {
+            return map.containsKey(k);
+        }
+        return c.slot(k) >= 0;
+    }
+
+    /**
+     * Add the keys of this index to the ids, so that the index can be compacted with them.
+     * 
+     * @param ids ids to fill
+     * @param compacted true if the keys of a compacted index should be added as well
+     */
+    void internKeys(IndexIds ids, boolean compacted) {
+        readLock.lock();
+        try {
+            if (initialized && (compact == null || compacted)) {
+                keyList().forEach(ids::intern);
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the hash map of an initialized index with compact postings over shared int ids. The
+     * compacted index answers lookups by materializing the axioms it returns; the first addition
+     * or removal turns it back into a hash map. An index is left as it is if any of its keys or
+     * axioms has no id, e.g., because the index changed after the ids were assigned.
+     * 
+     * @param ids ids for keys and axioms
+     * @return true if the index is compacted
+     */
+    boolean compact(IndexIds ids) {
+        writeLock.lock();
+        try {
+            if (!initialized || compact != null) {
+                return compact != null;
+            }
+            CompactPostings c = postings(ids);
+            if (c == null) {
+                return false;
+            }
+            compact = c;
+            map = new ObjectObjectHashMap<>();
+            iris = null;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Build compact postings for the content of this index without changing it, e.g., to write
+     * them to an ontology snapshot.
+     * 
+     * @param ids ids for keys and axioms
+     * @return the postings, or null if the index is not initialized or any of its keys or axioms
+     *         has no id
+     */
+    @Nullable
+    CompactPostings snapshot(IndexIds ids) {
+        readLock.lock();
+        try {
+            return initialized ? postings(ids) : null;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the content of this index with postings read from an ontology snapshot; the index
+     * is initialized afterwards.
+     * 
+     * @param c postings
+     */
+    void restore(CompactPostings c) {
+        writeLock.lock();
+        try {
+            compact = c;
+            map = new ObjectObjectHashMap<>();
+            size = c.size();
+            iris = null;
+            initialized = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @param ids ids for keys and axioms
+     * @return compact postings for the current content, or null if any key or axiom has no id;
+     *         the caller must hold a lock
+     */
+    @Nullable
+    private CompactPostings postings(IndexIds ids) {
+        List<K> keys = keyList();
+        // sort keys by id, remembering their position in the list in the low bits
+        long[] order = new long[keys.size()];
+        for (int index = 0; index < order.length; index++) {
+            int id = ids.keyId(verifyNotNull(keys.get(index)));
+            if (id == 0) {
+                return null;
+            }
+            order[index] = (long) id << 32 | index;
+        }
+        Arrays.sort(order);
+        int[] keyIds = new int[order.length];
+        int[] offsets = new int[order.length + 1];
+        int[] postings = new int[size];
+        int posting = 0;
+        for (int slot = 0; slot < order.length; slot++) {
+            keyIds[slot] = (int) (order[slot] >>> 32);
+            int start = posting;
+            for (V v : verifyNotNull(lookup(keys.get((int) order[slot])))) {
+                int id = ids.axiomId(verifyNotNull(v));
+                if (id < 0) {
+                    return null;
+                }
+                if (posting == postings.length) {
+                    postings = Arrays.copyOf(postings, posting * 2 + 16);
+                }
+                postings[posting++] = id;
+            }
+            Arrays.sort(postings, start, posting);
+            offsets[slot + 1] = posting;
+        }
+        if (posting < postings.length) {
+            postings = Arrays.copyOf(postings, posting);
+        }
+        return new CompactPostings(ids, keyIds, offsets, postings);
+    }
+
+    /**
+     * Turn a compacted index back into a hash map; the caller must hold the write lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void thaw() {
+        CompactPostings c = compact;
+        if (c == null) {
+            return;
+        }
+        compact = null;
+        size = 0;
+        map = new ObjectObjectHashMap<>(Math.max(17, c.keyCount() * 4 / 3 + 1), 0.75F);
+        for (int slot = 0; slot < c.keyCount(); slot++) {
+            K key = (K) c.key(slot);
+            for (int posting = c.start(slot); posting < c.end(slot); posting++) {
+                putInternal(key, (V) c.axiom(posting));
+            }
+        }
     }
 
     /**
      * Trim internal map to size.
      */
-    public synchronized void trimToSize() {
+    public void trimToSize() {
         // if (initialized) {
         // map.trimToSize();
         // neverTrimmed = false;
@@ -17,6 +17,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.IRI;
@@ -38,6 +39,8 @@ import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLPropertyExpressionVisitor;
 import org.semanticweb.owlapi.model.OWLPropertyExpressionVisitorEx;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.HasSortKey;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
 import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
@@ -46,11 +49,13 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
  * @since 3.0.0
  */
 public class OWLAnnotationPropertyImpl extends OWLObjectImplWithoutEntityAndAnonCaching
-    implements OWLAnnotationProperty {
+    implements OWLAnnotationProperty, HasSortKey {
 
     private static final long serialVersionUID = 40000L;
     @Nonnull
     private final IRI iri;
+    @Nullable
+    private transient String sortKey;
 
     @Override
     protected int index() {
@@ -69,6 +74,17 @@ public class OWLAnnotationPropertyImpl extends OWLObjectImplWithoutEntityAndAnon
         return iri;
     }
 
+    @Override
+    @Nonnull
+    public String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = OWLObjectSortKeys.computeSortKey(this);
+            sortKey = key;
+        }
+        return key;
+    }
+
     @Override
     public EntityType<?> getEntityType() {
         return EntityType.ANNOTATION_PROPERTY;
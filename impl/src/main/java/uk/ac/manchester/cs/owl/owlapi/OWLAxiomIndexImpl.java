@@ -2,12 +2,16 @@ package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
 import static org.semanticweb.owlapi.model.parameters.Navigation.*;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.annotation.Nonnull;
 
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
@@ -65,17 +69,40 @@ import org.semanticweb.owlapi.search.Filters;
  */
 public abstract class OWLAxiomIndexImpl extends
         OWLObjectImplWithEntityAndAnonCaching implements OWLAxiomIndex,
-        HasTrimToSize {
+        HasTrimToSize, HasInitIndexes, HasCompactIndexes {
 
     private static final long serialVersionUID = 40000L;
     @Nonnull
-    protected final Internals ints = new Internals();
+    protected final Internals ints;
+
+    protected OWLAxiomIndexImpl() {
+        this(new Internals());
+    }
+
+    /**
+     * @param ints
+     *        index storage for this ontology
+     */
+    protected OWLAxiomIndexImpl(@Nonnull Internals ints) {
+        this.ints = checkNotNull(ints, "ints cannot be null");
+    }
 
     @Override
     public void trimToSize() {
         ints.trimToSize();
     }
 
+    @Override
+    public void initIndexes(Collection<? extends AxiomType<?>> types,
+            ForkJoinPool pool) {
+        ints.initIndexes(types, pool);
+    }
+
+    @Override
+    public void compactIndexes() {
+        ints.compactIndexes();
+    }
+
     @Override
     public Set<OWLDeclarationAxiom> getDeclarationAxioms(OWLEntity subject) {
         return getAxioms(OWLDeclarationAxiom.class, subject, EXCLUDED,
@@ -18,6 +18,7 @@ import java.io.Serializable;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.ClassExpressionType;
 import org.semanticweb.owlapi.model.EntityType;
@@ -42,6 +43,8 @@ import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.util.HasSortKey;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
 import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
@@ -49,7 +52,8 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
  */
-public class OWLClassImpl extends OWLClassExpressionImpl implements OWLClass, Serializable {
+public class OWLClassImpl extends OWLClassExpressionImpl
+    implements OWLClass, HasSortKey, Serializable {
 
     private static final long serialVersionUID = 40000L;
 
@@ -60,6 +64,8 @@ public class OWLClassImpl extends OWLClassExpressionImpl implements OWLClass, Se
 
     @Nonnull
     private final IRI iri;
+    @Nullable
+    private transient String sortKey;
     private final boolean isThing;
     private final boolean isNothing;
 
@@ -113,6 +119,17 @@ public class OWLClassImpl extends OWLClassExpressionImpl implements OWLClass, Se
         return iri;
     }
 
+    @Override
+    @Nonnull
+    public String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = OWLObjectSortKeys.computeSortKey(this);
+            sortKey = key;
+        }
+        return key;
+    }
+
     @Override
     public boolean isBuiltIn() {
         return isOWLThing() || isOWLNothing();
@@ -17,6 +17,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.IRI;
@@ -38,6 +39,8 @@ import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLPropertyExpressionVisitor;
 import org.semanticweb.owlapi.model.OWLPropertyExpressionVisitorEx;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.HasSortKey;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
 import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
@@ -45,11 +48,14 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @since 2.0.0
  */
-public class OWLDataPropertyImpl extends OWLPropertyExpressionImpl implements OWLDataProperty {
+public class OWLDataPropertyImpl extends OWLPropertyExpressionImpl
+    implements OWLDataProperty, HasSortKey {
 
     private static final long serialVersionUID = 40000L;
     @Nonnull
     private final IRI iri;
+    @Nullable
+    private transient String sortKey;
     private final boolean builtin;
 
     @Override
@@ -114,6 +120,17 @@ public class OWLDataPropertyImpl extends OWLPropertyExpressionImpl implements OW
         return iri;
     }
 
+    @Override
+    @Nonnull
+    public String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = OWLObjectSortKeys.computeSortKey(this);
+            sortKey = key;
+        }
+        return key;
+    }
+
     @Override
     public boolean isBuiltIn() {
         return builtin;
@@ -17,6 +17,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.DataRangeType;
 import org.semanticweb.owlapi.model.EntityType;
@@ -41,6 +42,8 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.HasSortKey;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
 import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -51,11 +54,13 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
  * @since 2.0.0
  */
 public class OWLDatatypeImpl extends OWLObjectImplWithoutEntityAndAnonCaching
-        implements OWLDatatype {
+        implements OWLDatatype, HasSortKey {
 
     private static final long serialVersionUID = 40000L;
     @Nonnull
     private final IRI iri;
+    @Nullable
+    private transient String sortKey;
     private final boolean top;
     private final boolean builtin;
 
@@ -105,6 +110,17 @@ public class OWLDatatypeImpl extends OWLObjectImplWithoutEntityAndAnonCaching
         return iri;
     }
 
+    @Override
+    @Nonnull
+    public String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = OWLObjectSortKeys.computeSortKey(this);
+            sortKey = key;
+        }
+        return key;
+    }
+
     @Override
     public boolean isBuiltIn() {
         return builtin;
@@ -24,6 +24,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -77,6 +78,7 @@ import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
 import org.semanticweb.owlapi.model.OWLPrimitive;
@@ -99,21 +101,21 @@ import com.github.benmanes.caffeine.cache.LoadingCache;
  * @since 2.0.0
  */
 public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
-    implements OWLOntology, Serializable {
+    implements OWLOntology, HasWriteSnapshot, Serializable {
 
     private static final long serialVersionUID = 40000L;
     // @formatter:off
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLClassAxiom>>          ontgenAxioms  =                    build(OWLImmutableOntologyImpl::buildGenAxioms);
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLEntity>>              ontsignatures =                    build(OWLImmutableOntologyImpl::build);
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLAnonymousIndividual>> ontanonCaches =                    build(key -> asCacheable(key.ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLClass>>              ontclassesSignatures =              build(key -> asCacheable(key.ints.get(OWLClass.class,               OWLAxiom.class).get().keySet()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLDataProperty>>       ontdataPropertySignatures =         build(key -> asCacheable(key.ints.get(OWLDataProperty.class,        OWLAxiom.class).get().keySet()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLObjectProperty>>     ontobjectPropertySignatures =       build(key -> asCacheable(key.ints.get(OWLObjectProperty.class,      OWLAxiom.class).get().keySet()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLDatatype>>           ontdatatypeSignatures =             build(key -> asCacheable(Stream.concat(
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLClassAxiom>>          ontgenAxioms  =                    cache(OWLImmutableOntologyImpl::buildGenAxioms);
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLEntity>>              ontsignatures =                    cache(OWLImmutableOntologyImpl::build);
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLAnonymousIndividual>> ontanonCaches =                    cache(key -> asCacheable(key.ints.get(OWLAnonymousIndividual.class, OWLAxiom.class).get().keySet()));
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLClass>>              ontclassesSignatures =              cache(key -> asCacheable(key.ints.get(OWLClass.class,               OWLAxiom.class).get().keySet()));
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLDataProperty>>       ontdataPropertySignatures =         cache(key -> asCacheable(key.ints.get(OWLDataProperty.class,        OWLAxiom.class).get().keySet()));
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLObjectProperty>>     ontobjectPropertySignatures =       cache(key -> asCacheable(key.ints.get(OWLObjectProperty.class,      OWLAxiom.class).get().keySet()));
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLDatatype>>           ontdatatypeSignatures =             cache(key -> asCacheable(Stream.concat(
         key.ints.get(OWLDatatype.class, OWLAxiom.class).get().keySet().stream(), 
         key.ints.getOntologyAnnotations(false).stream().flatMap(x->x.getDatatypesInSignature().stream())).collect(Collectors.toSet())));
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLNamedIndividual>>    ontindividualSignatures =           build(key -> asCacheable(key.ints.get(OWLNamedIndividual.class,     OWLAxiom.class).get().keySet()));
-    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLAnnotationProperty>> ontannotationPropertiesSignatures = build(key -> asCacheable(Stream.concat(
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLNamedIndividual>>    ontindividualSignatures =           cache(key -> asCacheable(key.ints.get(OWLNamedIndividual.class,     OWLAxiom.class).get().keySet()));
+    protected static LoadingCache<OWLImmutableOntologyImpl, Set<OWLAnnotationProperty>> ontannotationPropertiesSignatures = cache(key -> asCacheable(Stream.concat(
         key.ints.get(OWLAnnotationProperty.class, OWLAxiom.class, Navigation.IN_SUB_POSITION).get().keySet().stream(),
         key.ints.getOntologyAnnotations(false).stream().flatMap(a->a.getAnnotationPropertiesInSignature().stream())).collect(Collectors.toSet())));
     // @formatter:on
@@ -121,12 +123,26 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
         return Caffeine.newBuilder().weakKeys().maximumSize(size()).build(c);
     }
 
+    private static <T> LoadingCache<OWLImmutableOntologyImpl, T> cache(
+        CacheLoader<OWLImmutableOntologyImpl, T> c) {
+        return build(key -> {
+            key.cachesInUse = true;
+            return c.load(key);
+        });
+    }
+
     protected static long size() {
         return ConfigurationOptions.CACHE_SIZE.getValue(Integer.class, Collections.emptyMap())
             .longValue();
     }
 
     protected static void invalidateOntologyCaches(OWLImmutableOntologyImpl o) {
+        // nothing to invalidate unless a cache was filled since the last invalidation; this keeps
+        // adding axioms cheap while an ontology is loaded
+        if (!o.cachesInUse) {
+            return;
+        }
+        o.cachesInUse = false;
         ontgenAxioms.invalidate(o);
         ontsignatures.invalidate(o);
         ontanonCaches.invalidate(o);
@@ -159,6 +175,8 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
     protected OWLOntologyManager manager;
     @Nonnull
     protected OWLOntologyID ontologyID;
+    /** True if one of the static caches may hold an entry for this ontology. */
+    private transient volatile boolean cachesInUse;
 
     private void writeObject(ObjectOutputStream stream) throws IOException {
         stream.writeObject(ontologyID);
@@ -181,10 +199,41 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl
      */
     public OWLImmutableOntologyImpl(@Nonnull OWLOntologyManager manager,
         @Nonnull OWLOntologyID ontologyID) {
+        super(createInternals(checkNotNull(manager, "manager cannot be null")));
+        this.manager = manager;
+        this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
+    }
+
+    /**
+     * @param manager ontology manager
+     * @param ontologyID ontology id
+     * @param ints index storage for this ontology, possibly already filled
+     */
+    protected OWLImmutableOntologyImpl(@Nonnull OWLOntologyManager manager,
+        @Nonnull OWLOntologyID ontologyID, @Nonnull Internals ints) {
+        super(ints);
         this.manager = checkNotNull(manager, "manager cannot be null");
         this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
     }
 
+    /**
+     * @param manager manager whose configuration selects the index implementation
+     * @return internals matching the manager configuration
+     */
+    @Nonnull
+    protected static Internals createInternals(@Nonnull OWLOntologyManager manager) {
+        OWLOntologyLoaderConfiguration config = manager.getOntologyLoaderConfiguration();
+        if (config != null && config.shouldUseConcurrentIndexReads()) {
+            return new ReadMostlyInternals();
+        }
+        return new Internals();
+    }
+
+    @Override
+    public void writeSnapshot(Path file) throws IOException {
+        OntologySnapshot.write(ontologyID, ints, checkNotNull(file, "file cannot be null"));
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(1000);
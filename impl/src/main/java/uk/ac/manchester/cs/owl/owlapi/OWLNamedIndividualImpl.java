@@ -17,6 +17,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.EntityType;
 import org.semanticweb.owlapi.model.IRI;
@@ -38,17 +39,22 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectVisitor;
 import org.semanticweb.owlapi.model.OWLObjectVisitorEx;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.HasSortKey;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
 import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 
 /**
  * @author Matthew Horridge, The University of Manchester, Information Management Group
  * @since 3.0.0
  */
-public class OWLNamedIndividualImpl extends OWLIndividualImpl implements OWLNamedIndividual {
+public class OWLNamedIndividualImpl extends OWLIndividualImpl
+    implements OWLNamedIndividual, HasSortKey {
 
     private static final long serialVersionUID = 40000L;
     @Nonnull
     private final IRI iri;
+    @Nullable
+    private transient String sortKey;
 
     @Override
     public void addSignatureEntitiesToSet(Set<OWLEntity> entities) {
@@ -95,6 +101,17 @@ public class OWLNamedIndividualImpl extends OWLIndividualImpl implements OWLName
         return iri;
     }
 
+    @Override
+    @Nonnull
+    public String getSortKey() {
+        String key = sortKey;
+        if (key == null) {
+            key = OWLObjectSortKeys.computeSortKey(this);
+            sortKey = key;
+        }
+        return key;
+    }
+
     @Override
     public OWLNamedIndividual asOWLNamedIndividual() {
         return this;
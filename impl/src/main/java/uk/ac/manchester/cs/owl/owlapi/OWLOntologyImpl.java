@@ -44,7 +44,7 @@ import org.semanticweb.owlapi.model.parameters.ChangeApplied;
  * @since 2.0.0
  */
 public class OWLOntologyImpl extends OWLImmutableOntologyImpl
-    implements OWLMutableOntology, Serializable {
+    implements OWLMutableOntology, HasBulkLoad, Serializable {
 
     private static final long serialVersionUID = 40000L;
 
@@ -106,6 +106,15 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl
         return getOWLOntologyManager().addAxiom(this, axiom);
     }
 
+    @Override
+    public boolean loadAxiom(OWLAxiom axiom) {
+        if (ints.addAxiom(axiom)) {
+            invalidateOntologyCaches(this);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public ChangeApplied addAxioms(Set<? extends OWLAxiom> axioms) {
         return getOWLOntologyManager().addAxioms(this, axioms);
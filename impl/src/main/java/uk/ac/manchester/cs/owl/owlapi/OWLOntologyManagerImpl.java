@@ -88,6 +88,7 @@ import org.semanticweb.owlapi.model.OWLMutableOntology;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyAlreadyExistsException;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyChangeBroadcastStrategy;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyChangeProgressListener;
@@ -165,6 +166,10 @@ public class OWLOntologyManagerImpl
     @Nonnull
     protected final AtomicLong autoGeneratedURICounter = new AtomicLong();
     private final AtomicBoolean broadcastChanges = new AtomicBoolean(true);
+    // documents of the imports closure parsed ahead of the load in progress, by document IRI
+    private transient Map<IRI, ImportsClosureLoader.ParsedDocument> preloadedImports =
+        createSyncMap();
+    private final AtomicBoolean preloading = new AtomicBoolean(false);
     @Nonnull
     protected OWLOntologyChangeBroadcastStrategy defaultChangeBroadcastStrategy =
         new DefaultChangeBroadcastStrategy();
@@ -789,6 +794,100 @@ public class OWLOntologyManagerImpl
         }
     }
 
+    @Override
+    public OWLOntologyBulkLoader startBulkLoad(OWLOntology ontology) {
+        return new BulkLoader(checkNotNull(ontology, "ontology cannot be null"));
+    }
+
+    /**
+     * Adds axioms straight to the ontology internals. Listeners are notified once, on close, and
+     * only if they would be notified of regular changes; while an ontology is being loaded no
+     * changes are recorded at all.
+     */
+    private class BulkLoader implements OWLOntologyBulkLoader {
+
+        @Nonnull
+        private final OWLOntology ontology;
+        /** Null if the axioms must go through {@link #applyChanges(List)}. */
+        @Nullable
+        private final HasBulkLoad target;
+        /** Null if no listener needs to know about the additions. */
+        @Nullable
+        private final List<OWLOntologyChange> added;
+        @Nullable
+        private OWLOntologyID configuredID;
+        private boolean loadAnnotations = true;
+
+        BulkLoader(@Nonnull OWLOntology ontology) {
+            this.ontology = ontology;
+            boolean broadcast = broadcastChanges.get();
+            if (!(ontology instanceof HasBulkLoad)
+                || broadcast && !impendingChangeListenerMap.isEmpty()) {
+                // impending change listeners may veto changes, so they must see each of them
+                target = null;
+                added = null;
+            } else {
+                target = (HasBulkLoad) ontology;
+                added = broadcast && (!listenerMap.isEmpty() || !progressListeners.isEmpty())
+                    ? new ArrayList<>() : null;
+            }
+        }
+
+        @Override
+        public OWLOntology getOntology() {
+            return ontology;
+        }
+
+        @Override
+        public boolean add(OWLAxiom axiom) {
+            if (target == null) {
+                return applyChange(new AddAxiom(ontology, axiom)) == ChangeApplied.SUCCESSFULLY;
+            }
+            writeLock.lock();
+            try {
+                if (!isApplicable(axiom) || !target.loadAxiom(axiom)) {
+                    return false;
+                }
+                if (added != null) {
+                    added.add(new AddAxiom(ontology, axiom));
+                }
+                return true;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Same check as {@link OWLOntologyManagerImpl#isChangeApplicable(OWLOntologyChange)},
+         * looking up the configuration only when the ontology id changes.
+         */
+        private boolean isApplicable(OWLAxiom axiom) {
+            OWLOntologyID id = ontology.getOntologyID();
+            if (id != configuredID) {
+                configuredID = id;
+                OWLOntologyLoaderConfiguration config = ontologyConfigurationsByOntologyID.get(id);
+                loadAnnotations = config == null || config.isLoadAnnotationAxioms();
+            }
+            return loadAnnotations || !(axiom instanceof OWLAnnotationAxiom);
+        }
+
+        @Override
+        public void close() {
+            if (added == null || added.isEmpty()) {
+                return;
+            }
+            writeLock.lock();
+            try {
+                fireBeginChanges(added.size());
+                fireEndChanges();
+                broadcastChanges(added);
+                added.clear();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
     @Override
     public ChangeApplied removeAxiom(@Nonnull OWLOntology ont, @Nonnull OWLAxiom axiom) {
         writeLock.lock();
@@ -1093,10 +1192,24 @@ public class OWLOntologyManagerImpl
         if (!importedIRIs.containsKey(ontologyIRI)) {
             importedIRIs.put(ontologyIRI, value);
         }
-        OWLOntology loadOntology =
-            loadOntology(ontologyIRI, false, getOntologyLoaderConfiguration());
-        importedIRIs.remove(ontologyIRI, value);
-        return loadOntology;
+        OWLOntologyLoaderConfiguration configuration = getOntologyLoaderConfiguration();
+        boolean preloaded = false;
+        if (configuration.getImportsLoadingThreads() > 1 && !contains(ontologyIRI)) {
+            IRI documentIRI = getDocumentIRIFromMappers(new OWLOntologyID(ontologyIRI, null));
+            if (documentIRI != null) {
+                preloaded = preloadImportsClosure(new IRIDocumentSource(documentIRI, null, null),
+                    configuration);
+            }
+        }
+        try {
+            OWLOntology loadOntology = loadOntology(ontologyIRI, false, configuration);
+            importedIRIs.remove(ontologyIRI, value);
+            return loadOntology;
+        } finally {
+            if (preloaded) {
+                releasePreloadedImports();
+            }
+        }
     }
 
     @Nonnull
@@ -1227,6 +1340,10 @@ public class OWLOntologyManagerImpl
     protected OWLOntology loadOntology(@Nullable IRI ontologyIRI,
         @Nonnull OWLOntologyDocumentSource documentSource,
         @Nonnull OWLOntologyLoaderConfiguration configuration) throws OWLOntologyCreationException {
+        // loads by ontology IRI and imports are called with the write lock held, and preload in
+        // loadOntology(IRI) if at all
+        boolean preloaded = ontologyIRI == null && configuration.getImportsLoadingThreads() > 1
+            && preloadImportsClosure(documentSource, configuration);
         writeLock.lock();
         try {
             if (loadCount.get() != importsLoadCount.get()) {
@@ -1274,10 +1391,73 @@ public class OWLOntologyManagerImpl
             }
             throw new OWLOntologyFactoryNotFoundException(documentSource.getDocumentIRI());
         } finally {
+            if (preloaded) {
+                releasePreloadedImports();
+            }
             writeLock.unlock();
         }
     }
 
+    /**
+     * Parses the imports closure of a document on the configured number of threads, for
+     * {@link #actualParse(OWLOntologyDocumentSource, OWLOntologyLoaderConfiguration)} to adopt.
+     * Only one closure is preloaded at a time; nested and concurrent loads proceed sequentially.
+     * Must be called without holding the write lock.
+     * 
+     * @param documentSource document to load
+     * @param configuration load configuration
+     * @return true if the closure was preloaded and must be released after the load
+     */
+    private boolean preloadImportsClosure(@Nonnull OWLOntologyDocumentSource documentSource,
+        @Nonnull OWLOntologyLoaderConfiguration configuration) {
+        if (loadCount.get() > 0 || !preloading.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            preloadedImports
+                .putAll(new ImportsClosureLoader(this, configuration).parse(documentSource));
+        } catch (RuntimeException e) {
+            preloading.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    private void releasePreloadedImports() {
+        preloadedImports.clear();
+        preloading.set(false);
+    }
+
+    /**
+     * Registers an ontology parsed ahead of its load and loads its imports in the order its
+     * parser requested them.
+     * 
+     * @param document parsed document
+     * @param configuration load configuration
+     * @return the adopted ontology
+     */
+    @Nonnull
+    private OWLOntology adopt(@Nonnull ImportsClosureLoader.ParsedDocument document,
+        @Nonnull OWLOntologyLoaderConfiguration configuration) {
+        OWLOntology ontology = verifyNotNull(document.getOntology());
+        ontology.setOWLOntologyManager(this);
+        if (ontology instanceof OWLMutableOntology) {
+            ((OWLMutableOntology) ontology).setLock(lock);
+        }
+        ontologyCreated(ontology);
+        OWLDocumentFormat format = document.getFormat();
+        if (format != null) {
+            setOntologyFormat(ontology, format);
+        }
+        for (OWLImportsDeclaration declaration : document.getImportRequests()) {
+            makeLoadImportRequest(declaration, configuration);
+        }
+        for (OWLImportsDeclaration declaration : ontology.getImportsDeclarations()) {
+            checkForImportsChange(new AddImport(ontology, declaration));
+        }
+        return ontology;
+    }
+
     protected OWLOntology actualParse(OWLOntologyDocumentSource documentSource,
         OWLOntologyLoaderConfiguration configuration) throws OWLOntologyCreationException {
         // Check if this is an IRI source and the IRI has already been loaded - this will stop
@@ -1292,6 +1472,12 @@ public class OWLOntologyManagerImpl
                 return getOntology(findAny.get().getKey());
             }
         }
+        ImportsClosureLoader.ParsedDocument preloaded =
+            preloadedImports.remove(documentSource.getDocumentIRI());
+        if (preloaded != null && preloaded.canBeAdopted()
+            && !ontologiesByID.containsKey(verifyNotNull(preloaded.getOntology()).getOntologyID())) {
+            return loaded(adopt(preloaded, configuration), documentSource, configuration);
+        }
 
         for (OWLOntologyFactory factory : ontologyFactories) {
             if (factory.canLoad(documentSource)) {
@@ -1301,21 +1487,42 @@ public class OWLOntologyManagerImpl
                 factory.setLock(lock);
                 OWLOntology ontology =
                     factory.loadOWLOntology(this, documentSource, this, configuration);
-                if (configuration.shouldRepairIllegalPunnings()) {
-                    fixIllegalPunnings(ontology);
-                }
-                // Store the ontology to the document IRI mapping
-                documentIRIsByID.put(ontology.getOntologyID(), documentSource.getDocumentIRI());
-                ontologyConfigurationsByOntologyID.put(ontology.getOntologyID(), configuration);
-                if (ontology instanceof HasTrimToSize && configuration.shouldTrimToSize()) {
-                    ((HasTrimToSize) ontology).trimToSize();
-                }
-                return ontology;
+                return loaded(ontology, documentSource, configuration);
             }
         }
         return null;
     }
 
+    /**
+     * Completes the load of a parsed or adopted ontology: repairs punnings, records the document
+     * IRI and configuration, and tunes the indexes as configured.
+     */
+    @Nonnull
+    private OWLOntology loaded(@Nonnull OWLOntology ontology,
+        @Nonnull OWLOntologyDocumentSource documentSource,
+        @Nonnull OWLOntologyLoaderConfiguration configuration) {
+        // immutable ontologies, e.g., mapped snapshots, cannot be repaired; snapshots
+        // are written from ontologies that were repaired when loaded
+        if (configuration.shouldRepairIllegalPunnings()
+            && ontology instanceof OWLMutableOntology) {
+            fixIllegalPunnings(ontology);
+        }
+        // Store the ontology to the document IRI mapping
+        documentIRIsByID.put(ontology.getOntologyID(), documentSource.getDocumentIRI());
+        ontologyConfigurationsByOntologyID.put(ontology.getOntologyID(), configuration);
+        if (ontology instanceof HasTrimToSize && configuration.shouldTrimToSize()) {
+            ((HasTrimToSize) ontology).trimToSize();
+        }
+        if (ontology instanceof HasInitIndexes
+            && configuration.shouldInitializeIndexesAfterLoad()) {
+            ((HasInitIndexes) ontology).initIndexes();
+        }
+        if (ontology instanceof HasCompactIndexes && configuration.shouldCompactIndexes()) {
+            ((HasCompactIndexes) ontology).compactIndexes();
+        }
+        return ontology;
+    }
+
     protected void fixIllegalPunnings(OWLOntology o) {
         Collection<IRI> illegals = OWLDocumentFormatImpl.determineIllegalPunnings(true,
             o.getSignature(INCLUDED), o.getPunnedIRIs(INCLUDED));
@@ -1680,7 +1887,7 @@ public class OWLOntologyManagerImpl
      *         URI can be found.
      */
     @Nullable
-    private IRI getDocumentIRIFromMappers(OWLOntologyID ontologyID) {
+    IRI getDocumentIRIFromMappers(OWLOntologyID ontologyID) {
         if (!ontologyID.getDefaultDocumentIRI().isPresent()) {
             return null;
         }
@@ -1709,6 +1916,7 @@ public class OWLOntologyManagerImpl
         listenerMap = new ConcurrentHashMap<>();
         impendingChangeListenerMap = new ConcurrentHashMap<>();
         vetoListeners = new ArrayList<>();
+        preloadedImports = createSyncMap();
     }
 
     @Override
@@ -0,0 +1,663 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.io.BinaryOWLObjectReader;
+import org.semanticweb.owlapi.io.BinaryOWLObjectWriter;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
+
+import com.google.common.base.Optional;
+
+/**
+ * Binary snapshot of the axioms and indexes of an ontology, meant to be memory mapped. The file
+ * starts with a header locating five sections, each of which is mapped separately and must be
+ * smaller than 2GB:
+ * <ol>
+ * <li>IRIs, as UTF-8 strings;</li>
+ * <li>axioms, encoded as by {@link BinaryOWLObjectWriter} with IRIs written as their position in
+ * the IRI section;</li>
+ * <li>index keys, encoded in the same way; axiom types are written as a zero byte followed by the
+ * type name;</li>
+ * <li>the postings of each index, in the order of {@link Internals#allIndexes()}, as written by
+ * {@link CompactPostings#write(java.io.DataOutput)};</li>
+ * <li>ontology id, import declarations, ontology annotations, general class axioms and property
+ * chain axioms.</li>
+ * </ol>
+ * The first three sections are tables: a count, the offsets of the entries, an open addressing
+ * hash table on the entry bytes, and the entries. Lookups encode the object searched for and
+ * compare bytes, so nothing is materialized unless it is returned.
+ * 
+ * @since 4.5.23
+ */
+final class OntologySnapshot implements IndexIdTable {
+
+    static final int MAGIC = 0x4F574C53;
+    static final int VERSION = 1;
+    private static final int SECTIONS = 5;
+    private static final int HEADER_SIZE = 8 + SECTIONS * 16;
+    private static final int IRIS = 0;
+    private static final int AXIOMS = 1;
+    private static final int KEYS = 2;
+    private static final int INDEXES = 3;
+    private static final int ONTOLOGY = 4;
+    /** Tag for axiom type keys; zero is not used by the object encoding. */
+    private static final int AXIOM_TYPE_KEY = 0;
+    @Nonnull
+    private final OWLDataFactory df;
+    @Nonnull
+    private final Table iris;
+    @Nonnull
+    private final Table axioms;
+    @Nonnull
+    private final Table keys;
+    @Nonnull
+    private final ByteBuffer indexes;
+    @Nonnull
+    private final ByteBuffer ontology;
+    /** IRIs materialized so far; racy writes are harmless, since IRIs are immutable. */
+    @Nonnull
+    private final IRI[] irisById;
+
+    private OntologySnapshot(@Nonnull OWLDataFactory df, @Nonnull ByteBuffer[] sections) {
+        this.df = df;
+        iris = new Table(sections[IRIS]);
+        axioms = new Table(sections[AXIOMS]);
+        keys = new Table(sections[KEYS]);
+        indexes = sections[INDEXES];
+        ontology = sections[ONTOLOGY];
+        irisById = new IRI[iris.count];
+    }
+
+    /**
+     * @param file file to check
+     * @return true if the file starts like a snapshot
+     */
+    static boolean isSnapshot(@Nonnull Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the buffer is full or the file ends
+            }
+            return !header.hasRemaining() && header.getInt(0) == MAGIC;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Map a snapshot file. The file is not kept open; the mapped regions stay valid until they are
+     * garbage collected.
+     * 
+     * @param file snapshot file
+     * @param df data factory for materializing objects
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    @Nonnull
+    static OntologySnapshot map(@Nonnull Path file, @Nonnull OWLDataFactory df)
+        throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not an ontology snapshot");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(
+                    "Unsupported ontology snapshot version " + version + " in " + file);
+            }
+            ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+            for (int i = 0; i < SECTIONS; i++) {
+                sections[i] = channel.map(MapMode.READ_ONLY, header.getLong(), header.getLong());
+            }
+            return new OntologySnapshot(df, sections);
+        }
+    }
+
+    /**
+     * Restore the indexes and ontology level content of the snapshot into empty internals.
+     * 
+     * @param ints internals to fill
+     * @return the ontology id
+     * @throws IOException if the snapshot is inconsistent
+     */
+    @Nonnull
+    OWLOntologyID restore(@Nonnull Internals ints) throws IOException {
+        List<MapPointer<?, ?>> pointers = ints.allIndexes();
+        IntBuffer in = indexes.asIntBuffer();
+        int count = in.get();
+        if (count != pointers.size()) {
+            throw new IOException("Snapshot has " + count + " indexes, expected " + pointers.size());
+        }
+        for (MapPointer<?, ?> p : pointers) {
+            p.restore(CompactPostings.read(this, in));
+        }
+        SnapshotReader reader = new SnapshotReader(new BufferInput(ontology.duplicate()));
+        Optional<IRI> ontologyIRI = optionalIRI(reader);
+        Optional<IRI> versionIRI = optionalIRI(reader);
+        for (IRI i : reader.readSet(IRI.class)) {
+            ints.addImportsDeclaration(df.getOWLImportsDeclaration(i));
+        }
+        for (OWLAnnotation a : reader.readSet(OWLAnnotation.class)) {
+            ints.addOntologyAnnotation(a);
+        }
+        int general = reader.readVarInt();
+        for (int i = 0; i < general; i++) {
+            ints.addGeneralClassAxioms((OWLClassAxiom) axiom(reader.readVarInt()));
+        }
+        int chains = reader.readVarInt();
+        for (int i = 0; i < chains; i++) {
+            ints.addPropertyChainSubPropertyAxioms(
+                (OWLSubPropertyChainOfAxiom) axiom(reader.readVarInt()));
+        }
+        return new OWLOntologyID(ontologyIRI, versionIRI);
+    }
+
+    private static Optional<IRI> optionalIRI(SnapshotReader reader) throws IOException {
+        if (reader.readVarInt() == 0) {
+            return Optional.absent();
+        }
+        return Optional.of(reader.readIRI());
+    }
+
+    /**
+     * Write a snapshot of the internals of an ontology. All lazy indexes are built first.
+     * 
+     * @param id ontology id
+     * @param ints internals to write
+     * @param file file to write; overwritten if it exists
+     * @throws IOException if the file cannot be written or a section exceeds 2GB
+     */
+    static void write(@Nonnull OWLOntologyID id, @Nonnull Internals ints, @Nonnull Path file)
+        throws IOException {
+        ints.initIndexes(ForkJoinPool.commonPool());
+        List<MapPointer<?, ?>> pointers = ints.allIndexes();
+        IndexIds ids = ints.indexIds(pointers, true);
+        List<CompactPostings> postings = new ArrayList<>(pointers.size());
+        for (MapPointer<?, ?> p : pointers) {
+            postings.add(verifyNotNull(p.snapshot(ids),
+                "index changed while writing the snapshot"));
+        }
+        SnapshotWriter encoder = new SnapshotWriter();
+        List<byte[]> axiomEntries = new ArrayList<>(ids.axiomCount());
+        for (int i = 0; i < ids.axiomCount(); i++) {
+            axiomEntries.add(encoder.encode(ids.axiom(i)));
+        }
+        List<byte[]> keyEntries = new ArrayList<>(ids.keyCount());
+        for (int i = 1; i <= ids.keyCount(); i++) {
+            keyEntries.add(encoder.encode(ids.key(i)));
+        }
+        ByteArrayOutputStream ontologyBytes = new ByteArrayOutputStream();
+        encoder.writeOntology(id, ints, ids, ontologyBytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+            long[] bounds = new long[SECTIONS * 2];
+            // the IRI table is complete only once everything else is encoded
+            DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            long start = channel.position();
+            writeTable(out, axiomEntries);
+            start = section(AXIOMS, bounds, start, out, channel);
+            writeTable(out, keyEntries);
+            start = section(KEYS, bounds, start, out, channel);
+            out.writeInt(postings.size());
+            for (CompactPostings p : postings) {
+                p.write(out);
+            }
+            start = section(INDEXES, bounds, start, out, channel);
+            ontologyBytes.writeTo(out);
+            start = section(ONTOLOGY, bounds, start, out, channel);
+            writeTable(out, encoder.iriEntries());
+            section(IRIS, bounds, start, out, channel);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION);
+            for (long l : bounds) {
+                header.putLong(l);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    private static long section(int section, long[] bounds, long start, DataOutputStream out,
+        FileChannel channel) throws IOException {
+        out.flush();
+        long end = channel.position();
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section " + section + " exceeds 2GB");
+        }
+        bounds[section * 2] = start;
+        bounds[section * 2 + 1] = end - start;
+        return end;
+    }
+
+    private static void writeTable(DataOutputStream out, List<byte[]> entries)
+        throws IOException {
+        out.writeInt(entries.size());
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] e : entries) {
+            offset += e.length;
+            out.writeInt(offset);
+        }
+        int capacity = capacity(entries.size());
+        int[] slots = new int[capacity];
+        for (int i = 0; i < entries.size(); i++) {
+            int slot = hash(entries.get(i)) & capacity - 1;
+            while (slots[slot] != 0) {
+                slot = slot + 1 & capacity - 1;
+            }
+            slots[slot] = i + 1;
+        }
+        out.writeInt(capacity);
+        for (int s : slots) {
+            out.writeInt(s);
+        }
+        for (byte[] e : entries) {
+            out.write(e);
+        }
+    }
+
+    private static int capacity(int count) {
+        int capacity = 16;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * FNV-1a hash with a final mix, so that similar entries spread over the table.
+     */
+    private static int hash(byte[] bytes) {
+        int h = 0x811C9DC5;
+        for (byte b : bytes) {
+            h = (h ^ b & 0xFF) * 0x01000193;
+        }
+        return h ^ h >>> 16;
+    }
+
+    @Override
+    public int keyId(@Nonnull Object key) {
+        byte[] bytes = new SnapshotLookup().encode(key);
+        return bytes == null ? 0 : keys.find(bytes) + 1;
+    }
+
+    @Override
+    @Nonnull
+    public Object key(int id) {
+        ByteBuffer entry = keys.entry(id - 1);
+        if (entry.get(entry.position()) == AXIOM_TYPE_KEY) {
+            entry.get();
+            try {
+                String name = new SnapshotReader(new BufferInput(entry)).readString();
+                return verifyNotNull(AxiomType.getAxiomType(name), "unknown axiom type " + name);
+            } catch (IOException e) {
+                throw new OWLRuntimeException(e);
+            }
+        }
+        return read(entry);
+    }
+
+    @Override
+    public int axiomId(@Nonnull OWLAxiom axiom) {
+        byte[] bytes = new SnapshotLookup().encode(axiom);
+        return bytes == null ? -1 : axioms.find(bytes);
+    }
+
+    @Override
+    @Nonnull
+    public OWLAxiom axiom(int id) {
+        return (OWLAxiom) read(axioms.entry(id));
+    }
+
+    @Nonnull
+    private OWLObject read(ByteBuffer entry) {
+        try {
+            return new SnapshotReader(new BufferInput(entry)).readObject();
+        } catch (IOException e) {
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    @Nonnull
+    IRI iri(int id) {
+        IRI iri = irisById[id];
+        if (iri == null) {
+            ByteBuffer entry = iris.entry(id);
+            byte[] bytes = new byte[entry.remaining()];
+            entry.get(bytes);
+            iri = IRI.create(new String(bytes, StandardCharsets.UTF_8));
+            irisById[id] = iri;
+        }
+        return iri;
+    }
+
+    /**
+     * Mapped table section: count, offsets, hash slots, entries.
+     */
+    private static class Table {
+
+        final int count;
+        private final ByteBuffer buffer;
+        private final int capacity;
+        private final int slots;
+        private final int entries;
+
+        Table(ByteBuffer buffer) {
+            this.buffer = buffer;
+            count = buffer.getInt(0);
+            int offsets = 4;
+            capacity = buffer.getInt(offsets + (count + 1) * 4);
+            slots = offsets + (count + 1) * 4 + 4;
+            entries = slots + capacity * 4;
+        }
+
+        private int offset(int index) {
+            return buffer.getInt(4 + index * 4);
+        }
+
+        /**
+         * @param index entry index
+         * @return a buffer positioned on the entry
+         */
+        ByteBuffer entry(int index) {
+            ByteBuffer entry = buffer.duplicate();
+            entry.limit(entries + offset(index + 1));
+            entry.position(entries + offset(index));
+            return entry;
+        }
+
+        /**
+         * @param bytes entry to look for
+         * @return the entry index, or -1 if absent
+         */
+        int find(byte[] bytes) {
+            int slot = hash(bytes) & capacity - 1;
+            while (true) {
+                int value = buffer.getInt(slots + slot * 4);
+                if (value == 0) {
+                    return -1;
+                }
+                if (matches(value - 1, bytes)) {
+                    return value - 1;
+                }
+                slot = slot + 1 & capacity - 1;
+            }
+        }
+
+        private boolean matches(int index, byte[] bytes) {
+            int start = entries + offset(index);
+            if (entries + offset(index + 1) - start != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Input stream over a byte buffer; the buffer position moves as bytes are read.
+     */
+    private static class BufferInput extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /**
+     * Reader resolving IRI ids against the mapped IRI table.
+     */
+    private class SnapshotReader extends BinaryOWLObjectReader {
+
+        SnapshotReader(InputStream in) {
+            super(new DataInputStream(in), OntologySnapshot.this.df);
+        }
+
+        @Override
+        protected IRI readIRI() throws IOException {
+            int id = readVarInt();
+            if (id >= irisById.length) {
+                throw new IOException("Unknown IRI id " + id);
+            }
+            return iri(id);
+        }
+    }
+
+    /**
+     * Encoder for lookups: IRIs are resolved against the mapped IRI table, and objects with IRIs
+     * that are not in the table cannot be in the snapshot.
+     */
+    private class SnapshotLookup {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        private final BinaryOWLObjectWriter writer =
+            new BinaryOWLObjectWriter(new DataOutputStream(bytes)) {
+
+                @Override
+                protected void writeIRI(IRI iri) throws IOException {
+                    int id = iris.find(iri.toString().getBytes(StandardCharsets.UTF_8));
+                    if (id < 0) {
+                        throw new UnknownIRIException();
+                    }
+                    writeVarInt(id);
+                }
+            };
+
+        /**
+         * @param o object to encode
+         * @return the encoded object, or null if it contains IRIs not in the snapshot
+         */
+        @Nullable
+        byte[] encode(Object o) {
+            try {
+                if (o instanceof AxiomType) {
+                    bytes.write(AXIOM_TYPE_KEY);
+                    writer.writeString(((AxiomType<?>) o).getName());
+                } else {
+                    writer.writeObject((OWLObject) o);
+                }
+                return bytes.toByteArray();
+            } catch (@SuppressWarnings("unused") UnknownIRIException e) {
+                return null;
+            } catch (IOException e) {
+                throw new OWLRuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Signals an IRI that is not in the snapshot; no stack trace is needed.
+     */
+    private static class UnknownIRIException extends IOException {
+
+        private static final long serialVersionUID = 40000L;
+
+        UnknownIRIException() {}
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Encoder for writing a snapshot: IRIs get ids in order of first occurrence.
+     */
+    private static class SnapshotWriter {
+
+        private final Map<IRI, Integer> ids = new HashMap<>();
+        private final List<byte[]> iris = new ArrayList<>();
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final BinaryOWLObjectWriter writer =
+            new BinaryOWLObjectWriter(new DataOutputStream(new OutputProxy())) {
+
+                @Override
+                protected void writeIRI(IRI iri) throws IOException {
+                    writeVarInt(id(iri));
+                }
+            };
+
+        SnapshotWriter() {}
+
+        int id(IRI iri) {
+            Integer id = ids.get(iri);
+            if (id == null) {
+                id = Integer.valueOf(iris.size());
+                ids.put(iri, id);
+                iris.add(iri.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return id.intValue();
+        }
+
+        List<byte[]> iriEntries() {
+            return iris;
+        }
+
+        byte[] encode(Object o) throws IOException {
+            bytes.reset();
+            if (o instanceof AxiomType) {
+                bytes.write(AXIOM_TYPE_KEY);
+                writer.writeString(((AxiomType<?>) o).getName());
+            } else {
+                writer.writeObject((OWLObject) o);
+            }
+            return bytes.toByteArray();
+        }
+
+        void writeOntology(OWLOntologyID id, Internals ints, IndexIds axiomIds,
+            ByteArrayOutputStream out) throws IOException {
+            bytes = out;
+            writeOptionalIRI(id.getOntologyIRI());
+            writeOptionalIRI(id.getVersionIRI());
+            List<IRI> imports = new ArrayList<>();
+            for (OWLImportsDeclaration i : ints.getImportsDeclarations(false)) {
+                imports.add(i.getIRI());
+            }
+            writer.writeVarInt(imports.size());
+            for (IRI i : imports) {
+                writer.writeObject(i);
+            }
+            writer.writeObjects(ints.getOntologyAnnotations(false));
+            writeAxiomIds(ints.getGeneralClassAxioms(), axiomIds);
+            writeAxiomIds(ints.propertyChainSubPropertyAxioms.iterable(), axiomIds);
+        }
+
+        private void writeOptionalIRI(Optional<IRI> iri) throws IOException {
+            if (iri.isPresent()) {
+                writer.writeVarInt(1);
+                writeIRI(iri.get());
+            } else {
+                writer.writeVarInt(0);
+            }
+        }
+
+        private void writeIRI(IRI iri) throws IOException {
+            writer.writeVarInt(id(iri));
+        }
+
+        private void writeAxiomIds(Iterable<? extends OWLAxiom> axioms, IndexIds axiomIds)
+            throws IOException {
+            List<Integer> list = new ArrayList<>();
+            for (OWLAxiom ax : axioms) {
+                int id = axiomIds.axiomId(ax);
+                if (id < 0) {
+                    throw new IOException("Axiom not indexed by type: " + ax);
+                }
+                list.add(Integer.valueOf(id));
+            }
+            writer.writeVarInt(list.size());
+            for (Integer i : list) {
+                writer.writeVarInt(i.intValue());
+            }
+        }
+
+        /**
+         * Forwards to the current buffer, which changes between sections.
+         */
+        private class OutputProxy extends java.io.OutputStream {
+
+            OutputProxy() {}
+
+            @Override
+            public void write(int b) {
+                bytes.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.write(b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.annotations.HasPriority;
+import org.semanticweb.owlapi.formats.OntologySnapshotDocumentFormat;
+import org.semanticweb.owlapi.io.OWLOntologyCreationIOException;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyFactory;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
+
+/**
+ * Loads ontology snapshots written by {@link HasWriteSnapshot#writeSnapshot(Path)}. The snapshot
+ * file is memory mapped and the ontology answers queries from the mapped indexes, materializing
+ * axioms and entities only when they are returned; loading does not parse or index anything, and
+ * processes mapping the same file share its pages. Loaded ontologies are immutable.
+ * <p>
+ * Since they never change, loaded ontologies are not wrapped in the manager's lock; each index
+ * guards its own lookups. Snapshots loaded by a concurrent manager answer lookups from several
+ * threads in parallel, as other ontologies of that manager do; snapshots loaded by a non concurrent
+ * manager use the cheaper single threaded indexes.
+ * <p>
+ * Only local files starting with the snapshot header are loaded by this factory; other documents
+ * are left to the next factory. This factory does not create empty ontologies.
+ * 
+ * @since 4.5.23
+ */
+@HasPriority(1)
+public class OntologySnapshotFactory implements OWLOntologyFactory {
+
+    private static final long serialVersionUID = 40000L;
+    private boolean concurrent;
+
+    @Override
+    public boolean canCreateFromDocumentIRI(@Nonnull IRI documentIRI) {
+        return false;
+    }
+
+    @Override
+    public OWLOntology createOWLOntology(@Nonnull OWLOntologyManager manager,
+        @Nonnull OWLOntologyID ontologyID, @Nonnull IRI documentIRI,
+        @Nonnull OWLOntologyCreationHandler handler) throws OWLOntologyCreationException {
+        throw new OWLOntologyCreationException(
+            "Ontology snapshots can only be loaded, not created: " + documentIRI);
+    }
+
+    @Override
+    public boolean canLoad(@Nonnull OWLOntologyDocumentSource documentSource) {
+        Path file = file(documentSource.getDocumentIRI());
+        return file != null && OntologySnapshot.isSnapshot(file);
+    }
+
+    @Nullable
+    private static Path file(IRI documentIRI) {
+        if (!"file".equals(documentIRI.getScheme())) {
+            return null;
+        }
+        try {
+            return Paths.get(documentIRI.toURI());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void setLock(ReadWriteLock lock) {
+        concurrent = !(lock instanceof NoOpReadWriteLock);
+    }
+
+    @Override
+    public OWLOntology loadOWLOntology(@Nonnull OWLOntologyManager manager,
+        @Nonnull OWLOntologyDocumentSource documentSource,
+        @Nonnull OWLOntologyCreationHandler handler,
+        @Nonnull OWLOntologyLoaderConfiguration configuration) throws OWLOntologyCreationException {
+        Path file = file(documentSource.getDocumentIRI());
+        if (file == null) {
+            throw new OWLOntologyCreationException(
+                "Ontology snapshots must be local files: " + documentSource.getDocumentIRI());
+        }
+        // lookups on a snapshot never change the indexes, so they need not exclude each other
+        Internals ints = concurrent ? new ReadMostlyInternals() : new Internals();
+        OWLOntologyID ontologyID;
+        try {
+            ontologyID = OntologySnapshot.map(file, manager.getOWLDataFactory()).restore(ints);
+        } catch (IOException e) {
+            throw new OWLOntologyCreationIOException(e);
+        }
+        OWLImmutableOntologyImpl ont = new OWLImmutableOntologyImpl(manager, ontologyID, ints);
+        handler.ontologyCreated(ont);
+        handler.setOntologyFormat(ont, new OntologySnapshotDocumentFormat());
+        for (OWLImportsDeclaration declaration : ints.getImportsDeclarations(true)) {
+            manager.makeLoadImportRequest(declaration, configuration);
+        }
+        return ont;
+    }
+}
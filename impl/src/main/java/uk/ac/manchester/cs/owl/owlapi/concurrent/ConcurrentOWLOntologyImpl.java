@@ -2,10 +2,13 @@ package uk.ac.manchester.cs.owl.owlapi.concurrent;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.BooleanSupplier;
@@ -22,6 +25,7 @@ import javax.inject.Inject;
  */
 
 import org.semanticweb.owlapi.io.OWLOntologyDocumentTarget;
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.ChangeDetails;
 import org.semanticweb.owlapi.model.EntityType;
@@ -104,12 +108,18 @@ import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
 
+import uk.ac.manchester.cs.owl.owlapi.HasBulkLoad;
+import uk.ac.manchester.cs.owl.owlapi.HasCompactIndexes;
+import uk.ac.manchester.cs.owl.owlapi.HasInitIndexes;
 import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
+import uk.ac.manchester.cs.owl.owlapi.HasWriteSnapshot;
 
 /**
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 03/04/15
  */
-public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToSize {
+public class ConcurrentOWLOntologyImpl
+    implements OWLMutableOntology, HasTrimToSize, HasInitIndexes, HasCompactIndexes,
+    HasWriteSnapshot, HasBulkLoad {
 
     private final OWLOntology delegate;
     private ReadWriteLock lock;
@@ -211,6 +221,55 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology, HasTrimToS
         }
     }
 
+    @Override
+    public void initIndexes(Collection<? extends AxiomType<?>> types, ForkJoinPool pool) {
+        // each index guards its own initialization; the read lock keeps writers out meanwhile
+        if (delegate instanceof HasInitIndexes) {
+            Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                ((HasInitIndexes) delegate).initIndexes(types, pool);
+            } finally {
+                readLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void compactIndexes() {
+        if (delegate instanceof HasCompactIndexes) {
+            callWriteLock(((HasCompactIndexes) delegate)::compactIndexes);
+        }
+    }
+
+    @Override
+    public boolean loadAxiom(OWLAxiom axiom) {
+        if (delegate instanceof HasBulkLoad) {
+            Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                return ((HasBulkLoad) delegate).loadAxiom(axiom);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return applyChange(new AddAxiom(this, axiom)) == ChangeApplied.SUCCESSFULLY;
+    }
+
+    @Override
+    public void writeSnapshot(Path file) throws IOException {
+        if (!(delegate instanceof HasWriteSnapshot)) {
+            throw new IOException("Ontology " + getOntologyID() + " cannot write a snapshot");
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            ((HasWriteSnapshot) delegate).writeSnapshot(file);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     public void accept(@Nonnull OWLNamedObjectVisitor owlNamedObjectVisitor) {
         delegate.accept(owlNamedObjectVisitor);
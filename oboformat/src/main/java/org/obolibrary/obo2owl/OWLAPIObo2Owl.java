@@ -3,6 +3,7 @@ package org.obolibrary.obo2owl;
 import static org.obolibrary.obo2owl.Obo2OWLConstants.DEFAULT_IRI_PREFIX;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -19,6 +20,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -27,6 +34,8 @@ import org.obolibrary.obo2owl.Obo2OWLConstants.Obo2OWLVocabulary;
 import org.obolibrary.obo2owl.OwlStringTools.OwlStringException;
 import org.obolibrary.oboformat.model.Clause;
 import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.Frame.FrameType;
+import org.obolibrary.oboformat.model.FrameMergeException;
 import org.obolibrary.oboformat.model.OBODoc;
 import org.obolibrary.oboformat.model.QualifierValue;
 import org.obolibrary.oboformat.model.Xref;
@@ -34,6 +43,7 @@ import org.obolibrary.oboformat.parser.OBOFormatConstants;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
 import org.obolibrary.oboformat.parser.OBOFormatException;
 import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.OBOFormatParser.FrameHandler;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
 import org.semanticweb.owlapi.io.OWLParserException;
@@ -60,6 +70,7 @@ import org.semanticweb.owlapi.model.OWLObjectComplementOf;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyID;
@@ -92,6 +103,8 @@ public class OWLAPIObo2Owl {
     protected OWLOntology owlOntology;
     protected OWLDataFactory fac;
     protected OBODoc obodoc;
+    @Nullable
+    private OWLOntologyBulkLoader loader;
     @Nonnull
     protected final Map<String, String> idSpaceMap;
     /** The annotation property map. */
@@ -118,6 +131,18 @@ public class OWLAPIObo2Owl {
             return size() > 1024;
         }
     };
+    /** Frames queued between the parsing and the translating thread of a streaming conversion. */
+    private static final int FRAME_QUEUE_SIZE = 1024;
+    /** True while a streaming conversion has not seen all typedef frames yet. */
+    private boolean typedefsIncomplete;
+    /** Set when a translation looked up a typedef frame that has not been seen yet. */
+    private boolean dependsOnUnseenTypedef;
+    /** Destination of the axioms of a clause translated before all typedefs are known. */
+    @Nullable
+    private Set<OWLAxiom> speculativeAxioms;
+    /** Annotation properties first declared in {@link #speculativeAxioms}. */
+    @Nonnull
+    private final Set<OWLAnnotationProperty> speculativeDeclarations = new HashSet<>();
 
     /**
      * @param manager the manager
@@ -319,6 +344,249 @@ public class OWLAPIObo2Owl {
         return tr(in);
     }
 
+    /**
+     * Parses and translates a document without building the whole {@link OBODoc} first: each term
+     * frame is translated as soon as it has been parsed, and its axioms are added to the ontology.
+     * Clauses that refer to relations, or to ids that may be typedef shorthands, are kept until
+     * all typedef frames have been read, since typedefs usually follow the terms; typedef frames
+     * and the header are translated at the end. The resulting ontology is the same as with
+     * {@link #convert(OBODoc, OWLOntology)}, except that term frames repeated under the same id
+     * are translated separately rather than merged first.
+     * 
+     * @param reader the document
+     * @param in the ontology to update
+     * @param parallel true to parse on a separate thread while frames are translated
+     * @return the OWL ontology
+     * @throws OBOFormatParserException if the document cannot be parsed
+     * @since 4.5.23
+     */
+    @Nonnull
+    public OWLOntology convert(@Nonnull BufferedReader reader, @Nonnull OWLOntology in,
+        boolean parallel) {
+        obodoc = new OBODoc();
+        init(in.getOWLOntologyManager());
+        StreamingTranslation translation = new StreamingTranslation(in);
+        try {
+            if (parallel) {
+                parseConcurrently(reader, translation);
+            } else {
+                new OBOFormatParser().parse(reader, translation);
+            }
+            translation.finish();
+        } finally {
+            translation.close();
+        }
+        return in;
+    }
+
+    private static void parseConcurrently(@Nonnull BufferedReader reader,
+        @Nonnull StreamingTranslation translation) {
+        BlockingQueue<Frame> frames = new ArrayBlockingQueue<>(FRAME_QUEUE_SIZE);
+        Frame end = new Frame();
+        FrameQueue queue = new FrameQueue(frames);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            Future<?> parsing = pool.submit(() -> {
+                try {
+                    new OBOFormatParser().parse(reader, queue);
+                } finally {
+                    queue.put(end);
+                }
+            });
+            for (Frame f = frames.take(); f != end; f = frames.take()) {
+                if (f.getType() == FrameType.HEADER) {
+                    translation.header(f);
+                } else {
+                    try {
+                        translation.frame(f);
+                    } catch (FrameMergeException e) {
+                        throw new OBOFormatParserException("Could not add frame " + f
+                            + " to document, duplicate frame definition?", e, 0, "");
+                    }
+                }
+            }
+            parsing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            queue.stopped = true;
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Passes frames from the parsing thread to the translating thread; parsing is abandoned once
+     * the translation has stopped.
+     */
+    private static class FrameQueue implements FrameHandler {
+
+        private final BlockingQueue<Frame> frames;
+        volatile boolean stopped;
+
+        FrameQueue(BlockingQueue<Frame> frames) {
+            this.frames = frames;
+        }
+
+        void put(@Nonnull Frame f) {
+            try {
+                while (!frames.offer(f, 100, TimeUnit.MILLISECONDS)) {
+                    if (stopped) {
+                        throw new OWLRuntimeException("Translation stopped, parsing abandoned");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            }
+        }
+
+        @Override
+        public void header(Frame header) {
+            put(header);
+        }
+
+        @Override
+        public void frame(Frame frame) {
+            put(frame);
+        }
+    }
+
+    /** Translates the frames of a document as they are parsed. */
+    private class StreamingTranslation implements FrameHandler {
+
+        @Nonnull
+        private final OWLOntology in;
+        @Nonnull
+        private final List<Frame> pendingTermFrames = new ArrayList<>();
+        @Nullable
+        private OWLOntologyBulkLoader bulkLoader;
+
+        StreamingTranslation(@Nonnull OWLOntology in) {
+            this.in = in;
+        }
+
+        @Override
+        public void header(Frame header) {
+            obodoc.setHeaderFrame(header);
+            setOwlOntology(in);
+            trOntologyID(in, header);
+            bulkLoader = manager.startBulkLoad(in);
+            loader = bulkLoader;
+            typedefsIncomplete = true;
+        }
+
+        @Override
+        public void frame(Frame frame) throws FrameMergeException {
+            if (frame.getType() == FrameType.TYPEDEF) {
+                obodoc.addTypedefFrame(frame);
+            } else if (frame.getType() == FrameType.TERM) {
+                trTermFrameStreamed(frame, pendingTermFrames);
+            }
+        }
+
+        void finish() {
+            typedefsIncomplete = false;
+            Frame hf = obodoc.getHeaderFrame();
+            trHeaderFrame(hf);
+            for (Frame f : obodoc.getTypedefFrames()) {
+                trTypedefToAnnotationProperty(f);
+            }
+            for (Frame f : obodoc.getTypedefFrames()) {
+                trTypedefFrame(f);
+            }
+            for (Frame f : pendingTermFrames) {
+                trTermFrame(f);
+            }
+            pendingTermFrames.clear();
+            close();
+            trImports(in, hf);
+            postProcess(in);
+        }
+
+        void close() {
+            typedefsIncomplete = false;
+            loader = null;
+            if (bulkLoader != null) {
+                verifyNotNull(bulkLoader).close();
+                bulkLoader = null;
+            }
+        }
+    }
+
+    /**
+     * Translates the clauses of a term frame that do not depend on typedefs not seen yet, and adds
+     * a frame with the remaining clauses to the pending frames.
+     * 
+     * @param termFrame the term frame
+     * @param pending frames to translate once all typedefs are known
+     */
+    private void trTermFrameStreamed(@Nonnull Frame termFrame, @Nonnull List<Frame> pending) {
+        Set<OWLAxiom> axioms = new HashSet<>();
+        Frame rest = null;
+        try {
+            speculate(axioms);
+            OWLClass cls = trClass(termFrame.getId());
+            add(fac.getOWLDeclarationAxiom(cls));
+            if (!endSpeculation()) {
+                pending.add(termFrame);
+                return;
+            }
+            for (String t : termFrame.getTags()) {
+                Set<OWLAxiom> tagAxioms = new HashSet<>();
+                speculate(tagAxioms);
+                if (OboFormatTag.TAG_RELATIONSHIP.getTag().equals(t)) {
+                    // relationships turn into annotations for metadata typedefs
+                    dependsOnUnseenTypedef = true;
+                } else {
+                    trTermFrameTag(cls, t, termFrame.getClauses(t));
+                }
+                if (endSpeculation()) {
+                    axioms.addAll(tagAxioms);
+                } else {
+                    if (rest == null) {
+                        rest = new Frame(FrameType.TERM);
+                        rest.setId(termFrame.getId());
+                    }
+                    for (Clause clause : termFrame.getClauses(t)) {
+                        rest.addClause(clause);
+                    }
+                }
+            }
+        } finally {
+            speculativeAxioms = null;
+        }
+        add(axioms);
+        if (rest != null) {
+            rest.freeze();
+            pending.add(rest);
+        }
+    }
+
+    private void speculate(@Nonnull Set<OWLAxiom> destination) {
+        speculativeAxioms = destination;
+        speculativeDeclarations.clear();
+        dependsOnUnseenTypedef = false;
+    }
+
+    /**
+     * @return true if the speculative axioms can be kept; otherwise the annotation properties they
+     *         declared are forgotten, so that the later translation declares them again
+     */
+    private boolean endSpeculation() {
+        speculativeAxioms = null;
+        if (dependsOnUnseenTypedef) {
+            apToDeclare.removeAll(speculativeDeclarations);
+        }
+        speculativeDeclarations.clear();
+        return !dependsOnUnseenTypedef;
+    }
+
     /**
      * Translate document to ontology.
      * 
@@ -330,6 +598,35 @@ public class OWLAPIObo2Owl {
     protected OWLOntology tr(@Nonnull OWLOntology in) {
         setOwlOntology(in);
         Frame hf = obodoc.getHeaderFrame();
+        trOntologyID(in, hf);
+        try (OWLOntologyBulkLoader bulkLoader = manager.startBulkLoad(in)) {
+            loader = bulkLoader;
+            trHeaderFrame(hf);
+            for (Frame f : obodoc.getTypedefFrames()) {
+                trTypedefToAnnotationProperty(f);
+            }
+            for (Frame f : obodoc.getTypedefFrames()) {
+                trTypedefFrame(f);
+            }
+            for (Frame f : obodoc.getTermFrames()) {
+                trTermFrame(f);
+            }
+        } finally {
+            loader = null;
+        }
+        trImports(in, hf);
+        postProcess(in);
+        return in;
+    }
+
+    /**
+     * Sets the ontology id and the default id space from the ontology header.
+     * 
+     * @param in the ontology to update
+     * @param hf the header frame
+     */
+    @SuppressWarnings("null")
+    private void trOntologyID(@Nonnull OWLOntology in, @Nonnull Frame hf) {
         Clause ontClause = hf.getClause(OboFormatTag.TAG_ONTOLOGY);
         if (ontClause != null) {
             String ontOboId = (String) ontClause.getValue();
@@ -368,16 +665,9 @@ public class OWLAPIObo2Owl {
                 new OWLOntologyID(IRI.create(DEFAULT_IRI_PREFIX + defaultIDSpace), null)));
             // TODO - warn
         }
-        trHeaderFrame(hf);
-        for (Frame f : obodoc.getTypedefFrames()) {
-            trTypedefToAnnotationProperty(f);
-        }
-        for (Frame f : obodoc.getTypedefFrames()) {
-            trTypedefFrame(f);
-        }
-        for (Frame f : obodoc.getTermFrames()) {
-            trTermFrame(f);
-        }
+    }
+
+    private void trImports(@Nonnull OWLOntology in, @Nonnull Frame hf) {
         // TODO - individuals
         for (Clause cl : hf.getClauses(OboFormatTag.TAG_IMPORT)) {
             String path = getURI(cl.getValue().toString());
@@ -388,8 +678,6 @@ public class OWLAPIObo2Owl {
             AddImport ai = new AddImport(in, owlImportsDeclaration);
             manager.applyChange(ai);
         }
-        postProcess(in);
-        return in;
     }
 
     /**
@@ -644,21 +932,32 @@ public class OWLAPIObo2Owl {
         add(fac.getOWLDeclarationAxiom(cls));
         for (String t : termFrame.getTags()) {
             // System.out.println("tag:"+tag);
-            Collection<Clause> clauses = termFrame.getClauses(t);
-            if (OboFormatTag.TAG_ALT_ID.getTag().equals(t)) {
-                // Generate deprecated and replaced_by details for alternate
-                // identifier
-                Set<OWLAxiom> axioms = translateAltIds(clauses, cls.getIRI(), true);
-                if (!axioms.isEmpty()) {
-                    add(axioms);
-                }
-            }
-            Set<OWLAxiom> axioms = trTermFrameClauses(cls, clauses, t);
+            trTermFrameTag(cls, t, termFrame.getClauses(t));
+        }
+        return cls;
+    }
+
+    /**
+     * Translate the clauses of a term frame with the same tag.
+     * 
+     * @param cls the class of the frame
+     * @param t the tag
+     * @param clauses the clauses
+     */
+    protected void trTermFrameTag(@Nonnull OWLClass cls, @Nonnull String t,
+        @Nonnull Collection<Clause> clauses) {
+        if (OboFormatTag.TAG_ALT_ID.getTag().equals(t)) {
+            // Generate deprecated and replaced_by details for alternate
+            // identifier
+            Set<OWLAxiom> axioms = translateAltIds(clauses, cls.getIRI(), true);
             if (!axioms.isEmpty()) {
                 add(axioms);
             }
         }
-        return cls;
+        Set<OWLAxiom> axioms = trTermFrameClauses(cls, clauses, t);
+        if (!axioms.isEmpty()) {
+            add(axioms);
+        }
     }
 
     /**
@@ -956,7 +1255,14 @@ public class OWLAPIObo2Owl {
             LOG.error("no axiom");
             return;
         }
-        manager.addAxioms(getOwlOntology(), axioms);
+        Set<OWLAxiom> speculative = speculativeAxioms;
+        if (speculative != null) {
+            speculative.addAll(axioms);
+        } else if (loader != null) {
+            loader.addAll(axioms);
+        } else {
+            manager.addAxioms(getOwlOntology(), axioms);
+        }
     }
 
     /**
@@ -1338,7 +1644,7 @@ public class OWLAPIObo2Owl {
      */
     public OWLClassExpression trRel(@Nonnull String relId, @Nonnull String classId,
         @Nonnull Collection<QualifierValue> quals) {
-        Frame relFrame = obodoc.getTypedefFrame(relId);
+        Frame relFrame = getTypedefFrame(relId);
         OWLObjectPropertyExpression pe = trObjectProp(relId);
         OWLClassExpression ce = trClass(classId);
         assert pe != null;
@@ -1467,7 +1773,7 @@ public class OWLAPIObo2Owl {
      */
     @Nonnull
     protected String mapPropId(@Nonnull String id) {
-        Frame f = obodoc.getTypedefFrame(id);
+        Frame f = getTypedefFrame(id);
         if (f != null) {
             Collection<Xref> xrefs = f.getTagValues(OboFormatTag.TAG_XREF, Xref.class);
             for (Xref x : xrefs) {
@@ -1530,6 +1836,9 @@ public class OWLAPIObo2Owl {
         OWLAnnotationProperty ap = fac.getOWLAnnotationProperty(iri);
         if (!apToDeclare.contains(ap)) {
             apToDeclare.add(ap);
+            if (speculativeAxioms != null) {
+                speculativeDeclarations.add(ap);
+            }
             add(fac.getOWLDeclarationAxiom(ap));
             Obo2OWLVocabulary vocab = Obo2OWLConstants.getVocabularyObj(tag);
             if (vocab != null) {
@@ -1624,6 +1933,10 @@ public class OWLAPIObo2Owl {
      */
     @Nonnull
     public IRI oboIdToIRI(@Nonnull String id) {
+        if (typedefsIncomplete && !id.contains(":")) {
+            // may be the shorthand of a typedef that has not been read yet
+            return oboIdToIRI_load(id);
+        }
         IRI iri = idToIRICache.get(id);
         if (iri == null) {
             iri = oboIdToIRI_load(id);
@@ -1727,6 +2040,21 @@ public class OWLAPIObo2Owl {
         return iri;
     }
 
+    /**
+     * @param id typedef id
+     * @return the typedef frame, or null if the document has none with the id; while a streaming
+     *         conversion is still reading, a missing frame marks the current translation as
+     *         depending on typedefs not seen yet
+     */
+    @Nullable
+    private Frame getTypedefFrame(@Nonnull String id) {
+        Frame f = obodoc.getTypedefFrame(id);
+        if (f == null && typedefsIncomplete) {
+            dependsOnUnseenTypedef = true;
+        }
+        return f;
+    }
+
     // 5.9.3. Special Rules for Relations
     /**
      * Translate shorthand id to expanded id.
@@ -1739,7 +2067,7 @@ public class OWLAPIObo2Owl {
         if (id.contains(":")) {
             return id;
         }
-        Frame tdf = obodoc.getTypedefFrame(id);
+        Frame tdf = getTypedefFrame(id);
         if (tdf == null) {
             return id;
         }
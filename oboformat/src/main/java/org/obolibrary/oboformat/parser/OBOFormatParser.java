@@ -48,6 +48,10 @@ public class OBOFormatParser {
     private boolean followImport;
     private Object location;
     private final ConcurrentHashMap<String, OBODoc> importCache = new ConcurrentHashMap<>();
+    @Nullable
+    private FrameHandler frameHandler;
+    @Nullable
+    private String defaultOboNamespace;
 
     /**
      * Default constructor.
@@ -282,6 +286,11 @@ public class OBOFormatParser {
         obodoc.setHeaderFrame(h);
         parseHeaderFrame(h);
         h.freeze();
+        FrameHandler handler = frameHandler;
+        if (handler != null) {
+            defaultOboNamespace = h.getTagValue(OboFormatTag.TAG_DEFAULT_NAMESPACE, String.class);
+            handler.header(h);
+        }
         parseZeroOrMoreWsOptCmtNl();
         while (!stream.eof()) {
             parseEntityFrame(obodoc);
@@ -297,6 +306,43 @@ public class OBOFormatParser {
         }
     }
 
+    /**
+     * Parses a document and passes each frame to the handler as soon as it is complete, instead of
+     * collecting the frames in the document; only the header frame is set in the document. Frames
+     * are passed with the default namespace already added. Imports are not followed.
+     * 
+     * @param reader reader
+     * @param handler handler for the frames
+     * @return the document with the header frame
+     * @throws OBOFormatParserException parser exception
+     * @since 4.5.23
+     */
+    @Nonnull
+    public OBODoc parse(@Nonnull BufferedReader reader, @Nonnull FrameHandler handler) {
+        setReader(reader);
+        OBODoc obodoc = new OBODoc();
+        frameHandler = handler;
+        try {
+            parseOBODoc(obodoc);
+        } finally {
+            frameHandler = null;
+            defaultOboNamespace = null;
+        }
+        return obodoc;
+    }
+
+    private void addFrame(@Nonnull OBODoc obodoc, @Nonnull Frame f) throws FrameMergeException {
+        FrameHandler handler = frameHandler;
+        if (handler == null) {
+            obodoc.addFrame(f);
+            return;
+        }
+        if (defaultOboNamespace != null) {
+            addOboNamespace(Collections.singleton(f), defaultOboNamespace);
+        }
+        handler.frame(f);
+    }
+
     /**
      * @param doc doc
      * @return list of references
@@ -502,7 +548,7 @@ public class OBOFormatParser {
             }
             try {
                 f.freeze();
-                obodoc.addFrame(f);
+                addFrame(obodoc, f);
             } catch (FrameMergeException e) {
                 throw new OBOFormatParserException(
                     "Could not add frame " + f + " to document, duplicate frame definition?", e,
@@ -621,7 +667,7 @@ public class OBOFormatParser {
             }
             try {
                 f.freeze();
-                obodoc.addFrame(f);
+                addFrame(obodoc, f);
             } catch (FrameMergeException e) {
                 throw new OBOFormatParserException(
                     "Could not add frame " + f + " to document, duplicate frame definition?", e,
@@ -1342,6 +1388,27 @@ public class OBOFormatParser {
         LOG.warn("LINE: {} {}  LINE:\n{}", Integer.valueOf(stream.lineNo), message, stream.line);
     }
 
+    /**
+     * Receives the frames of a document while it is parsed, see
+     * {@link OBOFormatParser#parse(BufferedReader, FrameHandler)}.
+     * 
+     * @since 4.5.23
+     */
+    public interface FrameHandler {
+
+        /**
+         * @param header the header frame, passed before any other frame
+         */
+        void header(@Nonnull Frame header);
+
+        /**
+         * @param frame a term or typedef frame
+         * @throws FrameMergeException if the frame cannot be merged with an earlier frame with the
+         *         same id
+         */
+        void frame(@Nonnull Frame frame) throws FrameMergeException;
+    }
+
     protected static class MyStream {
 
         int pos = 0;
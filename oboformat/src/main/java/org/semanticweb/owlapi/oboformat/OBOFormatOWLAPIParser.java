@@ -48,19 +48,19 @@ public class OBOFormatOWLAPIParser extends AbstractOWLParser implements Serializ
     public OWLDocumentFormat parse(@Nonnull OWLOntologyDocumentSource documentSource,
         @Nonnull OWLOntology ontology, OWLOntologyLoaderConfiguration configuration)
         throws IOException {
-        // XXX configuration is not used
-        OBOFormatParser p = new OBOFormatParser();
-        OBODoc obodoc = null;
+        // only the parser threads are used from the configuration
+        boolean streaming = configuration != null && configuration.getParserThreads() > 1;
         try {
             Reader reader = null;
             InputStream is = null;
             try {
+                BufferedReader in;
                 if (documentSource.isReaderAvailable()) {
                     reader = documentSource.getReader();
-                    obodoc = p.parse(new BufferedReader(reader));
+                    in = new BufferedReader(reader);
                 } else if (documentSource.isInputStreamAvailable()) {
                     is = documentSource.getInputStream();
-                    obodoc = p.parse(new BufferedReader(new InputStreamReader(is)));
+                    in = new BufferedReader(new InputStreamReader(is));
                 } else {
                     if (documentSource.getDocumentIRI().getNamespace().startsWith("jar:")) {
                         if (documentSource.getDocumentIRI().getNamespace().startsWith("jar:!")) {
@@ -88,11 +88,17 @@ public class OBOFormatOWLAPIParser extends AbstractOWLParser implements Serializ
                                 DEFAULT_REQUEST);
                         }
                     }
-                    obodoc = p.parse(new BufferedReader(new InputStreamReader(is)));
+                    in = new BufferedReader(new InputStreamReader(is));
                 }
                 // create a translator object and feed it the OBO Document
                 OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(ontology.getOWLOntologyManager());
-                bridge.convert(obodoc, ontology);
+                if (streaming) {
+                    // frames are translated while the rest of the document is parsed
+                    bridge.convert(in, ontology, true);
+                } else {
+                    OBODoc obodoc = new OBOFormatParser().parse(in);
+                    bridge.convert(obodoc, ontology);
+                }
             } finally {
                 if (is != null) {
                     is.close();
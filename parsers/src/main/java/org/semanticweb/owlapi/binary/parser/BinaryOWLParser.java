@@ -0,0 +1,154 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.parser;
+
+import static org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat.MAGIC;
+import static org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormatFactory;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.BinaryOWLObjectReader;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SetOntologyID;
+
+/**
+ * Parser for {@link BinaryOWLDocumentFormat}. Axioms are added to the ontology in batches, so that
+ * indexes and listeners see one change list per batch rather than one per axiom. Inputs that do not
+ * start with the format magic number are rejected before anything else is read; remote documents
+ * are only fetched if the format or MIME type of the source is known, since binary documents are
+ * not otherwise negotiated over HTTP.
+ * 
+ * @since 4.5.23
+ */
+public class BinaryOWLParser extends AbstractOWLParser {
+
+    private static final long serialVersionUID = 40000L;
+    private static final String MIME_TYPE = "application/x-owlapi-binary";
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "BinaryOWLParser";
+    }
+
+    @Nonnull
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new BinaryOWLDocumentFormatFactory();
+    }
+
+    @Nonnull
+    @Override
+    public OWLDocumentFormat parse(@Nonnull OWLOntologyDocumentSource documentSource,
+        @Nonnull OWLOntology ontology, OWLOntologyLoaderConfiguration configuration)
+        throws IOException {
+        try (InputStream is = open(documentSource, configuration)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+            checkHeader(in);
+            OWLOntologyManager manager = ontology.getOWLOntologyManager();
+            OWLDataFactory df = manager.getOWLDataFactory();
+            BinaryOWLObjectReader reader = new BinaryOWLObjectReader(in, df, true);
+            int version = reader.readVarInt();
+            if (version != VERSION) {
+                throw new OWLParserException("Unsupported binary format version: " + version);
+            }
+            IRI ontologyIRI = readOptionalIRI(reader);
+            IRI versionIRI = readOptionalIRI(reader);
+            if (ontologyIRI != null) {
+                manager.applyChange(
+                    new SetOntologyID(ontology, new OWLOntologyID(ontologyIRI, versionIRI)));
+            }
+            int imports = reader.readVarInt();
+            for (int i = 0; i < imports; i++) {
+                OWLImportsDeclaration decl = df.getOWLImportsDeclaration(reader.read(IRI.class));
+                manager.applyChange(new AddImport(ontology, decl));
+                manager.makeLoadImportRequest(decl, configuration);
+            }
+            for (OWLAnnotation a : reader.readList(OWLAnnotation.class)) {
+                manager.applyChange(new AddOntologyAnnotation(ontology, a));
+            }
+            try (OWLOntologyBulkLoader loader = manager.startBulkLoad(ontology)) {
+                for (int size = reader.readVarInt(); size > 0; size = reader.readVarInt()) {
+                    for (int i = 0; i < size; i++) {
+                        OWLAxiom ax = reader.readAxiom();
+                        if (!(ax instanceof OWLAnnotationAxiom)
+                            || configuration.isLoadAnnotationAxioms()) {
+                            loader.add(ax);
+                        }
+                    }
+                }
+            }
+            return new BinaryOWLDocumentFormat();
+        }
+    }
+
+    private InputStream open(OWLOntologyDocumentSource documentSource,
+        OWLOntologyLoaderConfiguration configuration) throws IOException {
+        if (documentSource.isInputStreamAvailable()) {
+            return documentSource.getInputStream();
+        }
+        IRI documentIRI = documentSource.getDocumentIRI();
+        if (documentSource.isReaderAvailable() || !"file".equals(documentIRI.getScheme())
+            && !documentSource.isFormatKnown() && !documentSource.isMIMETypeKnown()) {
+            throw new OWLParserException(
+                "Binary documents can only be read from files or sources of known format: "
+                    + documentIRI);
+        }
+        return getInputStream(documentIRI, configuration,
+            documentSource.getAcceptHeaders().orElse(MIME_TYPE));
+    }
+
+    private static void checkHeader(DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new OWLParserException("Not a binary OWL document");
+            }
+        } catch (EOFException e) {
+            throw new OWLParserException("Not a binary OWL document", e);
+        }
+    }
+
+    @Nullable
+    private static IRI readOptionalIRI(BinaryOWLObjectReader reader) throws IOException {
+        if (reader.readVarInt() == 0) {
+            return null;
+        }
+        return reader.read(IRI.class);
+    }
+}
@@ -0,0 +1,106 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.renderer;
+
+import static org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat.MAGIC;
+import static org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat.VERSION;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.formats.BinaryOWLDocumentFormat;
+import org.semanticweb.owlapi.io.BinaryOWLObjectWriter;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLImportsDeclaration;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.util.AbstractOWLStorer;
+
+import com.google.common.base.Optional;
+
+/**
+ * Writes ontologies in {@link BinaryOWLDocumentFormat}. The document starts with a magic number
+ * and a format version, followed by the ontology id, import declarations and ontology annotations.
+ * Axioms follow in blocks of one axiom type each, every block preceded by its size; an empty block
+ * ends the document. IRIs and literals are written in full on their first occurrence and as
+ * references afterwards, so that the document carries its own IRI and literal tables.
+ * 
+ * @since 4.5.23
+ */
+public class BinaryOWLStorer extends AbstractOWLStorer {
+
+    private static final long serialVersionUID = 40000L;
+
+    @Override
+    public boolean canStoreOntology(OWLDocumentFormat ontologyFormat) {
+        return ontologyFormat instanceof BinaryOWLDocumentFormat;
+    }
+
+    @Override
+    protected void storeOntology(@Nonnull OWLOntology ontology, @Nonnull Writer writer,
+        OWLDocumentFormat format) throws OWLOntologyStorageException {
+        throw new OWLOntologyStorageException(
+            "Binary documents cannot be written to a Writer: " + format.getKey());
+    }
+
+    @Override
+    protected void storeOntology(@Nonnull OWLOntology ontology,
+        @Nonnull OutputStream outputStream, @Nonnull OWLDocumentFormat format)
+        throws OWLOntologyStorageException {
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+            out.writeInt(MAGIC);
+            BinaryOWLObjectWriter writer = new BinaryOWLObjectWriter(out, true);
+            writer.writeVarInt(VERSION);
+            OWLOntologyID id = ontology.getOntologyID();
+            writeOptionalIRI(writer, id.getOntologyIRI());
+            writeOptionalIRI(writer, id.getVersionIRI());
+            Set<OWLImportsDeclaration> imports = ontology.getImportsDeclarations();
+            writer.writeVarInt(imports.size());
+            for (OWLImportsDeclaration decl : imports) {
+                writer.writeObject(decl.getIRI());
+            }
+            writer.writeObjects(ontology.getAnnotations());
+            for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+                Set<? extends OWLAxiom> axioms = ontology.getAxioms(type);
+                if (!axioms.isEmpty()) {
+                    writer.writeObjects(axioms);
+                }
+            }
+            writer.writeVarInt(0);
+            out.flush();
+        } catch (IOException e) {
+            throw new OWLOntologyStorageException(e);
+        }
+    }
+
+    private static void writeOptionalIRI(BinaryOWLObjectWriter writer, Optional<IRI> iri)
+        throws IOException {
+        if (iri.isPresent()) {
+            writer.writeVarInt(1);
+            writer.writeObject(iri.get());
+        } else {
+            writer.writeVarInt(0);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 
 /**
@@ -95,7 +96,10 @@ public class DLSyntaxOWLParser extends AbstractOWLParser {
                 parser = new DLSyntaxParser(is);
             }
             Set<OWLAxiom> set = parser.parseAxioms();
-            ontology.getOWLOntologyManager().addAxioms(ontology, set);
+            try (OWLOntologyBulkLoader loader = ontology.getOWLOntologyManager()
+                .startBulkLoad(ontology)) {
+                loader.addAll(set);
+            }
             return new DLSyntaxHTMLDocumentFormat();
         } catch (ParseException e) {
             throw new OWLParserException(e.getMessage(), e, e.currentToken.beginLine,
@@ -29,6 +29,7 @@ import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 
 /**
@@ -59,14 +60,13 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
         Reader reader = null;
         InputStream is = null;
         try {
-            OWLFunctionalSyntaxParser parser;
+            CustomTokenizer tokenizer;
             if (documentSource.isReaderAvailable()) {
                 reader = documentSource.getReader();
-                parser = new OWLFunctionalSyntaxParser(new CustomTokenizer(reader));
+                tokenizer = new CustomTokenizer(reader);
             } else if (documentSource.isInputStreamAvailable()) {
                 is = documentSource.getInputStream();
-                parser = new OWLFunctionalSyntaxParser(
-                    new CustomTokenizer(new InputStreamReader(is, "UTF-8")));
+                tokenizer = new CustomTokenizer(new InputStreamReader(is, "UTF-8"));
             } else {
                 if (documentSource.getDocumentIRI().getNamespace().startsWith("jar:")) {
                     if (documentSource.getDocumentIRI().getNamespace().startsWith("jar:!")) {
@@ -94,11 +94,20 @@ public class OWLFunctionalSyntaxOWLParser extends AbstractOWLParser {
                             DEFAULT_REQUEST);
                     }
                 }
-                parser = new OWLFunctionalSyntaxParser(
-                    new CustomTokenizer(new InputStreamReader(is, "UTF-8")));
+                tokenizer = new CustomTokenizer(new InputStreamReader(is, "UTF-8"));
+            }
+            try (OWLOntologyBulkLoader loader =
+                ontology.getOWLOntologyManager().startBulkLoad(ontology)) {
+                int threads = configuration.getParserThreads();
+                if (threads > 1) {
+                    return new ParallelOWLFunctionalSyntaxParser(tokenizer, loader, configuration,
+                        threads).parse();
+                }
+                OWLFunctionalSyntaxParser parser = new OWLFunctionalSyntaxParser(tokenizer);
+                parser.setUp(ontology, configuration);
+                parser.setBulkLoader(loader);
+                return parser.parse();
             }
-            parser.setUp(ontology, configuration);
-            return parser.parse();
         } catch (ParseException e) {
             throw new OWLParserException(e.getMessage(), e, 0, 0);
         } catch (TokenMgrError e) {
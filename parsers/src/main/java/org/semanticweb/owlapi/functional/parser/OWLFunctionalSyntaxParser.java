@@ -34,6 +34,8 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
 
     protected RemappingIndividualProvider anonProvider;
 
+    private OWLOntologyBulkLoader loader;
+
     public void setUp(OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) {
         this.man = ontology.getOWLOntologyManager();
         this.ontology = ontology;
@@ -93,10 +95,18 @@ public class OWLFunctionalSyntaxParser implements OWLFunctionalSyntaxParserConst
 
     protected void addAxiom(OWLAxiom ax) {
         if (!(ax instanceof OWLAnnotationAxiom) || configuration.isLoadAnnotationAxioms()) {
-            applyChange(new AddAxiom(ontology, ax));
+            if (loader == null) {
+                applyChange(new AddAxiom(ontology, ax));
+            } else {
+                loader.add(ax);
+            }
         }
     }
 
+    public void setBulkLoader(OWLOntologyBulkLoader loader) {
+        this.loader = loader;
+    }
+
     public void setPrefixes(PrefixManager nsm) {
         if(prefixMap == null) {
             prefixMap = new HashMap<String, String>();
@@ -0,0 +1,300 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.functional.parser;
+
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.ANNOTATION;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.CLOSEPAR;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.EOF;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.FULLIRI;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.IMPORT;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.ONTOLOGY;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.OPENPAR;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.PNAME_LN;
+import static org.semanticweb.owlapi.functional.parser.OWLFunctionalSyntaxParserConstants.PREFIX;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.RemappingIndividualProvider;
+
+/**
+ * Parses a functional syntax document with several threads. The document is tokenized once, on
+ * the calling thread; prefixes and the ontology header are parsed first, then the axioms are cut
+ * into chunks at top level parenthesis boundaries and each chunk is parsed by its own
+ * {@link OWLFunctionalSyntaxParser}. Parsed chunks are added to the ontology in document order, so
+ * the ontology ends up with the same axioms as after a sequential parse.
+ * 
+ * @since 4.5.23
+ */
+class ParallelOWLFunctionalSyntaxParser {
+
+    /** Minimum number of tokens in a chunk. */
+    static final int CHUNK_TOKENS = 1 << 15;
+    @Nonnull
+    private final TokenManager tokens;
+    @Nonnull
+    private final OWLOntologyBulkLoader loader;
+    @Nonnull
+    private final OWLOntology ontology;
+    @Nonnull
+    private final OWLOntologyLoaderConfiguration configuration;
+    private final int threads;
+    @Nonnull
+    private final RemappingIndividualProvider anonProvider;
+    private FunctionalSyntaxDocumentFormat format = new FunctionalSyntaxDocumentFormat();
+
+    /**
+     * @param tokens tokens of the document
+     * @param loader bulk loader for the ontology to fill
+     * @param configuration loader configuration
+     * @param threads number of threads parsing chunks
+     */
+    ParallelOWLFunctionalSyntaxParser(@Nonnull TokenManager tokens,
+        @Nonnull OWLOntologyBulkLoader loader,
+        @Nonnull OWLOntologyLoaderConfiguration configuration, int threads) {
+        this.tokens = tokens;
+        this.loader = loader;
+        ontology = loader.getOntology();
+        this.configuration = configuration;
+        this.threads = threads;
+        anonProvider = new SharedIndividualProvider(ontology.getOWLOntologyManager()
+            .getOWLDataFactory());
+    }
+
+    /**
+     * @return the format of the parsed document
+     * @throws ParseException if the document cannot be parsed
+     */
+    FunctionalSyntaxDocumentFormat parse() throws ParseException {
+        List<Token> header = new ArrayList<>();
+        Token t = readHeader(header);
+        format = parser(header).parse();
+        if (t.kind == EOF) {
+            // no axioms; the header was the whole document
+            return format;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Deque<Future<List<OWLAxiom>>> pending = new ArrayDeque<>();
+            List<Token> chunk = newChunk();
+            while (t.kind != CLOSEPAR && t.kind != EOF) {
+                t = readAxiom(t, chunk);
+                if (chunk.size() >= CHUNK_TOKENS) {
+                    pending.add(submit(pool, chunk));
+                    chunk = newChunk();
+                    // bound the number of chunks held in memory
+                    if (pending.size() > 2 * threads) {
+                        addAxioms(pending.remove());
+                    }
+                }
+            }
+            if (chunk.size() > 2) {
+                pending.add(submit(pool, chunk));
+            }
+            while (!pending.isEmpty()) {
+                addAxioms(pending.remove());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        if (t.kind == CLOSEPAR) {
+            t = tokens.getNextToken();
+        }
+        if (t.kind != EOF) {
+            throw new ParseException("Encountered \"" + t.image + "\" at line " + t.beginLine
+                + ", column " + t.beginColumn + ". Was expecting the end of the ontology.");
+        }
+        return format;
+    }
+
+    /**
+     * Reads prefixes, ontology IRIs, imports and ontology annotations.
+     * 
+     * @param header list to receive the header tokens, completed so that it can be parsed as a
+     *        document on its own
+     * @return the first token of the first axiom, or EOF if the document contains no axioms
+     */
+    private Token readHeader(List<Token> header) {
+        int depth = 0;
+        boolean inOntology = false;
+        for (Token t = tokens.getNextToken();; t = tokens.getNextToken()) {
+            if (t.kind == EOF) {
+                header.add(t);
+                return t;
+            }
+            if (!inOntology && depth == 0 && t.kind != PREFIX && t.kind != ONTOLOGY
+                && t.kind != OPENPAR) {
+                // not a functional syntax document; let the header parser report the error
+                // rather than reading the rest of the input
+                header.add(t);
+                Token eof = Token.newToken(EOF, "");
+                header.add(eof);
+                return eof;
+            }
+            if (inOntology && depth == 1 && isAxiomStart(t.kind)) {
+                header.add(Token.newToken(CLOSEPAR, ")"));
+                header.add(Token.newToken(EOF, ""));
+                return t;
+            }
+            if (t.kind == OPENPAR) {
+                depth++;
+            } else if (t.kind == CLOSEPAR) {
+                depth--;
+            } else if (t.kind == ONTOLOGY && depth == 0) {
+                inOntology = true;
+            }
+            header.add(t);
+        }
+    }
+
+    private static boolean isAxiomStart(int kind) {
+        return kind != FULLIRI && kind != PNAME_LN && kind != IMPORT && kind != ANNOTATION
+            && kind != OPENPAR && kind != CLOSEPAR;
+    }
+
+    /**
+     * Adds the tokens of one axiom to the chunk.
+     * 
+     * @param first first token of the axiom
+     * @param chunk chunk to add to
+     * @return the token following the axiom
+     */
+    private Token readAxiom(Token first, List<Token> chunk) {
+        chunk.add(first);
+        int depth = 0;
+        Token t = tokens.getNextToken();
+        while (t.kind != EOF) {
+            chunk.add(t);
+            if (t.kind == OPENPAR) {
+                depth++;
+            } else if (t.kind == CLOSEPAR && --depth <= 0) {
+                return tokens.getNextToken();
+            }
+            t = tokens.getNextToken();
+        }
+        return t;
+    }
+
+    private static List<Token> newChunk() {
+        List<Token> chunk = new ArrayList<>();
+        chunk.add(Token.newToken(ONTOLOGY, "Ontology"));
+        chunk.add(Token.newToken(OPENPAR, "("));
+        return chunk;
+    }
+
+    private Future<List<OWLAxiom>> submit(ForkJoinPool pool, List<Token> chunk) {
+        chunk.add(Token.newToken(CLOSEPAR, ")"));
+        chunk.add(Token.newToken(EOF, ""));
+        return pool.submit(() -> {
+            ChunkParser parser = new ChunkParser(new TokenList(chunk));
+            parser.setPrefixes(format);
+            parser.setUp(ontology, configuration);
+            parser.anonProvider = anonProvider;
+            parser.parse();
+            return parser.axioms;
+        });
+    }
+
+    private void addAxioms(Future<List<OWLAxiom>> chunk) throws ParseException {
+        List<OWLAxiom> axioms;
+        try {
+            axioms = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseException) {
+                throw (ParseException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new OWLRuntimeException(cause);
+        }
+        loader.addAll(axioms);
+    }
+
+    private OWLFunctionalSyntaxParser parser(List<Token> header) {
+        OWLFunctionalSyntaxParser parser = new OWLFunctionalSyntaxParser(new TokenList(header));
+        parser.setUp(ontology, configuration);
+        parser.anonProvider = anonProvider;
+        return parser;
+    }
+
+    /** Parser for a chunk of axioms; collects the axioms instead of adding them. */
+    private static class ChunkParser extends OWLFunctionalSyntaxParser {
+
+        final List<OWLAxiom> axioms = new ArrayList<>();
+
+        ChunkParser(TokenManager tm) {
+            super(tm);
+        }
+
+        @Override
+        protected void applyChange(OWLOntologyChange chg) {
+            // the only other change in a chunk sets the empty ID of the enclosing
+            // Ontology( ), which must not reach the ontology
+            if (chg.isAxiomChange()) {
+                axioms.add(chg.getAxiom());
+            }
+        }
+    }
+
+    private static class TokenList implements TokenManager {
+
+        private final Iterator<Token> tokens;
+
+        TokenList(List<Token> tokens) {
+            this.tokens = tokens.iterator();
+        }
+
+        @Override
+        public Token getNextToken() {
+            return tokens.hasNext() ? tokens.next() : Token.newToken(EOF, "");
+        }
+    }
+
+    /** Blank node labels are shared by all chunks, so lookups must be synchronized. */
+    private static class SharedIndividualProvider extends RemappingIndividualProvider {
+
+        SharedIndividualProvider(OWLDataFactory df) {
+            super(df);
+        }
+
+        @Override
+        public synchronized OWLAnonymousIndividual getOWLAnonymousIndividual(String nodeId) {
+            return super.getOWLAnonymousIndividual(nodeId);
+        }
+    }
+}
@@ -12,6 +12,7 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.functional.renderer;
 
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.RENDERER_THREADS;
 import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import static org.semanticweb.owlapi.util.CollectionFactory.sortOptionally;
@@ -99,15 +100,23 @@ import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.TRANSITIVE_OBJECT_PR
 import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.VARIABLE;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 
@@ -235,6 +244,10 @@ import org.semanticweb.owlapi.vocab.OWLXMLVocabulary;
  */
 public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
 
+    /** Number of entity sections, or of groups of other axioms, in a parallel rendering chunk. */
+    private static final int PARTS_PER_CHUNK = 64;
+    /** Number of axioms without an entity section in a group. */
+    private static final int AXIOMS_PER_PART = 64;
     @Nonnull
     private DefaultPrefixManager defaultPrefixManager = new DefaultPrefixManager();
     private PrefixManager prefixManager;
@@ -245,6 +258,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     private boolean addMissingDeclarations = true;
     private boolean explicitXsdString = false;
     protected AnnotationValueShortFormProvider labelMaker = null;
+    private int rendererThreads = 1;
 
     /**
      * @param ontology the ontology
@@ -269,6 +283,11 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
             addMissingDeclarations = ontologyFormat.isAddMissingTypes();
             explicitXsdString = ((Boolean) ontologyFormat
                 .getParameter("force xsd:string on literals", Boolean.FALSE)).booleanValue();
+            rendererThreads = ((Number) ontologyFormat.getParameter("renderer threads",
+                RENDERER_THREADS.getValue(Integer.class, Collections.emptyMap()))).intValue();
+        } else {
+            rendererThreads =
+                RENDERER_THREADS.getValue(Integer.class, Collections.emptyMap()).intValue();
         }
         if (ontologyFormat instanceof PrefixDocumentFormat) {
             prefixManager.copyPrefixesFrom((PrefixDocumentFormat) ontologyFormat);
@@ -288,6 +307,41 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         focusedObject = ontology.getOWLOntologyManager().getOWLDataFactory().getOWLThing();
     }
 
+    /**
+     * Copy of a renderer, writing to a chunk buffer, used to render entity sections in parallel.
+     * It shares the prefix manager and the label provider of the original renderer but is never
+     * used to read the ontology.
+     * 
+     * @param parent the renderer to copy
+     * @param writer the chunk buffer
+     * @param focusedObject the focused object at the start of the chunk
+     */
+    private FunctionalSyntaxObjectRenderer(@Nonnull FunctionalSyntaxObjectRenderer parent,
+        @Nonnull Writer writer, OWLObject focusedObject) {
+        ont = parent.ont;
+        this.writer = writer;
+        defaultPrefixManager = parent.defaultPrefixManager;
+        prefixManager = parent.prefixManager;
+        addMissingDeclarations = parent.addMissingDeclarations;
+        explicitXsdString = parent.explicitXsdString;
+        labelMaker = parent.labelMaker;
+        this.focusedObject = focusedObject;
+    }
+
+    /**
+     * Set the number of threads used to render the axioms of an ontology. With more than one
+     * thread, entity sections are rendered into chunk buffers on a pool and written in the same
+     * order as the sequential renderer, so the output does not change. Subclasses and renderers
+     * with a prefix manager other than a {@link DefaultPrefixManager} always render sequentially,
+     * since they may read the ontology while rendering.
+     * 
+     * @param threads number of threads; one or less means sequential rendering
+     * @since 4.5.23
+     */
+    public void setRendererThreads(int threads) {
+        rendererThreads = threads;
+    }
+
     /**
      * Set the add missing declaration flag.
      * 
@@ -397,6 +451,13 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
             writeReturn();
         }
         writeReturn();
+        if (rendererThreads > 1 && getClass() == FunctionalSyntaxObjectRenderer.class
+            && prefixManager == defaultPrefixManager) {
+            writeAxiomsInParallel(ontology);
+            writeCloseBracket();
+            flush();
+            return;
+        }
         Set<OWLAxiom> writtenAxioms = new HashSet<>();
         Collection<IRI> illegals = OWLDocumentFormatImpl.determineIllegalPunnings(
             addMissingDeclarations, ontology.getSignature(), ont.getPunnedIRIs(INCLUDED));
@@ -433,6 +494,208 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         }
     }
 
+    /**
+     * Renders the declarations, the entity sections and the remaining axioms of the ontology on a
+     * pool. Which axioms each section contains, the banners and the entity labels are worked out
+     * here, on the calling thread, exactly as the sequential renderer does while writing, so that
+     * the workers only sort and render objects and never read the ontology. The common pool is
+     * used when it has as many threads as requested; otherwise a pool is created for this save and
+     * shut down at the end.
+     */
+    private void writeAxiomsInParallel(@Nonnull OWLOntology ontology) {
+        boolean common = rendererThreads == ForkJoinPool.getCommonPoolParallelism();
+        ForkJoinPool pool = common ? ForkJoinPool.commonPool() : new ForkJoinPool(rendererThreads);
+        ParallelSections sections = new ParallelSections(pool);
+        try {
+            Set<OWLAxiom> writtenAxioms = new HashSet<>();
+            Collection<IRI> illegals = OWLDocumentFormatImpl.determineIllegalPunnings(
+                addMissingDeclarations, ontology.getSignature(), ont.getPunnedIRIs(INCLUDED));
+            OWLDataFactory df = ont.getOWLOntologyManager().getOWLDataFactory();
+            for (OWLEntity ent : sortOptionally(ontology.getSignature())) {
+                Set<OWLDeclarationAxiom> axioms = ont.getDeclarationAxioms(ent);
+                List<OWLAxiom> declarations = new ArrayList<>(axioms.size());
+                for (OWLDeclarationAxiom ax : axioms) {
+                    if (!writtenAxioms.contains(ax)) {
+                        declarations.add(ax);
+                    }
+                }
+                if (addMissingDeclarations && axioms.isEmpty() && !ent.isBuiltIn()
+                    && !illegals.contains(ent.getIRI()) && !ont.isDeclared(ent, INCLUDED)) {
+                    declarations.add(df.getOWLDeclarationAxiom(ent));
+                }
+                writtenAxioms.addAll(axioms);
+                if (!declarations.isEmpty()) {
+                    sections.add(r -> r.writeAxioms(declarations));
+                }
+            }
+            addEntitySections(sections, "Annotation Properties", "Annotation Property",
+                ontology.getAnnotationPropertiesInSignature(EXCLUDED), writtenAxioms);
+            addEntitySections(sections, "Object Properties", "Object Property",
+                ontology.getObjectPropertiesInSignature(), writtenAxioms);
+            addEntitySections(sections, "Data Properties", "Data Property",
+                ontology.getDataPropertiesInSignature(), writtenAxioms);
+            addEntitySections(sections, "Datatypes", "Datatype",
+                ontology.getDatatypesInSignature(), writtenAxioms);
+            addEntitySections(sections, "Classes", "Class", ontology.getClassesInSignature(),
+                writtenAxioms);
+            addEntitySections(sections, "Named Individuals", "Individual",
+                ontology.getIndividualsInSignature(), writtenAxioms);
+            Set<OWLAxiom> otherAxioms = ontology.getAxioms();
+            otherAxioms.removeAll(writtenAxioms);
+            List<OWLAxiom> sortedAxioms = sortOptionally(otherAxioms);
+            for (int i = 0; i < sortedAxioms.size(); i += AXIOMS_PER_PART) {
+                List<OWLAxiom> part =
+                    sortedAxioms.subList(i, Math.min(i + AXIOMS_PER_PART, sortedAxioms.size()));
+                sections.add(r -> r.writeSortedAxioms(part));
+            }
+            sections.finish();
+            focusedObject = sections.focus;
+        } finally {
+            // if rendering failed, the chunks still pending are not needed
+            sections.cancel();
+            if (!common) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private void addEntitySections(@Nonnull ParallelSections sections, String comment,
+        String entityTypeName, Set<? extends OWLEntity> entities,
+        @Nonnull Set<OWLAxiom> writtenAxioms) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        boolean haveWrittenBanner = false;
+        for (OWLEntity owlEntity : sortOptionally(entities)) {
+            Collection<OWLAxiom> axiomsForEntity = new ArrayList<>();
+            for (OWLAxiom axiom : getUnsortedAxiomsForEntity(owlEntity)) {
+                if (!writtenAxioms.contains(axiom)) {
+                    axiomsForEntity.add(axiom);
+                }
+            }
+            Collection<OWLAnnotationAssertionAxiom> annotationAssertionAxioms =
+                new ArrayList<>();
+            for (OWLAnnotationAssertionAxiom axiom : ont
+                .getAnnotationAssertionAxioms(owlEntity.getIRI())) {
+                if (!writtenAxioms.contains(axiom)) {
+                    annotationAssertionAxioms.add(axiom);
+                }
+            }
+            if (axiomsForEntity.isEmpty() && annotationAssertionAxioms.isEmpty()) {
+                continue;
+            }
+            boolean banner = !haveWrittenBanner;
+            haveWrittenBanner = true;
+            writtenAxioms.addAll(annotationAssertionAxioms);
+            for (OWLAxiom ax : axiomsForEntity) {
+                if (!isLeftForOtherAxioms(ax)) {
+                    writtenAxioms.add(ax);
+                }
+            }
+            String label = getEntityLabel(owlEntity);
+            sections.add(r -> {
+                if (banner) {
+                    r.writeBanner(comment);
+                }
+                r.writeEntitySection(owlEntity, entityTypeName, label,
+                    sortOptionally(axiomsForEntity), sortOptionally(annotationAssertionAxioms),
+                    new HashSet<>());
+            });
+            sections.focus = owlEntity;
+        }
+        sections.add(FunctionalSyntaxObjectRenderer::writeln);
+    }
+
+    private void writeAxioms(@Nonnull Collection<OWLAxiom> axioms) {
+        writeSortedAxioms(sortOptionally(axioms));
+    }
+
+    private void writeSortedAxioms(@Nonnull List<OWLAxiom> axioms) {
+        for (OWLAxiom ax : axioms) {
+            ax.accept(this);
+            writeReturn();
+        }
+    }
+
+    /**
+     * Entity sections rendered on a pool, in chunks of {@link #PARTS_PER_CHUNK} parts. Chunks are
+     * written in the order they were added as soon as they are ready; at most a few chunks per
+     * thread are held in memory.
+     */
+    private class ParallelSections {
+
+        private final ForkJoinPool pool;
+        private final Deque<Future<String>> pending = new ArrayDeque<>();
+        private List<Consumer<FunctionalSyntaxObjectRenderer>> parts = new ArrayList<>();
+        /** Focused object when the current chunk started. */
+        private OWLObject chunkFocus;
+        /** Focused object after the parts added so far, as the sequential renderer sets it. */
+        OWLObject focus = focusedObject;
+
+        ParallelSections(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        void add(Consumer<FunctionalSyntaxObjectRenderer> part) {
+            if (parts.isEmpty()) {
+                chunkFocus = focus;
+            }
+            parts.add(part);
+            if (parts.size() == PARTS_PER_CHUNK) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            if (parts.isEmpty()) {
+                return;
+            }
+            List<Consumer<FunctionalSyntaxObjectRenderer>> chunk = parts;
+            OWLObject start = chunkFocus;
+            parts = new ArrayList<>();
+            pending.add(pool.submit(() -> {
+                StringWriter buffer = new StringWriter();
+                FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(
+                    FunctionalSyntaxObjectRenderer.this, buffer, start);
+                for (Consumer<FunctionalSyntaxObjectRenderer> part : chunk) {
+                    part.accept(renderer);
+                }
+                return buffer.toString();
+            }));
+            while (pending.size() > 4 * rendererThreads) {
+                writeNext();
+            }
+        }
+
+        void finish() {
+            submit();
+            while (!pending.isEmpty()) {
+                writeNext();
+            }
+        }
+
+        void cancel() {
+            for (Future<String> f : pending) {
+                f.cancel(true);
+            }
+            pending.clear();
+        }
+
+        private void writeNext() {
+            try {
+                write(pending.removeFirst().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new OWLRuntimeException(e.getCause());
+            }
+        }
+    }
+
     private void writeln() {
         writeReturn();
     }
@@ -467,10 +730,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
                 continue;
             }
             if (!haveWrittenBanner) {
-                writeln("############################");
-                writeln("#   " + comment);
-                writeln("############################");
-                writeln();
+                writeBanner(comment);
                 haveWrittenBanner = true;
             }
             writeEntity2(owlEntity, entityTypeName, sortAxioms(axiomsForEntity),
@@ -478,6 +738,13 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         }
     }
 
+    private void writeBanner(String comment) {
+        writeln("############################");
+        writeln("#   " + comment);
+        writeln("############################");
+        writeln();
+    }
+
     @Nonnull
     private static List<OWLAnnotation> getSortedAnnotations(HasAnnotations annotationBearer) {
         return sortOptionally(annotationBearer.getAnnotations());
@@ -507,18 +774,21 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         @Nonnull List<? extends OWLAxiom> axiomsForEntity,
         @Nonnull List<OWLAnnotationAssertionAxiom> annotationAssertionAxioms,
         @Nonnull Set<OWLAxiom> alreadyWrittenAxioms) {
-        writeln("# " + entityTypeName + ": " + getIRIString(entity) + " (" + getEntityLabel(entity)
-            + ")");
+        writeEntitySection(entity, entityTypeName, getEntityLabel(entity), axiomsForEntity,
+            annotationAssertionAxioms, alreadyWrittenAxioms);
+    }
+
+    private void writeEntitySection(@Nonnull OWLEntity entity, String entityTypeName,
+        String label, @Nonnull List<? extends OWLAxiom> axiomsForEntity,
+        @Nonnull List<OWLAnnotationAssertionAxiom> annotationAssertionAxioms,
+        @Nonnull Set<OWLAxiom> alreadyWrittenAxioms) {
+        writeln("# " + entityTypeName + ": " + getIRIString(entity) + " (" + label + ")");
         writeln();
         setFocusedObject(entity);
         writeAnnotations2(entity, alreadyWrittenAxioms, annotationAssertionAxioms);
         List<? extends OWLAxiom> axs = axiomsForEntity;
         for (OWLAxiom ax : axs) {
-            if (ax.getAxiomType().equals(AxiomType.DIFFERENT_INDIVIDUALS)) {
-                continue;
-            }
-            if (ax.getAxiomType().equals(AxiomType.DISJOINT_CLASSES)
-                && ((OWLDisjointClassesAxiom) ax).getClassExpressions().size() > 2) {
+            if (isLeftForOtherAxioms(ax)) {
                 continue;
             }
             ax.accept(this);
@@ -528,6 +798,16 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         writeln();
     }
 
+    /**
+     * @return true for the axioms that are not written in an entity section but with the axioms
+     *         that do not belong to any entity
+     */
+    private static boolean isLeftForOtherAxioms(@Nonnull OWLAxiom ax) {
+        return ax.getAxiomType().equals(AxiomType.DIFFERENT_INDIVIDUALS)
+            || ax.getAxiomType().equals(AxiomType.DISJOINT_CLASSES)
+                && ((OWLDisjointClassesAxiom) ax).getClassExpressions().size() > 2;
+    }
+
     @Nonnull
     private Set<? extends OWLAxiom> getUnsortedAxiomsForEntity(@Nonnull OWLEntity entity) {
         return entity.accept(new OWLEntityVisitorEx<Set<? extends OWLAxiom>>() {
@@ -28,6 +28,7 @@ import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 
 /**
@@ -95,7 +96,11 @@ public class KRSSOWLParser extends AbstractOWLParser {
                 }
             }
             parser.setOntology(ontology, ontology.getOWLOntologyManager().getOWLDataFactory());
-            parser.parse();
+            try (OWLOntologyBulkLoader loader = ontology.getOWLOntologyManager()
+                .startBulkLoad(ontology)) {
+                parser.setBulkLoader(loader);
+                parser.parse();
+            }
             return new KRSSDocumentFormat();
         } catch (ParseException e) {
             throw new KRSSOWLParserException(e);
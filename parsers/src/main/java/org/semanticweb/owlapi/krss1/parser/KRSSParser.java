@@ -27,6 +27,7 @@ import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLMutableOntology;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyChangeException;
 import org.semanticweb.owlapi.vocab.Namespaces;
 
@@ -37,6 +38,7 @@ class KRSSParser implements KRSSParserConstants {
     private OWLDataFactory dataFactory;
     private Map<String, IRI> string2IRI;
     private String base;
+    private OWLOntologyBulkLoader loader;
 
     void setOntology(OWLOntology ontology, OWLDataFactory dataFactory) {
         this.ontology = ontology;
@@ -49,8 +51,16 @@ class KRSSParser implements KRSSParserConstants {
         }
     }
 
+    void setBulkLoader(OWLOntologyBulkLoader loader) {
+        this.loader = loader;
+    }
+
     void addAxiom(OWLAxiom ax) {
         try {
+            if (loader != null) {
+                loader.add(ax);
+                return;
+            }
             ((OWLMutableOntology) ontology).applyChange(new AddAxiom(ontology,
                     ax));
         } catch (OWLOntologyChangeException e) {
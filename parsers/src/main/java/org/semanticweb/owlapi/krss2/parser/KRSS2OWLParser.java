@@ -29,6 +29,7 @@ import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 
 /**
@@ -291,7 +292,11 @@ public class KRSS2OWLParser extends AbstractOWLParser {
                 parser = new KRSS2Parser(is);
             }
             parser.setOntology(ontology, ontology.getOWLOntologyManager().getOWLDataFactory());
-            parser.parse();
+            try (OWLOntologyBulkLoader loader = ontology.getOWLOntologyManager()
+                .startBulkLoad(ontology)) {
+                parser.setBulkLoader(loader);
+                parser.parse();
+            }
             return new KRSS2DocumentFormat();
         } catch (ParseException e) {
             throw new KRSS2OWLParserException(e);
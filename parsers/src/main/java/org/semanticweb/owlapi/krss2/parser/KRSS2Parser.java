@@ -33,6 +33,7 @@ import org.semanticweb.owlapi.model.OWLMutableOntology;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyChangeException;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
@@ -50,6 +51,7 @@ class KRSS2Parser implements KRSS2ParserConstants {
     private int adaptiveMaxRuns = 10;
     private boolean alwaysIRIs = false;
     private boolean alwaysNames = false;
+    private OWLOntologyBulkLoader loader;
 
     void setOntology(OWLOntology ontology, OWLDataFactory dataFactory) {
         this.ontology = ontology;
@@ -64,8 +66,16 @@ class KRSS2Parser implements KRSS2ParserConstants {
         nameResolution = NameResolverStrategy.CHECK;
     }
 
+    void setBulkLoader(OWLOntologyBulkLoader loader) {
+        this.loader = loader;
+    }
+
     protected void addAxiom(OWLAxiom ax) {
         try {
+            if (loader != null) {
+                loader.add(ax);
+                return;
+            }
             ((OWLMutableOntology) ontology).applyChange(new AddAxiom(ontology,
                     ax));
         } catch (OWLOntologyChangeException e) {
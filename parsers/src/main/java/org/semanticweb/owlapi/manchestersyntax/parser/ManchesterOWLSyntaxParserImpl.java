@@ -123,7 +123,6 @@ import org.semanticweb.owlapi.formats.ManchesterSyntaxDocumentFormat;
 import org.semanticweb.owlapi.io.XMLUtils;
 import org.semanticweb.owlapi.manchestersyntax.parser.ManchesterOWLSyntaxTokenizer.Token;
 import org.semanticweb.owlapi.manchestersyntax.renderer.ParserException;
-import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.AxiomType;
@@ -155,9 +154,11 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyCharacteristicAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLPropertyExpression;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
@@ -2307,10 +2308,12 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
                     ont.getOWLOntologyManager().makeLoadImportRequest(decl,
                         getOntologyLoaderConfiguration());
                     OWLOntology imported = ont.getOWLOntologyManager().getImportedOntology(decl);
-                    assert imported != null;
-                    for (OWLDeclarationAxiom declaration : imported
-                        .getAxioms(AxiomType.DECLARATION)) {
-                        processDeclaredEntities(declaration);
+                    // missing imports are silently ignored or have been reported already
+                    if (imported != null) {
+                        for (OWLDeclarationAxiom declaration : imported
+                            .getAxioms(AxiomType.DECLARATION)) {
+                            processDeclaredEntities(declaration);
+                        }
                     }
                 }
                 for (OWLAnnotation anno : header.getAnnotations()) {
@@ -2372,14 +2375,17 @@ public class ManchesterOWLSyntaxParserImpl implements ManchesterOWLSyntaxParser
                     DIFFERENT_INDIVIDUALS, SAME_INDIVIDUAL).build();
             }
         }
-        List<OWLOntologyChange> changes = new ArrayList<>(axioms.size());
+        OWLOntologyManager manager = ont.getOWLOntologyManager();
+        List<OWLOntologyChange> changes = new ArrayList<>(imports.size() + ontologyAnnotations.size());
         changes.addAll(imports);
         changes.addAll(ontologyAnnotations);
-        for (OntologyAxiomPair pair : axioms) {
-            changes.add(new AddAxiom(ont, pair.getAxiom()));
+        manager.applyChanges(changes);
+        try (OWLOntologyBulkLoader loader = manager.startBulkLoad(ont)) {
+            for (OntologyAxiomPair pair : axioms) {
+                loader.add(pair.getAxiom());
+            }
         }
-        changes.add(new SetOntologyID(ont, ontologyID));
-        ont.getOWLOntologyManager().applyChanges(changes);
+        manager.applyChange(new SetOntologyID(ont, ontologyID));
         ManchesterSyntaxDocumentFormat format = new ManchesterSyntaxDocumentFormat();
         format.copyPrefixesFrom(pm);
         return format;
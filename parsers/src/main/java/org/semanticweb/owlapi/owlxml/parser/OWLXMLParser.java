@@ -55,9 +55,10 @@ public class OWLXMLParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
         OWLOntologyLoaderConfiguration configuration) throws IOException {
         InputSource isrc = null;
+        OWLXMLParserHandler handler = null;
         try {
             isrc = getInputSource(documentSource, configuration);
-            OWLXMLParserHandler handler = new OWLXMLParserHandler(ontology, configuration);
+            handler = new OWLXMLParserHandler(ontology, configuration);
             SAXParsers.initParserWithOWLAPIStandards(null, configuration.getEntityExpansionLimit())
                 .parse(isrc, handler);
             if (!handler.atLeastOneTagFound()) {
@@ -76,6 +77,10 @@ public class OWLXMLParser extends AbstractOWLParser {
             // General exception
             throw new OWLParserException(e);
         } finally {
+            if (handler != null) {
+                // closes the bulk loader if the parser stopped before the end of the document
+                handler.endDocument();
+            }
             if (isrc != null) {
                 try (InputStream in = isrc.getByteStream(); Reader r = isrc.getCharacterStream()) {
                 }
@@ -117,11 +117,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.io.OWLParserException;
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
 import org.semanticweb.owlapi.model.OWLAnonymousIndividualByIdProvider;
+import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
@@ -155,6 +158,9 @@ class OWLXMLParserHandler extends DefaultHandler implements OWLAnonymousIndividu
     private final OWLOntologyLoaderConfiguration configuration;
     private final RemappingIndividualProvider anonProvider;
     private boolean atLeastOneValidTagFound = false;
+    /** Adds the parsed axioms between the start and the end of the document. */
+    @Nullable
+    private OWLOntologyBulkLoader loader;
 
     /**
      * @param ontology ontology to parse into
@@ -436,10 +442,28 @@ class OWLXMLParserHandler extends DefaultHandler implements OWLAnonymousIndividu
     }
 
     @Override
-    public void startDocument() {}
+    public void startDocument() {
+        loader = owlOntologyManager.startBulkLoad(ontology);
+    }
 
     @Override
-    public void endDocument() {}
+    public void endDocument() {
+        if (loader != null) {
+            loader.close();
+            loader = null;
+        }
+    }
+
+    /**
+     * @param axiom axiom to add to the ontology
+     */
+    void addAxiom(@Nonnull OWLAxiom axiom) {
+        if (loader == null) {
+            owlOntologyManager.applyChange(new AddAxiom(ontology, axiom));
+        } else {
+            loader.add(axiom);
+        }
+    }
 
     @Override
     public void characters(char[] ch, int start, int length) throws SAXException {
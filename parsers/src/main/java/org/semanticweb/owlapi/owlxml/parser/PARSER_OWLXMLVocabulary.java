@@ -127,7 +127,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.io.XMLUtils;
-import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.HasIRI;
@@ -3243,7 +3242,7 @@ class OWLOntologyHandler extends OWLElementHandler<OWLOntology> {
     void handleChild(@Nonnull AbstractOWLAxiomElementHandler h) {
         OWLAxiom axiom = h.getOWLObject();
         if (!axiom.isAnnotationAxiom() || handler.getConfiguration().isLoadAnnotationAxioms()) {
-            handler.getOWLOntologyManager().applyChange(new AddAxiom(handler.getOntology(), axiom));
+            handler.addAxiom(axiom);
         }
     }
 
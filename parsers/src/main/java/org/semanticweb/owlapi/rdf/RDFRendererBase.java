@@ -12,6 +12,7 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.rdf;
 
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_RENDERING;
 import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 import static org.semanticweb.owlapi.util.CollectionFactory.sortOptionally;
@@ -40,7 +41,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
@@ -62,6 +62,7 @@ import org.semanticweb.owlapi.io.RDFTriple;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.HasIRI;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
 import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationSubject;
@@ -85,11 +86,14 @@ import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLNaryPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLPrimitive;
+import org.semanticweb.owlapi.model.OWLPropertyExpression;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
 import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.SWRLIndividualArgument;
@@ -106,10 +110,7 @@ import org.semanticweb.owlapi.util.OWLAnonymousIndividualsWithMultipleOccurrence
 import org.semanticweb.owlapi.util.OWLAxiomsWithNestedAnnotations;
 import org.semanticweb.owlapi.util.OWLEntityIRIComparator;
 import org.semanticweb.owlapi.util.OWLObjectDesharer;
-import org.semanticweb.owlapi.util.OWLObjectVisitorAdapter;
-import org.semanticweb.owlapi.util.OWLObjectWalker;
 import org.semanticweb.owlapi.util.SWRLVariableExtractor;
-import org.semanticweb.owlapi.util.StructureWalker.AnnotationWalkingControl;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
@@ -151,10 +152,29 @@ public abstract class RDFRendererBase {
     protected final AxiomAppearance axiomOccurrences;
     protected final Set<OWLAxiom> translatedAxioms = new HashSet<>();
     protected final Set<RDFResource> pending = new HashSet<>();
-    private final Map<Object, Integer> blankNodeMap = new IdentityHashMap<>();
+    private final Map<Object, Integer> blankNodeMap = new IdentityHashMap<Object, Integer>() {
+
+        @Override
+        public Integer put(Object key, Integer value) {
+            Integer previous = super.put(key, value);
+            if (previous == null && streaming) {
+                subjectKeys.add(key);
+            }
+            return previous;
+        }
+    };
     private final Deque<RDFResourceBlankNode> nodesToRenderSeparately = new LinkedList<>();
     private final Set<RDFResourceBlankNode> renderedNodes = new HashSet<>();
     private final OWLObjectDesharer desharer;
+    private boolean streaming;
+    /** In streaming mode, the translated axioms added for the current subject. */
+    private final List<OWLAxiom> subjectAxioms = new ArrayList<>();
+    /** In streaming mode, the blank node keys added for the current subject. */
+    private final List<Object> subjectKeys = new ArrayList<>();
+    /** In streaming mode, the rendered nodes added for the current subject. */
+    private final List<RDFResourceBlankNode> subjectNodes = new ArrayList<>();
+    /** Blank nodes of the anonymous individuals that appear more than once. */
+    private final Set<IRI> sharedIndividualNodes = new HashSet<>();
 
     @Nonnull
     protected static Set<IRI> initPrettyTypes() {
@@ -176,6 +196,14 @@ public abstract class RDFRendererBase {
         this.ontology = ontology;
         this.format = format;
         desharer = new OWLObjectDesharer(this.ontology.getOWLOntologyManager());
+        Boolean streamingDefault =
+            STREAMING_RDF_RENDERING.getValue(Boolean.class, Collections.emptyMap());
+        if (format != null) {
+            streaming = ((Boolean) format.getParameter("streaming rdf rendering", streamingDefault))
+                .booleanValue();
+        } else {
+            streaming = streamingDefault.booleanValue();
+        }
         if (AnonymousIndividualProperties.shouldSaveIdsForAllAnonymousIndividuals()) {
             occurrences = new AlwaysOutputId();
             axiomOccurrences = new AlwaysOutputId();
@@ -188,6 +216,25 @@ public abstract class RDFRendererBase {
         }
     }
 
+    /**
+     * @param streaming true if the blank nodes and translated axioms of each subject should be
+     *        forgotten as soon as the subject has been written, so that the memory used does not
+     *        grow with the size of the ontology; only the anonymous individuals that appear more
+     *        than once, and the few axioms that can be collected for two subjects, are kept
+     * @since 4.5.23
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * @return true if subject state is forgotten after each subject
+     * @since 4.5.23
+     */
+    protected boolean isStreaming() {
+        return streaming;
+    }
+
     /** Hooks for subclasses */
     /**
      * Called before the ontology document is rendered.
@@ -220,6 +267,98 @@ public abstract class RDFRendererBase {
     @SuppressWarnings("unused")
     protected void endObject() throws IOException {}
 
+    /**
+     * Called after all the triples of a subject, such as an entity, an annotated IRI, an anonymous
+     * individual or a general axiom, have been written. In streaming mode, this forgets the
+     * translated axioms, blank nodes and rendered nodes added for the subject that cannot appear
+     * again, so its cost depends on the subject only; subclasses keeping state for each subject
+     * should extend this method to forget it as well.
+     * 
+     * @since 4.5.23
+     */
+    protected void endSubject() {
+        if (!streaming) {
+            return;
+        }
+        for (OWLAxiom ax : subjectAxioms) {
+            if (!isCollectedTwice(ax)) {
+                translatedAxioms.remove(ax);
+            }
+        }
+        // a shared individual keeps its entry, so it is checked only once
+        for (Object key : subjectKeys) {
+            if (isSharedIndividual(key)) {
+                sharedIndividualNodes.add(NodeID.nodeId(blankNodeMap.get(key)));
+            } else {
+                blankNodeMap.remove(key);
+            }
+        }
+        for (RDFResourceBlankNode node : subjectNodes) {
+            if (!sharedIndividualNodes.contains(node.getIRI())) {
+                renderedNodes.remove(node);
+            }
+        }
+        subjectAxioms.clear();
+        subjectKeys.clear();
+        subjectNodes.clear();
+    }
+
+    /**
+     * @return number of translated axioms kept between subjects
+     */
+    int retainedAxiomCount() {
+        return translatedAxioms.size();
+    }
+
+    /**
+     * @return number of blank node ids kept between subjects
+     */
+    int retainedBlankNodeCount() {
+        return blankNodeMap.size();
+    }
+
+    /**
+     * @return number of rendered nodes kept between subjects
+     */
+    int retainedRenderedNodeCount() {
+        return renderedNodes.size();
+    }
+
+    /**
+     * @param axiom axiom
+     * @return true if the axiom can be collected for more than one subject: different individuals
+     *         axioms with two individuals, which are also general axioms, assertions with an
+     *         inverse property, which are also collected for their object, and nary property
+     *         axioms with inverse properties, which are collected for each of them
+     */
+    private static boolean isCollectedTwice(OWLAxiom axiom) {
+        if (axiom instanceof OWLDifferentIndividualsAxiom) {
+            return ((OWLDifferentIndividualsAxiom) axiom).getIndividuals().size() == 2;
+        }
+        if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+            OWLObjectPropertyExpression p = ((OWLObjectPropertyAssertionAxiom) axiom).getProperty();
+            return p.isAnonymous();
+        }
+        if (axiom instanceof OWLNaryPropertyAxiom) {
+            for (OWLPropertyExpression p : ((OWLNaryPropertyAxiom<?>) axiom).getProperties()) {
+                if (p.isAnonymous()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param key blank node key
+     * @return true if the key is the id of an anonymous individual appearing more than once, whose
+     *         blank node must stay the same for the whole document
+     */
+    private boolean isSharedIndividual(Object key) {
+        return key instanceof String && occurrences.appearsMultipleTimes(ontology
+            .getOWLOntologyManager().getOWLDataFactory().getOWLAnonymousIndividual((String) key));
+    }
+
     /**
      * Called before an annotation property is rendered to give subclasses the chance to prefix the
      * rendering with comments etc.
@@ -285,6 +424,7 @@ public abstract class RDFRendererBase {
         punned = ontology.getPunnedIRIs(EXCLUDED);
         beginDocument();
         renderOntologyHeader();
+        endSubject();
         renderOntologyComponents();
         endDocument();
     }
@@ -341,6 +481,7 @@ public abstract class RDFRendererBase {
                     renderEntity(it.next());
                 }
             }
+            endSubject();
         }
     }
 
@@ -395,6 +536,7 @@ public abstract class RDFRendererBase {
                 render(new RDFResourceIRI(verifyAbsolute(iri)), true);
                 renderAnonRoots();
                 endObject();
+                endSubject();
             }
         }
     }
@@ -431,6 +573,7 @@ public abstract class RDFRendererBase {
             if (anonRoot) {
                 createGraph(axioms);
                 renderAnonRoots();
+                endSubject();
             }
         }
     }
@@ -448,6 +591,7 @@ public abstract class RDFRendererBase {
                 render(new RDFResourceIRI(verifyAbsolute(var.getIRI())), true);
             }
             renderAnonRoots();
+            endSubject();
         }
     }
 
@@ -470,6 +614,7 @@ public abstract class RDFRendererBase {
                 renderAnonRoots();
                 endObject();
             }
+            endSubject();
         }
     }
 
@@ -561,7 +706,12 @@ public abstract class RDFRendererBase {
             format, shouldInsertDeclarations(), occurrences, axiomOccurrences, nextBlankNodeId,
             blankNodeMap, translatedAxioms);
         for (OWLObject obj : objects) {
-            translator.translate(deshare(obj));
+            OWLObject desharedObject = deshare(obj);
+            if (streaming && desharedObject instanceof OWLAxiom
+                && !translatedAxioms.contains(desharedObject)) {
+                subjectAxioms.add((OWLAxiom) desharedObject);
+            }
+            translator.translate(desharedObject);
         }
         graph = translator.getGraph();
         getRDFGraph().forceIdOutput();
@@ -572,57 +722,12 @@ public abstract class RDFRendererBase {
     }
 
     protected OWLObject deshare(OWLObject o) {
-        if (hasSharedStructure(o)) {
+        if (OWLObjectDesharer.hasSharedStructure(o)) {
             return o.accept(desharer);
         }
         return o;
     }
 
-    /**
-     * @param o object to check
-     * @return true if this object contains anonymous expressions referred multiple times. This is
-     *         called structure sharing. An example can be:<br>
-     * 
-     *         <pre>
-     * some P C subClassOf some Q (some P C)
-     *         </pre>
-     * 
-     *         <br>
-     *         This can happen in axioms as well as in expressions:<br>
-     * 
-     *         <pre>
-     * (some P C) and (some Q (some P C))
-     *         </pre>
-     * 
-     *         <br>
-     */
-    private static boolean hasSharedStructure(OWLObject o) {
-        final Map<OWLObject, AtomicInteger> counters = new HashMap<>();
-        OWLObjectWalker<OWLObject> walker = new OWLObjectWalker<>(Collections.singleton(o), true,
-            AnnotationWalkingControl.DONT_WALK_ANNOTATIONS);
-        walker.walkStructure(new OWLObjectVisitorAdapter() {
-
-            @Override
-            protected void handleDefault(OWLObject axiom) {
-                if (isNotAnonymousExpression(axiom)) {
-                    return;
-                }
-                AtomicInteger i = counters.get(axiom);
-                if (i == null) {
-                    i = new AtomicInteger();
-                    counters.put(axiom, i);
-                }
-                i.incrementAndGet();
-            }
-        });
-        for (AtomicInteger i : counters.values()) {
-            if (i.get() > 1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * @param o expression to check
      * @return true if not anonymous
@@ -925,6 +1030,9 @@ public abstract class RDFRendererBase {
         while (!nodesToRenderSeparately.isEmpty()) {
             RDFResourceBlankNode polled = nodesToRenderSeparately.poll();
             if (renderedNodes.add(polled)) {
+                if (streaming) {
+                    subjectNodes.add(polled);
+                }
                 render(polled, false);
             }
         }
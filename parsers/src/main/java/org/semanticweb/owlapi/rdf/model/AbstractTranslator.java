@@ -921,7 +921,11 @@ public abstract class AbstractTranslator<N extends Serializable, R extends N, P
         addVersionIRIToOntologyHeader(ontology);
         addImportsDeclarationsToOntologyHeader(ontology);
         addAnnotationsToOntologyHeader(ontology);
-        graph.setOntology((RDFResource) getMappedNode(ontology));
+        N node = getMappedNode(ontology);
+        if (node instanceof RDFResource) {
+            // translators that do not produce RDFNodes do not fill the graph
+            graph.setOntology((RDFResource) node);
+        }
     }
 
     private void addVersionIRIToOntologyHeader(OWLOntology ontology) {
@@ -61,11 +61,13 @@ import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDFS_SUB_PROPERTY_OF
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDF_TYPE;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.values;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -113,10 +115,12 @@ import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyBulkLoader;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.rdf.rdfxml.parser.Translators.TranslatorAccessor;
 import org.semanticweb.owlapi.rdf.rdfxml.parser.TripleHandlers.HandlerAccessor;
@@ -209,6 +213,9 @@ public class OWLRDFConsumer
     /** The ontology that the RDF will be parsed into. */
     @Nonnull
     private final OWLOntology ontology;
+    /** Adds the parsed axioms; started with the first axiom, closed at the end of the model. */
+    @Nullable
+    private OWLOntologyBulkLoader loader;
     /** The expected axioms. */
     private int expectedAxioms = -1;
     /** The parsed axioms. */
@@ -663,11 +670,20 @@ public class OWLRDFConsumer
                 parsedAnnotationAxioms.add((OWLAnnotationAxiom) axiom);
             }
         } else {
-            owlOntologyManager.addAxiom(ontology, axiom);
+            loader().add(axiom);
         }
         lastAddedAxiom = axiom;
     }
 
+    private OWLOntologyBulkLoader loader() {
+        OWLOntologyBulkLoader l = loader;
+        if (l == null) {
+            l = owlOntologyManager.startBulkLoad(ontology);
+            loader = l;
+        }
+        return l;
+    }
+
     /**
      * Marks an axioms for removal at the end of parsing. This is usually used for annotated axioms,
      * since the RDF serialization spec mandates that a "base" triple must be included on
@@ -1373,6 +1389,11 @@ public class OWLRDFConsumer
     @Override
     public void endModel() {
         parsedAllTriples = true;
+        IRI subject = lastSubject;
+        if (subject != null && configuration.shouldTranslateRDFStreaming()) {
+            translatePendingTriples(subject);
+        }
+        replaySpilledTriples();
         // We are now left with triples that could not be consumed during
         // streaming parsing
         IRIMap.clear();
@@ -1388,16 +1409,45 @@ public class OWLRDFConsumer
         dumpRemainingTriples();
         cleanup();
         addAnnotationAxioms();
+        if (loader != null) {
+            loader.close();
+            loader = null;
+        }
         removeAxiomsScheduledForRemoval();
         // Do we need to change the ontology IRI?
         chooseAndSetOntologyIRI();
         TripleLogger.logOntologyID(ontology.getOntologyID());
     }
 
+    /**
+     * Closes the bulk loader if parsing stopped before {@link #endModel()}, so that the axioms
+     * added so far are broadcast to the change listeners, and deletes the file of spilled triples
+     * if they were not read back; after {@link #endModel()} this does nothing. Parsers call this
+     * when they are done, whether the parse succeeded or not.
+     * 
+     * @since 4.5.23
+     */
+    public void dispose() {
+        TripleSpill triples = spill;
+        spill = null;
+        if (triples != null) {
+            try {
+                triples.close();
+            } catch (IOException e) {
+                LOGGER.warn("Spilled triples could not be deleted", e);
+            }
+        }
+        OWLOntologyBulkLoader l = loader;
+        loader = null;
+        if (l != null) {
+            l.close();
+        }
+    }
+
     private void addAnnotationAxioms() {
         for (OWLAxiom axiom : parsedAnnotationAxioms) {
             assert axiom != null;
-            owlOntologyManager.addAxiom(ontology, axiom);
+            loader().add(axiom);
         }
     }
 
@@ -1509,6 +1559,8 @@ public class OWLRDFConsumer
         singleValuedLitTriplesByPredicate.clear();
         singleValuedResTriplesByPredicate.clear();
         guessedDeclarations.clear();
+        lastSubject = null;
+        pendingTriples = 0;
     }
 
     @Override
@@ -1545,6 +1597,7 @@ public class OWLRDFConsumer
         IRI subjectIRI = getIRI(remapOnlyIfRemapped(subject));
         IRI predicateIRI = getIRI(predicate);
         predicateIRI = getSynonym(predicateIRI);
+        subjectSeen(subjectIRI);
         handlerAccessor.handleStreaming(subjectIRI, predicateIRI, object, getIRINullable(datatype),
             language);
     }
@@ -1553,6 +1606,7 @@ public class OWLRDFConsumer
     public void statementWithLiteralValue(@Nonnull IRI subject, @Nonnull IRI predicate,
         @Nonnull String object, String language, IRI datatype) {
         tripleLogger.logTriple(subject, predicate, object, language, datatype);
+        subjectSeen(subject);
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), object, datatype, language);
     }
 
@@ -1564,6 +1618,7 @@ public class OWLRDFConsumer
         IRI predicateIRI = getIRI(predicate);
         predicateIRI = getSynonym(predicateIRI);
         IRI objectIRI = getSynonym(getIRI(object));
+        subjectSeen(subjectIRI);
         handlerAccessor.handleStreaming(subjectIRI, predicateIRI, objectIRI);
     }
 
@@ -1571,9 +1626,157 @@ public class OWLRDFConsumer
     public void statementWithResourceValue(@Nonnull IRI subject, @Nonnull IRI predicate,
         @Nonnull IRI object) {
         tripleLogger.logTriple(subject, predicate, object);
+        subjectSeen(subject);
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), getSynonym(object));
     }
 
+    /**
+     * Called before each triple is handled. When the subject changes, the pending triples of the
+     * previous subject are translated if streaming translation is enabled, and pending triples are
+     * moved to disk if there are more of them than the configured spill threshold. Checking only at
+     * subject changes keeps the triples of the subject being read in memory, where they can still
+     * be translated.
+     * 
+     * @param subject subject of the triple about to be handled
+     */
+    private void subjectSeen(@Nonnull IRI subject) {
+        IRI previous = lastSubject;
+        if (subject.equals(previous)) {
+            return;
+        }
+        lastSubject = subject;
+        if (previous != null && configuration.shouldTranslateRDFStreaming()) {
+            translatePendingTriples(previous);
+        }
+        int threshold = configuration.getRDFSpillThreshold();
+        if (threshold > 0 && pendingTriples > threshold) {
+            spillPendingTriples();
+        }
+    }
+
+    /**
+     * Translates the pending triples of a named subject whose predicates are, at this point,
+     * declared as exactly one kind of property. This is the same translation that happens at the
+     * end of the document, only earlier; triples that refer to blank nodes or use predicates of
+     * unknown or mixed kind stay pending.
+     * 
+     * @param subject the subject whose triples should be translated
+     */
+    private void translatePendingTriples(@Nonnull IRI subject) {
+        if (isAnonymousNode(subject) || isOntology(subject) || isAxiom(subject)
+            || isAnnotation(subject) || isSWRLVariable(subject)) {
+            return;
+        }
+        Map<IRI, Collection<IRI>> resources = resTriplesBySubject.get(subject);
+        if (resources != null) {
+            for (IRI predicate : new ArrayList<>(resources.keySet())) {
+                assert predicate != null;
+                if (isStreamable(predicate) && !isDataProperty(predicate)) {
+                    for (IRI object : new ArrayList<>(resources.get(predicate))) {
+                        assert object != null;
+                        if (!isAnonymousNode(object)) {
+                            handlerAccessor.apply(subject, predicate, object);
+                        }
+                    }
+                }
+            }
+            resources.values().removeIf(Collection::isEmpty);
+            if (resources.isEmpty()) {
+                resTriplesBySubject.remove(subject);
+            }
+        }
+        Map<IRI, Collection<OWLLiteral>> literals = litTriplesBySubject.get(subject);
+        if (literals != null) {
+            for (IRI predicate : new ArrayList<>(literals.keySet())) {
+                assert predicate != null;
+                if (isStreamable(predicate) && !isObjectProperty(predicate)) {
+                    for (OWLLiteral object : new ArrayList<>(literals.get(predicate))) {
+                        assert object != null;
+                        handlerAccessor.apply(subject, predicate, object);
+                    }
+                }
+            }
+            literals.values().removeIf(Collection::isEmpty);
+            if (literals.isEmpty()) {
+                litTriplesBySubject.remove(subject);
+            }
+        }
+    }
+
+    private boolean isStreamable(@Nonnull IRI predicate) {
+        if (predicate.isReservedVocabulary()
+            && !BUILT_IN_ANNOTATION_PROPERTY_IRIS.contains(predicate)) {
+            return false;
+        }
+        return isAnnotationPropertyOnly(predicate) || isObjectPropertyOnly(predicate)
+            || isDataPropertyOnly(predicate);
+    }
+
+    /**
+     * Moves the pending triples with named subjects to the spill file. Triples with blank node
+     * subjects stay in memory, since streaming handlers look them up while parsing.
+     */
+    private void spillPendingTriples() {
+        try {
+            TripleSpill triples = spill;
+            if (triples == null) {
+                triples = new TripleSpill();
+                spill = triples;
+            }
+            int before = triples.size();
+            Iterator<Map.Entry<IRI, Map<IRI, Collection<IRI>>>> resources =
+                resTriplesBySubject.entrySet().iterator();
+            while (resources.hasNext()) {
+                Map.Entry<IRI, Map<IRI, Collection<IRI>>> e = resources.next();
+                IRI subject = e.getKey();
+                if (!isAnonymousNode(subject)) {
+                    for (Map.Entry<IRI, Collection<IRI>> p : e.getValue().entrySet()) {
+                        for (IRI object : p.getValue()) {
+                            triples.add(subject, p.getKey(), object);
+                        }
+                    }
+                    resources.remove();
+                }
+            }
+            Iterator<Map.Entry<IRI, Map<IRI, Collection<OWLLiteral>>>> literals =
+                litTriplesBySubject.entrySet().iterator();
+            while (literals.hasNext()) {
+                Map.Entry<IRI, Map<IRI, Collection<OWLLiteral>>> e = literals.next();
+                IRI subject = e.getKey();
+                if (!isAnonymousNode(subject)) {
+                    for (Map.Entry<IRI, Collection<OWLLiteral>> p : e.getValue().entrySet()) {
+                        for (OWLLiteral object : p.getValue()) {
+                            triples.add(subject, p.getKey(), object);
+                        }
+                    }
+                    literals.remove();
+                }
+            }
+            LOGGER.debug("Spilled {} pending triples to disk",
+                Integer.valueOf(triples.size() - before));
+        } catch (IOException e) {
+            throw new OWLRuntimeException("Pending triples could not be written to disk", e);
+        }
+        pendingTriples = 0;
+    }
+
+    /**
+     * Reads the spilled triples back into the pending triple maps, so that the end of document
+     * translation sees the same triples it would have seen without spilling.
+     */
+    private void replaySpilledTriples() {
+        TripleSpill triples = spill;
+        if (triples == null) {
+            return;
+        }
+        spill = null;
+        try (TripleSpill t = triples) {
+            t.replay(dataFactory, this::addTriple, this::addTriple);
+        } catch (IOException e) {
+            throw new OWLRuntimeException("Spilled triples could not be read back", e);
+        }
+    }
+
     /**
      * A convenience method to obtain an {@code OWLLiteral}.
      * 
@@ -1977,6 +2180,7 @@ public class OWLRDFConsumer
                 IRI object = objects.iterator().next();
                 if (consume) {
                     objects.remove(object);
+                    pendingTripleConsumed(subject);
                 }
                 // if (objects.isEmpty()) {
                 // predObjMap.remove(predicate);
@@ -2053,6 +2257,7 @@ public class OWLRDFConsumer
                 OWLLiteral object = objects.iterator().next();
                 if (consume) {
                     objects.remove(object);
+                    pendingTripleConsumed(subject);
                 }
                 if (objects.isEmpty()) {
                     predObjMap.remove(predicate);
@@ -2114,6 +2319,7 @@ public class OWLRDFConsumer
                 if (objects.contains(object)) {
                     if (consume) {
                         objects.remove(object);
+                        pendingTripleConsumed(subject);
                         // if (objects.isEmpty()) {
                         // predObjMap.remove(predicate);
                         // if (predObjMap.isEmpty()) {
@@ -2168,6 +2374,7 @@ public class OWLRDFConsumer
                 if (objects.contains(object)) {
                     if (consume) {
                         objects.remove(object);
+                        pendingTripleConsumed(subject);
                         if (objects.isEmpty()) {
                             predObjMap.remove(predicate);
                             if (predObjMap.isEmpty()) {
@@ -2419,6 +2626,14 @@ public class OWLRDFConsumer
     /** Predicate, subject, object */
     private final Map<IRI, Map<IRI, OWLLiteral>> singleValuedLitTriplesByPredicate =
         CollectionFactory.createMap();
+    /** Subject of the last triple, used to detect subject changes */
+    @Nullable
+    private IRI lastSubject;
+    /** Triples with named subjects currently held in memory in the multi-valued maps */
+    private int pendingTriples;
+    /** Triples moved to disk, if any */
+    @Nullable
+    private TripleSpill spill;
     private final Map<IRI, IRI> remappedIRIs = CollectionFactory.createMap();
     private final Map<String, IRI> remappedIRIStrings = CollectionFactory.createMap();
 
@@ -2465,7 +2680,9 @@ public class OWLRDFConsumer
                 objects = new HashSet<>();
                 map.put(predicate, objects);
             }
-            objects.add(object);
+            if (objects.add(object) && !isAnonymousNode(subject)) {
+                pendingTriples++;
+            }
         }
     }
 
@@ -2484,7 +2701,21 @@ public class OWLRDFConsumer
                 objects = new HashSet<>();
                 map.put(predicate, objects);
             }
-            objects.add(con);
+            if (objects.add(con) && !isAnonymousNode(subject)) {
+                pendingTriples++;
+            }
+        }
+    }
+
+    /**
+     * Keeps the count of pending named subject triples in step with the multi-valued maps, so that
+     * triples translated while streaming do not count towards the spill threshold.
+     * 
+     * @param subject subject of the triple that was removed
+     */
+    private void pendingTripleConsumed(IRI subject) {
+        if (pendingTriples > 0 && !isAnonymousNode(subject)) {
+            pendingTriples--;
         }
     }
 }
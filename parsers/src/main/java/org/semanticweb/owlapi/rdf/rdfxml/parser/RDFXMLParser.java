@@ -52,6 +52,7 @@ public class RDFXMLParser extends AbstractOWLParser {
     public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource, OWLOntology ontology,
         OWLOntologyLoaderConfiguration configuration) throws IOException {
         InputSource is = null;
+        OWLRDFConsumer consumer = null;
         try {
             final RDFXMLDocumentFormat format = new RDFXMLDocumentFormat();
             RDFParser parser = new RDFParser() {
@@ -64,7 +65,7 @@ public class RDFXMLParser extends AbstractOWLParser {
                     format.setPrefix(prefix, uri);
                 }
             };
-            OWLRDFConsumer consumer = new OWLRDFConsumer(ontology, configuration);
+            consumer = new OWLRDFConsumer(ontology, configuration);
             consumer.setIRIProvider(parser);
             consumer.setOntologyFormat(format);
             is = getInputSource(documentSource, configuration);
@@ -75,6 +76,9 @@ public class RDFXMLParser extends AbstractOWLParser {
         } catch (SAXException e) {
             throw new OWLRDFXMLParserException(e);
         } finally {
+            if (consumer != null) {
+                consumer.dispose();
+            }
             if (is != null) {
                 try (InputStream in = is.getByteStream(); Reader r = is.getCharacterStream()) {
                 }
@@ -0,0 +1,205 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.io.BinaryOWLObjectReader;
+import org.semanticweb.owlapi.io.BinaryOWLObjectWriter;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A temporary file holding triples that could not be translated yet. The RDF consumer moves
+ * pending triples here once too many of them have accumulated, and reads them back when the whole
+ * document has been parsed. Triples are encoded with {@link BinaryOWLObjectWriter}; recently
+ * written IRIs are kept in a fixed size table, so that repeated IRIs only cost a reference while
+ * the memory used for writing does not grow with the number of distinct IRIs spilled. The file is
+ * deleted when the spill is closed.
+ * 
+ * @since 4.5.23
+ */
+class TripleSpill implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TripleSpill.class);
+
+    private static final int END = 0;
+    private static final int RESOURCE = 1;
+    private static final int LITERAL = 2;
+    /** Number of slots in the IRI tables; must be a power of two */
+    private static final int IRI_SLOTS = 1 << 13;
+    @Nonnull
+    private final File file;
+    @Nonnull
+    private final DataOutputStream out;
+    @Nonnull
+    private final BinaryOWLObjectWriter writer;
+    private int size;
+
+    /**
+     * @throws IOException if the temporary file cannot be created
+     */
+    TripleSpill() throws IOException {
+        file = File.createTempFile("owlapi-triples", ".spill");
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        writer = new SpillWriter(out);
+    }
+
+    /**
+     * @param subject subject
+     * @param predicate predicate
+     * @param object object
+     * @throws IOException if the triple cannot be written
+     */
+    void add(@Nonnull IRI subject, @Nonnull IRI predicate, @Nonnull IRI object) throws IOException {
+        writer.writeVarInt(RESOURCE);
+        writer.writeObject(subject);
+        writer.writeObject(predicate);
+        writer.writeObject(object);
+        size++;
+    }
+
+    /**
+     * @param subject subject
+     * @param predicate predicate
+     * @param object object
+     * @throws IOException if the triple cannot be written
+     */
+    void add(@Nonnull IRI subject, @Nonnull IRI predicate, @Nonnull OWLLiteral object)
+        throws IOException {
+        writer.writeVarInt(LITERAL);
+        writer.writeObject(subject);
+        writer.writeObject(predicate);
+        writer.writeObject(object);
+        size++;
+    }
+
+    /**
+     * @return number of triples written so far
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Closes the file for writing and passes all triples, in the order they were added, to the
+     * iterators.
+     * 
+     * @param df data factory for the literals read back
+     * @param resources receives resource triples
+     * @param literals receives literal triples
+     * @throws IOException if the file cannot be read
+     */
+    void replay(@Nonnull OWLDataFactory df, @Nonnull ResourceTripleIterator resources,
+        @Nonnull LiteralTripleIterator literals) throws IOException {
+        writer.writeVarInt(END);
+        out.close();
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            BinaryOWLObjectReader reader = new SpillReader(in, df);
+            for (int kind = reader.readVarInt(); kind != END; kind = reader.readVarInt()) {
+                IRI subject = reader.read(IRI.class);
+                IRI predicate = reader.read(IRI.class);
+                if (kind == RESOURCE) {
+                    resources.handleResourceTriple(subject, predicate, reader.read(IRI.class));
+                } else {
+                    literals.handleLiteralTriple(subject, predicate,
+                        reader.read(OWLLiteral.class));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            if (!file.delete() && file.exists()) {
+                LOGGER.warn("Spill file {} could not be deleted", file);
+            }
+        }
+    }
+
+    private static int slot(@Nonnull IRI iri) {
+        int h = iri.hashCode();
+        return (h ^ h >>> 16) & IRI_SLOTS - 1;
+    }
+
+    /**
+     * Writes an IRI as the slot it occupies plus one if the same IRI is in its slot, or as zero
+     * followed by the IRI, which then replaces whatever was in the slot.
+     */
+    private static class SpillWriter extends BinaryOWLObjectWriter {
+
+        private final IRI[] iris = new IRI[IRI_SLOTS];
+
+        SpillWriter(@Nonnull DataOutput out) {
+            super(out);
+        }
+
+        @Override
+        protected void writeIRI(@Nonnull IRI iri) throws IOException {
+            int slot = slot(iri);
+            if (iri.equals(iris[slot])) {
+                writeVarInt(slot + 1);
+                return;
+            }
+            writeVarInt(0);
+            writeString(iri.toString());
+            iris[slot] = iri;
+        }
+    }
+
+    /**
+     * Mirrors {@link SpillWriter}: IRIs read in full are stored in the slot the writer used.
+     */
+    private static class SpillReader extends BinaryOWLObjectReader {
+
+        private final IRI[] iris = new IRI[IRI_SLOTS];
+
+        SpillReader(@Nonnull DataInput in, @Nonnull OWLDataFactory df) {
+            super(in, df);
+        }
+
+        @Override
+        @Nonnull
+        protected IRI readIRI() throws IOException {
+            int id = readVarInt();
+            if (id > 0) {
+                IRI iri = id > IRI_SLOTS ? null : iris[id - 1];
+                if (iri == null) {
+                    throw new IOException("Unknown IRI reference: " + id);
+                }
+                return iri;
+            }
+            IRI iri = IRI.create(readString());
+            iris[slot(iri)] = iri;
+            return iri;
+        }
+    }
+}
@@ -59,6 +59,7 @@ public class TurtleOntologyParser extends AbstractOWLParser {
         OWLOntologyLoaderConfiguration configuration) throws IOException {
         Reader reader = null;
         InputStream is = null;
+        OWLRDFConsumerAdapter consumer = null;
         try {
             TurtleParser parser;
             if (documentSource.isReaderAvailable()) {
@@ -99,7 +100,7 @@ public class TurtleOntologyParser extends AbstractOWLParser {
                 parser = new TurtleParser(is, new ConsoleTripleHandler(),
                     documentSource.getDocumentIRI());
             }
-            OWLRDFConsumerAdapter consumer = new OWLRDFConsumerAdapter(ontology, configuration);
+            consumer = new OWLRDFConsumerAdapter(ontology, configuration);
             TurtleDocumentFormat format = new TurtleDocumentFormat();
             consumer.setOntologyFormat(format);
             consumer.startModel(documentSource.getDocumentIRI());
@@ -115,6 +116,9 @@ public class TurtleOntologyParser extends AbstractOWLParser {
         } catch (IOException e) {
             throw new TurtleParserException(e);
         } finally {
+            if (consumer != null) {
+                consumer.dispose();
+            }
             if (is != null) {
                 is.close();
             }
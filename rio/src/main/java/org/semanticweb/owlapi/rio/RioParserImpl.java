@@ -110,8 +110,9 @@ public class RioParserImpl extends AbstractOWLParser implements RioParser {
     public OWLDocumentFormat parse(final OWLOntologyDocumentSource documentSource,
         final OWLOntology ontology, final OWLOntologyLoaderConfiguration configuration)
         throws IOException {
+        RioOWLRDFConsumerAdapter consumer = null;
         try {
-            RioOWLRDFConsumerAdapter consumer =
+            consumer =
                 new RioOWLRDFConsumerAdapter(ontology, new AnonymousNodeChecker() {
 
                     @Override
@@ -200,6 +201,10 @@ public class RioParserImpl extends AbstractOWLParser implements RioParser {
             throw new OWLParserException(e);
         } catch (final MalformedURLException e) {
             throw new OWLParserException(e);
+        } finally {
+            if (consumer != null) {
+                consumer.dispose();
+            }
         }
     }
 
@@ -138,6 +138,15 @@ public class RioRenderer extends RDFRendererBase {
         writeComment("");
     }
 
+    @Override
+    protected void endSubject() {
+        super.endSubject();
+        if (isStreaming()) {
+            // a triple shared by two subjects is repeated, as the RDF/XML and Turtle renderers do
+            renderedStatements.clear();
+        }
+    }
+
     @Override
     protected void renderOntologyHeader() throws IOException {
         super.renderOntologyHeader();
@@ -0,0 +1,285 @@
+/*
+ * This file is part of the OWL API.
+ * 
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * 
+ * Copyright (C) 2011, The University of Queensland
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License along with this program. If
+ * not, see http://www.gnu.org/licenses/.
+ * 
+ * 
+ * Alternatively, the contents of this file may be used under the terms of the Apache License,
+ * Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable
+ * instead of those above.
+ * 
+ * Copyright 2011, The University of Queensland
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.semanticweb.owlapi.rio;
+
+import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.Rio;
+import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.util.OWLObjectDesharer;
+
+/**
+ * Writes the statements of an ontology to Rio {@link RDFHandler}s without building an
+ * {@code RDFGraph} first: each axiom is translated by a {@link RioStatementTranslator} and its
+ * statements are handed to the handler straight away. Statements are not grouped by subject and
+ * no comments are written, so this is meant for formats where that makes no difference, such as
+ * N-Triples, N-Quads and BinaryRDF.
+ * <p>
+ * The output can be split across several handlers, which are written in parallel; every axiom that
+ * refers to an anonymous individual is sent to the first handler, so that each blank node for an
+ * individual is confined to one document.
+ * 
+ * @since 4.5.23
+ */
+public class RioStatementRenderer {
+
+    /** Axioms translated before the translator, and the nodes it remembers, are dropped. */
+    private static final int AXIOMS_PER_TRANSLATOR = 1024;
+    private final OWLOntology ontology;
+    @Nullable
+    private final OWLDocumentFormat format;
+    private final Resource[] contexts;
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+    private final Map<IRI, org.eclipse.rdf4j.model.IRI> iris = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBlankNodeId = new AtomicInteger(1);
+
+    /**
+     * @param ontology ontology
+     * @param format format; prefixes are copied from it if it is a prefix format
+     * @param contexts contexts
+     */
+    public RioStatementRenderer(@Nonnull OWLOntology ontology, @Nullable OWLDocumentFormat format,
+        Resource... contexts) {
+        Objects.requireNonNull(contexts,
+            "contexts argument may not be null; either the value should be cast to Resource or an empty array should be supplied");
+        this.ontology = ontology;
+        this.format = format;
+        this.contexts = contexts;
+    }
+
+    /**
+     * @param handler handler receiving all the statements
+     * @throws IOException if the handler fails
+     */
+    public void render(RDFHandler handler) throws IOException {
+        render(Collections.singletonList(handler));
+    }
+
+    /**
+     * Splits the axioms of the ontology across the handlers, which are written in parallel, one
+     * thread per handler.
+     * 
+     * @param handlers handlers receiving the statements; the ontology header and the axioms that
+     *        refer to anonymous individuals go to the first one
+     * @throws IOException if a handler fails
+     */
+    public void render(List<? extends RDFHandler> handlers) throws IOException {
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("At least one handler is required");
+        }
+        List<List<OWLAxiom>> parts = split(handlers.size());
+        try {
+            if (handlers.size() == 1) {
+                renderPart(handlers.get(0), parts.get(0), true);
+                return;
+            }
+            ForkJoinPool pool = new ForkJoinPool(handlers.size());
+            try {
+                List<Future<?>> futures = new ArrayList<>(handlers.size());
+                for (int i = 0; i < handlers.size(); i++) {
+                    RDFHandler handler = handlers.get(i);
+                    List<OWLAxiom> part = parts.get(i);
+                    boolean first = i == 0;
+                    futures.add(pool.submit(() -> renderPart(handler, part, first)));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new OWLRuntimeException(e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        } catch (RDFHandlerException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Writes the ontology to {@code parts} files in {@code directory}, named
+     * {@code baseName-<i>.<extension>} after the default extension of the format, for bulk loading
+     * into a triple store.
+     * 
+     * @param directory directory for the files
+     * @param baseName first part of the file names
+     * @param rioFormat format of the files
+     * @param parts number of files, and of threads writing them
+     * @return the files written, the one with the ontology header first
+     * @throws IOException if a file cannot be written
+     */
+    public List<File> render(File directory, String baseName, RDFFormat rioFormat, int parts)
+        throws IOException {
+        List<File> files = new ArrayList<>(parts);
+        List<OutputStream> streams = new ArrayList<>(parts);
+        try {
+            List<RDFHandler> handlers = new ArrayList<>(parts);
+            for (int i = 0; i < parts; i++) {
+                File file = new File(directory,
+                    baseName + '-' + i + '.' + rioFormat.getDefaultFileExtension());
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+                files.add(file);
+                streams.add(out);
+                handlers.add(Rio.createWriter(rioFormat, out));
+            }
+            render(handlers);
+        } finally {
+            IOException failure = null;
+            for (OutputStream out : streams) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        return files;
+    }
+
+    private List<List<OWLAxiom>> split(int count) {
+        List<List<OWLAxiom>> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            parts.add(new ArrayList<>());
+        }
+        if (count == 1) {
+            parts.get(0).addAll(ontology.getAxioms());
+            return parts;
+        }
+        Set<OWLAxiom> withAnonymousIndividuals = new HashSet<>();
+        for (OWLAnonymousIndividual i : ontology.getReferencedAnonymousIndividuals(EXCLUDED)) {
+            withAnonymousIndividuals.addAll(ontology.getReferencingAxioms(i, EXCLUDED));
+        }
+        parts.get(0).addAll(withAnonymousIndividuals);
+        int next = 0;
+        for (OWLAxiom ax : ontology.getAxioms()) {
+            if (!withAnonymousIndividuals.contains(ax)) {
+                parts.get(next).add(ax);
+                next = (next + 1) % count;
+            }
+        }
+        return parts;
+    }
+
+    private void renderPart(RDFHandler handler, List<OWLAxiom> axioms, boolean withHeader) {
+        handler.startRDF();
+        if (format instanceof PrefixDocumentFormat) {
+            for (Map.Entry<String, String> e : ((PrefixDocumentFormat) format)
+                .getPrefixName2PrefixMap().entrySet()) {
+                // Rio expects prefix names without the colon at the end
+                String prefixName = e.getKey();
+                if (prefixName.endsWith(":")) {
+                    prefixName = prefixName.substring(0, prefixName.length() - 1);
+                }
+                handler.handleNamespace(prefixName, e.getValue());
+            }
+        }
+        OWLObjectDesharer desharer = new OWLObjectDesharer(ontology.getOWLOntologyManager());
+        // only anonymous individuals keep their blank node across translators
+        Map<Object, Integer> blankNodeMap = new IdentityHashMap<>();
+        RioStatementTranslator translator = translator(handler, blankNodeMap);
+        if (withHeader) {
+            translator.translate(ontology);
+        }
+        int translated = 0;
+        for (OWLAxiom ax : axioms) {
+            if (translated++ == AXIOMS_PER_TRANSLATOR) {
+                translated = 1;
+                blankNodeMap.keySet().removeIf(k -> !(k instanceof String));
+                translator = translator(handler, blankNodeMap);
+            }
+            translator.translate(deshare(ax, desharer));
+        }
+        handler.endRDF();
+    }
+
+    private RioStatementTranslator translator(RDFHandler handler,
+        Map<Object, Integer> blankNodeMap) {
+        boolean useStrongTyping = format == null || format.isAddMissingTypes();
+        return new RioStatementTranslator(ontology.getOWLOntologyManager(), ontology, format,
+            useStrongTyping, nextBlankNodeId, blankNodeMap, new HashSet<>(), iris, vf, handler,
+            contexts);
+    }
+
+    private static OWLObject deshare(OWLAxiom ax, OWLObjectDesharer desharer) {
+        if (OWLObjectDesharer.hasSharedStructure(ax)) {
+            return ax.accept(desharer);
+        }
+        return ax;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of the OWL API.
+ * 
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * 
+ * Copyright (C) 2011, The University of Queensland
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License along with this program. If
+ * not, see http://www.gnu.org/licenses/.
+ * 
+ * 
+ * Alternatively, the contents of this file may be used under the terms of the Apache License,
+ * Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable
+ * instead of those above.
+ * 
+ * Copyright 2011, The University of Queensland
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.semanticweb.owlapi.rio;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.NodeID;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.rdf.AbsoluteIRIHelper;
+import org.semanticweb.owlapi.rdf.model.AbstractTranslator;
+import org.semanticweb.owlapi.util.AlwaysOutputId;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+/**
+ * A translator that passes each triple to an {@link RDFHandler} as a Rio {@link Statement} as soon
+ * as it is produced, instead of collecting an {@code RDFGraph} of {@code RDFTriple}s. Blank nodes
+ * are labelled the way {@link org.semanticweb.owlapi.rio.utils.RioUtils} labels them. The map from
+ * OWL API IRIs to Rio IRIs is supplied by the caller, so that it can be shared between the
+ * translators of a document.
+ * 
+ * @since 4.5.23
+ */
+public class RioStatementTranslator extends
+    AbstractTranslator<Value, Resource, org.eclipse.rdf4j.model.IRI, Literal> {
+
+    private static final AlwaysOutputId ALWAYS = new AlwaysOutputId();
+    private final RDFHandler handler;
+    private final ValueFactory vf;
+    private final Map<IRI, org.eclipse.rdf4j.model.IRI> iris;
+    private final Resource[] contexts;
+
+    /**
+     * @param manager the manager
+     * @param ontology the ontology
+     * @param format target format
+     * @param useStrongTyping true if strong typing is required
+     * @param nextNode counter for blank nodes
+     * @param blankNodeMap base for remapping nodes
+     * @param translatedAxioms translated axioms
+     * @param iris cache of Rio IRIs, shared between translators; must be thread safe if the
+     *        translators run in parallel
+     * @param vf value factory for the statements
+     * @param handler handler receiving the statements
+     * @param contexts contexts for the statements; each triple is sent once per context, or once
+     *        without context if there are none
+     */
+    public RioStatementTranslator(@Nonnull OWLOntologyManager manager,
+        @Nonnull OWLOntology ontology, @Nullable OWLDocumentFormat format, boolean useStrongTyping,
+        AtomicInteger nextNode, Map<Object, Integer> blankNodeMap, Set<OWLAxiom> translatedAxioms,
+        Map<IRI, org.eclipse.rdf4j.model.IRI> iris, ValueFactory vf, RDFHandler handler,
+        Resource... contexts) {
+        // statements do not distinguish blank nodes that need an id from those that do not
+        super(manager, ontology, format, useStrongTyping, ALWAYS, ALWAYS, nextNode, blankNodeMap,
+            translatedAxioms);
+        this.iris = checkNotNull(iris, "iris cannot be null");
+        this.vf = checkNotNull(vf, "vf cannot be null");
+        this.handler = checkNotNull(handler, "handler cannot be null");
+        this.contexts = checkNotNull(contexts, "contexts cannot be null");
+    }
+
+    @Override
+    protected void addTriple(@Nonnull Resource subject, @Nonnull org.eclipse.rdf4j.model.IRI pred,
+        @Nonnull Value object) {
+        if (contexts.length == 0) {
+            handler.handleStatement(vf.createStatement(subject, pred, object));
+        } else {
+            for (Resource context : contexts) {
+                handler.handleStatement(vf.createStatement(subject, pred, object, context));
+            }
+        }
+    }
+
+    @Override
+    protected Resource getAnonymousNode(Object key) {
+        checkNotNull(key, "key cannot be null");
+        if (key instanceof OWLAnonymousIndividual) {
+            return blankNode(getBlankNodeFor(((OWLAnonymousIndividual) key).getID().getID(), true,
+                true, false).getIRI());
+        }
+        return blankNode(getBlankNodeFor(key, false, true, key instanceof OWLAxiom).getIRI());
+    }
+
+    @Override
+    protected Resource getAnonymousNodeForExpressions(Object key, boolean isAxiom) {
+        checkNotNull(key, "key cannot be null");
+        return blankNode(NodeID.nextFreshNodeId());
+    }
+
+    @Override
+    protected Literal getLiteralNode(@Nonnull OWLLiteral literal) {
+        IRI datatype = literal.getDatatype().getIRI();
+        if (OWL2Datatype.RDF_PLAIN_LITERAL.getIRI().equals(datatype)) {
+            if (literal.hasLang()) {
+                return vf.createLiteral(literal.getLiteral(), literal.getLang());
+            }
+            return vf.createLiteral(literal.getLiteral());
+        }
+        return vf.createLiteral(literal.getLiteral(), getResourceNode(datatype));
+    }
+
+    @Override
+    protected org.eclipse.rdf4j.model.IRI getPredicateNode(@Nonnull IRI iri) {
+        return getResourceNode(iri);
+    }
+
+    @Override
+    protected org.eclipse.rdf4j.model.IRI getResourceNode(@Nonnull IRI iri) {
+        org.eclipse.rdf4j.model.IRI value = iris.get(iri);
+        if (value == null) {
+            value = vf.createIRI(AbsoluteIRIHelper.verifyAbsolute(iri, format, ont).toString());
+            iris.put(iri, value);
+        }
+        return value;
+    }
+
+    private BNode blankNode(IRI id) {
+        String label = id.toString();
+        if (label.startsWith("_:")) {
+            return vf.createBNode(label.substring(2));
+        }
+        return vf.createBNode(label);
+    }
+}
@@ -35,6 +35,8 @@
  */
 package org.semanticweb.owlapi.rio;
 
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.STREAMING_RDF_RENDERING;
+
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -44,6 +46,8 @@ import java.io.Writer;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
@@ -84,6 +88,8 @@ import com.google.common.base.Optional;
 public class RioStorer extends AbstractOWLStorer {
 
     private static final long serialVersionUID = 40000L;
+    private static final List<RDFFormat> STATEMENT_FORMATS =
+        Arrays.asList(RDFFormat.NTRIPLES, RDFFormat.NQUADS, RDFFormat.BINARY);
     private transient RDFHandler rioHandler;
     private final OWLDocumentFormatFactory ontFormat;
     private final Resource[] contexts;
@@ -227,9 +233,7 @@ public class RioStorer extends AbstractOWLStorer {
             // if this is a writer rather than a statement collector, set its config from the format
             // parameters, if any
             addSettingsIfPresent(format);
-            final RioRenderer ren =
-                new RioRenderer(ontology, rioHandler, format, contexts(ontology, format));
-            ren.render();
+            render(ontology, format);
         } catch (final IOException e) {
             throw new OWLOntologyStorageException(e);
         }
@@ -267,14 +271,39 @@ public class RioStorer extends AbstractOWLStorer {
             // if this is a writer rather than a statement collector, set its config from the format
             // parameters, if any
             addSettingsIfPresent(format);
-            final RioRenderer ren =
-                new RioRenderer(ontology, rioHandler, format, contexts(ontology, format));
-            ren.render();
+            render(ontology, format);
         } catch (final IOException e) {
             throw new OWLOntologyStorageException(e);
         }
     }
 
+    private void render(OWLOntology ontology, OWLDocumentFormat format) throws IOException {
+        if (writesStatements(format)) {
+            new RioStatementRenderer(ontology, format, contexts(ontology, format))
+                .render(rioHandler);
+        } else {
+            new RioRenderer(ontology, rioHandler, format, contexts(ontology, format)).render();
+        }
+    }
+
+    /**
+     * @param format format being saved
+     * @return true if the format is N-Triples, N-Quads or BinaryRDF and streaming RDF rendering is
+     *         enabled; the statements are then written as each axiom is translated, with no
+     *         intermediate graph, since grouping them by subject makes no difference in these
+     *         formats
+     */
+    protected static boolean writesStatements(OWLDocumentFormat format) {
+        if (!(format instanceof RioRDFDocumentFormat)
+            || !STATEMENT_FORMATS.contains(((RioRDFDocumentFormat) format).getRioFormat())) {
+            return false;
+        }
+        Boolean streamingDefault =
+            STREAMING_RDF_RENDERING.getValue(Boolean.class, Collections.emptyMap());
+        return ((Boolean) format.getParameter("streaming rdf rendering", streamingDefault))
+            .booleanValue();
+    }
+
     private Resource[] contexts(OWLOntology o, OWLDocumentFormat d) {
         boolean shouldUseOntologyIRI =
             o.getOWLOntologyManager().getOntologyLoaderConfiguration().shouldOutputNamedGraphIRI();
@@ -18,12 +18,14 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationAxiom;
@@ -35,12 +37,16 @@ import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.RemoveAxiom;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.semanticweb.owlapi.util.CollectionFactory;
@@ -50,7 +56,15 @@ import org.slf4j.LoggerFactory;
 
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
 
-/** A black box explanation. */
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+/**
+ * A black box explanation. The axioms of the ontology are expanded around the class until it
+ * becomes unsatisfiable, or taken from the bottom locality module of the class if
+ * {@link #setModuleSeeded(boolean)} is set; the resulting set is pruned with a sliding window and
+ * then contracted to a minimal set by splitting it in halves.
+ */
 public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     implements SingleExplanationGenerator {
 
@@ -58,6 +72,38 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         LoggerFactory.getLogger(BlackBoxExplanation.class.getName());
     /** The debugging ontology. */
     private OWLOntology debuggingOntology;
+    /** Reasoner over the debugging ontology, kept as long as the ontology when reused. */
+    @Nullable
+    private OWLReasoner debuggingReasoner;
+    /** Whether one buffering reasoner is kept and flushed for all satisfiability tests. */
+    private boolean reasonerReused = true;
+    /** Whether explanations start from the bottom locality module of the class. */
+    private boolean moduleSeeded = false;
+    /** Extractor over the axioms of the ontology, created for the first explanation. */
+    @Nullable
+    private SyntacticLocalityModuleExtractor moduleExtractor;
+    /** Logical axioms the module extractor was created with. */
+    @Nonnull
+    private final Set<OWLAxiom> moduleAxioms = new HashSet<>();
+    /**
+     * Discards the module extractor when an axiom it does not know is added to the ontology;
+     * removals do not need a new extractor, since the module is filtered by the ontology.
+     */
+    @Nonnull
+    private final OWLOntologyChangeListener moduleInvalidator = new OWLOntologyChangeListener() {
+
+        @Override
+        public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
+            for (OWLOntologyChange change : changes) {
+                if (change.isAddAxiom() && change.getAxiom().isLogicalAxiom()
+                    && !moduleAxioms.contains(change.getAxiom())
+                    && getOntology().getImportsClosure().contains(change.getOntology())) {
+                    moduleExtractor = null;
+                    return;
+                }
+            }
+        }
+    };
     /** The debugging axioms. */
     @Nonnull
     protected final Set<OWLAxiom> debuggingAxioms = new LinkedHashSet<>();
@@ -82,7 +128,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     /** The Constant DEFAULT_FAST_PRUNING_WINDOW_SIZE. */
     private static final int DEFAULT_FAST_PRUNING_WINDOW_SIZE = 10;
     /** The fast pruning window size. */
-    private int fastPruningWindowSize = 0;
+    private final int fastPruningWindowSize;
     /** The owl ontology manager. */
     private final OWLOntologyManager owlOntologyManager;
     // Creation of debugging ontology and satisfiability testing
@@ -114,20 +160,83 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         OWLReasoner reasoner, int fastPruningWindowSize) {
         super(ontology, reasonerFactory, reasoner);
         owlOntologyManager = ontology.getOWLOntologyManager();
-        this.fastPruningWindowSize = fastPruningWindowSize;
+        this.fastPruningWindowSize =
+            fastPruningWindowSize > 0 ? fastPruningWindowSize : DEFAULT_FAST_PRUNING_WINDOW_SIZE;
+    }
+
+    /**
+     * @return true if one buffering reasoner is reused for all satisfiability tests
+     * @since 4.5.23
+     */
+    public boolean isReasonerReused() {
+        return reasonerReused;
+    }
+
+    /**
+     * Keeps one buffering reasoner over the debugging ontology and flushes the changes made to the
+     * ontology before each satisfiability test, instead of recreating the ontology and a non
+     * buffering reasoner for every test. This is the default; reasoners that do not support
+     * incremental changes still give the same results, since they reload the ontology on flush.
+     * 
+     * @param reasonerReused true to reuse the reasoner
+     * @since 4.5.23
+     */
+    public void setReasonerReused(boolean reasonerReused) {
+        if (!reasonerReused) {
+            disposeDebuggingOntology();
+        }
+        this.reasonerReused = reasonerReused;
+    }
+
+    /**
+     * @return true if explanations start from the bottom locality module of the class
+     * @since 4.5.23
+     */
+    public boolean isModuleSeeded() {
+        return moduleSeeded;
+    }
+
+    /**
+     * Starts each explanation from the bottom locality module of the signature of the class instead
+     * of expanding the axioms around the class. The module contains every justification for the
+     * unsatisfiability of the class, so no expansion is needed. The extractor is created with the
+     * axioms of the ontology at the first explanation and is only recreated when a new logical
+     * axiom is added to the ontology; axioms removed since then are filtered out of the module.
+     * 
+     * @param moduleSeeded true to start from the module
+     * @since 4.5.23
+     */
+    public void setModuleSeeded(boolean moduleSeeded) {
+        this.moduleSeeded = moduleSeeded;
     }
 
     @Override
     public void dispose() {
         reset();
+        disposeDebuggingOntology();
+        if (moduleExtractor != null) {
+            owlOntologyManager.removeOntologyChangeListener(moduleInvalidator);
+            moduleExtractor = null;
+            moduleAxioms.clear();
+        }
         getReasoner().dispose();
     }
 
-    private void reset() {
+    private void disposeDebuggingOntology() {
+        if (debuggingReasoner != null) {
+            verifyNotNull(debuggingReasoner).dispose();
+            debuggingReasoner = null;
+        }
         if (debuggingOntology != null) {
             owlOntologyManager.removeOntology(verifyNotNull(debuggingOntology));
             debuggingOntology = null;
         }
+    }
+
+    private void reset() {
+        if (!reasonerReused) {
+            disposeDebuggingOntology();
+        }
         debuggingAxioms.clear();
         objectsExpandedWithDefiningAxioms.clear();
         objectsExpandedWithReferencingAxioms.clear();
@@ -147,7 +256,11 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
                 return CollectionFactory.emptySet();
             }
             reset();
-            expandUntilUnsatisfiable(unsatClass);
+            if (moduleSeeded) {
+                seedFromModule(unsatClass);
+            } else {
+                expandUntilUnsatisfiable(unsatClass);
+            }
             pruneUntilMinimal(unsatClass);
             removeDeclarations();
             return new HashSet<>(debuggingAxioms);
@@ -156,6 +269,38 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
     }
 
+    // Module seeding
+    private void seedFromModule(@Nonnull OWLClassExpression unsatClass) throws OWLException {
+        resetSatisfiabilityTestCounter();
+        OWLOntology ontology = getOntology();
+        for (OWLAxiom ax : getModuleExtractor().extract(unsatClass.getSignature())) {
+            if (ontology.containsAxiom(ax, INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)) {
+                debuggingAxioms.add(ax);
+            }
+        }
+        LOGGER.info("Module axiom count: {}", Integer.valueOf(debuggingAxioms.size()));
+        if (isSatisfiable(unsatClass)) {
+            LOGGER.info("ERROR! Cannot find SOS axioms!");
+            debuggingAxioms.clear();
+        }
+    }
+
+    @Nonnull
+    private SyntacticLocalityModuleExtractor getModuleExtractor() {
+        if (moduleExtractor == null) {
+            OWLOntology ontology = getOntology();
+            owlOntologyManager.removeOntologyChangeListener(moduleInvalidator);
+            moduleAxioms.clear();
+            moduleAxioms.addAll(ontology.getLogicalAxioms(INCLUDED));
+            moduleExtractor = new SyntacticLocalityModuleExtractor(owlOntologyManager,
+                owlOntologyManager.getOntologyLoaderConfiguration().withSkipModuleAnnotations(true),
+                ontology.getOntologyID().getOntologyIRI().orNull(), new HashSet<>(moduleAxioms),
+                ModuleType.BOT, false);
+            owlOntologyManager.addOntologyChangeListener(moduleInvalidator);
+        }
+        return verifyNotNull(moduleExtractor);
+    }
+
     // Expansion
     private int expandAxioms() {
         /*
@@ -294,8 +439,8 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         return count;
     }
 
-    // Contraction/Pruning - Fast pruning is performed and then slow pruning is
-    // performed.
+    // Contraction/Pruning - Fast pruning is performed and then divide and
+    // conquer contraction is performed.
     private void performFastPruning(@Nonnull OWLClassExpression unsatClass) throws OWLException {
         Set<OWLAxiom> axiomWindow = new HashSet<>();
         Object[] axioms = debuggingAxioms.toArray();
@@ -317,7 +462,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
         // Add any left over axioms
         axiomWindow.clear();
-        int remainingAxiomsCount = debuggingAxioms.size() % fastPruningWindowSize;
+        int remainingAxiomsCount = axioms.length % fastPruningWindowSize;
         if (remainingAxiomsCount > 0) {
             int fragmentIndex = windowCount * fastPruningWindowSize;
             while (fragmentIndex < axioms.length) {
@@ -333,23 +478,69 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         LOGGER.info("    - End of fast pruning");
     }
 
-    private void performSlowPruning(@Nonnull OWLClassExpression unsatClass) throws OWLException {
-        // Simply remove axioms one at a time. If the class
-        // being debugged turns satisfiable then we know we have
-        // an SOS axiom.
-        List<OWLAxiom> axiomsCopy = new ArrayList<>(debuggingAxioms);
-        for (OWLAxiom ax : axiomsCopy) {
-            debuggingAxioms.remove(ax);
-            if (isSatisfiable(unsatClass)) {
-                // Affects satisfiability, so add back in
-                debuggingAxioms.add(ax);
-            }
+    private void performDivideAndConquerPruning(@Nonnull OWLClassExpression unsatClass)
+        throws OWLException {
+        if (debuggingAxioms.isEmpty()) {
+            return;
+        }
+        List<OWLAxiom> minimal = contract(unsatClass, Collections.<OWLAxiom>emptyList(), false,
+            new ArrayList<>(debuggingAxioms));
+        debuggingAxioms.clear();
+        debuggingAxioms.addAll(minimal);
+    }
+
+    /**
+     * Finds a minimal subset of the candidates that keeps the class unsatisfiable together with the
+     * background axioms, which together with all candidates make the class unsatisfiable. The
+     * candidates are split in halves and each half is only searched for the axioms the other half
+     * does not already account for, so a justification of size k among n axioms takes in the order
+     * of k log(n/k) satisfiability tests rather than n.
+     * 
+     * @param unsatClass the unsatisfiable class
+     * @param background axioms kept in all tests
+     * @param backgroundChanged false if the background is known to be satisfiable
+     * @param candidates axioms to contract, not empty
+     * @return minimal subset of the candidates
+     * @throws OWLException any exception
+     */
+    @Nonnull
+    private List<OWLAxiom> contract(@Nonnull OWLClassExpression unsatClass,
+        @Nonnull List<OWLAxiom> background, boolean backgroundChanged,
+        @Nonnull List<OWLAxiom> candidates) throws OWLException {
+        if (backgroundChanged && !isSatisfiable(unsatClass, background)) {
+            return Collections.emptyList();
+        }
+        if (candidates.size() == 1) {
+            return candidates;
         }
+        int half = candidates.size() / 2;
+        List<OWLAxiom> first = candidates.subList(0, half);
+        List<OWLAxiom> second = candidates.subList(half, candidates.size());
+        List<OWLAxiom> fromSecond =
+            contract(unsatClass, concat(background, first), true, second);
+        List<OWLAxiom> fromFirst =
+            contract(unsatClass, concat(background, fromSecond), !fromSecond.isEmpty(), first);
+        return concat(fromFirst, fromSecond);
+    }
+
+    @Nonnull
+    private static List<OWLAxiom> concat(@Nonnull List<OWLAxiom> a, @Nonnull List<OWLAxiom> b) {
+        List<OWLAxiom> result = new ArrayList<>(a.size() + b.size());
+        result.addAll(a);
+        result.addAll(b);
+        return result;
+    }
+
+    private boolean isSatisfiable(@Nonnull OWLClassExpression unsatClass,
+        @Nonnull List<OWLAxiom> axioms) throws OWLException {
+        debuggingAxioms.clear();
+        debuggingAxioms.addAll(axioms);
+        return isSatisfiable(unsatClass);
     }
 
     /**
-     * Tests the satisfiability of the test class. The ontology is recreated before the test is
-     * performed.
+     * Tests the satisfiability of the test class. The ontology is brought in line with the
+     * debugging axioms, or recreated if the reasoner is not reused, before the test is performed.
      * 
      * @param unsatClass the unsatisfiable class
      * @return true, if is satisfiable
@@ -357,18 +548,19 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     private boolean isSatisfiable(@Nonnull OWLClassExpression unsatClass) throws OWLException {
         try {
-            createDebuggingOntology();
-            OWLReasoner reasoner =
-                getReasonerFactory().createNonBufferingReasoner(verifyNotNull(debuggingOntology));
-            if (OntologyUtils.containsUnreferencedEntity(verifyNotNull(debuggingOntology),
-                unsatClass)) {
-                reasoner.dispose();
-                return true;
+            OWLReasoner reasoner = prepareReasoner();
+            try {
+                if (OntologyUtils.containsUnreferencedEntity(verifyNotNull(debuggingOntology),
+                    unsatClass)) {
+                    return true;
+                }
+                satTestCount++;
+                return reasoner.isSatisfiable(unsatClass);
+            } finally {
+                if (!reasonerReused) {
+                    reasoner.dispose();
+                }
             }
-            satTestCount++;
-            boolean sat = reasoner.isSatisfiable(unsatClass);
-            reasoner.dispose();
-            return sat;
         } catch (IllegalArgumentException e) {
             LOGGER.warn(
                 "Illegal argument found - satisfiability cannot be checked for {} because of {}",
@@ -377,6 +569,45 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
     }
 
+    @Nonnull
+    private OWLReasoner prepareReasoner() throws OWLException {
+        if (!reasonerReused) {
+            createDebuggingOntology();
+            return getReasonerFactory().createNonBufferingReasoner(verifyNotNull(debuggingOntology));
+        }
+        if (debuggingOntology == null) {
+            createDebuggingOntology();
+        } else {
+            updateDebuggingOntology();
+        }
+        OWLReasoner reasoner = debuggingReasoner;
+        if (reasoner == null) {
+            reasoner = getReasonerFactory().createReasoner(verifyNotNull(debuggingOntology));
+            debuggingReasoner = reasoner;
+        } else {
+            reasoner.flush();
+        }
+        return reasoner;
+    }
+
+    private void updateDebuggingOntology() {
+        OWLOntology ontology = verifyNotNull(debuggingOntology);
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        for (OWLAxiom ax : ontology.getAxioms()) {
+            if (!debuggingAxioms.contains(ax)) {
+                changes.add(new RemoveAxiom(ontology, ax));
+            }
+        }
+        for (OWLAxiom ax : debuggingAxioms) {
+            if (!ontology.containsAxiom(ax)) {
+                changes.add(new AddAxiom(ontology, verifyNotNull(ax)));
+            }
+        }
+        if (!changes.isEmpty()) {
+            owlOntologyManager.applyChanges(changes);
+        }
+    }
+
     private void createDebuggingOntology() throws OWLException {
         if (debuggingOntology != null) {
             owlOntologyManager.removeOntology(verifyNotNull(debuggingOntology));
@@ -437,7 +668,6 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         LOGGER.info("FOUND CLASH! Pruning {} axioms...", Integer.valueOf(debuggingAxioms.size()));
         resetSatisfiabilityTestCounter();
         LOGGER.info("Fast pruning...");
-        fastPruningWindowSize = DEFAULT_FAST_PRUNING_WINDOW_SIZE;
         performFastPruning(unsatClass);
         LOGGER.info("... end of fast pruning. Axioms remaining: {}",
             Integer.valueOf(debuggingAxioms.size()));
@@ -445,10 +675,10 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
             Integer.valueOf(satTestCount));
         int totalSatTests = satTestCount;
         resetSatisfiabilityTestCounter();
-        LOGGER.info("Slow pruning...");
-        performSlowPruning(unsatClass);
-        LOGGER.info("... end of slow pruning");
-        LOGGER.info("Performed {} satisfiability tests during slow pruning",
+        LOGGER.info("Divide and conquer pruning...");
+        performDivideAndConquerPruning(unsatClass);
+        LOGGER.info("... end of divide and conquer pruning");
+        LOGGER.info("Performed {} satisfiability tests during divide and conquer pruning",
             Integer.valueOf(satTestCount));
         totalSatTests += satTestCount;
         LOGGER.info("Total number of satisfiability tests performed: {}",
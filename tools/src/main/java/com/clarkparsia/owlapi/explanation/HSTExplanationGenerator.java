@@ -22,9 +22,14 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
@@ -32,7 +37,9 @@ import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLOntologyManagerFactory;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
@@ -46,14 +53,29 @@ import com.clarkparsia.owlapi.explanation.util.ExplanationProgressMonitor;
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
 import com.clarkparsia.owlapi.explanation.util.SilentExplanationProgressMonitor;
 
-/** HST explanation generator. */
+/**
+ * HST explanation generator. By default, the hitting set tree is explored depth first on the
+ * calling thread, removing the axioms on the current path from the ontology. With more than one
+ * thread, branches are explored concurrently: each thread works on its own copy of the imports
+ * closure, in an ontology manager of its own, with a single explanation generator and reasoner of
+ * its own; justifications and satisfiable paths found by any thread prune the search of all
+ * threads, and the ontology of the generator is not modified.
+ */
 public class HSTExplanationGenerator implements MultipleExplanationGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HSTExplanationGenerator.class);
+    private static final long POLL_MILLIS = 50;
     @Nonnull
     private final TransactionAwareSingleExpGen singleExplanationGenerator;
     @Nonnull
     private ExplanationProgressMonitor progressMonitor = new SilentExplanationProgressMonitor();
+    @Nullable
+    private final OWLOntologyManagerFactory managerFactory;
+    private final int threads;
+    private long timeOut;
+    /** End of the time budget of the current search, in nanoseconds, if there is a budget. */
+    private long deadline;
+    private boolean limited;
 
     /**
      * @param singleExplanationGenerator explanation generator to use
@@ -62,6 +84,54 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         @Nonnull TransactionAwareSingleExpGen singleExplanationGenerator) {
         this.singleExplanationGenerator =
             checkNotNull(singleExplanationGenerator, "singleExplanationGenerator cannot be null");
+        managerFactory = null;
+        threads = 1;
+    }
+
+    /**
+     * @param singleExplanationGenerator explanation generator to use for the first justification
+     * @param managerFactory factory for the managers of the ontology copies of the threads
+     * @param threads number of threads exploring the hitting set tree
+     * @since 4.5.23
+     */
+    public HSTExplanationGenerator(
+        @Nonnull TransactionAwareSingleExpGen singleExplanationGenerator,
+        @Nonnull OWLOntologyManagerFactory managerFactory, int threads) {
+        this.singleExplanationGenerator =
+            checkNotNull(singleExplanationGenerator, "singleExplanationGenerator cannot be null");
+        this.managerFactory = checkNotNull(managerFactory, "managerFactory cannot be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * @return number of threads exploring the hitting set tree
+     * @since 4.5.23
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets a wall-clock budget for {@link #getExplanations(OWLClassExpression, int)}: when it runs
+     * out, the search stops and the justifications found so far are returned.
+     * 
+     * @param timeOut budget in milliseconds, or 0 for no budget
+     * @since 4.5.23
+     */
+    public void setTimeOut(long timeOut) {
+        OWLAPIPreconditions.checkNotNegative(timeOut, "timeOut cannot be negative");
+        this.timeOut = timeOut;
+    }
+
+    /**
+     * @return the wall-clock budget in milliseconds, or 0 for no budget
+     * @since 4.5.23
+     */
+    public long getTimeOut() {
+        return timeOut;
     }
 
     @Override
@@ -121,11 +191,20 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
             "max explanations cannot be negative");
         Object max = maxExplanations == 0 ? "all" : Integer.valueOf(maxExplanations);
         LOGGER.info("Get {} explanation(s) for: {}", max, unsatClass);
+        limited = timeOut > 0;
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeOut);
         try {
             Set<OWLAxiom> firstMups = getExplanation(unsatClass);
             if (firstMups.isEmpty()) {
                 return CollectionFactory.emptySet();
             }
+            if (threads > 1) {
+                progressMonitor.foundExplanation(firstMups);
+                Set<Set<OWLAxiom>> allMups =
+                    new ParallelSearch(unsatClass, maxExplanations).run(firstMups);
+                progressMonitor.foundAllExplanations();
+                return allMups;
+            }
             Set<Set<OWLAxiom>> allMups = new LinkedHashSet<>();
             progressMonitor.foundExplanation(firstMups);
             allMups.add(firstMups);
@@ -222,14 +301,14 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         @Nonnull Set<Set<OWLAxiom>> satPaths, @Nonnull Set<OWLAxiom> currentPathContents,
         int maxExplanations) throws OWLException {
         LOGGER.info("MUPS {}: {}", Integer.valueOf(allMups.size()), mups);
-        if (progressMonitor.isCancelled()) {
+        if (isStopped()) {
             return;
         }
         // We go through the current mups, axiom by axiom, and extend the tree
         // with edges for each axiom
         List<OWLAxiom> orderedMups = getOrderedMUPS(new ArrayList<>(mups), allMups);
         while (!orderedMups.isEmpty()) {
-            if (progressMonitor.isCancelled()) {
+            if (isStopped()) {
                 return;
             }
             OWLAxiom axiom = orderedMups.get(0);
@@ -256,6 +335,10 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
         }
     }
 
+    private boolean isStopped() {
+        return progressMonitor.isCancelled() || limited && System.nanoTime() - deadline > 0;
+    }
+
     /**
      * Check early termination.
      * 
@@ -408,4 +491,269 @@ public class HSTExplanationGenerator implements MultipleExplanationGenerator {
     private OWLDeclarationAxiom getDeclaration(@Nonnull OWLEntity e) {
         return getOntologyManager().getOWLDataFactory().getOWLDeclarationAxiom(e);
     }
+
+    /**
+     * Creates the single explanation generator of a thread of the concurrent search. The default
+     * is a {@link BlackBoxExplanation} with a non buffering reasoner from the reasoner factory.
+     * 
+     * @param ontology the copy of the ontology owned by the thread
+     * @return a generator for the copy
+     * @since 4.5.23
+     */
+    @Nonnull
+    protected TransactionAwareSingleExpGen createSingleExplanationGenerator(
+        @Nonnull OWLOntology ontology) {
+        OWLReasonerFactory factory = getReasonerFactory();
+        return new BlackBoxExplanation(ontology, factory,
+            factory.createNonBufferingReasoner(ontology));
+    }
+
+    /**
+     * Concurrent search of the hitting set tree. A node is identified by the set of axioms on its
+     * path, so that a node reached again through another order of the same axioms is expanded only
+     * once; a node is labelled with a known justification disjoint from its path if there is one,
+     * otherwise a worker computes a new one on its copy of the ontology without the path.
+     */
+    private class ParallelSearch {
+
+        @Nonnull
+        private final OWLClassExpression unsatClass;
+        private final int maxExplanations;
+        @Nonnull
+        private final Set<Set<OWLAxiom>> allMups = new LinkedHashSet<>();
+        @Nonnull
+        private final Set<Set<OWLAxiom>> satPaths = ConcurrentHashMap.newKeySet();
+        @Nonnull
+        private final Set<Set<OWLAxiom>> visitedPaths = ConcurrentHashMap.newKeySet();
+        @Nonnull
+        private final Set<OWLAxiom> axioms = new HashSet<>();
+        @Nonnull
+        private final List<Worker> idleWorkers = new ArrayList<>();
+        @Nonnull
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private volatile boolean stopped;
+        private boolean closed;
+        /** Workers built so far, idle or in use; at most one per thread. */
+        private int workers;
+
+        ParallelSearch(@Nonnull OWLClassExpression unsatClass, int maxExplanations) {
+            this.unsatClass = unsatClass;
+            this.maxExplanations = maxExplanations;
+            for (OWLOntology o : getReasoner().getRootOntology().getImportsClosure()) {
+                axioms.addAll(o.getAxioms());
+            }
+        }
+
+        @Nonnull
+        Set<Set<OWLAxiom>> run(@Nonnull Set<OWLAxiom> firstMups) {
+            allMups.add(firstMups);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.execute(() -> expand(pool, new HashSet<>(), firstMups));
+                while (!pool.awaitQuiescence(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (stopped || isStopped()) {
+                        // workers still waiting for a reasoner finish in the background
+                        stopped = true;
+                        break;
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+                close();
+            }
+            RuntimeException e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+            synchronized (this) {
+                Set<Set<OWLAxiom>> result = new LinkedHashSet<>();
+                for (Set<OWLAxiom> mups : allMups) {
+                    if (maxExplanations > 0 && result.size() == maxExplanations) {
+                        break;
+                    }
+                    result.add(mups);
+                }
+                return result;
+            }
+        }
+
+        /** Submits a task for each child of a node, skipping closed and visited paths. */
+        private void expand(@Nonnull ForkJoinPool pool, @Nonnull Set<OWLAxiom> path,
+            @Nonnull Set<OWLAxiom> mups) {
+            for (OWLAxiom axiom : getOrderedMUPS(new ArrayList<>(mups), snapshot())) {
+                if (stopped) {
+                    return;
+                }
+                Set<OWLAxiom> child = new HashSet<>(path);
+                child.add(axiom);
+                if (!checkEarlyTermination(satPaths, child) && visitedPaths.add(child)) {
+                    pool.execute(() -> visit(pool, child, axiom));
+                }
+            }
+        }
+
+        private void visit(@Nonnull ForkJoinPool pool, @Nonnull Set<OWLAxiom> path,
+            @Nonnull OWLAxiom axiom) {
+            if (stopped || isStopped()) {
+                stopped = true;
+                return;
+            }
+            try {
+                Set<OWLAxiom> mups = getNewMUPS(path);
+                if (mups.contains(axiom)) {
+                    throw new OWLRuntimeException("Explanation contains removed axiom: " + axiom);
+                }
+                if (mups.isEmpty()) {
+                    LOGGER.info("Stop - satisfiable");
+                    satPaths.add(path);
+                    return;
+                }
+                synchronized (this) {
+                    if (allMups.add(mups)) {
+                        progressMonitor.foundExplanation(mups);
+                        if (allMups.size() == maxExplanations) {
+                            LOGGER.info("Computed {} explanations",
+                                Integer.valueOf(maxExplanations));
+                            stopped = true;
+                        }
+                    }
+                }
+                expand(pool, path, mups);
+            } catch (RuntimeException e) {
+                if (!stopped) {
+                    // tasks interrupted after the search stopped are not failures
+                    failure.compareAndSet(null, e);
+                    stopped = true;
+                }
+            }
+        }
+
+        @Nonnull
+        private synchronized Set<Set<OWLAxiom>> snapshot() {
+            return new LinkedHashSet<>(allMups);
+        }
+
+        @Nonnull
+        private Set<OWLAxiom> getNewMUPS(@Nonnull Set<OWLAxiom> path) {
+            for (Set<OWLAxiom> foundMUPS : snapshot()) {
+                if (Collections.disjoint(foundMUPS, path)) {
+                    return foundMUPS;
+                }
+            }
+            Worker worker = acquire();
+            try {
+                return worker.getExplanation(path);
+            } finally {
+                release(worker);
+            }
+        }
+
+        /**
+         * Takes an idle worker, or builds a new one if fewer workers than threads exist; otherwise
+         * waits for a worker to be released. Workers are built outside the lock, since copying the
+         * ontology and creating a reasoner is slow.
+         */
+        @Nonnull
+        private Worker acquire() {
+            synchronized (this) {
+                while (idleWorkers.isEmpty() && workers >= threads) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new OWLRuntimeException(e);
+                    }
+                }
+                if (!idleWorkers.isEmpty()) {
+                    return idleWorkers.remove(idleWorkers.size() - 1);
+                }
+                workers++;
+            }
+            boolean built = false;
+            try {
+                Worker worker = new Worker(unsatClass, axioms);
+                built = true;
+                return worker;
+            } catch (OWLOntologyCreationException e) {
+                throw new OWLRuntimeException(e);
+            } finally {
+                if (!built) {
+                    synchronized (this) {
+                        workers--;
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        private synchronized void release(@Nonnull Worker worker) {
+            if (closed) {
+                worker.dispose();
+            } else {
+                idleWorkers.add(worker);
+                notifyAll();
+            }
+        }
+
+        private synchronized void close() {
+            closed = true;
+            for (Worker worker : idleWorkers) {
+                worker.dispose();
+            }
+            idleWorkers.clear();
+        }
+    }
+
+    /** A copy of the ontology with its own manager and single explanation generator. */
+    private class Worker {
+
+        @Nonnull
+        private final OWLClassExpression unsatClass;
+        @Nonnull
+        private final OWLOntologyManager manager;
+        @Nonnull
+        private final OWLOntology copy;
+        @Nonnull
+        private final TransactionAwareSingleExpGen generator;
+
+        Worker(@Nonnull OWLClassExpression unsatClass, @Nonnull Set<OWLAxiom> axioms)
+            throws OWLOntologyCreationException {
+            this.unsatClass = unsatClass;
+            manager = checkNotNull(managerFactory).get();
+            copy = manager.createOntology(axioms);
+            generator = createSingleExplanationGenerator(copy);
+            // as in the sequential search, the first justification is already known
+            generator.beginTransaction();
+        }
+
+        /**
+         * Computes a justification without the axioms of a path; as in the sequential search,
+         * entities that are no longer declared get temporary declarations.
+         */
+        @Nonnull
+        Set<OWLAxiom> getExplanation(@Nonnull Set<OWLAxiom> path) {
+            manager.removeAxioms(copy, path);
+            Set<OWLDeclarationAxiom> temporaryDeclarations = new HashSet<>();
+            for (OWLAxiom axiom : path) {
+                for (OWLEntity e : getSignature(axiom)) {
+                    if (!copy.isDeclared(e)) {
+                        temporaryDeclarations.add(getDeclaration(e));
+                    }
+                }
+            }
+            manager.addAxioms(copy, temporaryDeclarations);
+            try {
+                return generator.getExplanation(unsatClass);
+            } finally {
+                manager.removeAxioms(copy, temporaryDeclarations);
+                manager.addAxioms(copy, path);
+            }
+        }
+
+        void dispose() {
+            generator.endTransaction();
+            generator.dispose();
+            manager.removeOntology(copy);
+        }
+    }
 }
@@ -0,0 +1,68 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.atomicdecomposition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * An atom of an {@link AtomicDecomposition}: a maximal set of axioms that every module either
+ * contains entirely or does not intersect. An atom depends on another atom if the module of the
+ * signature of its axioms contains the other atom.
+ * 
+ * @since 4.5.23
+ */
+public final class Atom {
+
+    private final int index;
+    @Nonnull
+    private final Set<OWLAxiom> axioms;
+    @Nonnull
+    final List<Atom> dependencies = new ArrayList<>();
+
+    Atom(int index, @Nonnull Set<OWLAxiom> axioms) {
+        this.index = index;
+        this.axioms = Collections.unmodifiableSet(axioms);
+    }
+
+    /** @return position of this atom in {@link AtomicDecomposition#getAtoms()} */
+    public int getIndex() {
+        return index;
+    }
+
+    /** @return the axioms of this atom */
+    @Nonnull
+    public Set<OWLAxiom> getAxioms() {
+        return axioms;
+    }
+
+    /**
+     * @return the atoms this atom depends on directly, i.e., the edges of the dependency graph;
+     *         the atoms it depends on indirectly are reachable through them
+     */
+    @Nonnull
+    public List<Atom> getDependencies() {
+        return Collections.unmodifiableList(dependencies);
+    }
+
+    @Override
+    public String toString() {
+        return "Atom(" + index + ' ' + axioms + ')';
+    }
+}
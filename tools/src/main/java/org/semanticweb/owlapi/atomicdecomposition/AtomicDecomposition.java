@@ -0,0 +1,696 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.atomicdecomposition;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.atomicdecomposition.LocalityIndex.IntList;
+import org.semanticweb.owlapi.atomicdecomposition.LocalityIndex.Worker;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.OWLObjectSortKeys;
+
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+
+/**
+ * Atomic decomposition of a set of axioms for syntactic locality based modules of type
+ * {@link ModuleType#BOT}, {@link ModuleType#TOP} or {@link ModuleType#STAR}. Axioms with the same
+ * module for their signature form an atom, and an atom depends on the atoms in the module of its
+ * axioms; axioms that are local for their own signature are in no module, and in no atom. The
+ * module of each axiom is extracted in parallel if more than one thread is used, and only its size
+ * and a fingerprint are kept, so that memory does not grow with the sum of the module sizes; the
+ * module of one axiom per atom is extracted again to check the atom and find its dependencies.
+ * <p>
+ * Afterwards, the module of any signature is a union of atoms, and an atom in a module brings all
+ * the atoms it depends on. {@link #getModule(Collection)} therefore only checks the locality of
+ * the atoms that mention the signature, adding whole dependency closures at a time, instead of
+ * extracting the module axiom by axiom. Modules contain logical axioms only.
+ * <p>
+ * A decomposition can be saved with {@link #save(OutputStream)} and restored for the same axioms
+ * with {@link #load(InputStream, Collection)}, which does not extract any module.
+ * 
+ * @since 4.5.23
+ */
+public class AtomicDecomposition {
+
+    private static final int MAGIC = 0x4F574144;
+    private static final int VERSION = 2;
+    private static final int CHUNKS_PER_THREAD = 4;
+    @Nonnull
+    private final LocalityIndex index;
+    @Nonnull
+    private final ModuleType type;
+    /** For each axiom, the number of its atom, or -1 if it is in no atom. */
+    @Nonnull
+    private final int[] atomOfAxiom;
+    @Nonnull
+    private final int[][] axiomsOfAtom;
+    @Nonnull
+    private final int[][] dependencies;
+    @Nonnull
+    private final List<Atom> atoms;
+    @Nonnull
+    private final Map<OWLAxiom, Integer> axiomNumbers;
+
+    /**
+     * Decomposes the logical axioms of an ontology and its imports closure on the calling thread.
+     * 
+     * @param ontology
+     *        ontology to decompose
+     * @param type
+     *        module type
+     */
+    public AtomicDecomposition(@Nonnull OWLOntology ontology, @Nonnull ModuleType type) {
+        this(checkNotNull(ontology, "ontology cannot be null").getLogicalAxioms(Imports.INCLUDED),
+            type, 1);
+    }
+
+    /**
+     * @param axioms
+     *        axioms to decompose; usually logical axioms, since all others are local
+     * @param type
+     *        module type
+     * @param threads
+     *        number of threads extracting the modules of the axioms
+     */
+    public AtomicDecomposition(@Nonnull Collection<? extends OWLAxiom> axioms,
+        @Nonnull ModuleType type, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.type = checkNotNull(type, "type cannot be null");
+        index = new LocalityIndex(sorted(axioms));
+        int size = index.size();
+        int[] moduleSizes = new int[size];
+        long[] fingerprints = new long[size];
+        runInChunks(threads, size, (from, to) -> {
+            Worker worker = new Worker(size);
+            for (int i = from; i < to; i++) {
+                int[] module = module(i, worker);
+                // axioms that are local for their own signature are in no atom
+                moduleSizes[i] = Arrays.binarySearch(module, i) < 0 ? -1 : module.length;
+                fingerprints[i] = fingerprint(module);
+            }
+        });
+        // modules are not kept: axioms with the same module have the same size and fingerprint,
+        // and each group is checked against the module of its first axiom
+        atomOfAxiom = new int[size];
+        Map<ModuleKey, Integer> groups = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (moduleSizes[i] < 0) {
+                atomOfAxiom[i] = -1;
+                continue;
+            }
+            ModuleKey key = new ModuleKey(moduleSizes[i], fingerprints[i]);
+            Integer group = groups.get(key);
+            if (group == null) {
+                group = Integer.valueOf(groups.size());
+                groups.put(key, group);
+            }
+            atomOfAxiom[i] = group.intValue();
+        }
+        int[][] members = groupAxioms(atomOfAxiom, groups.size());
+        int[][] groupIdeals = new int[members.length][];
+        boolean[] mixed = new boolean[members.length];
+        runInChunks(threads, members.length, (from, to) -> {
+            Worker worker = new Worker(size);
+            for (int g = from; g < to; g++) {
+                int[] module = module(members[g][0], worker);
+                for (int i : members[g]) {
+                    mixed[g] |= Arrays.binarySearch(module, i) < 0;
+                }
+                groupIdeals[g] = atomsOf(module);
+            }
+        });
+        int count = separate(members, mixed);
+        axiomsOfAtom = count == members.length ? members : groupAxioms(atomOfAxiom, count);
+        int[][] ideals = count == members.length ? groupIdeals : new int[count][];
+        if (ideals != groupIdeals) {
+            // the ideals of the groups refer to the groups that were separated
+            runInChunks(threads, count, (from, to) -> {
+                Worker worker = new Worker(size);
+                for (int a = from; a < to; a++) {
+                    ideals[a] = atomsOf(module(axiomsOfAtom[a][0], worker));
+                }
+            });
+        }
+        dependencies = new int[count][];
+        runInChunks(threads, count, (from, to) -> {
+            int[] covered = new int[count];
+            for (int a = from; a < to; a++) {
+                dependencies[a] = directDependencies(a, ideals, covered);
+            }
+        });
+        axiomNumbers = numbers(index);
+        atoms = createAtoms();
+    }
+
+    private AtomicDecomposition(@Nonnull LocalityIndex index, @Nonnull ModuleType type,
+        @Nonnull int[] atomOfAxiom, @Nonnull int[][] dependencies) {
+        this.index = index;
+        this.type = type;
+        this.atomOfAxiom = atomOfAxiom;
+        this.dependencies = dependencies;
+        axiomsOfAtom = groupAxioms(atomOfAxiom, dependencies.length);
+        axiomNumbers = numbers(index);
+        atoms = createAtoms();
+    }
+
+    @Nonnull
+    private int[] module(int axiom, @Nonnull Worker worker) {
+        return index.module(Arrays.asList(index.getSignature(axiom)), type, worker);
+    }
+
+    private static long fingerprint(@Nonnull int[] module) {
+        long hash = module.length;
+        for (int i : module) {
+            hash = (hash + i) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    /**
+     * Splits the groups of axioms whose modules only had the same size and fingerprint: an axiom
+     * in the module of another axiom, with a module of the same size, has the same module.
+     * 
+     * @return the number of atoms
+     */
+    private int separate(@Nonnull int[][] members, @Nonnull boolean[] mixed) {
+        int count = members.length;
+        Worker worker = new Worker(index.size());
+        for (int g = 0; g < members.length; g++) {
+            if (!mixed[g]) {
+                continue;
+            }
+            int atom = g;
+            IntList rest = new IntList();
+            for (int i : members[g]) {
+                rest.add(i);
+            }
+            while (rest.size > 0) {
+                int[] module = module(rest.values[0], worker);
+                IntList next = new IntList();
+                for (int k = 0; k < rest.size; k++) {
+                    int i = rest.values[k];
+                    if (Arrays.binarySearch(module, i) >= 0) {
+                        atomOfAxiom[i] = atom;
+                    } else {
+                        next.add(i);
+                    }
+                }
+                rest = next;
+                atom = count++;
+            }
+            // the last number was not used
+            count--;
+        }
+        return count;
+    }
+
+    @Nonnull
+    private static List<OWLAxiom> sorted(@Nonnull Collection<? extends OWLAxiom> axioms) {
+        // a fixed order, so that a saved decomposition can be matched to the axioms again
+        List<OWLAxiom> list =
+            new ArrayList<>(new HashSet<>(checkNotNull(axioms, "axioms cannot be null")));
+        Collections.sort(list);
+        return list;
+    }
+
+    @Nonnull
+    private static Map<OWLAxiom, Integer> numbers(@Nonnull LocalityIndex index) {
+        Map<OWLAxiom, Integer> numbers = new HashMap<>(index.size() * 4 / 3 + 1);
+        for (int i = 0; i < index.size(); i++) {
+            numbers.put(index.getAxiom(i), Integer.valueOf(i));
+        }
+        return numbers;
+    }
+
+    @Nonnull
+    private static int[][] groupAxioms(@Nonnull int[] atomOfAxiom, int size) {
+        IntList[] lists = new IntList[size];
+        for (int i = 0; i < atomOfAxiom.length; i++) {
+            int a = atomOfAxiom[i];
+            if (a >= 0) {
+                if (lists[a] == null) {
+                    lists[a] = new IntList();
+                }
+                lists[a].add(i);
+            }
+        }
+        int[][] groups = new int[size][];
+        for (int a = 0; a < size; a++) {
+            groups[a] = Arrays.copyOf(lists[a].values, lists[a].size);
+        }
+        return groups;
+    }
+
+    @Nonnull
+    private List<Atom> createAtoms() {
+        List<Atom> list = new ArrayList<>(axiomsOfAtom.length);
+        for (int a = 0; a < axiomsOfAtom.length; a++) {
+            list.add(new Atom(a, toAxioms(axiomsOfAtom[a])));
+        }
+        for (int a = 0; a < dependencies.length; a++) {
+            for (int d : dependencies[a]) {
+                list.get(a).dependencies.add(list.get(d));
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /** @return sorted numbers of the atoms of some axioms */
+    @Nonnull
+    private int[] atomsOf(@Nonnull int[] axioms) {
+        int[] result = new int[axioms.length];
+        for (int k = 0; k < axioms.length; k++) {
+            result[k] = atomOfAxiom[axioms[k]];
+        }
+        Arrays.sort(result);
+        int size = 0;
+        for (int k = 0; k < result.length; k++) {
+            if (result[k] >= 0 && (size == 0 || result[size - 1] != result[k])) {
+                result[size++] = result[k];
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Removes from the atoms in the module of an atom the atom itself and the atoms in the module
+     * of another atom in it, leaving the edges of the transitive reduction of the dependencies.
+     */
+    @Nonnull
+    private static int[] directDependencies(int a, @Nonnull int[][] ideals,
+        @Nonnull int[] covered) {
+        // the atom number plus one marks the atoms covered for this atom
+        int mark = a + 1;
+        for (int c : ideals[a]) {
+            if (c != a) {
+                for (int b : ideals[c]) {
+                    if (b != c) {
+                        covered[b] = mark;
+                    }
+                }
+            }
+        }
+        IntList direct = new IntList();
+        for (int b : ideals[a]) {
+            if (b != a && covered[b] != mark) {
+                direct.add(b);
+            }
+        }
+        return Arrays.copyOf(direct.values, direct.size);
+    }
+
+    private interface RangeTask {
+
+        void run(int from, int to);
+    }
+
+    private static void runInChunks(int threads, int size, @Nonnull RangeTask task) {
+        if (threads == 1 || size < 2) {
+            task.run(0, size);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            int chunk = size / (threads * CHUNKS_PER_THREAD) + 1;
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start = 0; start < size; start += chunk) {
+                int from = start;
+                int to = Math.min(size, start + chunk);
+                futures.add(pool.submit(() -> task.run(from, to)));
+            }
+            for (Future<?> f : futures) {
+                await(f);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static <V> V await(@Nonnull Future<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        }
+    }
+
+    /** @return the module type of the decomposition */
+    @Nonnull
+    public ModuleType getModuleType() {
+        return type;
+    }
+
+    /** @return all atoms */
+    @Nonnull
+    public List<Atom> getAtoms() {
+        return atoms;
+    }
+
+    /**
+     * @param axiom
+     *        axiom
+     * @return the atom of the axiom, or null if the axiom was not decomposed or is local for its
+     *         own signature, and so in no module
+     */
+    @Nullable
+    public Atom getAtom(@Nonnull OWLAxiom axiom) {
+        Integer i = axiomNumbers.get(checkNotNull(axiom, "axiom cannot be null"));
+        if (i == null || atomOfAxiom[i.intValue()] < 0) {
+            return null;
+        }
+        return atoms.get(atomOfAxiom[i.intValue()]);
+    }
+
+    /** @return the axioms that are in no atom, since they are local for their own signature */
+    @Nonnull
+    public Set<OWLAxiom> getTautologies() {
+        Set<OWLAxiom> tautologies = new HashSet<>();
+        for (int i = 0; i < atomOfAxiom.length; i++) {
+            if (atomOfAxiom[i] < 0) {
+                tautologies.add(index.getAxiom(i));
+            }
+        }
+        return tautologies;
+    }
+
+    /**
+     * @param atom
+     *        atom of this decomposition
+     * @return the atom and all atoms it depends on, directly or not; their axioms form the module
+     *         of the signature of the atom
+     */
+    @Nonnull
+    public Set<Atom> getPrincipalIdeal(@Nonnull Atom atom) {
+        boolean[] included = new boolean[atoms.size()];
+        IntList list = new IntList();
+        include(checkNotNull(atom, "atom cannot be null").getIndex(), included, list);
+        return toAtoms(list);
+    }
+
+    /**
+     * @param signature
+     *        seed signature
+     * @return the module of the signature, with logical axioms only
+     */
+    @Nonnull
+    public Set<OWLAxiom> getModule(@Nonnull Collection<? extends OWLEntity> signature) {
+        Set<OWLAxiom> module = new HashSet<>();
+        for (Atom atom : getModuleAtoms(signature)) {
+            module.addAll(atom.getAxioms());
+        }
+        return module;
+    }
+
+    /**
+     * Finds the atoms of the module of a signature. For bottom and top modules, only atoms with an
+     * axiom that mentions the growing signature, or that is not local even for the empty
+     * signature, are checked; an atom with an axiom that is not local brings all the atoms it
+     * depends on, with their signatures. Star modules are extracted from the axioms, since the
+     * intermediate bottom and top modules are not unions of star atoms.
+     * 
+     * @param signature
+     *        seed signature
+     * @return the atoms whose axioms form the module of the signature
+     */
+    @Nonnull
+    public Set<Atom> getModuleAtoms(@Nonnull Collection<? extends OWLEntity> signature) {
+        checkNotNull(signature, "signature cannot be null");
+        if (type == ModuleType.STAR) {
+            int[] module = index.module(signature, type, new Worker(index.size()));
+            IntList list = new IntList();
+            for (int a : atomsOf(module)) {
+                list.add(a);
+            }
+            return toAtoms(list);
+        }
+        LocalityClass localityClass =
+            type == ModuleType.BOT ? LocalityClass.BOTTOM_BOTTOM : LocalityClass.TOP_TOP;
+        SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+        Set<OWLEntity> sig = new HashSet<>(signature);
+        boolean[] included = new boolean[atoms.size()];
+        int[] queued = new int[atoms.size()];
+        int round = 1;
+        IntList candidates = new IntList();
+        for (int i : index.getNonLocalForEmptySignature(localityClass)) {
+            queue(atomOfAxiom[i], included, queued, round, candidates);
+        }
+        for (OWLEntity e : sig) {
+            for (int i : index.getAxiomsMentioning(e)) {
+                queue(atomOfAxiom[i], included, queued, round, candidates);
+            }
+        }
+        IntList module = new IntList();
+        while (candidates.size > 0) {
+            round++;
+            IntList next = new IntList();
+            for (int k = 0; k < candidates.size; k++) {
+                int a = candidates.values[k];
+                if (included[a] || !isNonLocal(a, sig, sle)) {
+                    continue;
+                }
+                int from = module.size;
+                include(a, included, module);
+                for (int m = from; m < module.size; m++) {
+                    for (int i : axiomsOfAtom[module.values[m]]) {
+                        for (OWLEntity e : index.getSignature(i)) {
+                            if (sig.add(e)) {
+                                for (int j : index.getAxiomsMentioning(e)) {
+                                    queue(atomOfAxiom[j], included, queued, round, next);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            candidates = next;
+        }
+        return toAtoms(module);
+    }
+
+    private static void queue(int atom, @Nonnull boolean[] included, @Nonnull int[] queued,
+        int round, @Nonnull IntList list) {
+        if (atom >= 0 && !included[atom] && queued[atom] != round) {
+            queued[atom] = round;
+            list.add(atom);
+        }
+    }
+
+    private boolean isNonLocal(int atom, @Nonnull Set<OWLEntity> sig,
+        @Nonnull SyntacticLocalityEvaluator sle) {
+        for (int i : axiomsOfAtom[atom]) {
+            if (!sle.isLocal(index.getAxiom(i), sig)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds an atom and the atoms it depends on, stopping at included atoms: the atoms an included
+     * atom depends on are always included already.
+     */
+    private void include(int atom, @Nonnull boolean[] included, @Nonnull IntList list) {
+        IntList stack = new IntList();
+        stack.add(atom);
+        while (stack.size > 0) {
+            int a = stack.values[--stack.size];
+            if (included[a]) {
+                continue;
+            }
+            included[a] = true;
+            list.add(a);
+            for (int d : dependencies[a]) {
+                if (!included[d]) {
+                    stack.add(d);
+                }
+            }
+        }
+    }
+
+    @Nonnull
+    private Set<Atom> toAtoms(@Nonnull IntList list) {
+        Set<Atom> set = new LinkedHashSet<>(list.size * 4 / 3 + 1);
+        for (int k = 0; k < list.size; k++) {
+            set.add(atoms.get(list.values[k]));
+        }
+        return set;
+    }
+
+    @Nonnull
+    private Set<OWLAxiom> toAxioms(@Nonnull int[] numbers) {
+        Set<OWLAxiom> set = new HashSet<>(numbers.length * 4 / 3 + 1);
+        for (int i : numbers) {
+            set.add(index.getAxiom(i));
+        }
+        return set;
+    }
+
+    /**
+     * Writes the decomposition in a compact binary form: the module type, the number of axioms and
+     * a checksum of them, the atom of each axiom in a fixed order of the axioms, and the direct
+     * dependencies of each atom. The axioms themselves are not written.
+     * 
+     * @param out
+     *        stream to write to; not closed
+     * @throws IOException
+     *         if the stream cannot be written
+     */
+    public void save(@Nonnull OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(checkNotNull(out, "out cannot be null"));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(type.name());
+        data.writeInt(index.size());
+        data.writeLong(checksum(index));
+        data.writeInt(atoms.size());
+        for (int a : atomOfAxiom) {
+            data.writeInt(a);
+        }
+        for (int[] d : dependencies) {
+            data.writeInt(d.length);
+            for (int b : d) {
+                data.writeInt(b);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a decomposition written by {@link #save(OutputStream)}.
+     * 
+     * @param in
+     *        stream to read from; not closed
+     * @param axioms
+     *        the axioms that were decomposed
+     * @return the decomposition
+     * @throws IOException
+     *         if the stream cannot be read, is not a saved decomposition, or was saved for
+     *         different axioms
+     */
+    @Nonnull
+    public static AtomicDecomposition load(@Nonnull InputStream in,
+        @Nonnull Collection<? extends OWLAxiom> axioms) throws IOException {
+        DataInputStream data = new DataInputStream(checkNotNull(in, "in cannot be null"));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Not a saved atomic decomposition");
+        }
+        ModuleType type;
+        try {
+            type = ModuleType.valueOf(data.readUTF());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown module type", e);
+        }
+        LocalityIndex index = new LocalityIndex(sorted(axioms));
+        if (data.readInt() != index.size() || data.readLong() != checksum(index)) {
+            throw new IOException("The atomic decomposition was saved for different axioms");
+        }
+        int size = data.readInt();
+        int[] atomOfAxiom = new int[index.size()];
+        for (int i = 0; i < atomOfAxiom.length; i++) {
+            atomOfAxiom[i] = readAtom(data, size, true);
+        }
+        int[][] dependencies = new int[size][];
+        for (int a = 0; a < size; a++) {
+            dependencies[a] = new int[data.readInt()];
+            for (int k = 0; k < dependencies[a].length; k++) {
+                dependencies[a][k] = readAtom(data, size, false);
+            }
+        }
+        return new AtomicDecomposition(index, type, atomOfAxiom, dependencies);
+    }
+
+    private static int readAtom(@Nonnull DataInputStream data, int size, boolean none)
+        throws IOException {
+        int a = data.readInt();
+        if (a >= size || a < (none ? -1 : 0)) {
+            throw new IOException("Atom number out of range: " + a);
+        }
+        return a;
+    }
+
+    /**
+     * Computes the checksum from the sort keys of the axioms, which depend only on their content:
+     * some hash codes, such as those of facets, differ between runs.
+     */
+    private static long checksum(@Nonnull LocalityIndex index) {
+        long checksum = 0xCBF29CE484222325L;
+        for (int i = 0; i < index.size(); i++) {
+            String key = OWLObjectSortKeys.sortKey(index.getAxiom(i));
+            for (int k = 0; k < key.length(); k++) {
+                checksum = (checksum ^ key.charAt(k)) * 0x100000001B3L;
+            }
+        }
+        return checksum;
+    }
+
+    /** Size and fingerprint of a module, for grouping axioms in atoms. */
+    private static final class ModuleKey {
+
+        private final int size;
+        private final long fingerprint;
+
+        ModuleKey(int size, long fingerprint) {
+            this.size = size;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return size * 31 + Long.hashCode(fingerprint);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof ModuleKey)) {
+                return false;
+            }
+            ModuleKey other = (ModuleKey) obj;
+            return size == other.size && fingerprint == other.fingerprint;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.atomicdecomposition;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLRuntimeException;
+
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.internal.ModuleIndex;
+
+/**
+ * Axioms numbered by their position in a list, indexed by a {@link ModuleIndex}, with the
+ * axioms that are not local for the empty signature. Module extraction then only ever evaluates
+ * axioms that are either not local for the empty signature or mention an entity of the growing
+ * signature: the locality of an axiom depends only on the part of the signature that it mentions.
+ * Once built, the index is only read, so that several threads can extract modules at the same
+ * time, each with its own {@link Worker}.
+ * 
+ * @since 4.5.23
+ */
+final class LocalityIndex {
+
+    @Nonnull
+    private final ModuleIndex axioms;
+    @Nonnull
+    private final int[] globalBottom;
+    @Nonnull
+    private final int[] globalTop;
+
+    /**
+     * @param axioms
+     *        axioms to index; the number of an axiom is its position in the list
+     */
+    LocalityIndex(@Nonnull List<OWLAxiom> axioms) {
+        this.axioms = new ModuleIndex(axioms);
+        this.axioms.ensureIndexed();
+        globalBottom = nonLocalForEmptySignature(LocalityClass.BOTTOM_BOTTOM);
+        globalTop = nonLocalForEmptySignature(LocalityClass.TOP_TOP);
+    }
+
+    @Nonnull
+    private int[] nonLocalForEmptySignature(@Nonnull LocalityClass localityClass) {
+        SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+        Set<OWLEntity> empty = new HashSet<>();
+        IntList list = new IntList();
+        for (int i = 0; i < axioms.size(); i++) {
+            if (!sle.isLocal(axioms.getAxiom(i), empty)) {
+                list.add(i);
+            }
+        }
+        return Arrays.copyOf(list.values, list.size);
+    }
+
+    /** @return number of axioms */
+    int size() {
+        return axioms.size();
+    }
+
+    /**
+     * @param i
+     *        axiom number
+     * @return the axiom
+     */
+    @Nonnull
+    OWLAxiom getAxiom(int i) {
+        return axioms.getAxiom(i);
+    }
+
+    /**
+     * @param i
+     *        axiom number
+     * @return the signature of the axiom
+     */
+    @Nonnull
+    OWLEntity[] getSignature(int i) {
+        return axioms.getSignature(i);
+    }
+
+    /**
+     * @param e
+     *        entity
+     * @return numbers of the axioms mentioning the entity
+     */
+    @Nonnull
+    int[] getAxiomsMentioning(@Nonnull OWLEntity e) {
+        return axioms.getAxiomsMentioning(e);
+    }
+
+    /**
+     * @param localityClass
+     *        bottom or top locality
+     * @return numbers of the axioms that are not local for the empty signature
+     */
+    @Nonnull
+    int[] getNonLocalForEmptySignature(@Nonnull LocalityClass localityClass) {
+        return localityClass == LocalityClass.BOTTOM_BOTTOM ? globalBottom : globalTop;
+    }
+
+    /**
+     * Extracts a module with logical axioms only. Star modules alternate bottom and top modules,
+     * each extracted from the previous one, until the size does not change, as
+     * {@link uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor} does.
+     * 
+     * @param seed
+     *        seed signature
+     * @param type
+     *        module type
+     * @param worker
+     *        scratch space of the calling thread
+     * @return sorted numbers of the axioms in the module
+     */
+    @Nonnull
+    int[] module(@Nonnull Collection<? extends OWLEntity> seed, @Nonnull ModuleType type,
+        @Nonnull Worker worker) {
+        switch (type) {
+            case BOT:
+                return module(seed, LocalityClass.BOTTOM_BOTTOM, null, worker);
+            case TOP:
+                return module(seed, LocalityClass.TOP_TOP, null, worker);
+            case STAR:
+                LocalityClass localityClass = LocalityClass.BOTTOM_BOTTOM;
+                int[] subOnt = module(seed, localityClass, null, worker);
+                while (true) {
+                    localityClass = localityClass == LocalityClass.BOTTOM_BOTTOM
+                        ? LocalityClass.TOP_TOP : LocalityClass.BOTTOM_BOTTOM;
+                    int[] next = module(seed, localityClass, subOnt, worker);
+                    if (next.length == subOnt.length) {
+                        return next;
+                    }
+                    subOnt = next;
+                }
+            default:
+                throw new OWLRuntimeException("Unsupported module type: " + type);
+        }
+    }
+
+    /**
+     * Starts the fixpoint of {@link ModuleIndex#extract} from the axioms that are not local
+     * for the empty signature and the axioms that mention the seed signature, instead of all
+     * axioms.
+     * 
+     * @param subOnt
+     *        sorted numbers of the axioms to extract from, or null for all axioms
+     */
+    @Nonnull
+    private int[] module(@Nonnull Collection<? extends OWLEntity> seed,
+        @Nonnull LocalityClass localityClass, @Nullable int[] subOnt, @Nonnull Worker worker) {
+        Set<OWLEntity> signature = new HashSet<>(checkNotNull(seed, "seed cannot be null"));
+        IntList candidates = new IntList();
+        for (int i : getNonLocalForEmptySignature(localityClass)) {
+            candidates.add(i);
+        }
+        for (OWLEntity e : signature) {
+            for (int i : getAxiomsMentioning(e)) {
+                candidates.add(i);
+            }
+        }
+        SyntacticLocalityEvaluator sle = worker.evaluator(localityClass);
+        int[] result = axioms.extract(Arrays.copyOf(candidates.values, candidates.size), subOnt,
+            signature, (round, sig) -> {
+                boolean[] nonLocal = new boolean[round.length];
+                for (int k = 0; k < round.length; k++) {
+                    nonLocal[k] = !sle.isLocal(axioms.getAxiom(round[k]), sig);
+                }
+                return nonLocal;
+            }, worker.marks);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** Scratch space for one thread. */
+    static final class Worker {
+
+        @Nonnull
+        final ModuleIndex.Marks marks;
+        @Nullable
+        private SyntacticLocalityEvaluator bottom;
+        @Nullable
+        private SyntacticLocalityEvaluator top;
+
+        /**
+         * @param size
+         *        number of axioms in the index
+         */
+        Worker(int size) {
+            marks = new ModuleIndex.Marks(size);
+        }
+
+        @Nonnull
+        SyntacticLocalityEvaluator evaluator(@Nonnull LocalityClass localityClass) {
+            // evaluators keep state while visiting an axiom, so they are not shared
+            if (localityClass == LocalityClass.BOTTOM_BOTTOM) {
+                if (bottom == null) {
+                    bottom = new SyntacticLocalityEvaluator(localityClass);
+                }
+                return bottom;
+            }
+            if (top == null) {
+                top = new SyntacticLocalityEvaluator(localityClass);
+            }
+            return top;
+        }
+    }
+
+    /** Growable array of ints. */
+    static final class IntList {
+
+        @Nonnull
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
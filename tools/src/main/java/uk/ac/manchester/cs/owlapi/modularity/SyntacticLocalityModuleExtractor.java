@@ -13,13 +13,22 @@
 package uk.ac.manchester.cs.owlapi.modularity;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AxiomType;
@@ -48,6 +57,8 @@ import org.slf4j.LoggerFactory;
 import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
 import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
 
+import uk.ac.manchester.cs.owlapi.modularity.internal.ModuleIndex;
+
 /**
  * Implementation of module extraction based on syntactic locality.
  * 
@@ -57,6 +68,9 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
 
     private static final Logger LOGGER =
         LoggerFactory.getLogger(SyntacticLocalityModuleExtractor.class);
+    /** Rounds with fewer axioms to evaluate than this are evaluated on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 1000;
+    private static final int CHUNKS_PER_THREAD = 4;
 
     /**
      * Auxiliary inner class for the representation of the associated ontology and all its
@@ -67,11 +81,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
      * @author School of Computer Science
      * @author University of Manchester
      */
-    static class OntologyAxiomSet {
-
-        /** Array representing all axioms of the associated ontology. */
-        @Nonnull
-        final OWLAxiom[] ax;
+    static class OntologyAxiomSet extends ModuleIndex {
 
         /**
          * Creates a new OntologyAxiomSet from a given set of axioms without looking up the
@@ -80,27 +90,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
          * @param axs the set of axioms representing the ontology
          */
         OntologyAxiomSet(@Nonnull Set<OWLAxiom> axs) {
-            ax = axs.toArray(new OWLAxiom[axs.size()]);
-        }
-
-        /**
-         * Returns the number of axioms in this set.
-         * 
-         * @return the number of axioms in this set
-         */
-        public int size() {
-            return ax.length;
-        }
-
-        /**
-         * Returns some axiom from this set.
-         * 
-         * @param i a number for an axiom
-         * @return the i-th axiom in this set
-         */
-        @Nonnull
-        public OWLAxiom getAxiom(int i) {
-            return ax[i];
+            super(axs);
         }
 
         /**
@@ -110,8 +100,10 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
          */
         @Nonnull
         public OWLAxiom[] getAllAxioms() {
-            OWLAxiom[] toReturn = new OWLAxiom[ax.length];
-            System.arraycopy(ax, 0, toReturn, 0, ax.length);
+            OWLAxiom[] toReturn = new OWLAxiom[size()];
+            for (int i = 0; i < toReturn.length; i++) {
+                toReturn[i] = getAxiom(i);
+            }
             return toReturn;
         }
 
@@ -126,7 +118,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             HashSet<OWLAxiom> gas = new HashSet<>();
             for (int i = 0; i < isIn.length; i++) {
                 if (isIn[i]) {
-                    gas.add(ax[i]);
+                    gas.add(getAxiom(i));
                 }
             }
             return gas;
@@ -141,8 +133,8 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
          */
         @Nonnull
         public boolean[] getSubset(boolean init) {
-            boolean[] subset = new boolean[ax.length];
-            for (int i = 0; i < ax.length; i++) {
+            boolean[] subset = new boolean[size()];
+            for (int i = 0; i < size(); i++) {
                 subset[i] = init;
             }
             return subset;
@@ -156,8 +148,8 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
          */
         @Nonnull
         public boolean[] cloneSubset(boolean[] oldSubset) {
-            boolean[] newSubset = new boolean[ax.length];
-            System.arraycopy(oldSubset, 0, newSubset, 0, ax.length);
+            boolean[] newSubset = new boolean[size()];
+            System.arraycopy(oldSubset, 0, newSubset, 0, size());
             return newSubset;
         }
 
@@ -169,7 +161,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
          */
         public int subsetCardinality(boolean[] subset) {
             int card = 0;
-            for (int i = 0; i < ax.length; i++) {
+            for (int i = 0; i < size(); i++) {
                 if (subset[i]) {
                     card++;
                 }
@@ -187,13 +179,14 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         @Nonnull
         public Set<OWLAxiom> toSet(boolean[] subset) {
             HashSet<OWLAxiom> axs = new HashSet<>();
-            for (int i = 0; i < ax.length; i++) {
+            for (int i = 0; i < size(); i++) {
                 if (subset[i]) {
-                    axs.add(ax[i]);
+                    axs.add(getAxiom(i));
                 }
             }
             return axs;
         }
+
     }
 
     /** Type of module. */
@@ -202,11 +195,16 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     /** Represents the associated ontology. */
     private final OntologyAxiomSet ontologyAxiomSet;
     private final IRI rootOntology;
-    @Nonnull
-    private final OWLOntology ontology;
+    /** Ontology of the axioms, created in the manager when a module is first enriched. */
+    @Nullable
+    private OWLOntology ontology;
     /** Represents the manager for the associated ontology. */
     private final OWLOntologyManager manager;
     private OWLOntologyLoaderConfiguration config;
+    private int threads = 1;
+    /** Pool for concurrent extractions, created when first needed with more than one thread. */
+    @Nullable
+    private ForkJoinPool pool;
 
     /**
      * Creates a new module extractor for a subset of a given ontology, its manager, and a specified
@@ -280,11 +278,19 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             axioms = axs;
         }
         ontologyAxiomSet = new OntologyAxiomSet(axioms);
-        try {
-            ontology = checkNotNull(man.createOntology(axioms));
-        } catch (OWLOntologyCreationException e) {
-            throw new OWLRuntimeException(e);
+    }
+
+    @Nonnull
+    private synchronized OWLOntology getOntology() {
+        if (ontology == null) {
+            try {
+                ontology = manager
+                    .createOntology(new HashSet<>(Arrays.asList(ontologyAxiomSet.getAllAxioms())));
+            } catch (OWLOntologyCreationException e) {
+                throw new OWLRuntimeException(e);
+            }
         }
+        return verifyNotNull(ontology);
     }
 
     /**
@@ -329,6 +335,64 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         return moduleType;
     }
 
+    /**
+     * Sets the number of threads used by this extractor. With more than one thread, the first
+     * rounds of an extraction, where most axioms have to be evaluated, evaluate locality
+     * concurrently, and {@link #extractModules(Collection)} extracts several modules at the same
+     * time. The modules are the same as with one thread. The threads are kept between extractions;
+     * call {@link #dispose()} to stop them when the extractor is no longer needed.
+     * 
+     * @param threads number of threads, at least 1
+     * @since 4.5.23
+     */
+    public synchronized void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        if (threads != this.threads) {
+            this.threads = threads;
+            dispose();
+        }
+    }
+
+    /**
+     * @return number of threads used by this extractor
+     * @since 4.5.23
+     */
+    public synchronized int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stops the threads used for concurrent extraction. Must not be called while an extraction is
+     * running; the extractor can still be used afterwards, and starts new threads when needed.
+     * 
+     * @since 4.5.23
+     */
+    public synchronized void dispose() {
+        ForkJoinPool p = pool;
+        pool = null;
+        if (p != null) {
+            p.shutdown();
+        }
+    }
+
+    /**
+     * @return the pool for concurrent extractions, or null if this extractor uses one thread
+     */
+    @Nullable
+    private synchronized ForkJoinPool pool() {
+        if (threads == 1) {
+            return null;
+        }
+        ForkJoinPool p = pool;
+        if (p == null) {
+            p = new ForkJoinPool(threads);
+            pool = p;
+        }
+        return p;
+    }
+
     /**
      * This auxiliary method extracts a module from a given sub-ontology of the associated ontology
      * for a given signature and locality type. The module will contain only logical axioms, no
@@ -347,48 +411,104 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     @Nonnull
     boolean[] extractLogicalAxioms(@Nonnull boolean[] subOnt, @Nonnull Set<OWLEntity> signature,
         @Nonnull LocalityClass localityClass, boolean verbose) {
-        boolean[] mod = ontologyAxiomSet.getSubset(false);
-        boolean[] q2 = ontologyAxiomSet.cloneSubset(subOnt);
+        return extractLogicalAxioms(subOnt, signature, localityClass, verbose, pool());
+    }
+
+    /**
+     * Computes the fixpoint with {@link ModuleIndex#extract}; the first round evaluates every
+     * axiom of the sub-ontology.
+     * 
+     * @param pool pool to evaluate large rounds with, or null to evaluate on the calling thread
+     */
+    @Nonnull
+    private boolean[] extractLogicalAxioms(@Nonnull boolean[] subOnt,
+        @Nonnull Set<OWLEntity> signature, @Nonnull LocalityClass localityClass, boolean verbose,
+        @Nullable ForkJoinPool pool) {
+        ontologyAxiomSet.ensureIndexed();
+        int[] candidates = new int[subOnt.length];
+        int count = 0;
+        for (int i = 0; i < subOnt.length; i++) {
+            if (subOnt[i]) {
+                candidates[count++] = i;
+            }
+        }
+        candidates = Arrays.copyOf(candidates, count);
         SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
-        boolean change = true;
-        int loopNumber = 0;
-        while (change) {
-            change = false;
-            loopNumber++;
+        int[] loopNumber = new int[1];
+        int[] module = ontologyAxiomSet.extract(candidates, candidates, signature, (round, sig) -> {
+            loopNumber[0]++;
             if (verbose) {
-                LOGGER.info("  Loop {}", Integer.valueOf(loopNumber));
+                LOGGER.info("  Loop {}", Integer.valueOf(loopNumber[0]));
+                if (loopNumber[0] > 1) {
+                    LOGGER.info("    New signature:   {}", sig);
+                }
             }
-            for (int i = 0; i < q2.length; i += 1) {
-                if (q2[i]) {
-                    if (!sle.isLocal(ontologyAxiomSet.getAxiom(i), signature)) {
-                        if (verbose) {
-                            LOGGER.info("      Non-local axiom:   {}",
-                                minusOntologyURI(ontologyAxiomSet.getAxiom(i).toString()));
-                        }
-                        mod[i] = true;
-                        q2[i] = false;
-                        int oldSize = signature.size();
-                        signature.addAll(ontologyAxiomSet.getAxiom(i).getSignature());
-                        // only triggering a change when the signature has
-                        // changed doesn't improve performance
-                        if (signature.size() > oldSize) {
-                            change = true;
-                            if (verbose) {
-                                LOGGER.info("    New signature:   {}", signature);
-                            }
-                        }
-                    } else {
-                        if (verbose) {
-                            LOGGER.info("      Local axiom:       {}",
-                                minusOntologyURI(ontologyAxiomSet.getAxiom(i).toString()));
-                        }
-                    }
+            boolean[] nonLocal = evaluate(round, sig, localityClass, sle, pool);
+            if (verbose) {
+                for (int k = 0; k < round.length; k++) {
+                    LOGGER.info(nonLocal[k] ? "      Non-local axiom:   {}"
+                        : "      Local axiom:       {}",
+                        minusOntologyURI(ontologyAxiomSet.getAxiom(round[k]).toString()));
                 }
             }
+            return nonLocal;
+        }, new ModuleIndex.Marks(subOnt.length));
+        boolean[] mod = ontologyAxiomSet.getSubset(false);
+        for (int i : module) {
+            mod[i] = true;
         }
         return mod;
     }
 
+    /**
+     * Evaluates the locality of some axioms against a signature that does not change during the
+     * evaluation. Large rounds are split in chunks, each with its own evaluator, since evaluators
+     * keep state while visiting an axiom.
+     * 
+     * @return for each candidate, true if the axiom is not local
+     */
+    @Nonnull
+    private boolean[] evaluate(@Nonnull int[] candidates, @Nonnull Set<OWLEntity> signature,
+        @Nonnull LocalityClass localityClass, @Nonnull SyntacticLocalityEvaluator sle,
+        @Nullable ForkJoinPool pool) {
+        boolean[] nonLocal = new boolean[candidates.length];
+        if (pool == null || candidates.length < PARALLEL_THRESHOLD) {
+            evaluate(candidates, 0, candidates.length, signature, sle, nonLocal);
+            return nonLocal;
+        }
+        int size = candidates.length / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int start = 0; start < candidates.length; start += size) {
+            int from = start;
+            int to = Math.min(candidates.length, start + size);
+            futures.add(pool.submit(() -> evaluate(candidates, from, to, signature,
+                new SyntacticLocalityEvaluator(localityClass), nonLocal)));
+        }
+        for (Future<?> f : futures) {
+            await(f);
+        }
+        return nonLocal;
+    }
+
+    private void evaluate(@Nonnull int[] candidates, int from, int to,
+        @Nonnull Set<OWLEntity> signature, @Nonnull SyntacticLocalityEvaluator sle,
+        @Nonnull boolean[] nonLocal) {
+        for (int k = from; k < to; k++) {
+            nonLocal[k] = !sle.isLocal(ontologyAxiomSet.getAxiom(candidates[k]), signature);
+        }
+    }
+
+    private static <V> V await(@Nonnull Future<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        }
+    }
+
     /**
      * This method extracts a module from a given sub-ontology of the associated ontology for a
      * given signature and locality type. The module will only contain logical axioms, no annotation
@@ -460,6 +580,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         if (config.shouldSkipModuleAnnotations()) {
             return module;
         }
+        OWLOntology ont = getOntology();
         Set<OWLAxiom> enrichedModule = new HashSet<>(module);
         if (verbose) {
             LOGGER.info(
@@ -469,7 +590,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         // Adding all entity annotation axioms
         for (OWLEntity entity : sig) {
             assert entity != null;
-            Set<OWLDeclarationAxiom> declarationAxioms = ontology.getDeclarationAxioms(entity);
+            Set<OWLDeclarationAxiom> declarationAxioms = ont.getDeclarationAxioms(entity);
             enrichedModule.addAll(declarationAxioms);
             if (verbose) {
                 for (OWLDeclarationAxiom declarationAxiom : declarationAxioms) {
@@ -482,7 +603,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         for (OWLEntity i : sig) {
             iris.add(i.getIRI());
         }
-        for (OWLAnnotationAssertionAxiom annotation : ontology
+        for (OWLAnnotationAssertionAxiom annotation : ont
             .getAxioms(AxiomType.ANNOTATION_ASSERTION)) {
             if (iris.contains(annotation.getSubject())) {
                 enrichedModule.add(annotation);
@@ -498,7 +619,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             if (OWLNamedIndividual.class.isAssignableFrom(entity.getClass())) {
                 OWLIndividual individual = (OWLIndividual) entity;
                 Set<OWLSameIndividualAxiom> sameIndividualAxioms =
-                    ontology.getSameIndividualAxioms(individual);
+                    ont.getSameIndividualAxioms(individual);
                 enrichedModule.addAll(sameIndividualAxioms);
                 if (verbose) {
                     for (OWLSameIndividualAxiom sameIndividualAxiom : sameIndividualAxioms) {
@@ -507,7 +628,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
                     }
                 }
                 Set<OWLDifferentIndividualsAxiom> differentIndividualAxioms =
-                    ontology.getDifferentIndividualAxioms(individual);
+                    ont.getDifferentIndividualAxioms(individual);
                 enrichedModule.addAll(differentIndividualAxioms);
                 if (verbose) {
                     for (OWLDifferentIndividualsAxiom differentIndividualsAxiom : differentIndividualAxioms) {
@@ -559,11 +680,17 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     @Nonnull
     Set<OWLAxiom> extractUnnestedModule(@Nonnull Set<OWLEntity> sig, @Nonnull LocalityClass cls,
         boolean verbose) {
+        return extractUnnestedModule(sig, cls, verbose, null);
+    }
+
+    @Nonnull
+    private Set<OWLAxiom> extractUnnestedModule(@Nonnull Set<OWLEntity> sig,
+        @Nonnull LocalityClass cls, boolean verbose, @Nullable ForkJoinPool pool) {
         outputSignature("\nExtracting " + cls + " module for the following seed signature ... ",
             sig, verbose);
         boolean[] subOnt = ontologyAxiomSet.getSubset(true);
         Set<OWLEntity> signature = new HashSet<>(sig);
-        boolean[] module = extractLogicalAxioms(subOnt, signature, cls, verbose);
+        boolean[] module = extractLogicalAxioms(subOnt, signature, cls, verbose, pool);
         Set<OWLAxiom> moduleAsSet = ontologyAxiomSet.toSet(module);
         return enrich(moduleAsSet, signature, verbose);
     }
@@ -689,12 +816,53 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     @Nonnull
     public Set<OWLAxiom> extract(@Nonnull Set<OWLEntity> sig, int superClassLevel,
         int subClassLevel, OWLReasoner reasoner, boolean verbose) {
+        return extract(sig, superClassLevel, subClassLevel, reasoner, verbose, pool());
+    }
+
+    /**
+     * Extracts one module for each of several seed signatures, as {@link #extract(Set)} does. The
+     * index from entities to axioms is shared by all extractions; with more than one thread, the
+     * modules are extracted concurrently.
+     * 
+     * @param signatures the seed signatures
+     * @return the modules, in the order of the signatures
+     * @since 4.5.23
+     */
+    @Nonnull
+    public List<Set<OWLAxiom>> extractModules(@Nonnull Collection<Set<OWLEntity>> signatures) {
+        List<Set<OWLAxiom>> modules = new ArrayList<>(signatures.size());
+        ForkJoinPool p = signatures.size() < 2 ? null : pool();
+        if (p == null) {
+            for (Set<OWLEntity> sig : signatures) {
+                assert sig != null;
+                modules.add(extract(sig, 0, 0, null, false, null));
+            }
+            return modules;
+        }
+        ontologyAxiomSet.ensureIndexed();
+        List<Future<Set<OWLAxiom>>> futures = new ArrayList<>(signatures.size());
+        for (Set<OWLEntity> sig : signatures) {
+            assert sig != null;
+            // each extraction runs on one thread; the pool is busy with the others
+            futures.add(p.submit(() -> extract(sig, 0, 0, null, false, null)));
+        }
+        for (Future<Set<OWLAxiom>> f : futures) {
+            modules.add(await(f));
+        }
+        return modules;
+    }
+
+    @Nonnull
+    private Set<OWLAxiom> extract(@Nonnull Set<OWLEntity> sig, int superClassLevel,
+        int subClassLevel, @Nullable OWLReasoner reasoner, boolean verbose,
+        @Nullable ForkJoinPool pool) {
         Set<OWLEntity> enrichedSig = enrichSignature(sig, superClassLevel, subClassLevel, reasoner);
         switch (moduleType) {
             case TOP:
-                return extractUnnestedModule(enrichedSig, LocalityClass.TOP_TOP, verbose);
+                return extractUnnestedModule(enrichedSig, LocalityClass.TOP_TOP, verbose, pool);
             case BOT:
-                return extractUnnestedModule(enrichedSig, LocalityClass.BOTTOM_BOTTOM, verbose);
+                return extractUnnestedModule(enrichedSig, LocalityClass.BOTTOM_BOTTOM, verbose,
+                    pool);
             case STAR:
                 boolean[] subOnt = ontologyAxiomSet.getSubset(true);
                 boolean nextStepNecessary = true;
@@ -706,7 +874,7 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
                         + " module for the following seed signature: ", enrichedSig, verbose);
                     int previousModuleSize = ontologyAxiomSet.subsetCardinality(subOnt);
                     seedSig = new HashSet<>(enrichedSig);
-                    subOnt = extractLogicalAxioms(subOnt, seedSig, localityClass, verbose);
+                    subOnt = extractLogicalAxioms(subOnt, seedSig, localityClass, verbose, pool);
                     if (ontologyAxiomSet.subsetCardinality(subOnt) == previousModuleSize
                         && !inFirstStep) {
                         nextStepNecessary = false;
@@ -0,0 +1,259 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owlapi.modularity.internal;
+
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+/**
+ * Axioms numbered by their position, with the signature of each axiom and the index from entities
+ * to the axioms that mention them, and the queue-driven module fixpoint over them. Shared by
+ * {@link uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor} and the atomic
+ * decomposition; not part of the OWL API and not exported by the OSGi bundles.
+ * 
+ * @since 4.5.23
+ */
+public class ModuleIndex {
+
+    /** Axioms, numbered by their position. */
+    @Nonnull
+    private final OWLAxiom[] axioms;
+    /** Signature of each axiom, built with the index. */
+    @Nullable
+    private OWLEntity[][] signatures;
+    /** For each entity, the numbers of the axioms that mention it. */
+    @Nullable
+    private Map<OWLEntity, int[]> axiomsByEntity;
+
+    /**
+     * @param axs the axioms, without repetitions; axioms are numbered in the iteration order of
+     *        the collection
+     */
+    public ModuleIndex(@Nonnull Collection<OWLAxiom> axs) {
+        axioms = axs.toArray(new OWLAxiom[axs.size()]);
+    }
+
+    /**
+     * @return the number of axioms
+     */
+    public int size() {
+        return axioms.length;
+    }
+
+    /**
+     * @param i a number for an axiom
+     * @return the i-th axiom
+     */
+    @Nonnull
+    public OWLAxiom getAxiom(int i) {
+        return axioms[i];
+    }
+
+    /**
+     * Builds the signature of each axiom and the index from entities to the axioms that
+     * mention them, if not built yet. Once built, both are only read, so that several
+     * extractions can share them.
+     */
+    public synchronized void ensureIndexed() {
+        if (axiomsByEntity != null) {
+            return;
+        }
+        OWLEntity[][] sigs = new OWLEntity[axioms.length][];
+        Map<OWLEntity, List<Integer>> lists = new HashMap<>();
+        for (int i = 0; i < axioms.length; i++) {
+            Set<OWLEntity> sig = axioms[i].getSignature();
+            sigs[i] = sig.toArray(new OWLEntity[sig.size()]);
+            for (OWLEntity e : sigs[i]) {
+                List<Integer> list = lists.get(e);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    lists.put(e, list);
+                }
+                list.add(Integer.valueOf(i));
+            }
+        }
+        Map<OWLEntity, int[]> index = new HashMap<>(lists.size() * 4 / 3 + 1);
+        for (Map.Entry<OWLEntity, List<Integer>> e : lists.entrySet()) {
+            int[] numbers = new int[e.getValue().size()];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = e.getValue().get(i).intValue();
+            }
+            index.put(e.getKey(), numbers);
+        }
+        signatures = sigs;
+        axiomsByEntity = index;
+    }
+
+    /**
+     * @param i a number for an axiom
+     * @return the signature of the i-th axiom; requires {@link #ensureIndexed()}
+     */
+    @Nonnull
+    public OWLEntity[] getSignature(int i) {
+        return verifyNotNull(signatures)[i];
+    }
+
+    /**
+     * @param e an entity
+     * @return the numbers of the axioms that mention the entity; requires
+     *         {@link #ensureIndexed()}
+     */
+    @Nonnull
+    public int[] getAxiomsMentioning(@Nonnull OWLEntity e) {
+        int[] numbers = verifyNotNull(axiomsByEntity).get(e);
+        return numbers == null ? new int[0] : numbers;
+    }
+
+    /**
+     * Extracts a module with a queue-driven fixpoint: the first round evaluates the
+     * candidates, and each later round evaluates only the axioms that mention an entity added
+     * to the signature in the round before. Since an axiom that is not local stays not local
+     * when the signature grows, and the locality of an axiom depends only on the part of the
+     * signature that it mentions, the module is the same as the one found by evaluating all
+     * axioms until nothing changes. Requires {@link #ensureIndexed()}.
+     * 
+     * @param candidates numbers of the axioms to evaluate in the first round; repeated numbers
+     *        and axioms outside the sub-ontology are skipped
+     * @param subOnt numbers of the axioms of the sub-ontology, or null for all axioms
+     * @param signature the seed signature; on return of the method, this will contain the
+     *        signature of the module
+     * @param evaluator evaluates the locality of the axioms of each round
+     * @param marks scratch space of the calling thread
+     * @return numbers of the axioms in the module, in the order in which they were found
+     */
+    @Nonnull
+    public int[] extract(@Nonnull int[] candidates, @Nullable int[] subOnt,
+        @Nonnull Set<OWLEntity> signature, @Nonnull RoundEvaluator evaluator,
+        @Nonnull Marks marks) {
+        int sub = 0;
+        if (subOnt != null) {
+            sub = marks.next();
+            for (int i : subOnt) {
+                marks.inSub[i] = sub;
+            }
+        }
+        int mod = marks.next();
+        int queued = marks.next();
+        int[] round = new int[candidates.length];
+        int count = 0;
+        for (int i : candidates) {
+            if ((subOnt == null || marks.inSub[i] == sub) && marks.queued[i] != queued) {
+                marks.queued[i] = queued;
+                round[count++] = i;
+            }
+        }
+        round = Arrays.copyOf(round, count);
+        int[] module = new int[16];
+        int size = 0;
+        while (round.length > 0) {
+            boolean[] nonLocal = evaluator.evaluate(round, signature);
+            // the stamp marks axioms already queued for the next round
+            queued = marks.next();
+            int[] next = new int[16];
+            count = 0;
+            for (int k = 0; k < round.length; k++) {
+                if (!nonLocal[k]) {
+                    continue;
+                }
+                int i = round[k];
+                marks.inMod[i] = mod;
+                if (size == module.length) {
+                    module = Arrays.copyOf(module, size * 2);
+                }
+                module[size++] = i;
+                for (OWLEntity e : getSignature(i)) {
+                    if (!signature.add(e)) {
+                        continue;
+                    }
+                    for (int j : getAxiomsMentioning(e)) {
+                        if ((subOnt == null || marks.inSub[j] == sub) && marks.inMod[j] != mod
+                            && marks.queued[j] != queued) {
+                            marks.queued[j] = queued;
+                            if (count == next.length) {
+                                next = Arrays.copyOf(next, count * 2);
+                            }
+                            next[count++] = j;
+                        }
+                    }
+                }
+            }
+            round = new int[count];
+            int filtered = 0;
+            for (int k = 0; k < count; k++) {
+                // axioms queued before they were found to be non-local in the same round
+                if (marks.inMod[next[k]] != mod) {
+                    round[filtered++] = next[k];
+                }
+            }
+            round = Arrays.copyOf(round, filtered);
+        }
+        return Arrays.copyOf(module, size);
+    }
+
+    /**
+     * Evaluates the locality of the axioms of one round of {@link ModuleIndex#extract},
+     * against a signature that does not change during the round.
+     */
+    @FunctionalInterface
+    public interface RoundEvaluator {
+
+        /**
+         * @param candidates numbers of the axioms to evaluate
+         * @param signature the current signature
+         * @return for each candidate, true if the axiom is not local
+         */
+        @Nonnull
+        boolean[] evaluate(@Nonnull int[] candidates, @Nonnull Set<OWLEntity> signature);
+    }
+
+    /**
+     * Scratch space of one thread for {@link ModuleIndex#extract}. Marks are stamps
+     * compared with a counter, so that nothing has to be cleared between extractions.
+     */
+    public static final class Marks {
+
+        @Nonnull
+        final int[] inSub;
+        @Nonnull
+        final int[] inMod;
+        @Nonnull
+        final int[] queued;
+        private int stamp;
+
+        /**
+         * @param size number of axioms in the index
+         */
+        public Marks(int size) {
+            inSub = new int[size];
+            inMod = new int[size];
+            queued = new int[size];
+        }
+
+        int next() {
+            return ++stamp;
+        }
+    }
+}